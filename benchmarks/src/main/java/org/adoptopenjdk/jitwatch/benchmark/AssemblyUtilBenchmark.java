@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ASSEMBLY_CONSTANTS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssemblyUtilBenchmark
+{
+	private static final String WRITER_TAG = "<writer";
+
+	private String assembly;
+
+	// the method body of the first assembly block in a generated log
+	@Setup
+	public void setUp() throws IOException
+	{
+		StringWriter writer = new StringWriter();
+
+		SyntheticHotSpotLog.write(writer, 16 * 1024, SyntheticHotSpotLog.DEFAULT_SEED);
+
+		StringBuilder builder = new StringBuilder();
+
+		boolean inMethod = false;
+
+		for (String line : writer.toString().split(S_NEWLINE))
+		{
+			if (line.startsWith(WRITER_TAG) && inMethod)
+			{
+				break;
+			}
+			else if (inMethod)
+			{
+				builder.append(line.trim()).append(S_NEWLINE);
+			}
+			else if (line.equals(S_ASSEMBLY_CONSTANTS))
+			{
+				inMethod = true;
+			}
+		}
+
+		assembly = builder.toString();
+	}
+
+	@Benchmark
+	public AssemblyMethod parseAssembly()
+	{
+		return AssemblyUtil.parseAssembly(assembly);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COMMA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks with the GC profiler and records the results in the
+// results directory as the full JMH JSON and a CSV summary with throughput
+// and allocation per MB of log for the benchmarks that parse a log fixture.
+// Accepts the usual JMH command line options, e.g. -p logMegabytes=64
+public final class BenchmarkRunner
+{
+	public static final String PROPERTY_RESULTS_DIR = "jitwatch.benchmark.results";
+
+	private static final String DEFAULT_RESULTS_DIR = "benchmark-results";
+
+	private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+	private static final String UNIT_OPS_PER_SECOND = "ops/s";
+
+	private static final String CSV_HEADER = "benchmark,mode,params,logMegabytes,score,error,unit,allocBytesPerOp,mbPerSecond,allocBytesPerMB";
+
+	private BenchmarkRunner()
+	{
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException
+	{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		File resultsDir = new File(System.getProperty(PROPERTY_RESULTS_DIR, DEFAULT_RESULTS_DIR));
+
+		if (!resultsDir.isDirectory() && !resultsDir.mkdirs())
+		{
+			throw new IOException("Could not create results directory " + resultsDir);
+		}
+
+		String baseName = "jitwatch-benchmarks-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+
+		File jsonFile = new File(resultsDir, baseName + ".json");
+		File csvFile = new File(resultsDir, baseName + ".csv");
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON).result(jsonFile.getPath());
+
+		if (commandLine.getIncludes().isEmpty())
+		{
+			builder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+		}
+
+		Collection<RunResult> results = new Runner(builder.build()).run();
+
+		writeSummary(results, csvFile);
+
+		System.out.println("Results written to " + jsonFile + " and " + csvFile);
+	}
+
+	private static void writeSummary(Collection<RunResult> results, File csvFile) throws IOException
+	{
+		try (PrintWriter writer = new PrintWriter(csvFile, "UTF-8"))
+		{
+			writer.print(CSV_HEADER);
+			writer.print(S_NEWLINE);
+
+			for (RunResult result : results)
+			{
+				writer.print(getSummaryLine(result));
+				writer.print(S_NEWLINE);
+			}
+		}
+	}
+
+	private static String getSummaryLine(RunResult runResult)
+	{
+		BenchmarkParams params = runResult.getParams();
+
+		Result<?> primary = runResult.getPrimaryResult();
+
+		String logMegabytesParam = params.getParam(LogFixture.PARAM_LOG_MEGABYTES);
+
+		double logMegabytes = logMegabytesParam != null ? Double.parseDouble(logMegabytesParam) : 0;
+
+		double allocBytesPerOp = getAllocBytesPerOp(runResult.getSecondaryResults());
+
+		StringBuilder builder = new StringBuilder();
+
+		builder.append(params.getBenchmark()).append(C_COMMA);
+		builder.append(params.getMode().shortLabel()).append(C_COMMA);
+		builder.append(getParamString(params)).append(C_COMMA);
+		builder.append(logMegabytesParam != null ? logMegabytesParam : S_EMPTY).append(C_COMMA);
+		builder.append(primary.getScore()).append(C_COMMA);
+		builder.append(primary.getScoreError()).append(C_COMMA);
+		builder.append(primary.getScoreUnit()).append(C_COMMA);
+		builder.append(allocBytesPerOp >= 0 ? Double.toString(allocBytesPerOp) : S_EMPTY).append(C_COMMA);
+
+		if (logMegabytes > 0 && UNIT_OPS_PER_SECOND.equals(primary.getScoreUnit()))
+		{
+			builder.append(primary.getScore() * logMegabytes);
+		}
+
+		builder.append(C_COMMA);
+
+		if (logMegabytes > 0 && allocBytesPerOp >= 0)
+		{
+			builder.append(allocBytesPerOp / logMegabytes);
+		}
+
+		return builder.toString();
+	}
+
+	// params other than the fixture size, e.g. tag=nmethod
+	private static String getParamString(BenchmarkParams params)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String key : params.getParamsKeys())
+		{
+			if (!LogFixture.PARAM_LOG_MEGABYTES.equals(key))
+			{
+				if (builder.length() > 0)
+				{
+					builder.append(' ');
+				}
+
+				builder.append(key).append('=').append(params.getParam(key));
+			}
+		}
+
+		return builder.toString();
+	}
+
+	// the GC profiler prefixes its result labels so match on the suffix
+	private static double getAllocBytesPerOp(Map<String, Result> secondaryResults)
+	{
+		double result = -1;
+
+		for (Map.Entry<String, Result> entry : secondaryResults.entrySet())
+		{
+			if (entry.getKey().endsWith(ALLOC_RATE_NORM))
+			{
+				result = entry.getValue().getScore();
+				break;
+			}
+		}
+
+		return result;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.process.javap.JavapProcess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// loads the bytecode of the MakeHotSpotLog demo class from its classfile
+// and from javap output, the two sources BytecodeLoader supports
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BytecodeLoaderBenchmark
+{
+	private static final String FQ_CLASS_NAME = MakeHotSpotLog.class.getName();
+
+	private List<String> classLocations;
+
+	private byte[] classBytes;
+
+	private String[] javapLines;
+
+	@Setup
+	public void setUp() throws Exception
+	{
+		classLocations = new ArrayList<>();
+		classLocations.add(new File(MakeHotSpotLog.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+				.getAbsolutePath());
+
+		classBytes = BytecodeLoader.readClassBytes(classLocations, FQ_CLASS_NAME);
+
+		JavapProcess javapProcess = new JavapProcess();
+
+		if (!javapProcess.execute(classLocations, FQ_CLASS_NAME))
+		{
+			throw new IllegalStateException("javap failed for " + FQ_CLASS_NAME + ": " + javapProcess.getErrorStream());
+		}
+
+		javapLines = javapProcess.getOutputStream().split(S_NEWLINE);
+	}
+
+	@Benchmark
+	public ClassBC disassembleClassFile()
+	{
+		return BytecodeLoader.fetchBytecodeForClass(classLocations, FQ_CLASS_NAME, classBytes, false);
+	}
+
+	@Benchmark
+	public ClassBC parseJavapOutput()
+	{
+		return BytecodeLoader.parse(FQ_CLASS_NAME, javapLines, false);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+// one operation is a parse of the whole fixture log
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HotSpotLogParserBenchmark
+{
+	private static final IJITListener NO_OP_LISTENER = new IJITListener()
+	{
+		@Override
+		public void handleLogEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleErrorEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleReadStart()
+		{
+		}
+
+		@Override
+		public void handleReadComplete()
+		{
+		}
+
+		@Override
+		public void handleJITEvent(JITEvent event)
+		{
+		}
+	};
+
+	private static final ILogParseErrorListener NO_OP_ERROR_LISTENER = new ILogParseErrorListener()
+	{
+		@Override
+		public void handleError(String title, String body)
+		{
+		}
+	};
+
+	// every parser option is fixed here so results do not depend on the
+	// jitwatch.properties of whoever runs the benchmark
+	private JITWatchConfig buildConfig(boolean streaming)
+	{
+		JITWatchConfig config = new JITWatchConfig();
+
+		config.setClassLocations(new ArrayList<String>());
+		config.setSourceLocations(new ArrayList<String>());
+		config.setStreamingParse(streaming);
+		config.setParallelParse(false);
+		config.setClassFileModel(false);
+		config.setWriteModelSnapshot(false);
+		config.setLazyAssembly(false);
+		config.setCompactTasks(false);
+
+		return config;
+	}
+
+	private JITDataModel parse(LogFixture fixture, boolean streaming)
+	{
+		JITWatchConfig config = buildConfig(streaming);
+
+		HotSpotLogParser parser = new HotSpotLogParser(NO_OP_LISTENER);
+		parser.setConfig(config);
+		parser.processLogFile(fixture.getLogFile(), NO_OP_ERROR_LISTENER);
+
+		return parser.getModel();
+	}
+
+	@Benchmark
+	public JITDataModel parseLog(LogFixture fixture)
+	{
+		return parse(fixture, false);
+	}
+
+	@Benchmark
+	public JITDataModel parseLogStreaming(LogFixture fixture)
+	{
+		return parse(fixture, true);
+	}
+}
\ No newline at end of file
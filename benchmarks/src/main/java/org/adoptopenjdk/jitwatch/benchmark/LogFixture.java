@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.JITDataModelSnapshot;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// A generated HotSpot log shared by the benchmarks of one trial. The size is
+// a JMH parameter so it can be changed with -p logMegabytes=N and results
+// can be normalised per MB of log.
+@State(Scope.Benchmark)
+public class LogFixture
+{
+	public static final String PARAM_LOG_MEGABYTES = "logMegabytes";
+
+	@Param({ "1", "16" })
+	public int logMegabytes;
+
+	private File logFile;
+
+	private List<String> logCompilationLines;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		logFile = File.createTempFile("jitwatch-benchmark", ".log");
+
+		SyntheticHotSpotLog.write(logFile, logMegabytes * 1024L * 1024L, SyntheticHotSpotLog.DEFAULT_SEED);
+
+		// a fresh snapshot next to the log would be loaded instead of parsing it
+		Files.deleteIfExists(JITDataModelSnapshot.getSnapshotFile(logFile).toPath());
+
+		logCompilationLines = new ArrayList<>();
+
+		for (String line : Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8))
+		{
+			if (!line.isEmpty() && line.charAt(0) == C_OPEN_ANGLE)
+			{
+				logCompilationLines.add(line);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		logFile.delete();
+
+		JITDataModelSnapshot.getSnapshotFile(logFile).delete();
+	}
+
+	public File getLogFile()
+	{
+		return logFile;
+	}
+
+	public List<String> getLogCompilationLines()
+	{
+		return logCompilationLines;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// java.lang.String has many overloads so lookups compare many candidates
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetaClassBenchmark
+{
+	private static final String FQ_CLASS_NAME = "java.lang.String";
+
+	private MetaClass metaClass;
+
+	private MemberSignatureParts existing;
+
+	private MemberSignatureParts missing;
+
+	@Setup
+	public void setUp()
+	{
+		metaClass = new JITDataModel().buildAndGetMetaClass(String.class);
+
+		existing = MemberSignatureParts.fromParts(FQ_CLASS_NAME, "indexOf", "int",
+				Arrays.asList(new String[] { FQ_CLASS_NAME, "int" }));
+
+		missing = MemberSignatureParts.fromParts(FQ_CLASS_NAME, "indexOf", "int",
+				Arrays.asList(new String[] { "long" }));
+	}
+
+	@Benchmark
+	public IMetaMember getMemberForSignature()
+	{
+		return metaClass.getMemberForSignature(existing);
+	}
+
+	@Benchmark
+	public IMetaMember getMemberForMissingSignature()
+	{
+		return metaClass.getMemberForSignature(missing);
+	}
+}
\ No newline at end of file
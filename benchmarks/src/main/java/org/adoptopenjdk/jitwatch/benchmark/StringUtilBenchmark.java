@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilBenchmark
+{
+	private static final String ATTRS_NMETHOD = "compile_id='82' compiler='C2' entry='0x000000010744c060' size='1256' address='0x000000010744bf10' relocation_offset='296' insts_offset='336' stub_offset='688' scopes_data_offset='720' scopes_pcs_offset='832' dependencies_offset='1232' nul_chk_table_offset='1240' method='org/adoptopenjdk/jitwatch/demo/MakeHotSpotLog testLeaf (J)V' bytes='55' count='546' backedge_count='5389' iicount='546' stamp='0.105'";
+
+	private static final String ATTRS_METHOD = "id='732' holder='729' name='leaf1' return='635' arguments='635' flags='2' bytes='4' compile_id='78' compiler='C2' iicount='10013'";
+
+	private static final String ATTRS_BC = "code='183' bci='10'";
+
+	@Param({ "nmethod", "method", "bc" })
+	public String tag;
+
+	private String attributes;
+
+	@Setup
+	public void setUp()
+	{
+		switch (tag)
+		{
+		case "nmethod":
+			attributes = ATTRS_NMETHOD;
+			break;
+		case "method":
+			attributes = ATTRS_METHOD;
+			break;
+		default:
+			attributes = ATTRS_BC;
+			break;
+		}
+	}
+
+	@Benchmark
+	public Map<String, String> attributeStringToMap()
+	{
+		return StringUtil.attributeStringToMap(attributes);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// one operation builds the tags for every LogCompilation line of the fixture
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TagProcessorBenchmark
+{
+	@Benchmark
+	public void processLines(LogFixture fixture, Blackhole blackhole)
+	{
+		TagProcessor tagProcessor = new TagProcessor();
+
+		for (String line : fixture.getLogCompilationLines())
+		{
+			Tag tag = tagProcessor.processLine(line);
+
+			if (tag != null)
+			{
+				blackhole.consume(tag);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -26,6 +26,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_REASON_STALE_TA
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
@@ -42,7 +43,7 @@ public final class CompilationUtil
 {
 	private static final Logger logger = LoggerFactory.getLogger(CompilationUtil.class);
 
-	private static int unhandledTagCount = 0;
+	private static final AtomicInteger unhandledTagCount = new AtomicInteger();
 
 	private CompilationUtil()
 	{
@@ -387,12 +388,12 @@ public final class CompilationUtil
 
 	public static void unhandledTag(ICompilationVisitable visitable, Tag child)
 	{
-		unhandledTagCount++;
+		unhandledTagCount.incrementAndGet();
 		logger.warn("{} did not handle {}", visitable.getClass().getName(), child.toString(false));
 	}
 
 	public static int getUnhandledTagCount()
 	{
-		return unhandledTagCount;
+		return unhandledTagCount.get();
 	}
 }
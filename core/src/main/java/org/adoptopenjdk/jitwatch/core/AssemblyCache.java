@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.LazyAssemblyMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Parses the assembly of a LazyAssemblyMethod from its range of the log and
+// keeps the most recently used methods so only those viewed are on the heap.
+// Concurrent requests for a method that is not cached wait for a single parse.
+public class AssemblyCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(AssemblyCache.class);
+
+	public static final int DEFAULT_CAPACITY = 32;
+
+	private final File logFile;
+
+	private final Map<LazyAssemblyMethod, AssemblyMethod> cache;
+
+	private final Map<LazyAssemblyMethod, FutureTask<AssemblyMethod>> loading = new HashMap<>();
+
+	private int parseCount = 0;
+
+	public AssemblyCache(File logFile)
+	{
+		this(logFile, DEFAULT_CAPACITY);
+	}
+
+	public AssemblyCache(File logFile, final int capacity)
+	{
+		this.logFile = logFile;
+
+		this.cache = new LinkedHashMap<LazyAssemblyMethod, AssemblyMethod>(capacity, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<LazyAssemblyMethod, AssemblyMethod> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	public File getLogFile()
+	{
+		return logFile;
+	}
+
+	public synchronized int size()
+	{
+		return cache.size();
+	}
+
+	// number of methods parsed by this cache since it was created
+	public synchronized int getParseCount()
+	{
+		return parseCount;
+	}
+
+	// the log is read and parsed outside the lock so lookups of other methods
+	// are not held up, concurrent requests for the same method share a parse
+	public AssemblyMethod getAssembly(final LazyAssemblyMethod lazyMethod)
+	{
+		AssemblyMethod result = null;
+
+		FutureTask<AssemblyMethod> parse = null;
+
+		boolean parseOwner = false;
+
+		synchronized (this)
+		{
+			result = cache.get(lazyMethod);
+
+			if (result == null)
+			{
+				parse = loading.get(lazyMethod);
+
+				if (parse == null)
+				{
+					parse = new FutureTask<>(new Callable<AssemblyMethod>()
+					{
+						@Override
+						public AssemblyMethod call() throws Exception
+						{
+							return parseAssembly(lazyMethod);
+						}
+					});
+
+					loading.put(lazyMethod, parse);
+
+					parseCount++;
+
+					parseOwner = true;
+				}
+			}
+		}
+
+		if (result == null)
+		{
+			if (parseOwner)
+			{
+				parse.run();
+			}
+
+			result = waitForParse(lazyMethod, parse);
+
+			if (parseOwner)
+			{
+				synchronized (this)
+				{
+					loading.remove(lazyMethod);
+
+					if (result != null)
+					{
+						cache.put(lazyMethod, result);
+					}
+				}
+			}
+
+			if (result == null)
+			{
+				// an unreadable log shows no assembly rather than failing
+				result = new AssemblyMethod(lazyMethod.getAssemblyMethodSignature());
+			}
+		}
+
+		return result;
+	}
+
+	private AssemblyMethod waitForParse(LazyAssemblyMethod lazyMethod, FutureTask<AssemblyMethod> parse)
+	{
+		AssemblyMethod result = null;
+
+		boolean interrupted = false;
+
+		while (true)
+		{
+			try
+			{
+				result = parse.get();
+				break;
+			}
+			catch (InterruptedException ie)
+			{
+				interrupted = true;
+			}
+			catch (ExecutionException ee)
+			{
+				logger.error("Could not parse assembly at address {}", lazyMethod.getNativeAddress(), ee.getCause());
+				break;
+			}
+		}
+
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		return result;
+	}
+
+	private AssemblyMethod parseAssembly(LazyAssemblyMethod lazyMethod)
+	{
+		final AssemblyProcessor processor = new AssemblyProcessor();
+
+		MappedLogReader reader = new MappedLogReader(new ILogLineHandler()
+		{
+			@Override
+			public boolean isLineTypeWanted(LogLineType type)
+			{
+				return type == LogLineType.ASSEMBLY;
+			}
+
+			@Override
+			public void handleLine(LogLineType type, long lineNumber, String line)
+			{
+				processor.handleLine(line);
+			}
+		});
+
+		AssemblyMethod result = null;
+
+		try
+		{
+			reader.readRange(logFile, lazyMethod.getStartOffset(), lazyMethod.getEndOffset());
+
+			processor.complete();
+
+			List<AssemblyMethod> methods = processor.getAssemblyMethods();
+
+			if (!methods.isEmpty())
+			{
+				result = methods.get(0);
+
+				result.setNativeAddress(lazyMethod.getNativeAddress());
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.error("Could not read assembly at address {} from {}", lazyMethod.getNativeAddress(), logFile, ioe);
+		}
+
+		return result;
+	}
+}
\ No newline at end of file
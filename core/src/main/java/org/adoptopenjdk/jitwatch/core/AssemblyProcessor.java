@@ -10,8 +10,8 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_ASS
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.NATIVE_CODE_METHOD_MARK;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.NATIVE_CODE_START;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_APOSTROPHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_HASH;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 
 import java.util.ArrayList;
@@ -21,11 +21,13 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COLON;
 
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.MemberResolutionCache;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.PackageManager;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyUtil;
+import org.adoptopenjdk.jitwatch.model.assembly.LazyAssemblyMethod;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +36,11 @@ public class AssemblyProcessor
 {
 	private static final Logger logger = LoggerFactory.getLogger(AssemblyProcessor.class);
 
-	private StringBuilder builder = new StringBuilder();
+	// lines of the method being read, handed to the parser as they are
+	private List<String> methodLines = new ArrayList<>();
+
+	// a method signature line that HotSpot broke across log lines
+	private StringBuilder interruptedLine = new StringBuilder();
 
 	private boolean assemblyStarted = false;
 	private boolean methodStarted = false;
@@ -46,10 +52,22 @@ public class AssemblyProcessor
 
 	private List<AssemblyMethod> assemblyMethods = new ArrayList<>();
 
+	// when set only the log offsets of each method are recorded
+	private AssemblyCache assemblyCache = null;
+
+	private long methodStartOffset = -1;
+	private long methodEndOffset = -1;
+
 	public AssemblyProcessor()
 	{
 	}
 
+	// lines must then be handled with their offsets in the cache's log
+	public void setAssemblyCache(AssemblyCache assemblyCache)
+	{
+		this.assemblyCache = assemblyCache;
+	}
+
 	public List<AssemblyMethod> getAssemblyMethods()
 	{
 		return assemblyMethods;
@@ -58,8 +76,11 @@ public class AssemblyProcessor
 	public void clear()
 	{
 		assemblyMethods.clear();
-		builder.delete(0, builder.length());
+		methodLines.clear();
+		interruptedLine.setLength(0);
 		nativeAddress = null;
+		methodStartOffset = -1;
+		methodEndOffset = -1;
 		previousLine = null;
 		assemblyStarted = false;
 		methodStarted = false;
@@ -68,9 +89,12 @@ public class AssemblyProcessor
 
 	public void handleLine(final String inLine)
 	{
-		String line = inLine.replaceFirst("^ +", "");
+		handleLine(inLine, -1, -1);
+	}
 
-		line = StringUtil.replaceXMLEntities(line);
+	public void handleLine(final String inLine, long startOffset, long endOffset)
+	{
+		String line = StringUtil.replaceXMLEntities(AssemblyUtil.stripLeadingSpaces(inLine));
 
 		if (DEBUG_LOGGING_ASSEMBLY)
 		{
@@ -96,12 +120,14 @@ public class AssemblyProcessor
 
 			assemblyStarted = true;
 
-			if (builder.length() > 0)
+			if (!methodLines.isEmpty() || interruptedLine.length() > 0)
 			{
 				complete();
 			}
 
 			nativeAddress = StringUtil.getSubstringBetween(line, NATIVE_CODE_START, S_COLON).trim();
+
+			methodStartOffset = startOffset;
 		}
 		else if (assemblyStarted)
 		{
@@ -135,11 +161,28 @@ public class AssemblyProcessor
 
 			if (methodStarted && line.length() > 0)
 			{
-				builder.append(line);
+				methodEndOffset = endOffset;
 
-				if (!methodInterrupted)
+				// with an assembly cache only the signature is kept, the rest
+				// is read again when the method is viewed
+				if (assemblyCache == null || methodLines.isEmpty())
 				{
-					builder.append(S_NEWLINE);
+					if (methodInterrupted)
+					{
+						interruptedLine.append(line);
+					}
+					else if (interruptedLine.length() > 0)
+					{
+						interruptedLine.append(line);
+
+						methodLines.add(interruptedLine.toString());
+
+						interruptedLine.setLength(0);
+					}
+					else
+					{
+						methodLines.add(line);
+					}
 				}
 			}
 		}
@@ -149,64 +192,110 @@ public class AssemblyProcessor
 
 	public void complete()
 	{
-		if (DEBUG_LOGGING_ASSEMBLY)
+		if (interruptedLine.length() > 0)
 		{
-			// logger.debug("completed assembly\n{}", builder.toString());
-		}
+			methodLines.add(interruptedLine.toString());
 
-		String asmString = builder.toString().trim();
+			interruptedLine.setLength(0);
+		}
 
-		if (asmString.length() > 0)
+		if (assemblyCache != null)
+		{
+			if (!methodLines.isEmpty())
+			{
+				assemblyMethods.add(new LazyAssemblyMethod(methodLines.get(0), nativeAddress, assemblyCache, methodStartOffset,
+						methodEndOffset));
+			}
+		}
+		else
 		{
-			AssemblyMethod assemblyMethod = AssemblyUtil.parseAssembly(asmString);
+			trimTrailingWhitespace();
+
+			if (!methodLines.isEmpty())
+			{
+				AssemblyMethod assemblyMethod = AssemblyUtil.parseAssembly(methodLines);
 
-			assemblyMethod.setNativeAddress(nativeAddress);
+				assemblyMethod.setNativeAddress(nativeAddress);
 
-			assemblyMethods.add(assemblyMethod);
+				assemblyMethods.add(assemblyMethod);
+			}
 		}
 
-		builder.delete(0, builder.length());
+		methodLines.clear();
 
 		methodStarted = false;
 		methodInterrupted = false;
 	}
 
+	// drops trailing whitespace from the end of the method
+	private void trimTrailingWhitespace()
+	{
+		boolean trimmed = false;
+
+		while (!trimmed && !methodLines.isEmpty())
+		{
+			int lastIndex = methodLines.size() - 1;
+
+			String lastLine = methodLines.get(lastIndex);
+
+			int end = lastLine.length();
+
+			while (end > 0 && lastLine.charAt(end - 1) <= C_SPACE)
+			{
+				end--;
+			}
+
+			if (end == 0)
+			{
+				methodLines.remove(lastIndex);
+			}
+			else
+			{
+				if (end < lastLine.length())
+				{
+					methodLines.set(lastIndex, lastLine.substring(0, end));
+				}
+
+				trimmed = true;
+			}
+		}
+	}
+
+	// attaches the methods completed so far and keeps the one still being
+	// read, used while a log is followed
+	public void attachCompletedAssemblyToMembers(PackageManager packageManager)
+	{
+		attachAssemblyToMembers(packageManager);
+
+		assemblyMethods.clear();
+	}
+
 	public void attachAssemblyToMembers(PackageManager packageManager)
 	{
+		MemberResolutionCache cache = packageManager.getMemberResolutionCache();
+
 		for (AssemblyMethod assemblyMethod : assemblyMethods)
 		{
 			String asmSignature = assemblyMethod.getAssemblyMethodSignature();
-			
-			MemberSignatureParts msp = null;
 
-			IMetaMember currentMember = null;
+			String key = MemberResolutionCache.makeKey(MemberResolutionCache.KEY_ASSEMBLY_SIGNATURE, asmSignature);
+
+			IMetaMember currentMember = cache.get(key);
 
-			try
+			if (currentMember == null && !cache.isCachedAsMissing(key))
 			{
-				msp = MemberSignatureParts.fromAssembly(asmSignature);
+				MemberSignatureParts msp = parseAssemblySignature(asmSignature);
 
-				if (DEBUG_LOGGING_ASSEMBLY)
-				{
-					logger.debug("Parsed assembly sig {}\nfrom {}", msp, asmSignature);
-				}
+				String className = null;
 
-				MetaClass metaClass = packageManager.getMetaClass(msp.getFullyQualifiedClassName());
-				
-				if (metaClass != null)
+				if (msp != null)
 				{
-					currentMember = metaClass.getMemberForSignature(msp);
-				}
-				else
-				{
-					if (DEBUG_LOGGING)
-					{
-						logger.debug("No MetaClass found for {}", msp.getFullyQualifiedClassName());
-					}
+					className = msp.getFullyQualifiedClassName();
+
+					currentMember = findMemberForAssembly(packageManager, msp);
 				}
-			}
-			catch (LogParseException e)
-			{
-				logger.error("Could not parse MSP from line: {}", asmSignature, e);
+
+				cache.put(key, className, currentMember);
 			}
 
 			if (currentMember != null)
@@ -227,9 +316,51 @@ public class AssemblyProcessor
 			{
 				if (DEBUG_LOGGING_ASSEMBLY)
 				{
-					logger.debug("Didn't find member for {}", msp);
+					logger.debug("Didn't find member for {}", asmSignature);
 				}
 			}
 		}
 	}
+
+	private MemberSignatureParts parseAssemblySignature(String asmSignature)
+	{
+		MemberSignatureParts msp = null;
+
+		try
+		{
+			msp = MemberSignatureParts.fromAssembly(asmSignature);
+
+			if (DEBUG_LOGGING_ASSEMBLY)
+			{
+				logger.debug("Parsed assembly sig {}\nfrom {}", msp, asmSignature);
+			}
+		}
+		catch (LogParseException e)
+		{
+			logger.error("Could not parse MSP from line: {}", asmSignature, e);
+		}
+
+		return msp;
+	}
+
+	private IMetaMember findMemberForAssembly(PackageManager packageManager, MemberSignatureParts msp)
+	{
+		IMetaMember result = null;
+
+		MetaClass metaClass = packageManager.getMetaClass(msp.getFullyQualifiedClassName());
+
+		if (metaClass != null)
+		{
+			result = metaClass.getMemberForSignature(msp);
+		}
+		else
+		{
+			if (DEBUG_LOGGING)
+			{
+				logger.debug("No MetaClass found for {}", msp.getFullyQualifiedClassName());
+			}
+		}
+
+		return result;
+	}
 }
\ No newline at end of file
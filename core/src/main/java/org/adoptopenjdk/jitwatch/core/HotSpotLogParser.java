@@ -11,48 +11,35 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NMSIZE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP_COMPLETED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C1;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_AT;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.LOADED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_BODY_TAGS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_HEADER_TAGS;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_AT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_FILE_COLON;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE_FULL;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_COMMAND;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG_DONE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CDATA;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CLOSE_CDATA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_RELEASE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_START_COMPILE_THREAD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_SWEEPER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_DONE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TTY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TWEAK_VM;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_VM_ARGUMENTS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_VM_VERSION;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_XML;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
@@ -60,14 +47,21 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.loader.SourceIndex;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
 import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITDataModelSnapshot;
 import org.adoptopenjdk.jitwatch.model.JITEvent;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
@@ -76,13 +70,14 @@ import org.adoptopenjdk.jitwatch.model.ParsedClasspath;
 import org.adoptopenjdk.jitwatch.model.SplitLog;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.util.ClassUtil;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HotSpotLogParser implements ILogParser
+public class HotSpotLogParser implements ILogParser, ILogLineHandler
 {
 	private static final Logger logger = LoggerFactory.getLogger(HotSpotLogParser.class);
 
@@ -92,7 +87,10 @@ public class HotSpotLogParser implements ILogParser
 
 	private boolean isTweakVMLog = false;
 
-	private boolean reading = false;
+	private volatile boolean reading = false;
+
+	// set if the log could not be read to the end
+	private volatile boolean readFailed = false;
 
 	boolean hasTraceClassLoad = false;
 
@@ -105,19 +103,43 @@ public class HotSpotLogParser implements ILogParser
 	private IJITListener logListener = null;
 	private ILogParseErrorListener errorListener = null;
 
-	private boolean inHeader = false;
-
-	private long parseLineNumber;
 	private long processLineNumber;
 
 	private JITWatchConfig config = new JITWatchConfig();
 
 	private TagProcessor tagProcessor;
 
+	private ParallelTagParser parallelTagParser;
+
+	private volatile MappedLogReader logReader;
+
 	private AssemblyProcessor asmProcessor;
 
 	private SplitLog splitLog = new SplitLog();
 
+	// streaming mode never builds a SplitLog, the log is read once to build
+	// the class model and then replayed for the LogCompilation and assembly
+	private boolean streaming = false;
+
+	private boolean streamingClassModelPass = false;
+
+	// class names seen on [Loaded lines, bounded by the size of the model
+	private Set<String> streamedClassNames = new LinkedHashSet<>();
+
+	// follow mode handles each line as soon as it is read from a log the JVM
+	// is still writing, the class model grows with each [Loaded line
+	private volatile boolean following = false;
+
+	private File followedLog = null;
+
+	// end of the last complete line handled in the followed log
+	private volatile long followOffset = 0;
+
+	private static final long FOLLOW_POLL_MILLIS = 250;
+
+	// assembly is indexed by its offsets in the log and parsed when viewed
+	private boolean lazyAssembly = false;
+
 	public HotSpotLogParser(IJITListener logListener)
 	{
 		model = new JITDataModel();
@@ -129,6 +151,9 @@ public class HotSpotLogParser implements ILogParser
 	public void setConfig(JITWatchConfig config)
 	{
 		this.config = config;
+
+		// the source locations may have changed
+		SourceIndex.clear();
 	}
 
 	@Override
@@ -236,8 +261,23 @@ public class HotSpotLogParser implements ILogParser
 		
 		getModel().reset();
 
+		// caches built for the previous log may be stale
+		BytecodeCache.getSharedCache().clear();
+		SourceMapper.clear();
+		SourceIndex.clear();
+		SymbolTable.clear();
+
 		splitLog.clear();
 
+		streamedClassNames.clear();
+
+		streaming = config.isStreamingParse();
+
+		followedLog = null;
+		followOffset = 0;
+
+		lazyAssembly = false;
+
 		hasTraceClassLoad = false;
 
 		isTweakVMLog = false;
@@ -247,8 +287,7 @@ public class HotSpotLogParser implements ILogParser
 		errorDialogBody = null;
 
 		reading = false;
-
-		inHeader = false;
+		readFailed = false;
 
 		currentMember = null;
 
@@ -257,29 +296,278 @@ public class HotSpotLogParser implements ILogParser
 
 		vmCommand = null;
 
-		parseLineNumber = 0;
 		processLineNumber = 0;
 
 		tagProcessor = new TagProcessor();
+
+		shutdownParallelTagParser();
+
+		if (config.isParallelParse())
+		{
+			parallelTagParser = new ParallelTagParser(new ITagHandler()
+			{
+				@Override
+				public void handleTag(Tag tag, long lineNumber)
+				{
+					processLineNumber = lineNumber;
+
+					HotSpotLogParser.this.handleTag(tag);
+				}
+			});
+		}
 		
 		asmProcessor = new AssemblyProcessor();
 	}
 
 	@Override
 	public void processLogFile(File hotspotLog, ILogParseErrorListener errorListener)
+	{
+		processLogFiles(Collections.singletonList(hotspotLog), errorListener);
+	}
+
+	@Override
+	public void processLogFiles(List<File> hotspotLogParts, ILogParseErrorListener errorListener)
 	{
 		reset();
 
 		this.errorListener = errorListener;
 
-		splitLogFile(hotspotLog);
+		// snapshots are only kept for a log in a single file
+		File snapshotFile = null;
 
-		if (DEBUG_LOGGING)
+		if (hotspotLogParts.size() == 1)
+		{
+			snapshotFile = JITDataModelSnapshot.getSnapshotFile(hotspotLogParts.get(0));
+		}
+
+		boolean loadedSnapshot = false;
+
+		if (snapshotFile != null
+				&& JITDataModelSnapshot.isFresh(snapshotFile, hotspotLogParts.get(0), config.getConfiguredClassLocations()))
+		{
+			loadedSnapshot = loadSnapshot(snapshotFile, hotspotLogParts.get(0));
+		}
+
+		if (!loadedSnapshot)
+		{
+			configureLazyAssembly(hotspotLogParts);
+
+			if (streaming)
+			{
+				streamLogFile(hotspotLogParts);
+			}
+			else
+			{
+				splitLogFile(hotspotLogParts);
+
+				if (DEBUG_LOGGING)
+				{
+					logSplitStats();
+				}
+
+				parseLogFile();
+			}
+
+			// a stopped or failed read leaves an incomplete model
+			if (snapshotFile != null && config.isWriteModelSnapshot() && reading && !readFailed)
+			{
+				writeSnapshot(hotspotLogParts.get(0), snapshotFile);
+			}
+		}
+	}
+
+	@Override
+	public void followLogFile(File hotspotLog, ILogParseErrorListener errorListener) throws IOException
+	{
+		if (MappedLogReader.isCompressed(hotspotLog))
+		{
+			throw new IOException("A compressed log cannot be followed: " + hotspotLog.getPath());
+		}
+
+		boolean resume = hotspotLog.equals(followedLog) && hotspotLog.length() >= followOffset;
+
+		if (!resume)
+		{
+			reset();
+
+			// lines are handled in log order as they are read
+			streaming = false;
+
+			shutdownParallelTagParser();
+
+			followedLog = hotspotLog;
+
+			configureLazyAssembly(Collections.singletonList(hotspotLog));
+
+			logReader = new MappedLogReader(this);
+
+			configureDisposableClassLoader();
+		}
+
+		this.errorListener = errorListener;
+
+		reading = true;
+		following = true;
+
+		logReader.startReading();
+
+		try
+		{
+			followLog(hotspotLog);
+		}
+		finally
+		{
+			following = false;
+
+			// an unfinished task is kept as a fragment, its remaining lines
+			// are not matched up if following resumes
+			Tag unfinishedTag = tagProcessor.flushUnfinishedTag();
+
+			if (unfinishedTag != null)
+			{
+				handleTag(unfinishedTag);
+			}
+
+			completeAssembly();
+		}
+
+		checkIfErrorDialogNeeded();
+
+		logListener.handleReadComplete();
+	}
+
+	// Polls for new lines until stopParsing() is called or the JVM has closed
+	// the log, which is once <hotspot_log_done> has been seen and no more
+	// lines follow. HotSpot merges the per-compiler-thread logs holding the
+	// <task> trees at exit so they arrive last.
+	private void followLog(File hotspotLog) throws IOException
+	{
+		boolean logClosed = false;
+
+		while (reading && !logClosed)
+		{
+			if (hotspotLog.length() < followOffset)
+			{
+				throw new IOException("Log file was truncated while being followed: " + hotspotLog.getPath());
+			}
+
+			long offset = logReader.readAppendedLines(hotspotLog, followOffset);
+
+			boolean readNewLines = offset > followOffset;
+
+			followOffset = offset;
+
+			asmProcessor.attachCompletedAssemblyToMembers(model.getPackageManager());
+
+			if (!readNewLines)
+			{
+				if (model.getEndOfLogTag() != null)
+				{
+					logClosed = true;
+				}
+				else
+				{
+					try
+					{
+						Thread.sleep(FOLLOW_POLL_MILLIS);
+					}
+					catch (InterruptedException ie)
+					{
+						Thread.currentThread().interrupt();
+
+						reading = false;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public long getFollowOffset()
+	{
+		return followOffset;
+	}
+
+	// offsets are only known for a log read from a single uncompressed file
+	private void configureLazyAssembly(List<File> hotspotLogParts)
+	{
+		lazyAssembly = config.isLazyAssembly() && hotspotLogParts.size() == 1
+				&& !MappedLogReader.isCompressed(hotspotLogParts.get(0));
+
+		if (lazyAssembly)
+		{
+			asmProcessor.setAssemblyCache(new AssemblyCache(hotspotLogParts.get(0)));
+		}
+	}
+
+	private boolean loadSnapshot(File snapshotFile, File hotspotLog)
+	{
+		boolean result = false;
+
+		JITDataModelSnapshot snapshot = new JITDataModelSnapshot(model);
+
+		snapshot.setAssemblyCache(new AssemblyCache(hotspotLog));
+		snapshot.setCompactTasks(config.isCompactTasks());
+
+		try
+		{
+			snapshot.read(snapshotFile);
+
+			vmCommand = snapshot.getVmCommand();
+			isTweakVMLog = snapshot.isTweakVMLog();
+			hasTraceClassLoad = snapshot.isTraceClassLoading();
+
+			for (String location : snapshot.getParsedClassLocations())
+			{
+				getParsedClasspath().addClassLocation(location);
+			}
+
+			configureDisposableClassLoader();
+
+			logListener.handleLogEntry("Loaded model snapshot " + snapshotFile.getPath());
+
+			for (JITEvent event : model.getEventListCopy())
+			{
+				logEvent(event);
+			}
+
+			checkIfErrorDialogNeeded();
+
+			logListener.handleReadComplete();
+
+			result = true;
+		}
+		catch (IOException | RuntimeException e)
 		{
-			logSplitStats();
+			logger.warn("Could not load model snapshot {}, parsing the log instead", snapshotFile, e);
+
+			reset();
 		}
 
-		parseLogFile();
+		return result;
+	}
+
+	private void writeSnapshot(File hotspotLog, File snapshotFile)
+	{
+		JITDataModelSnapshot snapshot = new JITDataModelSnapshot(model);
+
+		snapshot.setLogFile(hotspotLog);
+		snapshot.setClassLocations(config.getConfiguredClassLocations());
+		snapshot.setVmCommand(vmCommand);
+		snapshot.setTweakVMLog(isTweakVMLog);
+		snapshot.setTraceClassLoading(hasTraceClassLoad);
+		snapshot.setParsedClassLocations(getParsedClasspath().getClassLocations());
+
+		try
+		{
+			snapshot.write(snapshotFile);
+
+			logListener.handleLogEntry("Wrote model snapshot " + snapshotFile.getPath());
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not write model snapshot {}", snapshotFile, ioe);
+		}
 	}
 
 	@Override
@@ -308,6 +596,56 @@ public class HotSpotLogParser implements ILogParser
 		logListener.handleReadComplete();
 	}
 
+	private void streamLogFile(List<File> hotspotLogParts)
+	{
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("streamLogFile()");
+		}
+
+		// The class model must exist before any tag is resolved to a member
+		// so the first pass only handles the header and [Loaded lines and the
+		// second pass replays the log for the LogCompilation and assembly
+		// lines. Neither pass retains the lines it has read.
+		streamingClassModelPass = true;
+
+		readLogFile(hotspotLogParts);
+
+		configureDisposableClassLoader();
+
+		buildStreamedClassModel();
+
+		if (reading && !readFailed)
+		{
+			streamingClassModelPass = false;
+
+			readLogFile(hotspotLogParts);
+		}
+
+		completeParallelTagParse();
+
+		completeAssembly();
+
+		checkIfErrorDialogNeeded();
+
+		logListener.handleReadComplete();
+	}
+
+	private void buildStreamedClassModel()
+	{
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("buildStreamedClassModel() {} classes", streamedClassNames.size());
+		}
+
+		for (String fqClassName : streamedClassNames)
+		{
+			addToClassModel(fqClassName);
+		}
+
+		streamedClassNames.clear();
+	}
+
 	private void checkIfErrorDialogNeeded()
 	{
 		if (!hasParseError)
@@ -336,16 +674,21 @@ public class HotSpotLogParser implements ILogParser
 
 		for (NumberedLine numberedLine : splitLog.getHeaderLines())
 		{
-			if (!skipLine(numberedLine.getLine(), SKIP_HEADER_TAGS))
-			{
-				Tag tag = tagProcessor.processLine(numberedLine.getLine());
+			parseHeaderLine(numberedLine);
+		}
+	}
 
-				processLineNumber = numberedLine.getLineNumber();
+	private void parseHeaderLine(NumberedLine numberedLine)
+	{
+		if (!skipLine(numberedLine.getLine(), SKIP_HEADER_TAGS))
+		{
+			Tag tag = tagProcessor.processLine(numberedLine.getLine());
 
-				if (tag != null)
-				{
-					handleTag(tag);
-				}
+			processLineNumber = numberedLine.getLineNumber();
+
+			if (tag != null)
+			{
+				handleTag(tag);
 			}
 		}
 	}
@@ -359,7 +702,21 @@ public class HotSpotLogParser implements ILogParser
 
 		for (NumberedLine numberedLine : splitLog.getLogCompilationLines())
 		{
-			if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
+			parseLogCompilationLine(numberedLine);
+		}
+
+		completeParallelTagParse();
+	}
+
+	private void parseLogCompilationLine(NumberedLine numberedLine)
+	{
+		if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
+		{
+			if (parallelTagParser != null)
+			{
+				parallelTagParser.addLine(numberedLine);
+			}
+			else
 			{
 				Tag tag = tagProcessor.processLine(numberedLine.getLine());
 
@@ -373,6 +730,26 @@ public class HotSpotLogParser implements ILogParser
 		}
 	}
 
+	private void completeParallelTagParse()
+	{
+		if (parallelTagParser != null)
+		{
+			parallelTagParser.flush();
+
+			shutdownParallelTagParser();
+		}
+	}
+
+	private void shutdownParallelTagParser()
+	{
+		if (parallelTagParser != null)
+		{
+			parallelTagParser.shutdown();
+
+			parallelTagParser = null;
+		}
+	}
+
 	private void parseAssemblyLines()
 	{
 		if (DEBUG_LOGGING)
@@ -382,11 +759,21 @@ public class HotSpotLogParser implements ILogParser
 
 		for (NumberedLine numberedLine : splitLog.getAssemblyLines())
 		{
-			processLineNumber = numberedLine.getLineNumber();
-
-			asmProcessor.handleLine(numberedLine.getLine());
+			parseAssemblyLine(numberedLine);
 		}
 
+		completeAssembly();
+	}
+
+	private void parseAssemblyLine(NumberedLine numberedLine)
+	{
+		processLineNumber = numberedLine.getLineNumber();
+
+		asmProcessor.handleLine(numberedLine.getLine());
+	}
+
+	private void completeAssembly()
+	{
 		asmProcessor.complete();
 
 		asmProcessor.attachAssemblyToMembers(model.getPackageManager());
@@ -394,61 +781,26 @@ public class HotSpotLogParser implements ILogParser
 		asmProcessor.clear();
 	}
 
-	private void splitLogFile(File hotspotLog)
+	private void splitLogFile(List<File> hotspotLogParts)
+	{
+		readLogFile(hotspotLogParts);
+	}
+
+	private void readLogFile(List<File> hotspotLogParts)
 	{
 		reading = true;
 
-		BufferedReader reader = null;
+		logReader = new MappedLogReader(this);
 
 		try
 		{
-			reader = new BufferedReader(new FileReader(hotspotLog), 65536);
-
-			String currentLine = reader.readLine();
-
-			while (reading && currentLine != null)
-			{
-				try
-				{
-					String trimmedLine = currentLine.trim();
-
-					if (trimmedLine.length() > 0)
-					{
-						char firstChar = trimmedLine.charAt(0);
-
-						if (firstChar == C_OPEN_ANGLE || firstChar == C_OPEN_SQUARE_BRACKET || firstChar == C_AT)
-						{
-							currentLine = trimmedLine;
-						}
-
-						handleLogLine(currentLine);
-					}
-				}
-				catch (Exception ex)
-				{
-					logger.error("Exception handling: '{}'", currentLine, ex);
-				}
-
-				currentLine = reader.readLine();
-			}
+			logReader.readFiles(hotspotLogParts);
 		}
 		catch (IOException ioe)
 		{
-			logger.error("Exception while splitting log file", ioe);
-		}
-		finally
-		{
-			if (reader != null)
-			{
-				try
-				{
-					reader.close();
-				}
-				catch (Exception e)
-				{
-					logger.error("Could not close reader");
-				}
-			}
+			readFailed = true;
+
+			logger.error("Exception while reading log file", ioe);
 		}
 	}
 
@@ -464,6 +816,13 @@ public class HotSpotLogParser implements ILogParser
 	public void stopParsing()
 	{
 		reading = false;
+
+		MappedLogReader currentReader = logReader;
+
+		if (currentReader != null)
+		{
+			currentReader.stop();
+		}
 	}
 
 	private boolean skipLine(final String line, final Set<String> skipSet)
@@ -482,79 +841,135 @@ public class HotSpotLogParser implements ILogParser
 		return isSkip;
 	}
 
-	private void handleLogLine(final String inCurrentLine)
+	@Override
+	public boolean isLineTypeWanted(LogLineType type)
 	{
-		String currentLine = inCurrentLine;
+		boolean wanted;
+
+		if (!streaming)
+		{
+			wanted = true;
+		}
+		else if (streamingClassModelPass)
+		{
+			wanted = type == LogLineType.HEADER || type == LogLineType.CLASS_LOADER;
+		}
+		else
+		{
+			wanted = type == LogLineType.LOG_COMPILATION || type == LogLineType.ASSEMBLY;
+		}
 
-		NumberedLine numberedLine = new NumberedLine(parseLineNumber++, currentLine);
+		return wanted;
+	}
+
+	@Override
+	public void handleLine(LogLineType type, long lineNumber, String line)
+	{
+		NumberedLine numberedLine = new NumberedLine(lineNumber, line);
 
-		if (TAG_TTY.equals(currentLine))
+		try
 		{
-			inHeader = false;
-			return;
+			switch (type)
+			{
+			case HEADER:
+				handleHeaderLine(numberedLine);
+				break;
+
+			case CLASS_LOADER:
+				handleClassLoaderLine(numberedLine);
+				break;
+
+			case LOG_COMPILATION:
+				handleLogCompilationLine(numberedLine);
+				break;
+
+			case ASSEMBLY:
+				handleAssemblyLine(numberedLine);
+				break;
+			}
 		}
-		else if (currentLine.startsWith(TAG_XML))
+		catch (Exception ex)
 		{
-			inHeader = true;
+			logger.error("Exception handling: '{}'", line, ex);
 		}
+	}
 
-		if (inHeader)
+	private void handleHeaderLine(NumberedLine numberedLine)
+	{
+		if (streaming || following)
 		{
-			// HotSpot log header XML can have text nodes so consume all lines
-			splitLog.addHeaderLine(numberedLine);
+			parseHeaderLine(numberedLine);
 		}
 		else
 		{
-			if (currentLine.startsWith(TAG_OPEN_CDATA) || currentLine.startsWith(TAG_CLOSE_CDATA)
-					|| currentLine.startsWith(TAG_OPEN_CLOSE_CDATA))
-			{
-				// ignore, TagProcessor will recognise from <fragment> tag
-			}
-			else if (currentLine.startsWith(S_OPEN_ANGLE))
-			{
-				// After the header, XML nodes do not have text nodes
-				splitLog.addLogCompilationLine(numberedLine);
-			}
-			else if (currentLine.startsWith(LOADED))
-			{
-				splitLog.addClassLoaderLine(numberedLine);
-			}
-			else if (currentLine.startsWith(S_AT))
+			splitLog.addHeaderLine(numberedLine);
+		}
+	}
+
+	private void handleClassLoaderLine(NumberedLine numberedLine)
+	{
+		if (following)
+		{
+			String line = numberedLine.getLine();
+
+			int locationCount = getParsedClasspath().getClassLocations().size();
+
+			buildParsedClasspath(line);
+
+			if (getParsedClasspath().getClassLocations().size() != locationCount)
 			{
-				// possible PrintCompilation was enabled as well as
-				// LogCompilation?
-				// jmh does this with perf annotations
-				// Ignore this line
+				configureDisposableClassLoader();
 			}
-			else
-			{
-				// need to cope with nmethod appearing on same line as last hlt
-				// 0x0000 hlt <nmethod compile_id= ....
 
-				int indexNMethod = currentLine.indexOf(S_OPEN_ANGLE + TAG_NMETHOD);
+			buildClassModel(line);
+		}
+		else if (streaming)
+		{
+			String line = numberedLine.getLine();
 
-				if (indexNMethod != -1)
-				{
-					if (DEBUG_LOGGING)
-					{
-						logger.debug("detected nmethod tag mangled with assembly");
-					}
+			buildParsedClasspath(line);
 
-					String assembly = currentLine.substring(0, indexNMethod);
+			String fqClassName = StringUtil.getSubstringBetween(line, LOADED, S_SPACE);
 
-					String remainder = currentLine.substring(indexNMethod);
+			if (fqClassName != null)
+			{
+				streamedClassNames.add(fqClassName);
+			}
+		}
+		else
+		{
+			splitLog.addClassLoaderLine(numberedLine);
+		}
+	}
 
-					numberedLine.setLine(assembly);
+	private void handleLogCompilationLine(NumberedLine numberedLine)
+	{
+		if (streaming || following)
+		{
+			parseLogCompilationLine(numberedLine);
+		}
+		else
+		{
+			splitLog.addLogCompilationLine(numberedLine);
+		}
+	}
 
-					splitLog.addAssemblyLine(numberedLine);
+	private void handleAssemblyLine(NumberedLine numberedLine)
+	{
+		if (lazyAssembly)
+		{
+			// the offsets are only known while the line is being read
+			processLineNumber = numberedLine.getLineNumber();
 
-					handleLogLine(remainder);
-				}
-				else
-				{
-					splitLog.addAssemblyLine(numberedLine);
-				}
-			}
+			asmProcessor.handleLine(numberedLine.getLine(), logReader.getLineStartOffset(), logReader.getLineEndOffset());
+		}
+		else if (streaming || following)
+		{
+			parseAssemblyLine(numberedLine);
+		}
+		else
+		{
+			splitLog.addAssemblyLine(numberedLine);
 		}
 	}
 
@@ -641,6 +1056,13 @@ public class HotSpotLogParser implements ILogParser
 		model.getJITStats().incCompilerThreads();
 	}
 
+	private String describeLine(long lineNumber)
+	{
+		MappedLogReader currentReader = logReader;
+
+		return (currentReader != null) ? currentReader.describeLine(lineNumber) : Long.toString(lineNumber);
+	}
+
 	public IMetaMember findMemberWithSignature(String logSignature)
 	{
 		IMetaMember result = null;
@@ -657,7 +1079,7 @@ public class HotSpotLogParser implements ILogParser
 				logger.debug("Exception was {}", ex.getMessage());
 			}
 
-			logError("Could not parse line " + processLineNumber + " : " + logSignature + " : " + ex.getMessage());
+			logError("Could not parse line " + describeLine(processLineNumber) + " : " + logSignature + " : " + ex.getMessage());
 		}
 
 		return result;
@@ -668,25 +1090,12 @@ public class HotSpotLogParser implements ILogParser
 		handleMethodLine(tag, EventType.QUEUE);
 	}
 
-	private void renameCompilationCompletedTimestamp(Tag tag)
-	{
-		String compilationCompletedStamp = tag.getAttributes().get(ATTR_STAMP);
-
-		if (compilationCompletedStamp != null)
-		{
-			tag.getAttributes().remove(ATTR_STAMP);
-			tag.getAttributes().put(ATTR_STAMP_COMPLETED, compilationCompletedStamp);
-		}
-	}
-
 	private void handleTagNMethod(Tag tag)
 	{
 		Map<String, String> tagAttributes = tag.getAttributes();
 
 		String attrCompiler = tagAttributes.get(ATTR_COMPILER);
 
-		renameCompilationCompletedTimestamp(tag);
-
 		if (attrCompiler != null)
 		{
 			if (C1.equals(attrCompiler))
@@ -721,6 +1130,8 @@ public class HotSpotLogParser implements ILogParser
 	{
 		handleMethodLine(tag, EventType.TASK);
 
+		IMetaMember taskMember = currentMember;
+
 		Tag tagCodeCache = tag.getFirstNamedChild(TAG_CODE_CACHE);
 
 		if (tagCodeCache != null)
@@ -734,6 +1145,30 @@ public class HotSpotLogParser implements ILogParser
 		{
 			handleTaskDone(tagTaskDone);
 		}
+
+		if (config.isCompactTasks())
+		{
+			compactTask(taskMember, tag, tagCodeCache);
+		}
+	}
+
+	// the tree is only referenced by its compilation and the code_cache event
+	private void compactTask(IMetaMember taskMember, Tag tag, Tag tagCodeCache)
+	{
+		if (taskMember != null)
+		{
+			Compilation compilation = taskMember.getCompilationByCompileID(tag.getAttributes().get(ATTR_COMPILE_ID));
+
+			if (compilation != null && compilation.getTagTask() == tag)
+			{
+				compilation.compactTagTask();
+			}
+		}
+
+		if (tagCodeCache != null)
+		{
+			tagCodeCache.setParent(null);
+		}
 	}
 
 	private void storeCodeCacheEvent(Tag tag)
@@ -925,6 +1360,11 @@ public class HotSpotLogParser implements ILogParser
 		{
 			return;
 		}
+
+		if (config.isClassFileModel() && addToClassModelFromClassFile(fqClassName))
+		{
+			return;
+		}
 		
 		try
 		{
@@ -964,6 +1404,30 @@ public class HotSpotLogParser implements ILogParser
 		}
 	}
 
+	// Classes without readable bytes (e.g. generated at runtime) fall back
+	// to the reflection path
+	private boolean addToClassModelFromClassFile(String fqClassName)
+	{
+		boolean added = false;
+
+		try
+		{
+			byte[] classBytes = ClassUtil.getClassBytes(fqClassName);
+
+			if (classBytes != null)
+			{
+				model.buildAndGetMetaClass(new ClassFileReader(classBytes));
+				added = true;
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			logger.warn("Could not read classfile for {}", fqClassName, e);
+		}
+
+		return added;
+	}
+
 	@Override
 	public boolean hasParseError()
 	{
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+public interface ILogLineHandler
+{
+	// lines of unwanted types are classified but never decoded into a String
+	boolean isLineTypeWanted(LogLineType type);
+
+	void handleLine(LogLineType type, long lineNumber, String line);
+}
@@ -7,6 +7,7 @@ package org.adoptopenjdk.jitwatch.core;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
 import org.adoptopenjdk.jitwatch.model.ParsedClasspath;
@@ -17,6 +18,17 @@ public interface ILogParser
 	void setConfig(JITWatchConfig config);
 	
 	void processLogFile(File hotspotLog, ILogParseErrorListener listener) throws IOException;
+
+	// parses the ordered parts of a log as one log, parts ending in .gz are
+	// decompressed as they are read
+	void processLogFiles(List<File> hotspotLogParts, ILogParseErrorListener listener) throws IOException;
+
+	// parses a log while the JVM is still writing it until stopParsing() is
+	// called or the log is closed, resumes from getFollowOffset() when called
+	// again for the same log
+	void followLogFile(File hotspotLog, ILogParseErrorListener listener) throws IOException;
+
+	long getFollowOffset();
 	
 	SplitLog getSplitLog();
 	
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+import org.adoptopenjdk.jitwatch.model.Tag;
+
+public interface ITagHandler
+{
+	// lineNumber is the line that completed the top-level tag
+	void handleTag(Tag tag, long lineNumber);
+}
@@ -71,6 +71,13 @@ public class JITWatchConfig
 	private static final String KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW = "triview.mouse_follow";
 	private static final String KEY_TRIVIEW_LOCAL_ASM_LABELS = "triview.local_asm_labels";
 
+	private static final String KEY_PARSER_STREAMING = "parser.streaming";
+	private static final String KEY_PARSER_PARALLEL = "parser.parallel";
+	private static final String KEY_PARSER_CLASSFILE_MODEL = "parser.classfile.model";
+	private static final String KEY_PARSER_WRITE_SNAPSHOT = "parser.write.snapshot";
+	private static final String KEY_PARSER_LAZY_ASSEMBLY = "parser.lazy.assembly";
+	private static final String KEY_PARSER_COMPACT_TASKS = "parser.compact.tasks";
+
 	private static final String SANDBOX_PREFIX = "sandbox";
 	private static final String KEY_SANDBOX_INTEL_MODE = SANDBOX_PREFIX + ".intel.mode";
 	private static final String KEY_SANDBOX_TIERED_MODE = SANDBOX_PREFIX + ".tiered.mode";
@@ -100,6 +107,13 @@ public class JITWatchConfig
 	private boolean mouseFollow = false;
 	private boolean localAsmLabels = false;
 
+	private boolean streamingParse = false;
+	private boolean parallelParse = false;
+	private boolean classFileModel = false;
+	private boolean writeModelSnapshot = false;
+	private boolean lazyAssembly = false;
+	private boolean compactTasks = false;
+
 	private TieredCompilation tieredCompilationMode;
 	private CompressedOops compressedOopsMode;
 	private BackgroundCompilation backgroundCompilationMode;
@@ -333,6 +347,13 @@ public class JITWatchConfig
 		mouseFollow = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, false);
 		localAsmLabels = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, true);
 
+		streamingParse = loadBooleanFromProperty(loadedProps, KEY_PARSER_STREAMING, false);
+		parallelParse = loadBooleanFromProperty(loadedProps, KEY_PARSER_PARALLEL, false);
+		classFileModel = loadBooleanFromProperty(loadedProps, KEY_PARSER_CLASSFILE_MODEL, false);
+		writeModelSnapshot = loadBooleanFromProperty(loadedProps, KEY_PARSER_WRITE_SNAPSHOT, false);
+		lazyAssembly = loadBooleanFromProperty(loadedProps, KEY_PARSER_LAZY_ASSEMBLY, false);
+		compactTasks = loadBooleanFromProperty(loadedProps, KEY_PARSER_COMPACT_TASKS, false);
+
 		loadTieredMode();
 
 		loadCompressedOopsMode();
@@ -588,6 +609,12 @@ public class JITWatchConfig
 		putProperty(loadedProps, KEY_SANDBOX_INTEL_MODE, Boolean.toString(intelMode));
 		putProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, Boolean.toString(mouseFollow));
 		putProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, Boolean.toString(localAsmLabels));
+		putProperty(loadedProps, KEY_PARSER_STREAMING, Boolean.toString(streamingParse));
+		putProperty(loadedProps, KEY_PARSER_PARALLEL, Boolean.toString(parallelParse));
+		putProperty(loadedProps, KEY_PARSER_CLASSFILE_MODEL, Boolean.toString(classFileModel));
+		putProperty(loadedProps, KEY_PARSER_WRITE_SNAPSHOT, Boolean.toString(writeModelSnapshot));
+		putProperty(loadedProps, KEY_PARSER_LAZY_ASSEMBLY, Boolean.toString(lazyAssembly));
+		putProperty(loadedProps, KEY_PARSER_COMPACT_TASKS, Boolean.toString(compactTasks));
 
 		saveTieredCompilationMode();
 
@@ -919,4 +946,64 @@ public class JITWatchConfig
 	{
 		this.localAsmLabels = localAsmLabels;
 	}
+
+	public boolean isStreamingParse()
+	{
+		return streamingParse;
+	}
+
+	public void setStreamingParse(boolean streamingParse)
+	{
+		this.streamingParse = streamingParse;
+	}
+
+	public boolean isParallelParse()
+	{
+		return parallelParse;
+	}
+
+	public void setParallelParse(boolean parallelParse)
+	{
+		this.parallelParse = parallelParse;
+	}
+
+	public boolean isClassFileModel()
+	{
+		return classFileModel;
+	}
+
+	public void setClassFileModel(boolean classFileModel)
+	{
+		this.classFileModel = classFileModel;
+	}
+
+	public boolean isWriteModelSnapshot()
+	{
+		return writeModelSnapshot;
+	}
+
+	public void setWriteModelSnapshot(boolean writeModelSnapshot)
+	{
+		this.writeModelSnapshot = writeModelSnapshot;
+	}
+
+	public boolean isLazyAssembly()
+	{
+		return lazyAssembly;
+	}
+
+	public void setLazyAssembly(boolean lazyAssembly)
+	{
+		this.lazyAssembly = lazyAssembly;
+	}
+
+	public boolean isCompactTasks()
+	{
+		return compactTasks;
+	}
+
+	public void setCompactTasks(boolean compactTasks)
+	{
+		this.compactTasks = compactTasks;
+	}
 }
\ No newline at end of file
@@ -159,6 +159,7 @@ public final class JITWatchConstants
 	public static final String ATTR_COMMENT = "comment";
 	public static final String ATTR_ADDRESS = "address";
 	public static final String ATTR_PREALLOCATED = "preallocated";
+	public static final String ATTR_KIND = "kind";
 
 	public static final String ALWAYS = "always";
 	public static final String NEVER = "never";
@@ -291,6 +292,7 @@ public final class JITWatchConstants
 	public static final char C_BACKSLASH = '\\';
 	public static final char C_HAT = '^';
 	public static final char C_DOLLAR = '$';
+	public static final char C_AMPERSAND = '&';
 
 	public static final String S_HEX_PREFIX = "0x";
 	public static final String S_HEX_POSTFIX = "h";
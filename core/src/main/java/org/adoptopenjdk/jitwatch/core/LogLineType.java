@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+public enum LogLineType
+{
+	HEADER, CLASS_LOADER, LOG_COMPILATION, ASSEMBLY;
+}
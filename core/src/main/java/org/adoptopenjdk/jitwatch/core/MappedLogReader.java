@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_AT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.LOADED;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TTY;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_XML;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Reads a HotSpot log through a sliding memory-mapped window and classifies
+// each line from its leading bytes. A String is only decoded for lines whose
+// type the handler wants. Compressed logs and logs in several parts are
+// streamed through a buffer instead and read as one log.
+public class MappedLogReader
+{
+	private static final Logger logger = LoggerFactory.getLogger(MappedLogReader.class);
+
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	public static final int DEFAULT_STREAM_BUFFER_SIZE = 1024 * 1024;
+
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+	private static final String GZIP_EXTENSION = ".gz";
+
+	private static final byte C_CARRIAGE_RETURN = '\r';
+
+	private static final byte[] BYTES_TAG_TTY = ascii(TAG_TTY);
+	private static final byte[] BYTES_TAG_XML = ascii(TAG_XML);
+	private static final byte[] BYTES_TAG_OPEN_CDATA = ascii(TAG_OPEN_CDATA);
+	private static final byte[] BYTES_TAG_CLOSE_CDATA = ascii(TAG_CLOSE_CDATA);
+	private static final byte[] BYTES_LOADED = ascii(LOADED);
+	private static final byte[] BYTES_OPEN_NMETHOD = ascii(S_OPEN_ANGLE + TAG_NMETHOD);
+
+	private final ILogLineHandler handler;
+
+	private final int windowSize;
+
+	private volatile boolean reading = false;
+
+	private boolean inHeader = false;
+
+	private long lineNumber = 0;
+
+	private byte[] lineBytes = new byte[1024];
+
+	// the parts of the log read and the line number each part started at
+	private List<File> parts = new ArrayList<>();
+
+	private List<Long> partStartLines = new ArrayList<>();
+
+	// file offset of the window being scanned, -1 when the log is streamed
+	private long windowOffset = -1;
+
+	private long lineStartOffset = -1;
+
+	private long lineEndOffset = -1;
+
+	public MappedLogReader(ILogLineHandler handler)
+	{
+		this(handler, DEFAULT_WINDOW_SIZE);
+	}
+
+	public MappedLogReader(ILogLineHandler handler, int windowSize)
+	{
+		this.handler = handler;
+		this.windowSize = windowSize;
+	}
+
+	public static boolean isCompressed(File logFile)
+	{
+		return logFile.getName().endsWith(GZIP_EXTENSION);
+	}
+
+	private static byte[] ascii(String text)
+	{
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	public void stop()
+	{
+		reading = false;
+	}
+
+	public void readFile(File logFile) throws IOException
+	{
+		readFiles(Collections.singletonList(logFile));
+	}
+
+	// Reads the parts in order as one log. Line numbers run on across the
+	// parts and a line split between two parts is joined up.
+	public void readFiles(List<File> logParts) throws IOException
+	{
+		reading = true;
+		inHeader = false;
+		lineNumber = 0;
+
+		parts.clear();
+		partStartLines.clear();
+
+		try
+		{
+			if (logParts.size() == 1 && !isCompressed(logParts.get(0)))
+			{
+				startPart(logParts.get(0));
+
+				readLines(logParts.get(0), 0, Long.MAX_VALUE, true);
+			}
+			else
+			{
+				readStreams(logParts, Math.min(windowSize, DEFAULT_STREAM_BUFFER_SIZE));
+			}
+		}
+		finally
+		{
+			reading = false;
+		}
+	}
+
+	// reads the lines between two offsets of a log read before
+	public void readRange(File logFile, long startOffset, long endOffset) throws IOException
+	{
+		reading = true;
+		inHeader = false;
+
+		try
+		{
+			readLines(logFile, startOffset, endOffset, true);
+		}
+		finally
+		{
+			reading = false;
+		}
+	}
+
+	// The file offsets of the line being handled, -1 when the log is not read
+	// from a single uncompressed file. Lines keep the bounds they were
+	// delivered with so an assembly line split from an <nmethod> tag ends
+	// where the tag starts.
+	public long getLineStartOffset()
+	{
+		return lineStartOffset;
+	}
+
+	public long getLineEndOffset()
+	{
+		return lineEndOffset;
+	}
+
+	// describes a line number by the part it was read from when the log was
+	// read in several parts
+	public String describeLine(long number)
+	{
+		String result = Long.toString(number);
+
+		if (parts.size() > 1)
+		{
+			int index = parts.size() - 1;
+
+			while (index > 0 && partStartLines.get(index) > number)
+			{
+				index--;
+			}
+
+			result = number + " (" + parts.get(index).getName() + " line " + (number - partStartLines.get(index)) + ")";
+		}
+
+		return result;
+	}
+
+	private void startPart(File logPart)
+	{
+		parts.add(logPart);
+		partStartLines.add(lineNumber);
+	}
+
+	// arms the reader for readAppendedLines, also after stop() so a followed
+	// log carries on from the last offset read
+	public void startReading()
+	{
+		reading = true;
+	}
+
+	// Reads the complete lines written since offset and returns the offset
+	// after the last of them. A line still being written is left for the next
+	// call. Line numbers and header state carry over between calls.
+	public long readAppendedLines(File logFile, long offset) throws IOException
+	{
+		return readLines(logFile, offset, Long.MAX_VALUE, false);
+	}
+
+	private long readLines(File logFile, long startOffset, long endOffset, boolean includeUnterminatedLine) throws IOException
+	{
+		long windowStart = startOffset;
+
+		try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ))
+		{
+			long fileSize = Math.min(channel.size(), endOffset);
+
+			int mapSize = windowSize;
+
+			boolean atEnd = windowStart >= fileSize;
+
+			while (reading && !atEnd)
+			{
+				int size = (int) Math.min(mapSize, fileSize - windowStart);
+
+				boolean lastWindow = windowStart + size == fileSize;
+
+				ByteBuffer window = channel.map(MapMode.READ_ONLY, windowStart, size);
+
+				windowOffset = windowStart;
+
+				int consumed = scanWindow(window, size, lastWindow && includeUnterminatedLine);
+
+				if (lastWindow)
+				{
+					windowStart += consumed;
+
+					atEnd = true;
+				}
+				else if (consumed == 0)
+				{
+					// a single line is longer than the window
+					if (DEBUG_LOGGING)
+					{
+						logger.debug("Growing window at offset {} from {} bytes", windowStart, mapSize);
+					}
+
+					mapSize = (mapSize > Integer.MAX_VALUE / 2) ? Integer.MAX_VALUE : mapSize * 2;
+				}
+				else
+				{
+					windowStart += consumed;
+
+					mapSize = windowSize;
+				}
+			}
+		}
+
+		return windowStart;
+	}
+
+	private void readStreams(List<File> logParts, int bufferSize) throws IOException
+	{
+		byte[] buffer = new byte[bufferSize];
+
+		windowOffset = -1;
+
+		// bytes of a line not yet ended, kept at the start of the buffer
+		int filled = 0;
+
+		for (int i = 0; i < logParts.size() && reading; i++)
+		{
+			File logPart = logParts.get(i);
+
+			boolean lastPart = i == logParts.size() - 1;
+
+			startPart(logPart);
+
+			try (InputStream input = openPart(logPart))
+			{
+				boolean endOfPart = false;
+
+				while (reading && !endOfPart)
+				{
+					if (filled == buffer.length)
+					{
+						// a single line is longer than the buffer
+						buffer = Arrays.copyOf(buffer, buffer.length * 2);
+					}
+
+					int count = 0;
+
+					while (count != -1 && filled < buffer.length)
+					{
+						count = input.read(buffer, filled, buffer.length - filled);
+
+						if (count > 0)
+						{
+							filled += count;
+						}
+					}
+
+					endOfPart = count == -1;
+
+					int consumed = scanWindow(ByteBuffer.wrap(buffer, 0, filled), filled, endOfPart && lastPart);
+
+					filled -= consumed;
+
+					System.arraycopy(buffer, consumed, buffer, 0, filled);
+				}
+			}
+		}
+	}
+
+	private static InputStream openPart(File logPart) throws IOException
+	{
+		InputStream input = new FileInputStream(logPart);
+
+		if (isCompressed(logPart))
+		{
+			try
+			{
+				input = new GZIPInputStream(input, GZIP_BUFFER_SIZE);
+			}
+			catch (IOException ioe)
+			{
+				input.close();
+
+				throw ioe;
+			}
+		}
+
+		return input;
+	}
+
+	// returns the number of bytes of complete lines consumed
+	private int scanWindow(ByteBuffer window, int limit, boolean lastWindow)
+	{
+		ByteBuffer view = window.duplicate();
+
+		int lineStart = 0;
+
+		for (int pos = 0; pos < limit && reading; pos++)
+		{
+			byte b = window.get(pos);
+
+			// blank lines are skipped so CRLF is safely treated as two line ends
+			if (b == C_NEWLINE || b == C_CARRIAGE_RETURN)
+			{
+				handleLine(window, view, lineStart, pos);
+
+				lineStart = pos + 1;
+			}
+		}
+
+		if (lastWindow && reading && lineStart < limit)
+		{
+			handleLine(window, view, lineStart, limit);
+
+			lineStart = limit;
+		}
+
+		return lineStart;
+	}
+
+	private void handleLine(ByteBuffer window, ByteBuffer view, int start, int end)
+	{
+		int trimStart = start;
+
+		while (trimStart < end && isWhitespace(window.get(trimStart)))
+		{
+			trimStart++;
+		}
+
+		if (trimStart == end)
+		{
+			return;
+		}
+
+		int trimEnd = end;
+
+		while (isWhitespace(window.get(trimEnd - 1)))
+		{
+			trimEnd--;
+		}
+
+		byte firstByte = window.get(trimStart);
+
+		// only tags, [Loaded and @ lines are trimmed, assembly keeps its indent
+		if (firstByte == C_OPEN_ANGLE || firstByte == C_OPEN_SQUARE_BRACKET || firstByte == C_AT)
+		{
+			classifyLine(window, view, trimStart, trimEnd);
+		}
+		else
+		{
+			classifyLine(window, view, start, end);
+		}
+	}
+
+	private void classifyLine(ByteBuffer window, ByteBuffer view, int start, int end)
+	{
+		long number = lineNumber++;
+
+		if (matches(window, start, end, BYTES_TAG_TTY))
+		{
+			inHeader = false;
+			return;
+		}
+		else if (startsWith(window, start, end, BYTES_TAG_XML))
+		{
+			inHeader = true;
+		}
+
+		if (inHeader)
+		{
+			// HotSpot log header XML can have text nodes so consume all lines
+			deliver(LogLineType.HEADER, number, view, start, end);
+		}
+		else if (startsWith(window, start, end, BYTES_TAG_OPEN_CDATA) || startsWith(window, start, end, BYTES_TAG_CLOSE_CDATA))
+		{
+			// ignore, TagProcessor will recognise from <fragment> tag
+		}
+		else
+		{
+			byte firstByte = window.get(start);
+
+			if (firstByte == C_OPEN_ANGLE)
+			{
+				// After the header, XML nodes do not have text nodes
+				deliver(LogLineType.LOG_COMPILATION, number, view, start, end);
+			}
+			else if (startsWith(window, start, end, BYTES_LOADED))
+			{
+				deliver(LogLineType.CLASS_LOADER, number, view, start, end);
+			}
+			else if (firstByte == C_AT)
+			{
+				// possible PrintCompilation was enabled as well as
+				// LogCompilation?
+				// jmh does this with perf annotations
+				// Ignore this line
+			}
+			else
+			{
+				// need to cope with nmethod appearing on same line as last hlt
+				// 0x0000 hlt <nmethod compile_id= ....
+				int indexNMethod = indexOf(window, start, end, BYTES_OPEN_NMETHOD);
+
+				if (indexNMethod != -1)
+				{
+					if (DEBUG_LOGGING)
+					{
+						logger.debug("detected nmethod tag mangled with assembly");
+					}
+
+					deliver(LogLineType.ASSEMBLY, number, view, start, indexNMethod);
+
+					classifyLine(window, view, indexNMethod, end);
+				}
+				else
+				{
+					deliver(LogLineType.ASSEMBLY, number, view, start, end);
+				}
+			}
+		}
+	}
+
+	private void deliver(LogLineType type, long number, ByteBuffer view, int start, int end)
+	{
+		if (handler.isLineTypeWanted(type))
+		{
+			lineStartOffset = (windowOffset == -1) ? -1 : windowOffset + start;
+			lineEndOffset = (windowOffset == -1) ? -1 : windowOffset + end;
+
+			handler.handleLine(type, number, decode(view, start, end));
+		}
+	}
+
+	private String decode(ByteBuffer view, int start, int end)
+	{
+		int length = end - start;
+
+		if (length > lineBytes.length)
+		{
+			lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+		}
+
+		view.position(start);
+		view.get(lineBytes, 0, length);
+
+		int highBits = 0;
+
+		for (int i = 0; i < length; i++)
+		{
+			highBits |= lineBytes[i];
+		}
+
+		String result;
+
+		if ((highBits & 0x80) == 0)
+		{
+			// pure ASCII line, no charset decoding needed
+			result = new String(lineBytes, 0, length, StandardCharsets.ISO_8859_1);
+		}
+		else
+		{
+			result = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+		}
+
+		return result;
+	}
+
+	private static boolean isWhitespace(byte b)
+	{
+		// same rule as String.trim()
+		return (b & 0xff) <= C_SPACE;
+	}
+
+	private static boolean startsWith(ByteBuffer window, int start, int end, byte[] prefix)
+	{
+		if (end - start < prefix.length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length; i++)
+		{
+			if (window.get(start + i) != prefix[i])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean matches(ByteBuffer window, int start, int end, byte[] bytes)
+	{
+		return end - start == bytes.length && startsWith(window, start, end, bytes);
+	}
+
+	private static int indexOf(ByteBuffer window, int start, int end, byte[] bytes)
+	{
+		int last = end - bytes.length;
+
+		for (int pos = start; pos <= last; pos++)
+		{
+			if (window.get(pos) == bytes[0] && startsWith(window, pos, end, bytes))
+			{
+				return pos;
+			}
+		}
+
+		return -1;
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_FRAGMENT;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.util.ParallelUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Builds Tag and Task trees for LogCompilation lines on a ForkJoinPool.
+// Lines are grouped into chunks that begin and end at top-level tag
+// boundaries so that each chunk can be given its own TagProcessor.
+// Completed tags are passed to the ITagHandler on the calling thread in
+// line order so model mutation matches the sequential parser.
+public class ParallelTagParser
+{
+	private static final Logger logger = LoggerFactory.getLogger(ParallelTagParser.class);
+
+	public static final int DEFAULT_CHUNK_LINES = 4096;
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final ITagHandler handler;
+
+	private final ForkJoinPool pool;
+
+	private final boolean ownsPool;
+
+	private final int chunkLines;
+
+	private final int batchChunks;
+
+	// names of the open tags in the current top-level tag, innermost first
+	private final Deque<String> openTags = new ArrayDeque<>();
+
+	private List<NumberedLine> currentChunk = new ArrayList<>();
+
+	private List<List<NumberedLine>> batch = new ArrayList<>();
+
+	private static class ParsedTag
+	{
+		private final Tag tag;
+		private final long lineNumber;
+
+		ParsedTag(Tag tag, long lineNumber)
+		{
+			this.tag = tag;
+			this.lineNumber = lineNumber;
+		}
+	}
+
+	public ParallelTagParser(ITagHandler handler)
+	{
+		this(handler, ParallelUtil.getSharedPool(), false, DEFAULT_CHUNK_LINES);
+	}
+
+	public ParallelTagParser(ITagHandler handler, int parallelism, int chunkLines)
+	{
+		this(handler, new ForkJoinPool(parallelism), true, chunkLines);
+	}
+
+	private ParallelTagParser(ITagHandler handler, ForkJoinPool pool, boolean ownsPool, int chunkLines)
+	{
+		this.handler = handler;
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+		this.chunkLines = chunkLines;
+		this.batchChunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+	}
+
+	public void addLine(NumberedLine numberedLine)
+	{
+		currentChunk.add(numberedLine);
+
+		trackLine(numberedLine.getLine());
+
+		if (openTags.isEmpty() && currentChunk.size() >= chunkLines)
+		{
+			batch.add(currentChunk);
+
+			currentChunk = new ArrayList<>();
+
+			if (batch.size() >= batchChunks)
+			{
+				parseBatch();
+			}
+		}
+	}
+
+	// parses all buffered lines, a trailing unclosed tag is dropped as it
+	// would be by the sequential parser
+	public void flush()
+	{
+		if (!currentChunk.isEmpty())
+		{
+			batch.add(currentChunk);
+
+			currentChunk = new ArrayList<>();
+		}
+
+		parseBatch();
+
+		openTags.clear();
+	}
+
+	public void shutdown()
+	{
+		if (ownsPool)
+		{
+			pool.shutdown();
+		}
+	}
+
+	private void parseBatch()
+	{
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("parseBatch() {} chunks", batch.size());
+		}
+
+		List<Callable<List<ParsedTag>>> tasks = new ArrayList<>(batch.size());
+
+		for (List<NumberedLine> chunk : batch)
+		{
+			tasks.add(new ChunkParser(chunk));
+		}
+
+		batch = new ArrayList<>();
+
+		List<Future<List<ParsedTag>>> futures = pool.invokeAll(tasks);
+
+		for (Future<List<ParsedTag>> future : futures)
+		{
+			try
+			{
+				for (ParsedTag parsedTag : future.get())
+				{
+					handler.handleTag(parsedTag.tag, parsedTag.lineNumber);
+				}
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+
+				logger.error("Interrupted while parsing tags", ie);
+
+				break;
+			}
+			catch (ExecutionException ee)
+			{
+				logger.error("Exception while parsing tags", ee.getCause());
+			}
+		}
+	}
+
+	private static class ChunkParser implements Callable<List<ParsedTag>>
+	{
+		private final List<NumberedLine> chunk;
+
+		ChunkParser(List<NumberedLine> chunk)
+		{
+			this.chunk = chunk;
+		}
+
+		@Override
+		public List<ParsedTag> call()
+		{
+			List<ParsedTag> result = new ArrayList<>();
+
+			TagProcessor tagProcessor = new TagProcessor();
+
+			for (NumberedLine numberedLine : chunk)
+			{
+				try
+				{
+					Tag tag = tagProcessor.processLine(numberedLine.getLine());
+
+					if (tag != null)
+					{
+						result.add(new ParsedTag(tag, numberedLine.getLineNumber()));
+					}
+				}
+				catch (Exception ex)
+				{
+					logger.error("Exception handling: '{}'", numberedLine.getLine(), ex);
+				}
+			}
+
+			return result;
+		}
+	}
+
+	// Follows the nesting rules of TagProcessor.processLine without building
+	// any tags so chunk boundaries fall where the sequential parser would
+	// complete a top-level tag.
+	private void trackLine(String line)
+	{
+		if (line.length() > 3 && line.charAt(0) == C_OPEN_ANGLE)
+		{
+			trackTag(line);
+		}
+		else if (!openTags.isEmpty())
+		{
+			String closingTag = "</" + openTags.peek() + C_CLOSE_ANGLE;
+
+			if (line.endsWith(closingTag))
+			{
+				trackTag(closingTag);
+			}
+		}
+	}
+
+	private void trackTag(String line)
+	{
+		if (line.charAt(1) == C_SLASH)
+		{
+			String closeName = line.substring(2, line.length() - 1);
+
+			if (!openTags.isEmpty() && closeName.equals(openTags.peek()))
+			{
+				openTags.pop();
+			}
+			else if (S_FRAGMENT.equals(closeName))
+			{
+				openTags.clear();
+			}
+		}
+		else
+		{
+			boolean selfClosing = (line.charAt(line.length() - 2) == C_SLASH);
+
+			int indexEndName = line.indexOf(C_SPACE);
+
+			if (indexEndName == -1)
+			{
+				indexEndName = line.indexOf(C_CLOSE_ANGLE);
+
+				if (indexEndName > 0 && selfClosing)
+				{
+					indexEndName = line.length() - 2;
+				}
+			}
+
+			if (indexEndName != -1)
+			{
+				String name = line.substring(1, indexEndName);
+
+				if (openTags.isEmpty())
+				{
+					if (!S_FRAGMENT.equals(name) && !selfClosing)
+					{
+						openTags.push(name);
+					}
+				}
+				else if (selfClosing)
+				{
+					if (openTags.size() == 1 && name.equals(openTags.peek()))
+					{
+						openTags.clear();
+					}
+				}
+				else
+				{
+					openTags.push(name);
+				}
+			}
+		}
+	}
+}
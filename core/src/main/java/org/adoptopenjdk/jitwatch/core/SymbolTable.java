@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.core;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ACTION;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_KIND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_LEVEL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C1;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.OSR;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Canonical instances of tag names, attribute keys and the attribute values
+// that repeat across millions of tags in a large log. The table is seeded
+// with the TAG_ and ATTR_ names from JITWatchConstants so a symbol from a
+// parsed tag is the same instance as the constant it matches. Free text
+// values such as inlining reasons are not interned.
+public final class SymbolTable
+{
+	private static final Logger logger = LoggerFactory.getLogger(SymbolTable.class);
+
+	private static final ConcurrentMap<String, String> symbols = new ConcurrentHashMap<>(512);
+
+	// only the values of these keys come from a small fixed vocabulary
+	private static final Set<String> INTERNED_VALUE_KEYS = new HashSet<>(Arrays.asList(new String[] { ATTR_COMPILER,
+			ATTR_COMPILE_KIND, ATTR_KIND, ATTR_ACTION, ATTR_LEVEL }));
+
+	static
+	{
+		seed();
+	}
+
+	private SymbolTable()
+	{
+	}
+
+	private static void seed()
+	{
+		for (Field field : JITWatchConstants.class.getFields())
+		{
+			String fieldName = field.getName();
+
+			if (field.getType() == String.class && Modifier.isStatic(field.getModifiers())
+					&& (fieldName.startsWith("TAG_") || fieldName.startsWith("ATTR_")))
+			{
+				try
+				{
+					String value = (String) field.get(null);
+
+					if (isName(value))
+					{
+						symbols.putIfAbsent(value, value);
+					}
+				}
+				catch (IllegalAccessException iae)
+				{
+					logger.error("Could not read constant {}", fieldName, iae);
+				}
+			}
+		}
+
+		for (String value : new String[] { C1, C2, C2N, OSR })
+		{
+			symbols.putIfAbsent(value, value);
+		}
+	}
+
+	private static boolean isName(String value)
+	{
+		boolean result = !value.isEmpty();
+
+		for (int i = 0; result && i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			result = Character.isLetterOrDigit(c) || c == '_';
+		}
+
+		return result;
+	}
+
+	public static String intern(String symbol)
+	{
+		String existing = symbols.putIfAbsent(symbol, symbol);
+
+		return existing == null ? symbol : existing;
+	}
+
+	public static String internValue(String key, String value)
+	{
+		String result = value;
+
+		if (INTERNED_VALUE_KEYS.contains(key))
+		{
+			result = intern(value);
+		}
+
+		return result;
+	}
+
+	// drops the symbols collected from previous logs, keeping the constants
+	public static void clear()
+	{
+		symbols.clear();
+
+		seed();
+	}
+
+	public static int size()
+	{
+		return symbols.size();
+	}
+}
@@ -14,11 +14,8 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_TAG
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_FRAGMENT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_FRAGMENT;
 
-import java.util.Map;
-
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.Task;
-import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +91,23 @@ public class TagProcessor
 		return fragmentSeen;
 	}
 
+	// Hands back the top level tag still open when the input ends, such as a
+	// <task> whose remaining lines have not been written yet, marked as a
+	// fragment since its children are incomplete
+	public Tag flushUnfinishedTag()
+	{
+		Tag result = topTag;
+
+		if (result != null)
+		{
+			result.setFragment(true);
+
+			resetState();
+		}
+
+		return result;
+	}
+
 	private void resetState()
 	{
 		currentTag = null;
@@ -172,12 +186,10 @@ public class TagProcessor
 
 		Tag result = null;
 
-		String name = line.substring(1, indexEndName);
+		String name = SymbolTable.intern(line.substring(1, indexEndName));
 
 		String attributeString = line.substring(indexEndName);
 
-		Map<String, String> attrs = StringUtil.attributeStringToMap(attributeString);
-		
 		Tag nextTag;
 
 		if (JITWatchConstants.TAG_TASK.equals(name))
@@ -231,15 +243,15 @@ public class TagProcessor
 			switch (name)
 			{
 			case JITWatchConstants.TAG_TYPE:
-				((Task) topTag).addDictionaryType(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryType(nextTag.getAttribute(JITWatchConstants.ATTR_ID), nextTag);
 				break;
 
 			case JITWatchConstants.TAG_METHOD:
-				((Task) topTag).addDictionaryMethod(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryMethod(nextTag.getAttribute(JITWatchConstants.ATTR_ID), nextTag);
 				break;
 
 			case JITWatchConstants.TAG_KLASS:
-				((Task) topTag).addDictionaryKlass(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryKlass(nextTag.getAttribute(JITWatchConstants.ATTR_ID), nextTag);
 				break;
 
 			default:
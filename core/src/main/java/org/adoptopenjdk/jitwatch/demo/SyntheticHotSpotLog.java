@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.demo;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Writes a HotSpot log of a chosen size describing compilations of the
+// MakeHotSpotLog demo methods. Unlike running MakeHotSpotLog under
+// -XX:+LogCompilation the output depends only on the size and seed so it
+// can be used as a repeatable fixture for tests and benchmarks.
+public final class SyntheticHotSpotLog
+{
+	public static final long DEFAULT_SEED = 1234567L;
+
+	private static final String HOLDER = "org/adoptopenjdk/jitwatch/demo/MakeHotSpotLog";
+
+	private static final String HOLDER_LOADED = "[Loaded org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog from file:/jitwatch/core/target/classes/]";
+
+	private static final String WRITER = "<writer thread='140418643298048'/>";
+
+	private static final String TYPE_VOID = "636";
+	private static final String TYPE_LONG = "635";
+	private static final String TYPE_INT = "634";
+
+	private static final String KLASS_ID = "729";
+
+	private static final long BASE_ADDRESS = 0x7fb5ad000000L;
+
+	// name, signature, return type id, argument type ids, bytecode size
+	private static final String[][] MEMBERS = new String[][] {
+			{ "add", "(JJ)J", TYPE_LONG, TYPE_LONG + " " + TYPE_LONG, "4" },
+			{ "sub", "(JJ)J", TYPE_LONG, TYPE_LONG + " " + TYPE_LONG, "4" },
+			{ "bigMethod", "(JI)J", TYPE_LONG, TYPE_LONG + " " + TYPE_INT, "350" },
+			{ "chainA1", "(J)J", TYPE_LONG, TYPE_LONG, "8" },
+			{ "chainA2", "(J)J", TYPE_LONG, TYPE_LONG, "8" },
+			{ "chainA3", "(J)J", TYPE_LONG, TYPE_LONG, "8" },
+			{ "chainA4", "(J)J", TYPE_LONG, TYPE_LONG, "7" },
+			{ "chainB1", "(J)J", TYPE_LONG, TYPE_LONG, "8" },
+			{ "chainB2", "(J)J", TYPE_LONG, TYPE_LONG, "8" },
+			{ "chainB3", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "chainC1", "(J)J", TYPE_LONG, TYPE_LONG, "14" },
+			{ "chainC2", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "chainC3", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "leaf1", "(J)J", TYPE_LONG, TYPE_LONG, "4" },
+			{ "leaf2", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "leaf3", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "leaf4", "(J)J", TYPE_LONG, TYPE_LONG, "6" },
+			{ "timesTen", "(I)I", TYPE_INT, TYPE_INT, "16" },
+			{ "timesHundred", "(I)I", TYPE_INT, TYPE_INT, "16" },
+			{ "testLeaf", "(J)V", TYPE_VOID, TYPE_LONG, "66" },
+			{ "testCallChain", "(J)V", TYPE_VOID, TYPE_LONG, "54" } };
+
+	private static final String[] INLINE_FAIL_REASONS = new String[] { "call site not reached",
+			"executed &lt; MinInliningThreshold times", "hot method too big", "too big" };
+
+	private static final String[] BODY_INSTRUCTIONS = new String[] { "add    %rdx,%rax", "mov    %rax,%r10",
+			"imul   $0xa,%r10d,%eax", "lea    (%rdx,%rcx,1),%rax", "shl    $0x2,%r11", "test   %rax,%rax",
+			"mov    %r10,0x8(%rsp)", "sub    %rcx,%rax" };
+
+	private final Writer writer;
+
+	private final Random random;
+
+	private final int[] compileCounts = new int[MEMBERS.length];
+
+	private long written = 0;
+
+	private int compileID = 0;
+
+	private long address;
+
+	private SyntheticHotSpotLog(Writer writer, long seed)
+	{
+		this.writer = writer;
+		this.random = new Random(seed);
+	}
+
+	public static long write(File file, long targetBytes, long seed) throws IOException
+	{
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))
+		{
+			return write(writer, targetBytes, seed);
+		}
+	}
+
+	// returns the number of bytes written which is at least targetBytes
+	public static long write(Writer writer, long targetBytes, long seed) throws IOException
+	{
+		SyntheticHotSpotLog log = new SyntheticHotSpotLog(writer, seed);
+
+		log.writeLog(targetBytes);
+
+		return log.written;
+	}
+
+	private void writeLog(long targetBytes) throws IOException
+	{
+		line("<?xml version='1.0' encoding='UTF-8'?>");
+		line("<hotspot_log version='160 1' process='4242' time_ms='1460000000000'>");
+		line("<tty>");
+		line(HOLDER_LOADED);
+
+		while (written < targetBytes)
+		{
+			writeCompilation();
+		}
+
+		line("<hotspot_log_done stamp='" + stamp(compileID * 2 + 2) + "'/>");
+		line("</tty>");
+		line("</hotspot_log>");
+
+		writer.flush();
+	}
+
+	private void writeCompilation() throws IOException
+	{
+		compileID++;
+
+		int memberIndex = random.nextInt(MEMBERS.length);
+
+		String[] member = MEMBERS[memberIndex];
+
+		// first compile of a member is C1, recompilations are C2
+		boolean isC2 = compileCounts[memberIndex]++ > 0;
+
+		String method = HOLDER + " " + member[0] + " " + member[1];
+		String bytes = member[4];
+		int count = 5000 + random.nextInt(20000);
+		int nativeSize = 400 + random.nextInt(2000);
+
+		address = BASE_ADDRESS + compileID * 0x1000L;
+
+		String queuedStamp = stamp(compileID * 2);
+		String doneStamp = stamp(compileID * 2 + 1);
+
+		line("<task_queued compile_id='" + compileID + "' method='" + method + "' bytes='" + bytes + "' count='" + count
+				+ "' backedge_count='5000' iicount='" + count + "' stamp='" + queuedStamp + "' comment='count' hot_count='"
+				+ count + "'/>");
+
+		line("<nmethod compile_id='" + compileID + "' compiler='" + (isC2 ? "C2" : "C1") + "' level='" + (isC2 ? 4 : 3)
+				+ "' entry='" + hex(address + 0x60) + "' size='" + nativeSize + "' address='" + hex(address)
+				+ "' relocation_offset='296' insts_offset='336' stub_offset='688' method='" + method + "' bytes='" + bytes
+				+ "' count='" + count + "' iicount='" + count + "' stamp='" + doneStamp + "'/>");
+
+		line("<task compile_id='" + compileID + "' method='" + method + "' bytes='" + bytes + "' count='" + count
+				+ "' backedge_count='5000' iicount='" + count + "' stamp='" + queuedStamp + "'>");
+		line("<phase name='parse' nodes='3' live='3' stamp='" + queuedStamp + "'>");
+		line("<type id='" + TYPE_VOID + "' name='void'/>");
+		line("<type id='" + TYPE_LONG + "' name='long'/>");
+		line("<type id='" + TYPE_INT + "' name='int'/>");
+		line("<klass id='" + KLASS_ID + "' name='" + HOLDER + "' flags='1'/>");
+		line("<method id='730' holder='" + KLASS_ID + "' name='" + member[0] + "' return='" + member[2] + "' arguments='"
+				+ member[3] + "' flags='2' bytes='" + bytes + "' iicount='" + count + "'/>");
+		line("<parse method='730' uses='" + count + "' stamp='" + queuedStamp + "'>");
+
+		writeCalls(queuedStamp);
+
+		int nodes = 100 + random.nextInt(400);
+
+		line("<parse_done nodes='" + nodes + "' live='" + (nodes - 5) + "' memory='" + (nodes * 280) + "' stamp='" + doneStamp
+				+ "'/>");
+		line("</parse>");
+		line("<phase_done name='parse' nodes='" + nodes + "' live='" + (nodes - 5) + "' stamp='" + doneStamp + "'/>");
+		line("</phase>");
+		line("<task_done success='1' nmsize='" + nativeSize + "' count='" + count + "' backedge_count='5389' stamp='"
+				+ doneStamp + "'/>");
+		line("</task>");
+
+		writeAssembly(member);
+	}
+
+	private void writeCalls(String stamp) throws IOException
+	{
+		int calls = 1 + random.nextInt(4);
+
+		int bci = 1;
+
+		for (int i = 0; i < calls; i++)
+		{
+			String[] callee = MEMBERS[random.nextInt(MEMBERS.length)];
+
+			String methodID = Integer.toString(740 + i);
+			int calleeCount = 1000 + random.nextInt(10000);
+
+			line("<bc code='183' bci='" + bci + "'/>");
+			line("<method id='" + methodID + "' holder='" + KLASS_ID + "' name='" + callee[0] + "' return='" + callee[2]
+					+ "' arguments='" + callee[3] + "' flags='2' bytes='" + callee[4] + "' iicount='" + calleeCount + "'/>");
+			line("<call method='" + methodID + "' count='" + calleeCount + "' prof_factor='1' inline='1'/>");
+
+			if (random.nextInt(4) == 0)
+			{
+				line("<inline_fail reason='" + INLINE_FAIL_REASONS[random.nextInt(INLINE_FAIL_REASONS.length)] + "'/>");
+				line("<direct_call bci='" + bci + "'/>");
+			}
+			else
+			{
+				int nodes = 50 + random.nextInt(100);
+
+				line("<inline_success reason='inline (hot)'/>");
+				line("<parse method='" + methodID + "' uses='" + calleeCount + "' stamp='" + stamp + "'>");
+				line("<uncommon_trap bci='" + bci + "' reason='null_check' action='maybe_recompile'/>");
+				line("<parse_done nodes='" + nodes + "' live='" + (nodes - 3) + "' memory='" + (nodes * 300) + "' stamp='"
+						+ stamp + "'/>");
+				line("</parse>");
+			}
+
+			bci += 6;
+		}
+
+		line("<bc code='155' bci='" + bci + "'/>");
+		line("<branch target_bci='1' taken='" + random.nextInt(10000) + "' not_taken='0' cnt='10000' prob='always'/>");
+	}
+
+	private void writeAssembly(String[] member) throws IOException
+	{
+		line("Decoding compiled method " + hex(address) + ":");
+		line("Code:");
+		line("[Disassembling for mach=&apos;i386:x86-64&apos;]");
+		line("[Entry Point]");
+		line("[Constants]");
+		line("  # {method} &apos;" + member[0] + "&apos; &apos;" + member[1] + "&apos; in &apos;" + HOLDER + "&apos;");
+		line("  # this:     rsi:rsi   = &apos;" + HOLDER + "&apos;");
+		line("  #           [sp+0x20]  (sp of caller)");
+
+		long pc = address + 0x60;
+
+		pc = instruction(pc, "mov    0x8(%rsi),%r10d");
+		pc = instruction(pc, "cmp    %r10,%rax");
+		pc = instruction(pc, "jne    " + hex(BASE_ADDRESS - 0x1000) + "  ;   {runtime_call}");
+
+		line("[Verified Entry Point]");
+
+		pc = instruction(pc, "sub    $0x18,%rsp");
+		pc = instruction(pc, "mov    %rbp,0x10(%rsp)    ;*synchronization entry");
+		line("                                                ; - " + HOLDER.replace('/', '.') + "::" + member[0] + "@-1 (line "
+				+ (100 + random.nextInt(400)) + ")");
+
+		int bodyLength = 4 + random.nextInt(24);
+
+		for (int i = 0; i < bodyLength; i++)
+		{
+			pc = instruction(pc, BODY_INSTRUCTIONS[random.nextInt(BODY_INSTRUCTIONS.length)]);
+		}
+
+		pc = instruction(pc, "add    $0x10,%rsp");
+		pc = instruction(pc, "pop    %rbp");
+		pc = instruction(pc, "test   %eax,0x5b1deb4(%rip)        ;   {poll_return}");
+		pc = instruction(pc, "retq");
+		pc = instruction(pc, "hlt");
+
+		line("[Exception Handler]");
+		line("[Stub Code]");
+
+		pc = instruction(pc, "jmpq   " + hex(BASE_ADDRESS - 0x2000) + "  ;   {no_reloc}");
+
+		line("[Deopt Handler Code]");
+
+		instruction(pc, "callq  " + hex(pc + 5));
+
+		line(WRITER);
+	}
+
+	private long instruction(long pc, String text) throws IOException
+	{
+		line("  " + hex(pc) + ": " + text);
+
+		return pc + 4;
+	}
+
+	private void line(String line) throws IOException
+	{
+		writer.write(line);
+		writer.write('\n');
+
+		// the log is ASCII so chars are bytes
+		written += line.length() + 1;
+	}
+
+	private static String hex(long value)
+	{
+		String digits = Long.toHexString(value);
+
+		StringBuilder builder = new StringBuilder("0x");
+
+		for (int i = digits.length(); i < 16; i++)
+		{
+			builder.append('0');
+		}
+
+		return builder.append(digits).toString();
+	}
+
+	// seconds with millisecond precision without a locale dependent format
+	private static String stamp(long millis)
+	{
+		String fraction = Long.toString(1000 + millis % 1000).substring(1);
+
+		return (millis / 1000) + "." + fraction;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			System.out.println("usage: SyntheticHotSpotLog <file> <megabytes> [seed]");
+		}
+		else
+		{
+			long targetBytes = Long.parseLong(args[1]) * 1024 * 1024;
+
+			long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+			long written = write(new File(args[0]), targetBytes, seed);
+
+			System.out.println("Wrote " + written + " bytes to " + args[0]);
+		}
+	}
+}
\ No newline at end of file
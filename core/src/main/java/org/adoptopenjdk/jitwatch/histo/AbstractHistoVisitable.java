@@ -10,9 +10,11 @@ import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.treevisitor.IParallelTreeVisitable;
 import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
 
-public abstract class AbstractHistoVisitable extends AbstractCompilationVisitable implements IHistoVisitable
+public abstract class AbstractHistoVisitable extends AbstractCompilationVisitable implements IHistoVisitable,
+		IParallelTreeVisitable<AbstractHistoVisitable>
 {
 	protected Histo histo;
 	protected IReadOnlyJITDataModel model;
@@ -27,9 +29,7 @@ public abstract class AbstractHistoVisitable extends AbstractCompilationVisitabl
 	@Override
 	public Histo buildHistogram()
 	{
-		histo = new Histo(resolution);
-
-		TreeVisitor.walkTree(model, this);
+		TreeVisitor.walkTreeParallel(model, this);
 
 		return histo;
 	}
@@ -37,6 +37,13 @@ public abstract class AbstractHistoVisitable extends AbstractCompilationVisitabl
 	@Override
 	public void reset()
 	{
+		histo = new Histo(resolution);
+	}
+
+	@Override
+	public void merge(AbstractHistoVisitable worker)
+	{
+		histo.merge(worker.histo);
 	}
 
 	@Override
@@ -20,6 +20,12 @@ public class AttributeNameHistoWalker extends AbstractHistoVisitable
 		this.isCompileAttribute = isCompileAttribute;
 		this.attributeName = attributeName;
 	}	
+
+	@Override
+	public AbstractHistoVisitable createWorker()
+	{
+		return new AttributeNameHistoWalker(model, isCompileAttribute, attributeName, resolution);
+	}
 	
 	@Override
 	public void visit(IMetaMember mm)
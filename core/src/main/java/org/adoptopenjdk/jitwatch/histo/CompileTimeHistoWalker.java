@@ -16,6 +16,12 @@ public class CompileTimeHistoWalker extends AbstractHistoVisitable
 		super(model, resolution);
 	}
 
+	@Override
+	public AbstractHistoVisitable createWorker()
+	{
+		return new CompileTimeHistoWalker(model, resolution);
+	}
+
 	@Override
 	public void visit(IMetaMember mm)
 	{
@@ -5,23 +5,33 @@
  */
 package org.adoptopenjdk.jitwatch.histo;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+// Log-linear buckets in a fixed size array. Values below 2^(SUB_BUCKET_BITS
+// + 1) have a bucket each, above that every power of two is split into
+// 2^SUB_BUCKET_BITS buckets so a bucket is within 1% of the values it holds.
+// Memory does not grow with the number of values and instances can be merged.
 public class Histo
 {
-	private Map<Long, Integer> bucketMap = new HashMap<>();
+	private static final int SUB_BUCKET_BITS = 7;
 
-	// lots of writes, not COWAL
-	private List<Long> values = new ArrayList<>();
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (64 - SUB_BUCKET_BITS);
+
+	private final int[] counts = new int[BUCKET_COUNT];
+
+	private long totalCount = 0;
+
+	private long minValue = Long.MAX_VALUE;
+	private long maxValue = 0;
 
-	private long lastTime = 0;
-	private int maxCount = 0;
 	private long resolution = 1;
 
 	public Histo()
@@ -34,54 +44,163 @@ public class Histo
 		this.resolution = resolution;
 	}
 
-	public void addValue(long inValue)
+	static int getBucketIndex(long value)
 	{
-        long value = inValue;
-		synchronized (values)
+		int result;
+
+		if (value < SUB_BUCKET_COUNT << 1)
 		{
-			values.add(value);
+			result = (int) value;
 		}
+		else
+		{
+			int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
 
-		if (resolution > 1)
+			result = (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+		}
+
+		return result;
+	}
+
+	// lowest value held by the bucket
+	public static long getBucketValue(int index)
+	{
+		long result;
+
+		if (index < SUB_BUCKET_COUNT << 1)
+		{
+			result = index;
+		}
+		else
 		{
-			value = (value / resolution) * resolution;
+			int shift = (index >>> SUB_BUCKET_BITS) - 1;
+
+			result = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
 		}
 
-		int newCount = 0;
+		return result;
+	}
+
+	// highest value held by the bucket
+	private static long getBucketHighestValue(int index)
+	{
+		long result;
 
-		if (bucketMap.containsKey(value))
+		if (index < SUB_BUCKET_COUNT << 1)
 		{
-			newCount = bucketMap.get(value) + 1;
+			result = index;
 		}
 		else
 		{
-			newCount = 1;
+			int shift = (index >>> SUB_BUCKET_BITS) - 1;
+
+			result = getBucketValue(index) + (1L << shift) - 1;
 		}
 
-		bucketMap.put(value, newCount);
+		return result;
+	}
 
-		if (newCount > maxCount)
+	// negative values are counted as 0
+	public synchronized void addValue(long inValue)
+	{
+		long value = Math.max(0, inValue);
+
+		int index = getBucketIndex(value);
+
+		counts[index]++;
+
+		totalCount++;
+
+		if (value < minValue)
+		{
+			minValue = value;
+		}
+
+		if (value > maxValue)
 		{
-			maxCount = newCount;
+			maxValue = value;
 		}
+	}
+
+	private long roundToResolution(long value)
+	{
+		return (value / resolution) * resolution;
+	}
 
-		if (value > lastTime)
+	// the other histogram is copied first so two merging into each other
+	// cannot deadlock
+	public void merge(Histo other)
+	{
+		int[] otherCounts;
+		long otherTotal;
+		long otherMin;
+		long otherMax;
+
+		synchronized (other)
 		{
-			lastTime = value;
+			otherCounts = other.counts.clone();
+			otherTotal = other.totalCount;
+			otherMin = other.minValue;
+			otherMax = other.maxValue;
 		}
 
+		synchronized (this)
+		{
+			for (int i = 0; i < BUCKET_COUNT; i++)
+			{
+				counts[i] += otherCounts[i];
+			}
+
+			totalCount += otherTotal;
+			minValue = Math.min(minValue, otherMin);
+			maxValue = Math.max(maxValue, otherMax);
+		}
 	}
 
-	public void clear()
+	public synchronized void clear()
 	{
-		bucketMap.clear();
-		lastTime = 0;
-		maxCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+		{
+			counts[i] = 0;
+		}
+
+		totalCount = 0;
+		minValue = Long.MAX_VALUE;
+		maxValue = 0;
 	}
 
-	public List<Map.Entry<Long, Integer>> getSortedData()
+	public synchronized long getCount()
 	{
-		List<Map.Entry<Long, Integer>> result = new ArrayList<>(bucketMap.entrySet());
+		return totalCount;
+	}
+
+	// index of the first non-empty bucket at or after fromIndex or -1
+	public synchronized int nextBucket(int fromIndex)
+	{
+		int result = -1;
+
+		for (int i = Math.max(0, fromIndex); i < BUCKET_COUNT; i++)
+		{
+			if (counts[i] != 0)
+			{
+				result = i;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	public synchronized int getBucketCount(int index)
+	{
+		return counts[index];
+	}
+
+	// value (rounded to the resolution) and count per non-empty bucket sorted
+	// by count
+	public synchronized List<Map.Entry<Long, Integer>> getSortedData()
+	{
+		List<Map.Entry<Long, Integer>> result = getResolutionData();
 
 		Collections.sort(result, new Comparator<Map.Entry<Long, Integer>>()
 		{
@@ -98,48 +217,85 @@ public class Histo
 	/*
 	 * Nearest rank percentile calculation from
 	 * http://en.wikipedia.org/wiki/Percentile
+	 * 
+	 * The value is the highest in the bucket of that rank, clamped to the
+	 * recorded range, so it is exact for small values.
 	 */
-	public long getPercentile(double percentile)
+	public synchronized long getPercentile(double percentile)
 	{
 		long result = 0;
 
-		List<Long> valuesCopy = null;
-
-		synchronized (values)
-		{
-			valuesCopy = new ArrayList<>(values);
-		}
-
-		Collections.sort(valuesCopy);
-
-		int count = valuesCopy.size();
-
 		if (percentile >= 100)
 		{
-			result = valuesCopy.get(count - 1);
-		}
-		else if (percentile <= 0)
-		{
-			result = 0;
+			result = maxValue;
 		}
-		else
+		else if (percentile > 0 && totalCount > 0)
 		{
-			double position = 0.5 + (percentile) / 100.0 * count;
-			int index = (int) Math.round(position) - 1;
+			double position = 0.5 + (percentile) / 100.0 * totalCount;
+			long rank = Math.max(1, Math.round(position));
+
+			long cumulative = 0;
 
-			result = valuesCopy.get(index);
+			for (int i = 0; i < BUCKET_COUNT; i++)
+			{
+				cumulative += counts[i];
+
+				if (cumulative >= rank)
+				{
+					result = Math.max(minValue, Math.min(maxValue, getBucketHighestValue(i)));
+					break;
+				}
+			}
 		}
 
 		return result;
 	}
 
-	public long getLastTime()
+	public synchronized long getLastTime()
+	{
+		return roundToResolution(maxValue);
+	}
+
+	public synchronized int getMaxCount()
 	{
-		return lastTime;
+		int result = 0;
+
+		for (Map.Entry<Long, Integer> entry : getResolutionData())
+		{
+			result = Math.max(result, entry.getValue());
+		}
+
+		return result;
 	}
 
-	public int getMaxCount()
+	// bucket values only increase with the index so buckets that round to
+	// the same resolution step are adjacent
+	private List<Map.Entry<Long, Integer>> getResolutionData()
 	{
-		return maxCount;
+		List<Map.Entry<Long, Integer>> result = new ArrayList<>();
+
+		long key = -1;
+		int count = 0;
+
+		for (int i = nextBucket(0); i != -1; i = nextBucket(i + 1))
+		{
+			long bucketKey = roundToResolution(getBucketValue(i));
+
+			if (bucketKey != key && count > 0)
+			{
+				result.add(new AbstractMap.SimpleImmutableEntry<>(key, count));
+				count = 0;
+			}
+
+			key = bucketKey;
+			count += counts[i];
+		}
+
+		if (count > 0)
+		{
+			result.add(new AbstractMap.SimpleImmutableEntry<>(key, count));
+		}
+
+		return result;
 	}
-}
+}
\ No newline at end of file
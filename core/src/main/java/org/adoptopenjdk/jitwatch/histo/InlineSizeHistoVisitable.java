@@ -33,9 +33,8 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CAST_UP;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_ASSERT_NULL;
 
 
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 
 import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
 import org.adoptopenjdk.jitwatch.model.Compilation;
@@ -51,7 +50,8 @@ public class InlineSizeHistoVisitable extends AbstractHistoVisitable
 {
 	private static final Logger logger = LoggerFactory.getLogger(InlineSizeHistoVisitable.class);
 
-	private Set<String> inlinedCounted = new HashSet<>();
+	// first inlined size seen for each method, in walk order
+	private Map<String, Long> inlinedCounted = new LinkedHashMap<>();
 
 	public InlineSizeHistoVisitable(IReadOnlyJITDataModel model, long resolution)
 	{
@@ -74,12 +74,34 @@ public class InlineSizeHistoVisitable extends AbstractHistoVisitable
 		ignoreTags.add(TAG_ASSERT_NULL);
 	}
 
+	@Override
+	public AbstractHistoVisitable createWorker()
+	{
+		return new InlineSizeHistoVisitable(model, resolution);
+	}
+
 	@Override
 	public void reset()
 	{
+		super.reset();
 		inlinedCounted.clear();
 	}
 
+	// a method inlined by several workers is only counted for the first
+	@Override
+	public void merge(AbstractHistoVisitable worker)
+	{
+		for (Map.Entry<String, Long> entry : ((InlineSizeHistoVisitable) worker).inlinedCounted.entrySet())
+		{
+			if (!inlinedCounted.containsKey(entry.getKey()))
+			{
+				histo.addValue(entry.getValue());
+
+				inlinedCounted.put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{
@@ -141,12 +163,12 @@ public class InlineSizeHistoVisitable extends AbstractHistoVisitable
 					{
 						String fqName = klassTag.getAttributes().get(ATTR_NAME) + C_SLASH + currentMethod;
 
-						if (!inlinedCounted.contains(fqName))
+						if (!inlinedCounted.containsKey(fqName))
 						{
 							long inlinedByteCount = Long.parseLong(attrInlineBytes);
 							histo.addValue(inlinedByteCount);
 
-							inlinedCounted.add(fqName);
+							inlinedCounted.put(fqName, inlinedByteCount);
 						}
 					}
 				}
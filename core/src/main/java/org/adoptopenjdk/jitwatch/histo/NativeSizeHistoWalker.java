@@ -16,6 +16,12 @@ public class NativeSizeHistoWalker extends AbstractHistoVisitable
 		super(model, resolution);
 	}
 
+	@Override
+	public AbstractHistoVisitable createWorker()
+	{
+		return new NativeSizeHistoWalker(model, resolution);
+	}
+
 	@Override
 	public void visit(IMetaMember mm)
 	{
@@ -12,4 +12,11 @@ public interface IJarScanOperation
 	void processInstructions(String className, MemberBytecode memberBytecode);
 		
 	String getReport();
+
+	// a new operation with the same parameters and no results, used to give
+	// each JarScan worker thread its own instance
+	IJarScanOperation createEmptyCopy();
+
+	// adds the results of another operation of the same type to this one
+	void merge(IJarScanOperation other);
 }
\ No newline at end of file
@@ -18,8 +18,15 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -35,15 +42,39 @@ import org.adoptopenjdk.jitwatch.jarscan.sequencesearch.SequenceSearchOperation;
 import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.util.FileUtil;
 
 public class JarScan
 {
 	private IJarScanOperation operation;
 	private List<String> allowedPackagePrefixes = new ArrayList<>();
+	private int threads;
+
+	private static final class ClassEntry
+	{
+		private final List<String> classLocations;
+		private final String fqClassName;
+		private final ZipFile zip;
+		private final ZipEntry entry;
+
+		private ClassEntry(List<String> classLocations, String fqClassName, ZipFile zip, ZipEntry entry)
+		{
+			this.classLocations = classLocations;
+			this.fqClassName = fqClassName;
+			this.zip = zip;
+			this.entry = entry;
+		}
+	}
 
 	public JarScan(IJarScanOperation operation)
+	{
+		this(operation, 1);
+	}
+
+	public JarScan(IJarScanOperation operation, int threads)
 	{
 		this.operation = operation;
+		this.threads = threads;
 	}
 
 	public void writeReport()
@@ -65,30 +96,122 @@ public class JarScan
 	}
 
 	public void iterateJar(File jarFile) throws IOException
+	{
+		iterateJars(Collections.singletonList(jarFile));
+	}
+
+	// with more than one thread the classes of all jars are shared between
+	// workers that each count into their own copy of the operation, the copies
+	// are merged into the operation when every class has been scanned
+	public void iterateJars(List<File> jarFiles) throws IOException
+	{
+		List<ZipFile> openJars = new ArrayList<>();
+
+		try
+		{
+			List<ClassEntry> classEntries = new ArrayList<>();
+
+			for (File jarFile : jarFiles)
+			{
+				ZipFile zip = new ZipFile(jarFile);
+
+				openJars.add(zip);
+
+				addClassEntries(jarFile, zip, classEntries);
+			}
+
+			if (threads > 1)
+			{
+				processInParallel(classEntries);
+			}
+			else
+			{
+				for (ClassEntry classEntry : classEntries)
+				{
+					process(operation, classEntry);
+				}
+			}
+		}
+		finally
+		{
+			for (ZipFile zip : openJars)
+			{
+				zip.close();
+			}
+		}
+	}
+
+	private void addClassEntries(File jarFile, ZipFile zip, List<ClassEntry> classEntries)
 	{
 		List<String> classLocations = new ArrayList<>();
 
 		classLocations.add(jarFile.getPath());
 
-		try (ZipFile zip = new ZipFile(jarFile))
+		@SuppressWarnings("unchecked")
+		Enumeration<ZipEntry> list = (Enumeration<ZipEntry>) zip.entries();
+
+		while (list.hasMoreElements())
 		{
-			@SuppressWarnings("unchecked")
-			Enumeration<ZipEntry> list = (Enumeration<ZipEntry>) zip.entries();
+			ZipEntry entry = list.nextElement();
+
+			String name = entry.getName();
 
-			while (list.hasMoreElements())
+			if (name.endsWith(S_DOT_CLASS))
 			{
-				ZipEntry entry = list.nextElement();
+				String fqName = name.replace(S_SLASH, S_DOT).substring(0, name.length() - S_DOT_CLASS.length());
+
+				if (isAllowedPackage(fqName))
+				{
+					classEntries.add(new ClassEntry(classLocations, fqName, zip, entry));
+				}
+			}
+		}
+	}
 
-				String name = entry.getName();
+	private void processInParallel(final List<ClassEntry> classEntries) throws IOException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		final AtomicInteger nextEntry = new AtomicInteger();
+
+		List<Future<IJarScanOperation>> results = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++)
+		{
+			final IJarScanOperation workerOperation = operation.createEmptyCopy();
 
-				if (name.endsWith(S_DOT_CLASS))
+			results.add(executor.submit(new Callable<IJarScanOperation>()
+			{
+				@Override
+				public IJarScanOperation call() throws IOException
 				{
-					String fqName = name.replace(S_SLASH, S_DOT).substring(0, name.length() - S_DOT_CLASS.length());
+					int index;
+
+					while ((index = nextEntry.getAndIncrement()) < classEntries.size())
+					{
+						process(workerOperation, classEntries.get(index));
+					}
 
-					process(classLocations, fqName);
+					return workerOperation;
 				}
+			}));
+		}
+
+		try
+		{
+			for (Future<IJarScanOperation> result : results)
+			{
+				operation.merge(result.get());
 			}
 		}
+		catch (InterruptedException | ExecutionException e)
+		{
+			throw new IOException("Parallel scan failed", e);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
 	}
 
 	public void addAllowedPackagePrefix(String prefix)
@@ -119,16 +242,16 @@ public class JarScan
 		return allowed;
 	}
 
-	private void process(List<String> classLocations, String fqClassName)
+	private static void process(IJarScanOperation operation, ClassEntry classEntry) throws IOException
 	{
-		if (!isAllowedPackage(fqClassName))
-		{
-			return;
-		}
+		String fqClassName = classEntry.fqClassName;
 
 		boolean cacheBytecode = false;
 
-		ClassBC classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, fqClassName, cacheBytecode);
+		byte[] classBytes = FileUtil.readFully(classEntry.zip.getInputStream(classEntry.entry));
+
+		ClassBC classBytecode = BytecodeLoader.fetchBytecodeForClass(classEntry.classLocations, fqClassName, classBytes,
+				cacheBytecode);
 
 		if (classBytecode != null)
 		{
@@ -166,6 +289,8 @@ public class JarScan
 		builder.append("Options:").append(S_NEWLINE);
 		builder.append("     --packages=a,b,c     Only include methods from named packages. E.g. --packages=java.util.*")
 				.append(S_NEWLINE);
+		builder.append("     --threads=n          Scan classes on n threads. Defaults to the number of processors.")
+				.append(S_NEWLINE);
 		builder.append(SEPARATOR).append(S_NEWLINE);
 		builder.append("Modes:").append(S_NEWLINE);
 		builder.append(SEPARATOR).append(S_NEWLINE);
@@ -205,6 +330,7 @@ public class JarScan
 	private static final String ARG_LIMIT = "--limit=";
 	private static final String ARG_LENGTH = "--length=";
 	private static final String ARG_SEQUENCE = "--sequence=";
+	private static final String ARG_THREADS = "--threads=";
 
 	private static int getParam(String[] args, String paramName, boolean mandatory)
 	{
@@ -369,7 +495,14 @@ public class JarScan
 			System.exit(-1);
 		}
 
-		JarScan scanner = new JarScan(operation);
+		int threads = getParam(args, ARG_THREADS, false);
+
+		if (threads <= 0)
+		{
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+
+		JarScan scanner = new JarScan(operation, threads);
 
 		String packages = getParamString(args, ARG_PACKAGES);
 
@@ -384,6 +517,8 @@ public class JarScan
 			}
 		}
 
+		List<File> jarFiles = new ArrayList<>();
+
 		for (String arg : args)
 		{
 			if (arg.startsWith("--"))
@@ -395,7 +530,7 @@ public class JarScan
 
 			if (jarFile.exists() && jarFile.isFile())
 			{
-				scanner.iterateJar(jarFile);
+				jarFiles.add(jarFile);
 			}
 			else
 			{
@@ -403,6 +538,8 @@ public class JarScan
 			}
 		}
 
+		scanner.iterateJars(jarFiles);
+
 		scanner.writeReport();
 	}
 }
\ No newline at end of file
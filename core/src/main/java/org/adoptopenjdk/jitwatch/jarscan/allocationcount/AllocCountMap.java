@@ -37,6 +37,25 @@ public class AllocCountMap
 		
 		typeCountMap.put(type, count);
 	}
+
+	public void merge(AllocCountMap other)
+	{
+		for (Map.Entry<String, Integer> entry : other.typeCountMap.entrySet())
+		{
+			String type = entry.getKey();
+
+			Integer count = typeCountMap.get(type);
+
+			if (count == null)
+			{
+				typeCountMap.put(type, entry.getValue());
+			}
+			else
+			{
+				typeCountMap.put(type, count + entry.getValue());
+			}
+		}
+	}
 	
 	public String toString(Opcode prefix, int limitPerInvoke)
 	{
@@ -36,6 +36,18 @@ public class AllocationCountOperation implements IJarScanOperation
 		return opcodeAllocCountMap.toString(limitPerAllocOpcode);
 	}
 
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new AllocationCountOperation(limitPerAllocOpcode);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		opcodeAllocCountMap.merge(((AllocationCountOperation) other).opcodeAllocCountMap);
+	}
+
 	private void count(Opcode opcode, String type)
 	{
 		opcodeAllocCountMap.count(opcode, type);
@@ -27,6 +27,24 @@ public class InstructionAllocCountMap
 		typeCountMap.countAllocationOfType(allocatedType);
 	}
 
+	public void merge(InstructionAllocCountMap other)
+	{
+		for (Map.Entry<Opcode, AllocCountMap> entry : other.opcodeMap.entrySet())
+		{
+			Opcode opcode = entry.getKey();
+
+			AllocCountMap typeCountMap = opcodeMap.get(opcode);
+
+			if (typeCountMap == null)
+			{
+				typeCountMap = new AllocCountMap();
+				opcodeMap.put(opcode, typeCountMap);
+			}
+
+			typeCountMap.merge(entry.getValue());
+		}
+	}
+
 	public String toString(int limitPerInvoke)
 	{
 		StringBuilder builder = new StringBuilder();
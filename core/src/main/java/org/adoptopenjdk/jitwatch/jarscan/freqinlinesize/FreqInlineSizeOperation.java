@@ -93,6 +93,18 @@ public class FreqInlineSizeOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new FreqInlineSizeOperation(freqInlineSize);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		countMap.putAll(((FreqInlineSizeOperation) other).countMap);
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
@@ -84,6 +84,32 @@ public class InstructionCountOperation implements IJarScanOperation
 		opcodeCountMap.put(opcode, count);
 	}
 
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new InstructionCountOperation(limit);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<Opcode, Integer> entry : ((InstructionCountOperation) other).opcodeCountMap.entrySet())
+		{
+			Opcode opcode = entry.getKey();
+
+			Integer count = opcodeCountMap.get(opcode);
+
+			if (count == null)
+			{
+				opcodeCountMap.put(opcode, entry.getValue());
+			}
+			else
+			{
+				opcodeCountMap.put(opcode, count + entry.getValue());
+			}
+		}
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
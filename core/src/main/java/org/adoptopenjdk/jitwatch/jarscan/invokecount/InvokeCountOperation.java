@@ -30,6 +30,18 @@ public class InvokeCountOperation implements IJarScanOperation
 	{
 		return opcodeInvokeCountMap.toString(limitPerInvoke);
 	}
+
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new InvokeCountOperation(limitPerInvoke);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		opcodeInvokeCountMap.merge(((InvokeCountOperation) other).opcodeInvokeCountMap);
+	}
 	
 	private void count(String className, BytecodeInstruction instruction)
 	{			
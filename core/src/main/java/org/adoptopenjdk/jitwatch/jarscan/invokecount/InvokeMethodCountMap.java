@@ -27,6 +27,24 @@ public class InvokeMethodCountMap
 		invokeCountMap.count(method);
 	}
 
+	public void merge(InvokeMethodCountMap other)
+	{
+		for (Map.Entry<Opcode, MethodCountMap> entry : other.opcodeMap.entrySet())
+		{
+			Opcode opcode = entry.getKey();
+
+			MethodCountMap invokeCountMap = opcodeMap.get(opcode);
+
+			if (invokeCountMap == null)
+			{
+				invokeCountMap = new MethodCountMap();
+				opcodeMap.put(opcode, invokeCountMap);
+			}
+
+			invokeCountMap.merge(entry.getValue());
+		}
+	}
+
 	public String toString(int limitPerInvoke)
 	{
 		StringBuilder builder = new StringBuilder();
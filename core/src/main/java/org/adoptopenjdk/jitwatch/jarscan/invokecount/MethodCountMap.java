@@ -37,6 +37,25 @@ public class MethodCountMap
 		
 		methodCountMap.put(method, count);
 	}
+
+	public void merge(MethodCountMap other)
+	{
+		for (Map.Entry<String, Integer> entry : other.methodCountMap.entrySet())
+		{
+			String method = entry.getKey();
+
+			Integer count = methodCountMap.get(method);
+
+			if (count == null)
+			{
+				methodCountMap.put(method, entry.getValue());
+			}
+			else
+			{
+				methodCountMap.put(method, count + entry.getValue());
+			}
+		}
+	}
 	
 	public String toString(Opcode prefix, int limitPerInvoke)
 	{
@@ -59,6 +59,32 @@ public class MethodSizeHistoOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new MethodSizeHistoOperation();
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<Integer, Integer> entry : ((MethodSizeHistoOperation) other).methodSizeMap.entrySet())
+		{
+			int bcSize = entry.getKey();
+
+			Integer existingCount = methodSizeMap.get(bcSize);
+
+			if (existingCount == null)
+			{
+				methodSizeMap.put(bcSize, entry.getValue());
+			}
+			else
+			{
+				methodSizeMap.put(bcSize, existingCount + entry.getValue());
+			}
+		}
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
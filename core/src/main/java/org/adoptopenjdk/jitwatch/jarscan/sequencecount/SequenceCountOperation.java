@@ -84,6 +84,32 @@ public class SequenceCountOperation implements IJarScanOperation
 		chain.clear();
 	}
 
+	@Override
+	public IJarScanOperation createEmptyCopy()
+	{
+		return new SequenceCountOperation(maxLength);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<InstructionSequence, Integer> entry : ((SequenceCountOperation) other).chainCountMap.entrySet())
+		{
+			InstructionSequence sequence = entry.getKey();
+
+			Integer count = chainCountMap.get(sequence);
+
+			if (count == null)
+			{
+				chainCountMap.put(sequence, entry.getValue());
+			}
+			else
+			{
+				chainCountMap.put(sequence, count + entry.getValue());
+			}
+		}
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
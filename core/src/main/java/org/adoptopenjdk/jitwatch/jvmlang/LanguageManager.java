@@ -25,6 +25,7 @@ import org.adoptopenjdk.jitwatch.logger.ILogListener;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerGroovy;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerJRuby;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerJava;
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerJavaInProcess;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerJavaScript;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerKotlin;
 import org.adoptopenjdk.jitwatch.process.compiler.CompilerScala;
@@ -66,7 +67,15 @@ public class LanguageManager
 					result = new CompilerGroovy(languageHomeDir);
 					break;
 				case VM_LANGUAGE_JAVA:
-					result = new CompilerJava(languageHomeDir);
+					// skip the javac process launch when compiling with this JDK
+					if (CompilerJavaInProcess.isRunningJDK(languageHomeDir) && CompilerJavaInProcess.isAvailable())
+					{
+						result = new CompilerJavaInProcess();
+					}
+					else
+					{
+						result = new CompilerJava(languageHomeDir);
+					}
 					break;
 				case VM_LANGUAGE_JAVASCRIPT:
 					result = new CompilerJavaScript(languageHomeDir);
@@ -14,12 +14,16 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.histo.CompileTimeHistoWalker;
+import org.adoptopenjdk.jitwatch.histo.Histo;
+import org.adoptopenjdk.jitwatch.histo.NativeSizeHistoWalker;
 import org.adoptopenjdk.jitwatch.inline.HeadlessInlineVisitor;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.JITEvent;
@@ -40,6 +44,13 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	private boolean showSuggestions;
 	private boolean outputFile;
 	private boolean showInlineFailedCalls;
+	private boolean streamLog;
+	private boolean parallelParse;
+	private boolean classFileModel;
+	private boolean writeSnapshot;
+	private boolean followLog;
+	private boolean compactTasks;
+	private boolean showPercentiles;
 
 	private HotSpotLogParser parser;
 	private JITWatchConfig config;
@@ -47,12 +58,24 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	private StringBuilder timelineBuilder = new StringBuilder();
 	private StringBuilder errorBuilder = new StringBuilder();
 
+	private List<File> logParts = new ArrayList<>();
+
+	private static final long SHUTDOWN_WAIT_MILLIS = 10000;
+
+	private static final double[] PERCENTILES = new double[] { 50, 90, 99, 99.9 };
+
 	public LaunchHeadless(String[] args) throws IOException
 	{
-		String logFile = args[args.length - 1];
-
 		parseOptions(args);
 
+		if (followLog && logParts.size() > 1)
+		{
+			// a log split into parts is complete so there is nothing to follow
+			System.err.println("-r follows a single log file, not a log split into parts");
+
+			System.exit(-1);
+		}
+
 		timelineBuilder.append("Timestamp").append(HEADLESS_SEPARATOR);
 		timelineBuilder.append("Event").append(HEADLESS_SEPARATOR);
 		timelineBuilder.append("Class").append(HEADLESS_SEPARATOR);
@@ -60,10 +83,69 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		config = new JITWatchConfig();
 
+		if (streamLog)
+		{
+			config.setStreamingParse(true);
+		}
+
+		if (parallelParse)
+		{
+			config.setParallelParse(true);
+		}
+
+		if (classFileModel)
+		{
+			config.setClassFileModel(true);
+		}
+
+		if (writeSnapshot)
+		{
+			config.setWriteModelSnapshot(true);
+		}
+
+		if (compactTasks)
+		{
+			config.setCompactTasks(true);
+		}
+
 		parser = new HotSpotLogParser(this);
 		parser.setConfig(config);
 
-		parser.processLogFile(new File(logFile), this);
+		if (followLog)
+		{
+			followLogFile(logParts.get(logParts.size() - 1));
+		}
+		else
+		{
+			parser.processLogFiles(logParts, this);
+		}
+	}
+
+	private void followLogFile(File logFile) throws IOException
+	{
+		final Thread followThread = Thread.currentThread();
+
+		// Ctrl-C stops following, the output is written once the parser has
+		// handled the lines read so far
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				parser.stopParsing();
+
+				try
+				{
+					followThread.join(SHUTDOWN_WAIT_MILLIS);
+				}
+				catch (InterruptedException ie)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		}));
+
+		parser.followLogFile(logFile, this);
 	}
 
 	@Override
@@ -110,7 +192,7 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	{
 		if (args.length < 2)
 		{
-			System.err.println("Usage: LaunchHeadless <options> <hotspot log file>");
+			System.err.println("Usage: LaunchHeadless <options> <hotspot log file or its parts in order>");
 			System.err.println("options:");
 			System.err.println("-e\tShow parse errors");
 			System.err.println("-m\tShow model");
@@ -119,6 +201,14 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			System.err.println("-t\tShow compilation timeline");
 			System.err.println("-f\tWrite output to headless.csv");
 			System.err.println("-i\tShow inline failed calls");
+			System.err.println("-l\tStream the log file without holding it in memory");
+			System.err.println("-p\tParse compilation tasks in parallel");
+			System.err.println("-b\tBuild the class model from classfile bytes without loading classes");
+			System.err.println("-w\tWrite a model snapshot next to the log, reused while the log is unchanged");
+			System.err.println("-r\tFollow a single log file the JVM is still writing until it exits or Ctrl-C is pressed");
+			System.err.println("-k\tKeep compilation tasks compacted in memory and expand them when used");
+			System.err.println("-q\tShow percentiles of compile times and native sizes");
+			System.err.println("Log files ending in .gz are decompressed as they are read");
 			// System.err.println("-o\tShow optimized virtual calls");
 
 			System.exit(-1);
@@ -129,10 +219,17 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	private void parseOptions(String[] args)
 	{
-		for (int i = 0; i < args.length - 1; i++)
+		for (int i = 0; i < args.length; i++)
 		{
 			String arg = args[i];
 
+			// the log file or its parts follow the options
+			if (i == args.length - 1 || !arg.startsWith("-"))
+			{
+				logParts.add(new File(arg));
+				continue;
+			}
+
 			switch (arg)
 			{
 			case "-c":
@@ -162,6 +259,34 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			case "-i":
 				showInlineFailedCalls = true;
 				break;
+
+			case "-l":
+				streamLog = true;
+				break;
+
+			case "-p":
+				parallelParse = true;
+				break;
+
+			case "-b":
+				classFileModel = true;
+				break;
+
+			case "-w":
+				writeSnapshot = true;
+				break;
+
+			case "-r":
+				followLog = true;
+				break;
+
+			case "-k":
+				compactTasks = true;
+				break;
+
+			case "-q":
+				showPercentiles = true;
+				break;
 				
 				// case "-o":
 				// showOptimizedVirtualCalls = true;
@@ -203,6 +328,11 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			outputBuilder.append(getSuggestions(suggestions));
 		}
 
+		if (showPercentiles)
+		{
+			outputBuilder.append(getPercentiles(parser.getModel()));
+		}
+
 		if (outputFile)
 		{
 			outputBuilder.insert(0, "sep=" + HEADLESS_SEPARATOR + S_NEWLINE);
@@ -244,6 +374,56 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	}
 
+	private String getPercentiles(IReadOnlyJITDataModel model)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Histogram").append(HEADLESS_SEPARATOR);
+		builder.append("Count");
+
+		for (double percentile : PERCENTILES)
+		{
+			builder.append(HEADLESS_SEPARATOR).append('p').append(formatPercentile(percentile));
+		}
+
+		builder.append(HEADLESS_SEPARATOR).append("Max").append(S_NEWLINE);
+
+		appendPercentiles(builder, "Compile time (ms)", new CompileTimeHistoWalker(model, 1).buildHistogram());
+		appendPercentiles(builder, "Native size (bytes)", new NativeSizeHistoWalker(model, 1).buildHistogram());
+
+		return builder.toString();
+	}
+
+	// p50 rather than p50.0 but p99.9 is kept
+	private String formatPercentile(double percentile)
+	{
+		String result;
+
+		if (percentile == Math.rint(percentile))
+		{
+			result = Long.toString((long) percentile);
+		}
+		else
+		{
+			result = Double.toString(percentile);
+		}
+
+		return result;
+	}
+
+	private void appendPercentiles(StringBuilder builder, String name, Histo histo)
+	{
+		builder.append(name).append(HEADLESS_SEPARATOR);
+		builder.append(histo.getCount());
+
+		for (double percentile : PERCENTILES)
+		{
+			builder.append(HEADLESS_SEPARATOR).append(histo.getPercentile(percentile));
+		}
+
+		builder.append(HEADLESS_SEPARATOR).append(histo.getPercentile(100)).append(S_NEWLINE);
+	}
+
 	private String getSuggestions(List<Suggestion> suggestions)
 	{
 		StringBuilder builder = new StringBuilder();
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Keeps the most recently used ClassBC by class locations and class name.
+// Concurrent requests for a class that is not cached wait for a single fetch.
+// Cached classes are registered with the SourceMapper and unregistered when
+// evicted. The shared cache is cleared when a new log is parsed.
+public class BytecodeCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(BytecodeCache.class);
+
+	public static final int DEFAULT_CAPACITY = 512;
+
+	private static final BytecodeCache SHARED_CACHE = new BytecodeCache(DEFAULT_CAPACITY);
+
+	private final Map<CacheKey, ClassBC> cache;
+
+	private final Map<CacheKey, FutureTask<ClassBC>> loading = new HashMap<>();
+
+	private int fetchCount = 0;
+
+	private static class CacheKey
+	{
+		private final List<String> classLocations;
+
+		private final String fqClassName;
+
+		CacheKey(List<String> classLocations, String fqClassName)
+		{
+			this.classLocations = new ArrayList<>(classLocations);
+			this.fqClassName = fqClassName;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * classLocations.hashCode() + fqClassName.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			boolean result = false;
+
+			if (obj instanceof CacheKey)
+			{
+				CacheKey other = (CacheKey) obj;
+
+				result = fqClassName.equals(other.fqClassName) && classLocations.equals(other.classLocations);
+			}
+
+			return result;
+		}
+	}
+
+	public static BytecodeCache getSharedCache()
+	{
+		return SHARED_CACHE;
+	}
+
+	public BytecodeCache(final int capacity)
+	{
+		this.cache = new LinkedHashMap<CacheKey, ClassBC>(capacity, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, ClassBC> eldest)
+			{
+				boolean evict = size() > capacity;
+
+				if (evict)
+				{
+					SourceMapper.removeSourceClassMapping(eldest.getValue());
+				}
+
+				return evict;
+			}
+		};
+	}
+
+	public synchronized int size()
+	{
+		return cache.size();
+	}
+
+	// number of classes fetched by this cache since it was created
+	public synchronized int getFetchCount()
+	{
+		return fetchCount;
+	}
+
+	public synchronized ClassBC getIfPresent(List<String> classLocations, String fqClassName)
+	{
+		return cache.get(new CacheKey(classLocations, fqClassName));
+	}
+
+	public synchronized void clear()
+	{
+		for (ClassBC classBytecode : cache.values())
+		{
+			SourceMapper.removeSourceClassMapping(classBytecode);
+		}
+
+		cache.clear();
+	}
+
+	public ClassBC getClassBytecode(final List<String> classLocations, final String fqClassName, final Path javapPath)
+	{
+		ClassBC result = null;
+
+		FutureTask<ClassBC> fetch = null;
+
+		boolean fetchOwner = false;
+
+		final CacheKey key = new CacheKey(classLocations, fqClassName);
+
+		synchronized (this)
+		{
+			result = cache.get(key);
+
+			if (result == null)
+			{
+				fetch = loading.get(key);
+
+				if (fetch == null)
+				{
+					fetch = new FutureTask<>(new Callable<ClassBC>()
+					{
+						@Override
+						public ClassBC call() throws Exception
+						{
+							return BytecodeLoader.fetchBytecodeForClass(classLocations, fqClassName, javapPath, false);
+						}
+					});
+
+					loading.put(key, fetch);
+
+					fetchCount++;
+
+					fetchOwner = true;
+				}
+			}
+		}
+
+		if (result == null)
+		{
+			if (fetchOwner)
+			{
+				fetch.run();
+			}
+
+			result = waitForFetch(fqClassName, fetch);
+
+			if (fetchOwner)
+			{
+				synchronized (this)
+				{
+					loading.remove(key);
+
+					// failed fetches are not cached so the next request retries
+					if (result != null)
+					{
+						SourceMapper.addSourceClassMapping(result);
+
+						cache.put(key, result);
+					}
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private ClassBC waitForFetch(String fqClassName, FutureTask<ClassBC> fetch)
+	{
+		ClassBC result = null;
+
+		boolean interrupted = false;
+
+		while (true)
+		{
+			try
+			{
+				result = fetch.get();
+				break;
+			}
+			catch (InterruptedException ie)
+			{
+				interrupted = true;
+			}
+			catch (ExecutionException ee)
+			{
+				logger.error("Could not fetch bytecode for {}", fqClassName, ee.getCause());
+				break;
+			}
+		}
+
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		return result;
+	}
+}
\ No newline at end of file
@@ -6,10 +6,12 @@
 package org.adoptopenjdk.jitwatch.loader;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_HASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_BYTECODE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BYTECODE_CODE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BYTECODE_CONSTANT_POOL;
@@ -29,6 +31,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COLON;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COMMA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DEFAULT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT_CLASS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOUBLE_QUOTE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_HASH;
@@ -37,6 +40,10 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SEMICOLON;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -44,9 +51,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
-import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.bytecode.BCParamConstant;
 import org.adoptopenjdk.jitwatch.model.bytecode.BCParamNumeric;
 import org.adoptopenjdk.jitwatch.model.bytecode.BCParamString;
@@ -61,6 +69,7 @@ import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
 import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.process.javap.JavapProcess;
+import org.adoptopenjdk.jitwatch.util.FileUtil;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,19 +104,9 @@ public final class BytecodeLoader
 	{
 	}
 
-	/*
-	 * Builds a meta class from bytecode where JITDataModel.buildAndGetMetaClass
-	 * fails due to NoClassDefFoundError
-	 */
-	public static MetaClass buildMetaClassFromClass(String fqClassName)
-	{
-		//TODO implement
-		return null;
-	}
-
 	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, boolean cacheBytecode)
 	{
-		return fetchBytecodeForClass(classLocations, fqClassName, null, cacheBytecode);
+		return fetchBytecodeForClass(classLocations, fqClassName, (Path) null, cacheBytecode);
 	}
 
 	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, Path javapPath,
@@ -120,6 +119,123 @@ public final class BytecodeLoader
 			logger.info("Class locations: {}", StringUtil.listToString(classLocations));
 		}
 
+		ClassBC result = disassembleClassBytes(fqClassName, readClassBytes(classLocations, fqClassName), cacheBytecode);
+
+		if (result == null)
+		{
+			result = fetchBytecodeWithJavap(classLocations, fqClassName, javapPath, cacheBytecode);
+		}
+
+		return result;
+	}
+
+	// for callers that already hold the classfile bytes, e.g. JarScan reading
+	// entries from an open jar
+	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, byte[] classBytes,
+			boolean cacheBytecode)
+	{
+		ClassBC result = disassembleClassBytes(fqClassName, classBytes, cacheBytecode);
+
+		if (result == null)
+		{
+			result = fetchBytecodeWithJavap(classLocations, fqClassName, null, cacheBytecode);
+		}
+
+		return result;
+	}
+
+	private static ClassBC disassembleClassBytes(String fqClassName, byte[] classBytes, boolean cacheBytecode)
+	{
+		ClassBC result = null;
+
+		if (classBytes != null)
+		{
+			try
+			{
+				result = ClassFileDisassembler.disassemble(fqClassName, classBytes, cacheBytecode);
+			}
+			catch (Exception e)
+			{
+				logger.warn("Could not disassemble {}, falling back to javap", fqClassName, e);
+			}
+		}
+
+		return result;
+	}
+
+	// searches the class locations in order, then the JITWatch runtime
+	// classpath which javap would also see
+	public static byte[] readClassBytes(List<String> classLocations, String fqClassName)
+	{
+		String resourceName = fqClassName.replace(C_DOT, C_SLASH) + S_DOT_CLASS;
+
+		byte[] result = null;
+
+		try
+		{
+			if (classLocations != null)
+			{
+				for (String location : classLocations)
+				{
+					result = readClassBytesFromLocation(new File(location), resourceName);
+
+					if (result != null)
+					{
+						break;
+					}
+				}
+			}
+
+			if (result == null)
+			{
+				InputStream inputStream = ClassLoader.getSystemResourceAsStream(resourceName);
+
+				if (inputStream != null)
+				{
+					result = FileUtil.readFully(inputStream);
+				}
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not read classfile for {}", fqClassName, ioe);
+		}
+
+		return result;
+	}
+
+	private static byte[] readClassBytesFromLocation(File location, String resourceName) throws IOException
+	{
+		byte[] result = null;
+
+		if (location.isDirectory())
+		{
+			File classFile = new File(location, resourceName);
+
+			if (classFile.isFile())
+			{
+				result = Files.readAllBytes(classFile.toPath());
+			}
+		}
+		else if (location.isFile())
+		{
+			try (ZipFile zip = new ZipFile(location))
+			{
+				ZipEntry entry = zip.getEntry(resourceName);
+
+				if (entry != null)
+				{
+					result = FileUtil.readFully(zip.getInputStream(entry));
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private static ClassBC fetchBytecodeWithJavap(List<String> classLocations, String fqClassName, Path javapPath,
+			boolean cacheBytecode)
+	{
 		try
 		{
 			JavapProcess javapProcess;
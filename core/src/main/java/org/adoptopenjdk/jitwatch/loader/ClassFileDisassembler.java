@@ -0,0 +1,797 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COMMA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOUBLE_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_HASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_BYTECODE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BYTECODE_SIGNATURE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BYTECODE_STATIC_INITIALISER_SIGNATURE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DEFAULT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CLOSE_PARENTHESES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_PARENTHESES;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamConstant;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamNumeric;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamString;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamSwitch;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.ConstantPool;
+import org.adoptopenjdk.jitwatch.model.bytecode.ExceptionTableEntry;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineTableEntry;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Builds the same ClassBC model that BytecodeLoader parses from javap -c -p -v
+// output directly from the classfile bytes. Parameters and comments are
+// rendered in the javap format so the rest of JITWatch cannot tell the two
+// sources apart.
+public final class ClassFileDisassembler
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClassFileDisassembler.class);
+
+	private static final String ATTR_CODE = "Code";
+	private static final String ATTR_LINE_NUMBER_TABLE = "LineNumberTable";
+	private static final String ATTR_SIGNATURE = "Signature";
+	private static final String ATTR_SOURCE_FILE = "SourceFile";
+	private static final String ATTR_INNER_CLASSES = "InnerClasses";
+
+	private static final String COMMENT_PREFIX = "// ";
+
+	private static final String[] ARRAY_TYPES = new String[] { null, null, null, null, "boolean", "char", "float", "double",
+			"byte", "short", "int", "long" };
+
+	private static final String[] REFERENCE_KINDS = new String[] { null, "REF_getField", "REF_getStatic", "REF_putField",
+			"REF_putStatic", "REF_invokeVirtual", "REF_invokeStatic", "REF_invokeSpecial", "REF_newInvokeSpecial",
+			"REF_invokeInterface" };
+
+	private static final Opcode[] OPCODES = new Opcode[256];
+
+	static
+	{
+		for (Opcode opcode : Opcode.values())
+		{
+			OPCODES[opcode.getValue()] = opcode;
+		}
+	}
+
+	private final String fqClassName;
+	private final ClassFileReader classFile;
+	private final String[] constantTagNames;
+	private final String[] constantValues;
+
+	private ClassFileDisassembler(String fqClassName, ClassFileReader classFile)
+	{
+		this.fqClassName = fqClassName;
+		this.classFile = classFile;
+
+		int constantPoolCount = classFile.getConstantPoolCount();
+
+		constantTagNames = new String[constantPoolCount];
+		constantValues = new String[constantPoolCount];
+	}
+
+	public static ClassBC disassemble(String fqClassName, byte[] classBytes, boolean cacheBytecode) throws IOException
+	{
+		ClassFileDisassembler disassembler = new ClassFileDisassembler(fqClassName, new ClassFileReader(classBytes));
+
+		return disassembler.buildClassBC(cacheBytecode);
+	}
+
+	private ClassBC buildClassBC(boolean cacheBytecode) throws IOException
+	{
+		ClassBC classBytecode = new ClassBC(fqClassName);
+
+		classBytecode.setMajorVersion(classFile.getMajorVersion());
+		classBytecode.setMinorVersion(classFile.getMinorVersion());
+
+		addGenerics(classFile.getClassAttribute(ATTR_SIGNATURE), classBytecode);
+
+		for (ClassFileMethod method : classFile.getMethods())
+		{
+			MemberSignatureParts msp = MemberSignatureParts.fromBytecodeSignature(fqClassName, buildSignature(method));
+
+			msp.setClassBC(classBytecode);
+
+			addGenerics(method.getAttribute(ATTR_SIGNATURE), classBytecode);
+
+			byte[] code = method.getAttribute(ATTR_CODE);
+
+			// like javap only members with a Code attribute are stored
+			if (code != null)
+			{
+				MemberBytecode memberBytecode = new MemberBytecode(classBytecode, msp);
+
+				readCode(code, memberBytecode);
+
+				classBytecode.addMemberBytecode(memberBytecode);
+
+				if (DEBUG_LOGGING_BYTECODE)
+				{
+					logger.debug("stored bytecode for:\n{}", msp);
+				}
+			}
+		}
+
+		addInnerClasses(classFile.getClassAttribute(ATTR_INNER_CLASSES), classBytecode);
+
+		byte[] sourceFile = classFile.getClassAttribute(ATTR_SOURCE_FILE);
+
+		if (sourceFile != null)
+		{
+			classBytecode.setSourceFile(classFile.getUTF8(readUnsignedShort(sourceFile, 0)));
+
+			if (cacheBytecode)
+			{
+				SourceMapper.addSourceClassMapping(classBytecode);
+			}
+		}
+
+		classBytecode.setConstantPool(buildConstantPool());
+
+		return classBytecode;
+	}
+
+	// javap style declaration with erased types, parsed the same way as the
+	// javap output so both sources produce identical MemberSignatureParts
+	private String buildSignature(ClassFileMethod method)
+	{
+		String result;
+
+		if (method.isStaticInitialiser())
+		{
+			result = S_BYTECODE_STATIC_INITIALISER_SIGNATURE + C_SEMICOLON;
+		}
+		else
+		{
+			StringBuilder builder = new StringBuilder();
+
+			String modifiers = Modifier.toString(method.getAccessFlags() & Modifier.methodModifiers());
+
+			if (modifiers.length() > 0)
+			{
+				builder.append(modifiers).append(C_SPACE);
+			}
+
+			if (method.isConstructor())
+			{
+				builder.append(fqClassName);
+			}
+			else
+			{
+				String returnType = ParseUtil.getReturnClassNameForDescriptor(method.getDescriptor());
+
+				builder.append(ParseUtil.expandParameterType(returnType)).append(C_SPACE);
+				builder.append(method.getName());
+			}
+
+			builder.append(S_OPEN_PARENTHESES);
+
+			List<String> paramTypes = ParseUtil.getParamClassNamesForDescriptor(method.getDescriptor());
+
+			for (int i = 0; i < paramTypes.size(); i++)
+			{
+				if (i > 0)
+				{
+					builder.append(C_COMMA).append(C_SPACE);
+				}
+
+				builder.append(ParseUtil.expandParameterType(paramTypes.get(i)));
+			}
+
+			builder.append(S_CLOSE_PARENTHESES).append(C_SEMICOLON);
+
+			result = builder.toString();
+		}
+
+		return result;
+	}
+
+	private void addGenerics(byte[] signatureAttribute, ClassBC classBytecode)
+	{
+		if (signatureAttribute != null)
+		{
+			String signature = classFile.getUTF8(readUnsignedShort(signatureAttribute, 0));
+
+			BytecodeLoader.buildClassGenerics(S_BYTECODE_SIGNATURE + C_SPACE + signature, classBytecode);
+		}
+	}
+
+	private void addInnerClasses(byte[] innerClassesAttribute, ClassBC classBytecode)
+	{
+		if (innerClassesAttribute != null)
+		{
+			int count = readUnsignedShort(innerClassesAttribute, 0);
+
+			for (int i = 0; i < count; i++)
+			{
+				int entryStart = 2 + i * 8;
+
+				int innerIndex = readUnsignedShort(innerClassesAttribute, entryStart);
+				int outerIndex = readUnsignedShort(innerClassesAttribute, entryStart + 2);
+
+				if (outerIndex != 0 && fqClassName.equals(classFile.getClassName(outerIndex)))
+				{
+					classBytecode.addInnerClassName(classFile.getClassName(innerIndex));
+				}
+			}
+		}
+	}
+
+	private void readCode(byte[] codeAttribute, MemberBytecode memberBytecode) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(codeAttribute));
+
+		input.skipBytes(4); // max_stack, max_locals
+
+		byte[] code = new byte[input.readInt()];
+
+		input.readFully(code);
+
+		memberBytecode.setInstructions(decodeInstructions(code));
+
+		int exceptionTableLength = input.readUnsignedShort();
+
+		for (int i = 0; i < exceptionTableLength; i++)
+		{
+			int from = input.readUnsignedShort();
+			int to = input.readUnsignedShort();
+			int target = input.readUnsignedShort();
+			int catchType = input.readUnsignedShort();
+
+			// javap shows catch_type 0 as 'any' which BytecodeLoader does not
+			// store
+			if (catchType != 0)
+			{
+				memberBytecode.addExceptionTableEntry(new ExceptionTableEntry(from, to, target, getConstantValue(catchType)));
+			}
+		}
+
+		int attributeCount = input.readUnsignedShort();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			String name = classFile.getUTF8(input.readUnsignedShort());
+
+			int length = input.readInt();
+
+			if (ATTR_LINE_NUMBER_TABLE.equals(name))
+			{
+				int entryCount = input.readUnsignedShort();
+
+				for (int j = 0; j < entryCount; j++)
+				{
+					int startPC = input.readUnsignedShort();
+					int sourceLine = input.readUnsignedShort();
+
+					memberBytecode.addLineTableEntry(new LineTableEntry(sourceLine, startPC));
+				}
+			}
+			else
+			{
+				input.skipBytes(length);
+			}
+		}
+	}
+
+	private List<BytecodeInstruction> decodeInstructions(byte[] code)
+	{
+		List<BytecodeInstruction> instructions = new ArrayList<>();
+
+		int pos = 0;
+
+		while (pos < code.length)
+		{
+			int offset = pos;
+
+			int opcodeValue = code[pos++] & 0xff;
+
+			boolean wide = (opcodeValue == Opcode.WIDE.getValue());
+
+			if (wide)
+			{
+				opcodeValue = code[pos++] & 0xff;
+			}
+
+			Opcode opcode = OPCODES[opcodeValue];
+
+			if (opcode == null)
+			{
+				throw new IllegalStateException("Unknown opcode " + opcodeValue + " at offset " + offset + " in " + fqClassName);
+			}
+
+			BytecodeInstruction instruction = new BytecodeInstruction();
+
+			instruction.setOffset(offset);
+			instruction.setOpcode(opcode);
+
+			switch (opcode)
+			{
+			case BIPUSH:
+				instruction.addParameter(new BCParamNumeric(code[pos]));
+				pos += 1;
+				break;
+			case SIPUSH:
+				instruction.addParameter(new BCParamNumeric(readShort(code, pos)));
+				pos += 2;
+				break;
+			case LDC:
+				addConstantParameter(instruction, code[pos] & 0xff);
+				pos += 1;
+				break;
+			case LDC_W:
+			case LDC2_W:
+			case GETSTATIC:
+			case PUTSTATIC:
+			case GETFIELD:
+			case PUTFIELD:
+			case INVOKEVIRTUAL:
+			case INVOKESPECIAL:
+			case INVOKESTATIC:
+			case NEW:
+			case ANEWARRAY:
+			case CHECKCAST:
+			case INSTANCEOF:
+				addConstantParameter(instruction, readUnsignedShort(code, pos));
+				pos += 2;
+				break;
+			case INVOKEINTERFACE:
+			case INVOKEDYNAMIC:
+				addConstantParameter(instruction, readUnsignedShort(code, pos));
+				instruction.addParameter(new BCParamNumeric(code[pos + 2] & 0xff));
+				pos += 4;
+				break;
+			case MULTIANEWARRAY:
+				addConstantParameter(instruction, readUnsignedShort(code, pos));
+				instruction.addParameter(new BCParamNumeric(code[pos + 2] & 0xff));
+				pos += 3;
+				break;
+			case ILOAD:
+			case LLOAD:
+			case FLOAD:
+			case DLOAD:
+			case ALOAD:
+			case ISTORE:
+			case LSTORE:
+			case FSTORE:
+			case DSTORE:
+			case ASTORE:
+			case RET:
+				if (wide)
+				{
+					instruction.addParameter(new BCParamNumeric(readUnsignedShort(code, pos)));
+					pos += 2;
+				}
+				else
+				{
+					instruction.addParameter(new BCParamNumeric(code[pos] & 0xff));
+					pos += 1;
+				}
+				break;
+			case IINC:
+				if (wide)
+				{
+					instruction.addParameter(new BCParamNumeric(readUnsignedShort(code, pos)));
+					instruction.addParameter(new BCParamNumeric(readShort(code, pos + 2)));
+					pos += 4;
+				}
+				else
+				{
+					instruction.addParameter(new BCParamNumeric(code[pos] & 0xff));
+					instruction.addParameter(new BCParamNumeric(code[pos + 1]));
+					pos += 2;
+				}
+				break;
+			case NEWARRAY:
+				instruction.addParameter(new BCParamString(ARRAY_TYPES[code[pos] & 0xff]));
+				pos += 1;
+				break;
+			case IFEQ:
+			case IFNE:
+			case IFLT:
+			case IFGE:
+			case IFGT:
+			case IFLE:
+			case IF_ICMPEQ:
+			case IF_ICMPNE:
+			case IF_ICMPLT:
+			case IF_ICMPGE:
+			case IF_ICMPGT:
+			case IF_ICMPLE:
+			case IF_ACMPEQ:
+			case IF_ACMPNE:
+			case GOTO:
+			case JSR:
+			case IFNULL:
+			case IFNONNULL:
+				instruction.addParameter(new BCParamNumeric(offset + readShort(code, pos)));
+				pos += 2;
+				break;
+			case GOTO_W:
+			case JSR_W:
+				instruction.addParameter(new BCParamNumeric(offset + readInt(code, pos)));
+				pos += 4;
+				break;
+			case TABLESWITCH:
+				pos = decodeTableSwitch(code, offset, instruction);
+				break;
+			case LOOKUPSWITCH:
+				pos = decodeLookupSwitch(code, offset, instruction);
+				break;
+			default:
+				break;
+			}
+
+			instructions.add(instruction);
+		}
+
+		return instructions;
+	}
+
+	private int decodeTableSwitch(byte[] code, int offset, BytecodeInstruction instruction)
+	{
+		int pos = switchTableStart(offset);
+
+		int defaultTarget = offset + readInt(code, pos);
+		int low = readInt(code, pos + 4);
+		int high = readInt(code, pos + 8);
+
+		pos += 12;
+
+		BCParamSwitch table = new BCParamSwitch();
+
+		for (int key = low; key <= high; key++)
+		{
+			table.put(Integer.toString(key), Integer.toString(offset + readInt(code, pos)));
+			pos += 4;
+		}
+
+		table.put(S_DEFAULT, Integer.toString(defaultTarget));
+
+		instruction.addParameter(table);
+		instruction.setComment(COMMENT_PREFIX + low + " to " + high);
+
+		return pos;
+	}
+
+	private int decodeLookupSwitch(byte[] code, int offset, BytecodeInstruction instruction)
+	{
+		int pos = switchTableStart(offset);
+
+		int defaultTarget = offset + readInt(code, pos);
+		int pairCount = readInt(code, pos + 4);
+
+		pos += 8;
+
+		BCParamSwitch table = new BCParamSwitch();
+
+		for (int i = 0; i < pairCount; i++)
+		{
+			table.put(Integer.toString(readInt(code, pos)), Integer.toString(offset + readInt(code, pos + 4)));
+			pos += 8;
+		}
+
+		table.put(S_DEFAULT, Integer.toString(defaultTarget));
+
+		instruction.addParameter(table);
+		instruction.setComment(COMMENT_PREFIX + pairCount);
+
+		return pos;
+	}
+
+	// operands start at the next multiple of 4 after the opcode
+	private static int switchTableStart(int offset)
+	{
+		return (offset + 4) & ~3;
+	}
+
+	private void addConstantParameter(BytecodeInstruction instruction, int index)
+	{
+		instruction.addParameter(new BCParamConstant(Character.toString(C_HASH) + index));
+
+		instruction.setComment((COMMENT_PREFIX + getConstantComment(index)).trim());
+	}
+
+	// ConstantWriter.write(int) in javap, references within this class omit
+	// the class name
+	private String getConstantComment(int index)
+	{
+		int tag = classFile.getConstantTag(index);
+
+		int valueIndex = index;
+
+		switch (tag)
+		{
+		case ClassFileReader.CONSTANT_FIELDREF:
+		case ClassFileReader.CONSTANT_METHODREF:
+		case ClassFileReader.CONSTANT_INTERFACE_METHODREF:
+			int[] refs = classFile.getConstantReferences(index);
+
+			if (refs[0] == classFile.getThisClassIndex())
+			{
+				valueIndex = refs[1];
+			}
+			break;
+		default:
+			break;
+		}
+
+		return getConstantTagName(index) + C_SPACE + getConstantValue(valueIndex);
+	}
+
+	private ConstantPool buildConstantPool()
+	{
+		for (int i = 1; i < constantValues.length; i++)
+		{
+			if (classFile.getConstantTag(i) != 0)
+			{
+				getConstantTagName(i);
+				getConstantValue(i);
+			}
+		}
+
+		return new ConstantPool(constantTagNames, constantValues);
+	}
+
+	private String getConstantTagName(int index)
+	{
+		String result = constantTagNames[index];
+
+		if (result == null)
+		{
+			switch (classFile.getConstantTag(index))
+			{
+			case ClassFileReader.CONSTANT_UTF8:
+				result = "Utf8";
+				break;
+			case ClassFileReader.CONSTANT_INTEGER:
+				result = "int";
+				break;
+			case ClassFileReader.CONSTANT_FLOAT:
+				result = "float";
+				break;
+			case ClassFileReader.CONSTANT_LONG:
+				result = "long";
+				break;
+			case ClassFileReader.CONSTANT_DOUBLE:
+				result = "double";
+				break;
+			case ClassFileReader.CONSTANT_CLASS:
+				result = "class";
+				break;
+			case ClassFileReader.CONSTANT_STRING:
+				result = "String";
+				break;
+			case ClassFileReader.CONSTANT_FIELDREF:
+				result = "Field";
+				break;
+			case ClassFileReader.CONSTANT_METHODREF:
+				result = "Method";
+				break;
+			case ClassFileReader.CONSTANT_INTERFACE_METHODREF:
+				result = "InterfaceMethod";
+				break;
+			case ClassFileReader.CONSTANT_NAME_AND_TYPE:
+				result = "NameAndType";
+				break;
+			case ClassFileReader.CONSTANT_METHOD_HANDLE:
+				result = "MethodHandle";
+				break;
+			case ClassFileReader.CONSTANT_METHOD_TYPE:
+				result = "MethodType";
+				break;
+			case ClassFileReader.CONSTANT_DYNAMIC:
+				result = "Dynamic";
+				break;
+			case ClassFileReader.CONSTANT_INVOKE_DYNAMIC:
+				result = "InvokeDynamic";
+				break;
+			case ClassFileReader.CONSTANT_MODULE:
+				result = "Module";
+				break;
+			case ClassFileReader.CONSTANT_PACKAGE:
+				result = "Package";
+				break;
+			default:
+				result = "unknown tag";
+				break;
+			}
+
+			constantTagNames[index] = result;
+		}
+
+		return result;
+	}
+
+	// ConstantWriter.stringValue(CPInfo) in javap
+	private String getConstantValue(int index)
+	{
+		String result = constantValues[index];
+
+		if (result == null)
+		{
+			int tag = classFile.getConstantTag(index);
+
+			switch (tag)
+			{
+			case ClassFileReader.CONSTANT_UTF8:
+				result = escape(classFile.getUTF8(index));
+				break;
+			case ClassFileReader.CONSTANT_INTEGER:
+				result = classFile.getConstantValue(index).toString();
+				break;
+			case ClassFileReader.CONSTANT_FLOAT:
+				result = classFile.getConstantValue(index) + "f";
+				break;
+			case ClassFileReader.CONSTANT_LONG:
+				result = classFile.getConstantValue(index) + "l";
+				break;
+			case ClassFileReader.CONSTANT_DOUBLE:
+				result = classFile.getConstantValue(index) + "d";
+				break;
+			case ClassFileReader.CONSTANT_CLASS:
+			case ClassFileReader.CONSTANT_MODULE:
+			case ClassFileReader.CONSTANT_PACKAGE:
+				result = checkName(classFile.getUTF8(classFile.getConstantReferences(index)[0]));
+				break;
+			case ClassFileReader.CONSTANT_STRING:
+			case ClassFileReader.CONSTANT_METHOD_TYPE:
+				result = getConstantValue(classFile.getConstantReferences(index)[0]);
+				break;
+			case ClassFileReader.CONSTANT_FIELDREF:
+			case ClassFileReader.CONSTANT_METHODREF:
+			case ClassFileReader.CONSTANT_INTERFACE_METHODREF:
+			{
+				int[] refs = classFile.getConstantReferences(index);
+				result = getConstantValue(refs[0]) + C_DOT + getConstantValue(refs[1]);
+				break;
+			}
+			case ClassFileReader.CONSTANT_NAME_AND_TYPE:
+			{
+				int[] refs = classFile.getConstantReferences(index);
+				result = checkName(classFile.getUTF8(refs[0])) + C_COLON + getConstantValue(refs[1]);
+				break;
+			}
+			case ClassFileReader.CONSTANT_METHOD_HANDLE:
+			{
+				int[] refs = classFile.getConstantReferences(index);
+				result = REFERENCE_KINDS[refs[0]] + C_SPACE + getConstantValue(refs[1]);
+				break;
+			}
+			case ClassFileReader.CONSTANT_DYNAMIC:
+			case ClassFileReader.CONSTANT_INVOKE_DYNAMIC:
+			{
+				int[] refs = classFile.getConstantReferences(index);
+				result = Character.toString(C_HASH) + refs[0] + C_COLON + getConstantValue(refs[1]);
+				break;
+			}
+			default:
+				result = "unknown tag " + tag;
+				break;
+			}
+
+			constantValues[index] = result;
+		}
+
+		return result;
+	}
+
+	// names that are not a slash separated Java identifier path are quoted
+	private static String checkName(String name)
+	{
+		String result = name;
+
+		if (name.isEmpty())
+		{
+			result = "\"\"";
+		}
+		else
+		{
+			int previous = C_SLASH;
+
+			for (int i = 0; i < name.length(); i++)
+			{
+				char c = name.charAt(i);
+
+				if ((previous == C_SLASH && !Character.isJavaIdentifierStart(c))
+						|| (c != C_SLASH && !Character.isJavaIdentifierPart(c)))
+				{
+					result = C_DOUBLE_QUOTE + escape(name) + C_DOUBLE_QUOTE;
+					break;
+				}
+
+				previous = c;
+			}
+		}
+
+		return result;
+	}
+
+	private static String escape(String value)
+	{
+		StringBuilder builder = new StringBuilder(value.length());
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			switch (c)
+			{
+			case '\t':
+				builder.append("\\t");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\b':
+				builder.append("\\b");
+				break;
+			case '\f':
+				builder.append("\\f");
+				break;
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\'':
+				builder.append("\\'");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			default:
+				if (Character.isISOControl(c))
+				{
+					builder.append(String.format("\\u%04x", (int) c));
+				}
+				else
+				{
+					builder.append(c);
+				}
+				break;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private static int readUnsignedShort(byte[] bytes, int pos)
+	{
+		return ((bytes[pos] & 0xff) << 8) | (bytes[pos + 1] & 0xff);
+	}
+
+	private static int readShort(byte[] bytes, int pos)
+	{
+		return (short) readUnsignedShort(bytes, pos);
+	}
+
+	private static int readInt(byte[] bytes, int pos)
+	{
+		return ((bytes[pos] & 0xff) << 24) | ((bytes[pos + 1] & 0xff) << 16) | ((bytes[pos + 2] & 0xff) << 8)
+				| (bytes[pos + 3] & 0xff);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOLLAR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CONSTRUCTOR_INIT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_POLYMORPHIC_SIGNATURE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_STATIC_INIT;
+
+import java.util.List;
+import java.util.Map;
+
+public class ClassFileMethod
+{
+	private final int accessFlags;
+	private final String name;
+	private final String descriptor;
+	private final List<String> annotationTypes;
+	private final Map<String, byte[]> attributes;
+
+	public ClassFileMethod(int accessFlags, String name, String descriptor, List<String> annotationTypes,
+			Map<String, byte[]> attributes)
+	{
+		this.accessFlags = accessFlags;
+		this.name = name;
+		this.descriptor = descriptor;
+		this.annotationTypes = annotationTypes;
+		this.attributes = attributes;
+	}
+
+	public int getAccessFlags()
+	{
+		return accessFlags;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getDescriptor()
+	{
+		return descriptor;
+	}
+
+	public boolean isConstructor()
+	{
+		return S_CONSTRUCTOR_INIT.equals(name);
+	}
+
+	public boolean isStaticInitialiser()
+	{
+		return S_STATIC_INIT.equals(name);
+	}
+
+	public boolean isVarArgs()
+	{
+		return (accessFlags & ClassFileReader.ACC_VARARGS) != 0;
+	}
+
+	// same test as AbstractMetaMember.checkPolymorphicSignature which
+	// compares the simple name of the annotation type
+	public boolean isPolymorphicSignature()
+	{
+		boolean result = false;
+
+		for (String annotationType : annotationTypes)
+		{
+			if (annotationType.endsWith(C_DOLLAR + S_POLYMORPHIC_SIGNATURE + C_SEMICOLON))
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	public List<String> getAnnotationTypes()
+	{
+		return annotationTypes;
+	}
+
+	public byte[] getAttribute(String attributeName)
+	{
+		return attributes.get(attributeName);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads the constant pool, class header and method_info structures straight
+// from classfile bytes (JVMS chapter 4) so a class model can be built without
+// defining the class in a ClassLoader. The major version is recorded but not
+// checked so classfiles from newer JDKs can still be read.
+public final class ClassFileReader
+{
+	private static final int MAGIC = 0xCAFEBABE;
+
+	public static final int CONSTANT_UTF8 = 1;
+	public static final int CONSTANT_INTEGER = 3;
+	public static final int CONSTANT_FLOAT = 4;
+	public static final int CONSTANT_LONG = 5;
+	public static final int CONSTANT_DOUBLE = 6;
+	public static final int CONSTANT_CLASS = 7;
+	public static final int CONSTANT_STRING = 8;
+	public static final int CONSTANT_FIELDREF = 9;
+	public static final int CONSTANT_METHODREF = 10;
+	public static final int CONSTANT_INTERFACE_METHODREF = 11;
+	public static final int CONSTANT_NAME_AND_TYPE = 12;
+	public static final int CONSTANT_METHOD_HANDLE = 15;
+	public static final int CONSTANT_METHOD_TYPE = 16;
+	public static final int CONSTANT_DYNAMIC = 17;
+	public static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	public static final int CONSTANT_MODULE = 19;
+	public static final int CONSTANT_PACKAGE = 20;
+
+	public static final int ACC_INTERFACE = 0x0200;
+	public static final int ACC_VARARGS = 0x0080;
+
+	private static final String ATTR_RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	private final int minorVersion;
+	private final int majorVersion;
+
+	// index 0 and the slot after a long or double are unused
+	private final int[] constantTags;
+	private final Object[] constantValues;
+
+	private final int accessFlags;
+	private final int thisClassIndex;
+	private final int superClassIndex;
+
+	private final List<ClassFileMethod> methods;
+
+	private final Map<String, byte[]> classAttributes;
+
+	public ClassFileReader(byte[] classBytes) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(classBytes));
+
+		if (input.readInt() != MAGIC)
+		{
+			throw new IOException("Not a classfile, bad magic number");
+		}
+
+		minorVersion = input.readUnsignedShort();
+		majorVersion = input.readUnsignedShort();
+
+		int constantPoolCount = input.readUnsignedShort();
+
+		constantTags = new int[constantPoolCount];
+		constantValues = new Object[constantPoolCount];
+
+		readConstantPool(input, constantPoolCount);
+
+		accessFlags = input.readUnsignedShort();
+		thisClassIndex = input.readUnsignedShort();
+		superClassIndex = input.readUnsignedShort();
+
+		int interfaceCount = input.readUnsignedShort();
+		input.skipBytes(interfaceCount * 2);
+
+		int fieldCount = input.readUnsignedShort();
+
+		for (int i = 0; i < fieldCount; i++)
+		{
+			input.skipBytes(6);
+			readAttributes(input);
+		}
+
+		int methodCount = input.readUnsignedShort();
+
+		methods = new ArrayList<>(methodCount);
+
+		for (int i = 0; i < methodCount; i++)
+		{
+			int methodAccessFlags = input.readUnsignedShort();
+			String name = getUTF8(input.readUnsignedShort());
+			String descriptor = getUTF8(input.readUnsignedShort());
+
+			Map<String, byte[]> attributes = readAttributes(input);
+
+			List<String> annotationTypes = readAnnotationTypes(attributes.get(ATTR_RUNTIME_VISIBLE_ANNOTATIONS));
+
+			methods.add(new ClassFileMethod(methodAccessFlags, name, descriptor, annotationTypes, attributes));
+		}
+
+		classAttributes = readAttributes(input);
+	}
+
+	private void readConstantPool(DataInputStream input, int constantPoolCount) throws IOException
+	{
+		for (int i = 1; i < constantPoolCount; i++)
+		{
+			int tag = input.readUnsignedByte();
+
+			constantTags[i] = tag;
+
+			switch (tag)
+			{
+			case CONSTANT_UTF8:
+				constantValues[i] = input.readUTF();
+				break;
+			case CONSTANT_INTEGER:
+				constantValues[i] = input.readInt();
+				break;
+			case CONSTANT_FLOAT:
+				constantValues[i] = input.readFloat();
+				break;
+			case CONSTANT_LONG:
+				constantValues[i] = input.readLong();
+				i++;
+				break;
+			case CONSTANT_DOUBLE:
+				constantValues[i] = input.readDouble();
+				i++;
+				break;
+			case CONSTANT_CLASS:
+			case CONSTANT_STRING:
+			case CONSTANT_METHOD_TYPE:
+			case CONSTANT_MODULE:
+			case CONSTANT_PACKAGE:
+				constantValues[i] = new int[] { input.readUnsignedShort() };
+				break;
+			case CONSTANT_FIELDREF:
+			case CONSTANT_METHODREF:
+			case CONSTANT_INTERFACE_METHODREF:
+			case CONSTANT_NAME_AND_TYPE:
+			case CONSTANT_DYNAMIC:
+			case CONSTANT_INVOKE_DYNAMIC:
+				constantValues[i] = new int[] { input.readUnsignedShort(), input.readUnsignedShort() };
+				break;
+			case CONSTANT_METHOD_HANDLE:
+				constantValues[i] = new int[] { input.readUnsignedByte(), input.readUnsignedShort() };
+				break;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+			}
+		}
+	}
+
+	private Map<String, byte[]> readAttributes(DataInputStream input) throws IOException
+	{
+		int attributeCount = input.readUnsignedShort();
+
+		Map<String, byte[]> result;
+
+		if (attributeCount == 0)
+		{
+			result = Collections.emptyMap();
+		}
+		else
+		{
+			result = new HashMap<>();
+
+			for (int i = 0; i < attributeCount; i++)
+			{
+				String name = getUTF8(input.readUnsignedShort());
+
+				byte[] info = new byte[input.readInt()];
+
+				input.readFully(info);
+
+				result.put(name, info);
+			}
+		}
+
+		return result;
+	}
+
+	private List<String> readAnnotationTypes(byte[] annotationsAttribute) throws IOException
+	{
+		List<String> result;
+
+		if (annotationsAttribute == null)
+		{
+			result = Collections.emptyList();
+		}
+		else
+		{
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(annotationsAttribute));
+
+			int annotationCount = input.readUnsignedShort();
+
+			result = new ArrayList<>(annotationCount);
+
+			for (int i = 0; i < annotationCount; i++)
+			{
+				result.add(getUTF8(input.readUnsignedShort()));
+
+				skipAnnotationElements(input);
+			}
+		}
+
+		return result;
+	}
+
+	private void skipAnnotationElements(DataInputStream input) throws IOException
+	{
+		int pairCount = input.readUnsignedShort();
+
+		for (int i = 0; i < pairCount; i++)
+		{
+			input.skipBytes(2);
+			skipElementValue(input);
+		}
+	}
+
+	private void skipElementValue(DataInputStream input) throws IOException
+	{
+		char tag = (char) input.readUnsignedByte();
+
+		switch (tag)
+		{
+		case 'e':
+			input.skipBytes(4);
+			break;
+		case '@':
+			input.skipBytes(2);
+			skipAnnotationElements(input);
+			break;
+		case '[':
+			int valueCount = input.readUnsignedShort();
+
+			for (int i = 0; i < valueCount; i++)
+			{
+				skipElementValue(input);
+			}
+			break;
+		default:
+			// const_value_index or class_info_index
+			input.skipBytes(2);
+			break;
+		}
+	}
+
+	public int getMinorVersion()
+	{
+		return minorVersion;
+	}
+
+	public int getMajorVersion()
+	{
+		return majorVersion;
+	}
+
+	public int getAccessFlags()
+	{
+		return accessFlags;
+	}
+
+	public boolean isInterface()
+	{
+		return (accessFlags & ACC_INTERFACE) != 0;
+	}
+
+	public int getThisClassIndex()
+	{
+		return thisClassIndex;
+	}
+
+	public String getClassName()
+	{
+		return getClassName(thisClassIndex);
+	}
+
+	public String getSuperClassName()
+	{
+		return superClassIndex == 0 ? null : getClassName(superClassIndex);
+	}
+
+	public List<ClassFileMethod> getMethods()
+	{
+		return methods;
+	}
+
+	public byte[] getClassAttribute(String name)
+	{
+		return classAttributes.get(name);
+	}
+
+	public int getConstantPoolCount()
+	{
+		return constantTags.length;
+	}
+
+	public int getConstantTag(int index)
+	{
+		return constantTags[index];
+	}
+
+	// String, Integer, Float, Long or Double for value constants and an
+	// int[] of the referenced indices for every other tag
+	public Object getConstantValue(int index)
+	{
+		return constantValues[index];
+	}
+
+	public String getUTF8(int index)
+	{
+		return (String) constantValues[index];
+	}
+
+	public int[] getConstantReferences(int index)
+	{
+		return (int[]) constantValues[index];
+	}
+
+	// binary class name with dots, e.g. java.util.Map$Entry
+	public String getClassName(int classIndex)
+	{
+		return getUTF8(getConstantReferences(classIndex)[0]).replace(C_SLASH, C_DOT);
+	}
+}
\ No newline at end of file
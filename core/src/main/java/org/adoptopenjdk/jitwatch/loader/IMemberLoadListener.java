@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+
+// called on a MemberLoader thread unless the load was started with loadNow()
+public interface IMemberLoadListener
+{
+	void handleSourceLoaded(IMetaMember member, String source);
+
+	void handleBytecodeLoaded(IMetaMember member, ClassBC classBytecode, BytecodeAnnotations annotations, boolean offsetMismatch);
+
+	void handleAssemblyLoaded(IMetaMember member, AssemblyMethod assembly);
+}
\ No newline at end of file
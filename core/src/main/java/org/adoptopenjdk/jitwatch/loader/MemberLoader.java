@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adoptopenjdk.jitwatch.model.AnnotationException;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationBuilder;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Fetches the source, bytecode with annotations and assembly of a member
+// concurrently. Starting a load cancels the previous one and nothing more is
+// delivered for a cancelled load. Prefetching warms the bytecode and assembly
+// caches for members the user is likely to select next.
+public class MemberLoader
+{
+	private static final Logger logger = LoggerFactory.getLogger(MemberLoader.class);
+
+	private static final int LOAD_THREADS = 3;
+
+	private static final int PREFETCH_QUEUE_SIZE = 4;
+
+	private final ExecutorService loadExecutor;
+
+	private final ExecutorService prefetchExecutor;
+
+	private Request currentRequest = null;
+
+	public static class Request
+	{
+		private final List<FutureTask<?>> tasks = new ArrayList<>();
+
+		private volatile boolean cancelled = false;
+
+		private void addTask(FutureTask<?> task)
+		{
+			tasks.add(task);
+		}
+
+		public boolean isCancelled()
+		{
+			return cancelled;
+		}
+
+		public void cancel()
+		{
+			cancelled = true;
+
+			for (FutureTask<?> task : tasks)
+			{
+				task.cancel(true);
+			}
+		}
+	}
+
+	public MemberLoader()
+	{
+		loadExecutor = Executors.newFixedThreadPool(LOAD_THREADS, new LoaderThreadFactory("member-loader"));
+
+		// only the most recent prefetches are worth doing
+		prefetchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(
+				PREFETCH_QUEUE_SIZE), new LoaderThreadFactory("member-prefetch"), new ThreadPoolExecutor.DiscardOldestPolicy());
+	}
+
+	public Request load(IReadOnlyJITDataModel model, IMetaMember member, List<String> classLocations,
+			List<String> sourceLocations, boolean loadSource, IMemberLoadListener listener)
+	{
+		return start(model, member, classLocations, sourceLocations, loadSource, listener, true);
+	}
+
+	// for navigation that needs the results before returning, e.g. a member
+	// found from a source line whose class bytecode is already cached
+	public Request loadNow(IReadOnlyJITDataModel model, IMetaMember member, List<String> classLocations,
+			List<String> sourceLocations, boolean loadSource, IMemberLoadListener listener)
+	{
+		return start(model, member, classLocations, sourceLocations, loadSource, listener, false);
+	}
+
+	public synchronized void cancel()
+	{
+		if (currentRequest != null)
+		{
+			currentRequest.cancel();
+			currentRequest = null;
+		}
+	}
+
+	public void prefetch(final IReadOnlyJITDataModel model, final IMetaMember member, final List<String> classLocations)
+	{
+		prefetchExecutor.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					member.getMetaClass().getClassBytecode(model, classLocations);
+
+					Compilation compilation = member.getSelectedCompilation();
+
+					if (compilation != null)
+					{
+						compilation.getAssembly();
+					}
+				}
+				catch (RuntimeException re)
+				{
+					logger.warn("Could not prefetch {}", member, re);
+				}
+			}
+		});
+	}
+
+	public void shutdown()
+	{
+		cancel();
+
+		loadExecutor.shutdownNow();
+		prefetchExecutor.shutdownNow();
+	}
+
+	private synchronized Request start(final IReadOnlyJITDataModel model, final IMetaMember member,
+			final List<String> classLocations, final List<String> sourceLocations, boolean loadSource,
+			final IMemberLoadListener listener, boolean inBackground)
+	{
+		cancel();
+
+		final Request request = new Request();
+
+		final FutureTask<ClassBC> bytecodeTask = new FutureTask<>(new Callable<ClassBC>()
+		{
+			@Override
+			public ClassBC call()
+			{
+				return loadBytecode(model, member, classLocations, request, listener);
+			}
+		});
+
+		request.addTask(bytecodeTask);
+
+		if (loadSource)
+		{
+			request.addTask(new FutureTask<Void>(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					loadSource(member, sourceLocations, bytecodeTask, request, listener);
+				}
+			}, null));
+		}
+
+		request.addTask(new FutureTask<Void>(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				loadAssembly(member, request, listener);
+			}
+		}, null));
+
+		currentRequest = request;
+
+		// bytecode first as the source may need its source file attribute
+		for (FutureTask<?> task : request.tasks)
+		{
+			if (inBackground)
+			{
+				loadExecutor.execute(task);
+			}
+			else
+			{
+				task.run();
+			}
+		}
+
+		return request;
+	}
+
+	private ClassBC loadBytecode(IReadOnlyJITDataModel model, IMetaMember member, List<String> classLocations,
+			Request request, IMemberLoadListener listener)
+	{
+		ClassBC classBytecode = null;
+
+		try
+		{
+			classBytecode = member.getMetaClass().getClassBytecode(model, classLocations);
+
+			BytecodeAnnotations annotations = null;
+
+			boolean offsetMismatch = false;
+
+			MemberBytecode memberBytecode = member.getMemberBytecode();
+
+			if (!request.isCancelled() && memberBytecode != null && !memberBytecode.getInstructions().isEmpty())
+			{
+				try
+				{
+					annotations = new BytecodeAnnotationBuilder().buildBytecodeAnnotations(member, model);
+				}
+				catch (AnnotationException annoEx)
+				{
+					logger.error("class bytecode mismatch: {}", annoEx.getMessage());
+					logger.error("Member was {}", member);
+					offsetMismatch = true;
+				}
+			}
+
+			if (!request.isCancelled())
+			{
+				listener.handleBytecodeLoaded(member, classBytecode, annotations, offsetMismatch);
+			}
+		}
+		catch (RuntimeException re)
+		{
+			logger.error("Could not load bytecode for {}", member, re);
+		}
+
+		return classBytecode;
+	}
+
+	private void loadSource(IMetaMember member, List<String> sourceLocations, FutureTask<ClassBC> bytecodeTask,
+			Request request, IMemberLoadListener listener)
+	{
+		try
+		{
+			MetaClass metaClass = member.getMetaClass();
+
+			String source = ResourceLoader.getSourceForClassName(metaClass.getFullyQualifiedName(), sourceLocations);
+
+			if (source == null && !request.isCancelled())
+			{
+				ClassBC classBytecode = getBytecode(bytecodeTask);
+
+				String sourceFileName = classBytecode == null ? null : classBytecode.getSourceFile();
+
+				logger.debug("Could not find source for {}. Trying to locate via bytecode source file attribute {}", metaClass,
+						sourceFileName);
+
+				if (sourceFileName != null)
+				{
+					source = ResourceLoader.getSourceForFilename(sourceFileName, sourceLocations);
+				}
+			}
+
+			if (!request.isCancelled())
+			{
+				listener.handleSourceLoaded(member, source);
+			}
+		}
+		catch (RuntimeException re)
+		{
+			logger.error("Could not load source for {}", member, re);
+		}
+	}
+
+	private void loadAssembly(IMetaMember member, Request request, IMemberLoadListener listener)
+	{
+		try
+		{
+			AssemblyMethod assembly = null;
+
+			Compilation compilation = member.getSelectedCompilation();
+
+			if (member.isCompiled() && compilation != null)
+			{
+				assembly = compilation.getAssembly();
+			}
+
+			if (!request.isCancelled())
+			{
+				listener.handleAssemblyLoaded(member, assembly);
+			}
+		}
+		catch (RuntimeException re)
+		{
+			logger.error("Could not load assembly for {}", member, re);
+		}
+	}
+
+	private ClassBC getBytecode(FutureTask<ClassBC> bytecodeTask)
+	{
+		ClassBC result = null;
+
+		try
+		{
+			result = bytecodeTask.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException | CancellationException e)
+		{
+			// the load was superseded
+		}
+
+		return result;
+	}
+
+	private static class LoaderThreadFactory implements ThreadFactory
+	{
+		private final String name;
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		LoaderThreadFactory(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable)
+		{
+			Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+}
\ No newline at end of file
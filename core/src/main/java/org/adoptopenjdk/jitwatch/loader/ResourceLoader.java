@@ -77,40 +77,18 @@ public final class ResourceLoader
 		return result;
 	}
 
+	// archives are looked up through a SourceIndex kept for the location list
 	public static String getSourceForFilename(String fileName, List<String> locations)
-	{		
+	{
+		String source = null;
+
 		if (fileName.startsWith(S_SLASH))
 		{
-			return readFile(new File(fileName));
+			source = readFile(new File(fileName));
 		}
-		
-		String source = null;
-
-		for (String location : locations)
+		else
 		{
-			File lf = new File(location);
-						
-			if (lf.exists())
-			{
-				if (lf.isDirectory())
-				{
-					source = readFileInDirectory(lf, fileName);
-
-					if (source != null)
-					{
-						break;
-					}
-				}
-				else
-				{				
-					source = readFileFromZip(lf, fileName);
-
-					if (source != null)
-					{
-						break;
-					}
-				}
-			}
+			source = SourceIndex.getIndex(locations).getSource(fileName);
 		}
 
 		return source;
@@ -174,21 +152,8 @@ public final class ResourceLoader
 			ZipEntry entry = zf.getEntry(fileName);
 
 			if (entry != null)
-			{				
-				try (BufferedReader reader = new BufferedReader(new InputStreamReader(zf.getInputStream(entry))))
-				{
-					StringBuilder sb = new StringBuilder();
-
-					String line = reader.readLine();
-
-					while (line != null)
-					{
-						sb.append(line).append(S_NEWLINE);
-						line = reader.readLine();
-					}
-
-					result = sb.toString();
-				}
+			{
+				result = readZipEntry(zf, entry);
 			}
 		}
 		catch (IOException ioe)
@@ -198,4 +163,22 @@ public final class ResourceLoader
 
 		return result;
 	}
+
+	static String readZipEntry(ZipFile zipFile, ZipEntry entry) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry))))
+		{
+			String line = reader.readLine();
+
+			while (line != null)
+			{
+				sb.append(line).append(S_NEWLINE);
+				line = reader.readLine();
+			}
+		}
+
+		return sb.toString();
+	}
 }
\ No newline at end of file
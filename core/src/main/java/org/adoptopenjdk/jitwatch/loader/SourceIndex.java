@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BACKSLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// maps every file in the source archives of a location list to the first
+// archive containing it. The archives are kept open so a lookup is one hash
+// probe and one entry read. Directories are not indexed but are still probed
+// if they come before the archive holding the file. The index is rebuilt if an
+// archive is rewritten or a missing location appears.
+public class SourceIndex
+{
+	private static final Logger logger = LoggerFactory.getLogger(SourceIndex.class);
+
+	// limits how often the archives are checked for changes
+	public static final long DEFAULT_VALIDATE_INTERVAL_MILLIS = 1000;
+
+	private static long validateIntervalMillis = DEFAULT_VALIDATE_INTERVAL_MILLIS;
+
+	private static SourceIndex currentIndex = null;
+
+	private static long lastValidated = 0;
+
+	private final List<String> locations;
+
+	private final List<IndexedDirectory> directories = new ArrayList<>();
+
+	private final List<ZipFile> archives = new ArrayList<>();
+
+	private final List<LocationState> locationStates = new ArrayList<>();
+
+	private final Map<String, IndexedEntry> entries = new HashMap<>();
+
+	// guarded by this, a closed index keeps its archives open until the
+	// last lookup still reading from it has finished
+	private int readers = 0;
+
+	private boolean closed = false;
+
+	private boolean archivesClosed = false;
+
+	private static class IndexedDirectory
+	{
+		private final int position;
+
+		private final File directory;
+
+		IndexedDirectory(int position, File directory)
+		{
+			this.position = position;
+			this.directory = directory;
+		}
+	}
+
+	private static class LocationState
+	{
+		private final File location;
+
+		private final long lastModified;
+
+		private final long length;
+
+		LocationState(File location)
+		{
+			this.location = location;
+			this.lastModified = location.lastModified();
+			this.length = location.length();
+		}
+
+		boolean isChanged()
+		{
+			return location.lastModified() != lastModified || location.length() != length;
+		}
+	}
+
+	private static class IndexedEntry
+	{
+		private final int position;
+
+		private final ZipFile archive;
+
+		private final ZipEntry entry;
+
+		IndexedEntry(int position, ZipFile archive, ZipEntry entry)
+		{
+			this.position = position;
+			this.archive = archive;
+			this.entry = entry;
+		}
+	}
+
+	public static synchronized SourceIndex getIndex(List<String> locations)
+	{
+		boolean rebuild = currentIndex == null || !currentIndex.locations.equals(locations);
+
+		if (!rebuild)
+		{
+			long now = System.currentTimeMillis();
+
+			if (now - lastValidated >= validateIntervalMillis)
+			{
+				lastValidated = now;
+
+				rebuild = currentIndex.isStale();
+			}
+		}
+
+		if (rebuild)
+		{
+			if (currentIndex != null)
+			{
+				currentIndex.close();
+			}
+
+			currentIndex = new SourceIndex(locations);
+
+			lastValidated = System.currentTimeMillis();
+		}
+
+		return currentIndex;
+	}
+
+	public static synchronized void setValidateIntervalMillis(long millis)
+	{
+		validateIntervalMillis = millis;
+	}
+
+	public static synchronized void clear()
+	{
+		if (currentIndex != null)
+		{
+			currentIndex.close();
+			currentIndex = null;
+		}
+	}
+
+	public SourceIndex(List<String> locations)
+	{
+		this.locations = Collections.unmodifiableList(new ArrayList<>(locations));
+
+		long start = System.currentTimeMillis();
+
+		for (int position = 0; position < this.locations.size(); position++)
+		{
+			File location = new File(this.locations.get(position));
+
+			if (location.isDirectory())
+			{
+				directories.add(new IndexedDirectory(position, location));
+			}
+			else
+			{
+				// missing locations are tracked too in case they appear later
+				locationStates.add(new LocationState(location));
+
+				if (location.exists())
+				{
+					indexArchive(position, location);
+				}
+			}
+		}
+
+		if (logger.isDebugEnabled())
+		{
+			logger.debug("Indexed {} source files in {} archives in {}ms", entries.size(), archives.size(),
+					System.currentTimeMillis() - start);
+		}
+	}
+
+	private void indexArchive(int position, File location)
+	{
+		try
+		{
+			ZipFile archive = new ZipFile(location);
+
+			archives.add(archive);
+
+			Enumeration<? extends ZipEntry> zipEntries = archive.entries();
+
+			while (zipEntries.hasMoreElements())
+			{
+				ZipEntry entry = zipEntries.nextElement();
+
+				String name = entry.getName();
+
+				// first location wins as in the unindexed search
+				if (!entry.isDirectory() && !entries.containsKey(name))
+				{
+					entries.put(name, new IndexedEntry(position, archive, entry));
+				}
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.error("Could not index source archive {}", location, ioe);
+		}
+	}
+
+	public boolean isStale()
+	{
+		boolean result = false;
+
+		for (LocationState state : locationStates)
+		{
+			if (state.isChanged())
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	public List<String> getLocations()
+	{
+		return locations;
+	}
+
+	public int size()
+	{
+		return entries.size();
+	}
+
+	public String getSource(String fileName)
+	{
+		return getSource(fileName, true);
+	}
+
+	private String getSource(String fileName, boolean retryIfClosed)
+	{
+		String result = null;
+
+		if (acquire())
+		{
+			try
+			{
+				result = readSource(fileName);
+			}
+			finally
+			{
+				release();
+			}
+		}
+		else if (retryIfClosed)
+		{
+			// replaced by a rebuild since the caller looked it up
+			result = getIndex(locations).getSource(fileName, false);
+		}
+
+		return result;
+	}
+
+	private String readSource(String fileName)
+	{
+		String result = null;
+
+		IndexedEntry indexedEntry = entries.get(fileName.replace(S_BACKSLASH, S_SLASH));
+
+		int archivePosition = indexedEntry != null ? indexedEntry.position : Integer.MAX_VALUE;
+
+		for (IndexedDirectory indexedDirectory : directories)
+		{
+			if (indexedDirectory.position > archivePosition)
+			{
+				break;
+			}
+
+			result = ResourceLoader.readFileInDirectory(indexedDirectory.directory, fileName);
+
+			if (result != null)
+			{
+				break;
+			}
+		}
+
+		if (result == null && indexedEntry != null)
+		{
+			try
+			{
+				result = ResourceLoader.readZipEntry(indexedEntry.archive, indexedEntry.entry);
+			}
+			catch (IOException ioe)
+			{
+				logger.error("Could not read file {} from zip {}", fileName, indexedEntry.archive.getName(), ioe);
+			}
+		}
+
+		return result;
+	}
+
+	private synchronized boolean acquire()
+	{
+		if (!closed)
+		{
+			readers++;
+		}
+
+		return !closed;
+	}
+
+	private synchronized void release()
+	{
+		readers--;
+
+		if (closed && readers == 0)
+		{
+			closeArchives();
+		}
+	}
+
+	public synchronized void close()
+	{
+		closed = true;
+
+		if (readers == 0)
+		{
+			closeArchives();
+		}
+	}
+
+	private void closeArchives()
+	{
+		if (!archivesClosed)
+		{
+			archivesClosed = true;
+
+			for (ZipFile archive : archives)
+			{
+				try
+				{
+					archive.close();
+				}
+				catch (IOException ioe)
+				{
+					logger.warn("Could not close source archive {}", archive.getName(), ioe);
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
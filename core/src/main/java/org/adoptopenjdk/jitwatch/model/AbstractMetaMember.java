@@ -22,6 +22,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.REGEX_UNICODE_PAR
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.REGEX_ZERO_OR_MORE_SPACES;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CLOSE_SQUARE_BRACKET;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COMMA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DEFAULT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ESCAPED_CLOSE_PARENTHESES;
@@ -67,6 +68,11 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	protected Class<?> returnType;
 	protected List<Class<?>> paramTypes;
 
+	// Class.getName() format, set for every member. Members built from
+	// classfile bytes have these names but no Class objects
+	protected String returnTypeClassName;
+	protected List<String> paramTypeClassNames;
+
 	public AbstractMetaMember(String memberName)
 	{		
 		this.memberName = memberName;
@@ -116,6 +122,12 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		return Modifier.toString(modifier);
 	}
 
+	// cheap pre-check so MetaClass can skip members before the full match
+	boolean couldMatchParamCount(int signatureParamCount)
+	{
+		return isVarArgs || isPolymorphicSignature || paramTypeClassNames.size() == signatureParamCount;
+	}
+
 	private boolean nameMatches(MemberSignatureParts msp)
 	{
 		if (DEBUG_LOGGING_SIG_MATCH)
@@ -138,25 +150,35 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	{
 		boolean matched = false;
 
-		String returnTypeClassName = msp.applyGenericSubstitutionsForClassLoading(msp.getReturnType());
+		String sigReturnTypeName = msp.applyGenericSubstitutionsForClassLoading(msp.getReturnType());
 
-		if (returnTypeClassName != null)
+		if (sigReturnTypeName == null)
 		{
-			Class<?> sigReturnType = ParseUtil.findClassForLogCompilationParameter(returnTypeClassName);
-			matched = returnType.equals(sigReturnType);
+			matched = (isConstructor());
 
 			if (DEBUG_LOGGING_SIG_MATCH)
 			{
-				logger.debug("Return: '{}' === '{}' ? {}", returnType.getName(), sigReturnType.getName(), matched);
+				logger.debug("Constructor found");
+			}
+		}
+		else if (returnType == null)
+		{
+			String sigReturnClassName = ParseUtil.getClassNameForLogCompilationParameter(sigReturnTypeName);
+			matched = returnTypeClassName.equals(sigReturnClassName);
+
+			if (DEBUG_LOGGING_SIG_MATCH)
+			{
+				logger.debug("Return: '{}' === '{}' ? {}", returnTypeClassName, sigReturnClassName, matched);
 			}
 		}
 		else
 		{
-			matched = (isConstructor());
+			Class<?> sigReturnType = ParseUtil.findClassForLogCompilationParameter(sigReturnTypeName);
+			matched = returnType.equals(sigReturnType);
 
 			if (DEBUG_LOGGING_SIG_MATCH)
 			{
-				logger.debug("Constructor found");
+				logger.debug("Return: '{}' === '{}' ? {}", returnType.getName(), sigReturnType.getName(), matched);
 			}
 		}
 
@@ -192,11 +214,18 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 				{
 					if (returnTypeMatches(msp))
 					{
-						List<Class<?>> mspClassTypes = getClassesForParamTypes(msp);
-
-						if (ParseUtil.paramClassesMatch(isVarArgs, this.paramTypes, mspClassTypes, matchTypesExactly))
+						if (paramTypes == null)
+						{
+							result = ParseUtil.paramClassNamesMatch(paramTypeClassNames, getClassNamesForParamTypes(msp));
+						}
+						else
 						{
-							result = true;
+							List<Class<?>> mspClassTypes = getClassesForParamTypes(msp);
+
+							if (ParseUtil.paramClassesMatch(isVarArgs, this.paramTypes, mspClassTypes, matchTypesExactly))
+							{
+								result = true;
+							}
 						}
 					}
 				}
@@ -231,10 +260,97 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		return result;
 	}
 
+	private List<String> getClassNamesForParamTypes(MemberSignatureParts msp)
+	{
+		List<String> result = new ArrayList<>();
+
+		for (String param : msp.getParamTypes())
+		{
+			String paramClassName = msp.applyGenericSubstitutionsForClassLoading(param);
+
+			result.add(ParseUtil.getClassNameForLogCompilationParameter(paramClassName));
+		}
+
+		return result;
+	}
+
+	protected void setTypesFromClasses(Class<?> returnType, List<Class<?>> paramTypes)
+	{
+		setReturnTypeFromClass(returnType);
+		setParamTypesFromClasses(paramTypes);
+	}
+
+	protected void setReturnTypeFromClass(Class<?> returnType)
+	{
+		this.returnType = returnType;
+
+		returnTypeClassName = returnType.getName();
+	}
+
+	protected void setParamTypesFromClasses(List<Class<?>> paramTypes)
+	{
+		this.paramTypes = paramTypes;
+
+		paramTypeClassNames = new ArrayList<>(paramTypes.size());
+
+		for (Class<?> paramClass : paramTypes)
+		{
+			paramTypeClassNames.add(paramClass.getName());
+		}
+	}
+
+	protected void setTypesFromDescriptor(String descriptor)
+	{
+		returnType = null;
+		paramTypes = null;
+
+		returnTypeClassName = ParseUtil.getReturnClassNameForDescriptor(descriptor);
+		paramTypeClassNames = ParseUtil.getParamClassNamesForDescriptor(descriptor);
+	}
+
+	// same layout as Method.toString() and Constructor.toString() without the
+	// throws clause
+	protected String buildDeclarationString(String qualifiedName, boolean includeReturnType, boolean isDefault)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		if (modifier != 0)
+		{
+			builder.append(Modifier.toString(modifier)).append(C_SPACE);
+		}
+
+		if (isDefault)
+		{
+			builder.append(S_DEFAULT).append(C_SPACE);
+		}
+
+		if (includeReturnType)
+		{
+			builder.append(ParseUtil.expandParameterType(returnTypeClassName)).append(C_SPACE);
+		}
+
+		builder.append(qualifiedName);
+		builder.append(C_OPEN_PARENTHESES);
+
+		if (paramTypeClassNames.size() > 0)
+		{
+			for (String paramClassName : paramTypeClassNames)
+			{
+				builder.append(ParseUtil.expandParameterType(paramClassName)).append(C_COMMA);
+			}
+
+			builder.deleteCharAt(builder.length() - 1);
+		}
+
+		builder.append(C_CLOSE_PARENTHESES);
+
+		return builder.toString();
+	}
+
 	@Override
 	public String getReturnTypeName()
 	{
-		return (returnType == null) ? S_EMPTY : ParseUtil.expandParameterType(returnType.getName());
+		return (returnTypeClassName == null) ? S_EMPTY : ParseUtil.expandParameterType(returnTypeClassName);
 	}
 
 	@Override
@@ -242,9 +358,9 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	{
 		List<String> typeNames = new ArrayList<>();
 
-		for (Class<?> paramClass : paramTypes)
+		for (String paramClassName : paramTypeClassNames)
 		{
-			typeNames.add(ParseUtil.expandParameterType(paramClass.getName()));
+			typeNames.add(ParseUtil.expandParameterType(paramClassName));
 		}
 
 		return typeNames.toArray(new String[typeNames.size()]);
@@ -454,19 +570,19 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 			builder.append(Modifier.toString(modifier)).append(C_SPACE);
 		}
 
-		if (returnType != null)
+		if (returnTypeClassName != null)
 		{
-			builder.append(expandParam(returnType.getName(), fqParamTypes)).append(C_SPACE);
+			builder.append(expandParam(returnTypeClassName, fqParamTypes)).append(C_SPACE);
 		}
 
 		builder.append(memberName);
 		builder.append(C_OPEN_PARENTHESES);
 
-		if (paramTypes.size() > 0)
+		if (paramTypeClassNames.size() > 0)
 		{
-			for (Class<?> paramClass : paramTypes)
+			for (String paramClassName : paramTypeClassNames)
 			{
-				builder.append(expandParam(paramClass.getName(), fqParamTypes)).append(C_COMMA);
+				builder.append(expandParam(paramClassName, fqParamTypes)).append(C_COMMA);
 			}
 
 			builder.deleteCharAt(builder.length() - 1);
@@ -525,9 +641,9 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		}
 
 		// return type of constructor is not declared in signature
-		if (!isConstructor() && returnType != null)
+		if (!isConstructor() && returnTypeClassName != null)
 		{
-			String rt = expandParamRegEx(returnType.getName());
+			String rt = expandParamRegEx(returnTypeClassName);
 
 			builder.append(rt);
 			builder.append(C_SPACE);
@@ -547,13 +663,13 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 
 		builder.append(S_ESCAPED_OPEN_PARENTHESES);
 
-		if (paramTypes.size() > 0)
+		if (paramTypeClassNames.size() > 0)
 		{
-			for (Class<?> paramClass : paramTypes)
+			for (String paramClassName : paramTypeClassNames)
 			{
 				builder.append(REGEX_ZERO_OR_MORE_SPACES);
 
-				String paramType = expandParamRegEx(paramClass.getName());
+				String paramType = expandParamRegEx(paramClassName);
 
 				builder.append(paramType);
 				builder.append(REGEX_ONE_OR_MORE_SPACES);
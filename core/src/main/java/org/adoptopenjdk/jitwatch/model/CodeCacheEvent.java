@@ -7,6 +7,9 @@ package org.adoptopenjdk.jitwatch.model;
 
 public class CodeCacheEvent
 {
+    // stored as the event value when the tag has no usable free_code_cache
+    public static final long NO_FREE_CODE_CACHE = -1;
+
     private long stamp;
     private Tag tag;
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// A Task tree encoded depth first into a single byte array with the TagCodec
+// format. Strings are defined on first use in a per-task table and referenced
+// by index after that. Decoding builds a new Task with its parse dictionary.
+public final class CompactTask
+{
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final byte[] data;
+
+	private CompactTask(byte[] data)
+	{
+		this.data = data;
+	}
+
+	public static CompactTask encode(Task task)
+	{
+		Encoder encoder = new Encoder();
+
+		try
+		{
+			encoder.writeTag(task);
+		}
+		catch (IOException ioe)
+		{
+			// not thrown when writing to memory
+			throw new IllegalStateException(ioe);
+		}
+
+		return new CompactTask(encoder.toByteArray());
+	}
+
+	public Task decode()
+	{
+		Decoder decoder = new Decoder(data);
+
+		Task task;
+
+		try
+		{
+			task = (Task) decoder.readTag();
+		}
+		catch (IOException ioe)
+		{
+			// not thrown when reading from memory
+			throw new IllegalStateException(ioe);
+		}
+
+		return task;
+	}
+
+	public int size()
+	{
+		return data.length;
+	}
+
+	private static final class Encoder extends TagCodec.Writer
+	{
+		private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+		private int length = 0;
+
+		private void ensureCapacity(int extra)
+		{
+			if (length + extra > buffer.length)
+			{
+				buffer = Arrays.copyOf(buffer, Math.max(length + extra, buffer.length * 2));
+			}
+		}
+
+		@Override
+		protected void writeByte(int value)
+		{
+			ensureCapacity(1);
+
+			buffer[length++] = (byte) value;
+		}
+
+		@Override
+		protected void writeBytes(byte[] bytes)
+		{
+			ensureCapacity(bytes.length);
+
+			System.arraycopy(bytes, 0, buffer, length, bytes.length);
+
+			length += bytes.length;
+		}
+
+		byte[] toByteArray()
+		{
+			return Arrays.copyOf(buffer, length);
+		}
+	}
+
+	private static final class Decoder extends TagCodec.Reader
+	{
+		private final byte[] data;
+
+		private int position = 0;
+
+		Decoder(byte[] data)
+		{
+			this.data = data;
+		}
+
+		@Override
+		protected int readByte()
+		{
+			return data[position++] & 0xFF;
+		}
+
+		@Override
+		protected String readUTF8(int length)
+		{
+			String result = new String(data, position, length, StandardCharsets.UTF_8);
+
+			position += length;
+
+			return result;
+		}
+	}
+}
\ No newline at end of file
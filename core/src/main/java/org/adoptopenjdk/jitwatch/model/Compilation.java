@@ -5,6 +5,7 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +28,11 @@ public class Compilation
 
 	private Task tagTask;
 
+	// replaces tagTask once compacted, rehydrated when the task is requested
+	private CompactTask compactTask;
+
+	private SoftReference<Task> rehydratedTask;
+
 	private Tag tagTaskDone;
 
 	private AssemblyMethod assembly;
@@ -152,6 +158,30 @@ public class Compilation
 	public void setTagTask(Task tagTask)
 	{
 		this.tagTask = tagTask;
+
+		compactTask = null;
+		rehydratedTask = null;
+	}
+
+	public void compactTagTask()
+	{
+		if (tagTask != null)
+		{
+			compactTask = CompactTask.encode(tagTask);
+
+			// task_done is kept for the native size but must not retain the tree
+			if (tagTaskDone != null && tagTaskDone.getParent() == tagTask)
+			{
+				tagTaskDone.setParent(null);
+			}
+
+			tagTask = null;
+		}
+	}
+
+	public boolean isTagTaskCompact()
+	{
+		return compactTask != null;
 	}
 
 	public Tag getTagTaskQueued()
@@ -166,7 +196,24 @@ public class Compilation
 
 	public Task getTagTask()
 	{
-		return tagTask;
+		Task result = tagTask;
+
+		if (result == null && compactTask != null)
+		{
+			if (rehydratedTask != null)
+			{
+				result = rehydratedTask.get();
+			}
+
+			if (result == null)
+			{
+				result = compactTask.decode();
+
+				rehydratedTask = new SoftReference<>(result);
+			}
+		}
+
+		return result;
 	}
 
 	public Tag getTagTaskDone()
@@ -341,9 +388,11 @@ public class Compilation
 			builder.append(tagNMethod).append("\n");
 		}
 
-		if (tagTask != null)
+		Task task = getTagTask();
+
+		if (task != null)
 		{
-			builder.append(tagTask).append("\n");
+			builder.append(task).append("\n");
 		}
 
 		return builder.toString();
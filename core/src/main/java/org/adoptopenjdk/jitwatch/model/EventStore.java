@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Append-only timeline of events held in columns of fixed size segments: a
+// stamp, a type byte, the id of its subject and an optional long value. Each
+// distinct subject is stored once and events refer to it by id.
+//
+// Appends are serialised by the store. A View is a lock-free, immutable
+// prefix of the timeline that is never copied, segments filled before the
+// view was taken are shared with the writer.
+public final class EventStore<T>
+{
+	private static final int SEGMENT_BITS = 12;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private static final int INITIAL_SEGMENTS = 8;
+
+	private final boolean hasValues;
+
+	private final Map<T, Integer> subjectIds = new IdentityHashMap<>();
+
+	private volatile Columns columns;
+
+	public EventStore(boolean hasValues)
+	{
+		this.hasValues = hasValues;
+
+		columns = new Columns(INITIAL_SEGMENTS, INITIAL_SEGMENTS, hasValues);
+	}
+
+	public synchronized void append(long stamp, byte type, T subject, long value)
+	{
+		Columns current = columns;
+
+		int index = current.size;
+
+		int subjectId = getSubjectId(subject);
+
+		int segment = index >>> SEGMENT_BITS;
+		int subjectSegment = subjectId >>> SEGMENT_BITS;
+
+		if (segment == current.stamps.length || subjectSegment == current.subjects.length)
+		{
+			// readers holding the old columns keep a consistent prefix
+			current = current.grow(segment == current.stamps.length, subjectSegment == current.subjects.length);
+			columns = current;
+		}
+
+		if (current.stamps[segment] == null)
+		{
+			current.stamps[segment] = new long[SEGMENT_SIZE];
+			current.types[segment] = new byte[SEGMENT_SIZE];
+			current.subjectIds[segment] = new int[SEGMENT_SIZE];
+
+			if (hasValues)
+			{
+				current.values[segment] = new long[SEGMENT_SIZE];
+			}
+		}
+
+		if (current.subjects[subjectSegment] == null)
+		{
+			current.subjects[subjectSegment] = new Object[SEGMENT_SIZE];
+		}
+
+		int offset = index & SEGMENT_MASK;
+
+		current.stamps[segment][offset] = stamp;
+		current.types[segment][offset] = type;
+		current.subjectIds[segment][offset] = subjectId;
+
+		if (hasValues)
+		{
+			current.values[segment][offset] = value;
+		}
+
+		current.subjects[subjectSegment][subjectId & SEGMENT_MASK] = subject;
+
+		if (index > 0 && stamp < current.lastStamp)
+		{
+			current.sorted = false;
+		}
+
+		current.lastStamp = stamp;
+
+		// publishes the event to readers
+		current.size = index + 1;
+	}
+
+	private int getSubjectId(T subject)
+	{
+		Integer id = subjectIds.get(subject);
+
+		if (id == null)
+		{
+			id = subjectIds.size();
+			subjectIds.put(subject, id);
+		}
+
+		return id;
+	}
+
+	public synchronized void clear()
+	{
+		subjectIds.clear();
+
+		columns = new Columns(INITIAL_SEGMENTS, INITIAL_SEGMENTS, hasValues);
+	}
+
+	public int size()
+	{
+		return columns.size;
+	}
+
+	public View<T> getView()
+	{
+		Columns current = columns;
+
+		// size is read first so every event below it is visible
+		int size = current.size;
+
+		return new View<>(current, size, current.sorted);
+	}
+
+	private static final class Columns
+	{
+		final long[][] stamps;
+		final byte[][] types;
+		final int[][] subjectIds;
+		final long[][] values;
+		final Object[][] subjects;
+
+		// written by the appending thread only
+		long lastStamp;
+
+		volatile boolean sorted = true;
+
+		volatile int size = 0;
+
+		// sorted copy of the first sortedCopy.size events, made for a view
+		// of an unsorted timeline
+		volatile View<?> sortedCopy;
+
+		Columns(int segments, int subjectSegments, boolean hasValues)
+		{
+			stamps = new long[segments][];
+			types = new byte[segments][];
+			subjectIds = new int[segments][];
+			values = hasValues ? new long[segments][] : null;
+			subjects = new Object[subjectSegments][];
+		}
+
+		private Columns(Columns previous, int segments, int subjectSegments)
+		{
+			stamps = Arrays.copyOf(previous.stamps, segments);
+			types = Arrays.copyOf(previous.types, segments);
+			subjectIds = Arrays.copyOf(previous.subjectIds, segments);
+			values = previous.values != null ? Arrays.copyOf(previous.values, segments) : null;
+			subjects = Arrays.copyOf(previous.subjects, subjectSegments);
+
+			lastStamp = previous.lastStamp;
+			sorted = previous.sorted;
+			size = previous.size;
+		}
+
+		Columns grow(boolean growEvents, boolean growSubjects)
+		{
+			int segments = growEvents ? stamps.length * 2 : stamps.length;
+			int subjectSegments = growSubjects ? subjects.length * 2 : subjects.length;
+
+			return new Columns(this, segments, subjectSegments);
+		}
+	}
+
+	public static final class View<T>
+	{
+		private final Columns columns;
+
+		private final int size;
+
+		private final boolean sorted;
+
+		private View(Columns columns, int size, boolean sorted)
+		{
+			this.columns = columns;
+			this.size = size;
+			this.sorted = sorted;
+		}
+
+		public int size()
+		{
+			return size;
+		}
+
+		public boolean isEmpty()
+		{
+			return size == 0;
+		}
+
+		// true when the events were appended in stamp order
+		public boolean isSorted()
+		{
+			return sorted;
+		}
+
+		private void checkIndex(int index)
+		{
+			if (index < 0 || index >= size)
+			{
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+		}
+
+		public long getStamp(int index)
+		{
+			checkIndex(index);
+
+			return columns.stamps[index >>> SEGMENT_BITS][index & SEGMENT_MASK];
+		}
+
+		public byte getType(int index)
+		{
+			checkIndex(index);
+
+			return columns.types[index >>> SEGMENT_BITS][index & SEGMENT_MASK];
+		}
+
+		public long getValue(int index)
+		{
+			checkIndex(index);
+
+			long result = 0;
+
+			if (columns.values != null)
+			{
+				result = columns.values[index >>> SEGMENT_BITS][index & SEGMENT_MASK];
+			}
+
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T getSubject(int index)
+		{
+			checkIndex(index);
+
+			int subjectId = columns.subjectIds[index >>> SEGMENT_BITS][index & SEGMENT_MASK];
+
+			return (T) columns.subjects[subjectId >>> SEGMENT_BITS][subjectId & SEGMENT_MASK];
+		}
+
+		// index of the first event with a stamp at or after the given stamp,
+		// or size() if there is none. A binary search when the view is
+		// sorted, otherwise the first such event in append order.
+		public int firstIndexAtOrAfter(long stamp)
+		{
+			return firstIndexOf(stamp, false);
+		}
+
+		// index of the first event with a stamp after the given stamp, or
+		// size() if there is none. Events in a sorted view with stamps from
+		// and to are firstIndexAtOrAfter(from) until firstIndexAfter(to)
+		public int firstIndexAfter(long stamp)
+		{
+			return firstIndexOf(stamp, true);
+		}
+
+		private int firstIndexOf(long stamp, boolean after)
+		{
+			int result = size;
+
+			if (sorted)
+			{
+				int low = 0;
+				int high = size;
+
+				while (low < high)
+				{
+					int mid = (low + high) >>> 1;
+
+					long midStamp = getStamp(mid);
+
+					if (after ? midStamp <= stamp : midStamp < stamp)
+					{
+						low = mid + 1;
+					}
+					else
+					{
+						high = mid;
+					}
+				}
+
+				result = low;
+			}
+			else
+			{
+				for (int i = 0; i < size; i++)
+				{
+					long eventStamp = getStamp(i);
+
+					if (after ? eventStamp > stamp : eventStamp >= stamp)
+					{
+						result = i;
+						break;
+					}
+				}
+			}
+
+			return result;
+		}
+
+		public int countInWindow(long fromStamp, long toStamp)
+		{
+			int result = 0;
+
+			if (sorted)
+			{
+				result = Math.max(0, firstIndexAfter(toStamp) - firstIndexAtOrAfter(fromStamp));
+			}
+			else
+			{
+				for (int i = 0; i < size; i++)
+				{
+					long stamp = getStamp(i);
+
+					if (stamp >= fromStamp && stamp <= toStamp)
+					{
+						result++;
+					}
+				}
+			}
+
+			return result;
+		}
+
+		// a view of the same events in stamp order, views of a sorted
+		// timeline are used as they are. Otherwise the events are copied in
+		// stamp order and the copy is reused until more events are appended
+		// so a periodic redraw does not sort again.
+		@SuppressWarnings("unchecked")
+		public View<T> sortedByStamp()
+		{
+			View<T> result = this;
+
+			if (!sorted)
+			{
+				View<?> cached = columns.sortedCopy;
+
+				if (cached != null && cached.size == size)
+				{
+					result = (View<T>) cached;
+				}
+				else
+				{
+					Integer[] order = new Integer[size];
+
+					for (int i = 0; i < size; i++)
+					{
+						order[i] = i;
+					}
+
+					// stable so events with equal stamps keep their append order
+					Arrays.sort(order, new Comparator<Integer>()
+					{
+						@Override
+						public int compare(Integer i1, Integer i2)
+						{
+							return Long.compare(getStamp(i1), getStamp(i2));
+						}
+					});
+
+					EventStore<T> sortedStore = new EventStore<>(columns.values != null);
+
+					for (Integer index : order)
+					{
+						sortedStore.append(getStamp(index), getType(index), getSubject(index), getValue(index));
+					}
+
+					result = sortedStore.getView();
+
+					columns.sortedCopy = result;
+				}
+			}
+
+			return result;
+		}
+	}
+}
\ No newline at end of file
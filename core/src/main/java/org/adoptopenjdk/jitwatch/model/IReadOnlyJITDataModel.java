@@ -7,6 +7,8 @@ package org.adoptopenjdk.jitwatch.model;
 
 import java.util.List;
 
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+
 public interface IReadOnlyJITDataModel
 {
     PackageManager getPackageManager();
@@ -16,6 +18,10 @@ public interface IReadOnlyJITDataModel
     List<JITEvent> getEventListCopy();
 
     List<CodeCacheEvent> getCodeCacheEvents();
+
+    EventStore.View<IMetaMember> getEventView();
+
+    EventStore.View<Tag> getCodeCacheEventView();
     
     Tag getEndOfLogTag();
 
@@ -24,4 +30,6 @@ public interface IReadOnlyJITDataModel
 	IMetaMember findMetaMember(MemberSignatureParts msp);
     
 	MetaClass buildAndGetMetaClass(Class<?> clazz);
+
+	MetaClass buildAndGetMetaClass(ClassFileReader classFile);
 }
\ No newline at end of file
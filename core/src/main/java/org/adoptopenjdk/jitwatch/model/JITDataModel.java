@@ -8,6 +8,7 @@ package org.adoptopenjdk.jitwatch.model;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_FREE_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C1;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
@@ -27,6 +28,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.adoptopenjdk.jitwatch.loader.ClassFileMethod;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,11 +40,14 @@ public class JITDataModel implements IReadOnlyJITDataModel
 	private PackageManager packageManager;
 	private JITStats stats;
 
-	// Not using CopyOnWriteArrayList as writes will vastly out number reads
-	private List<JITEvent> jitEvents = new ArrayList<>();
+	private static final EventType[] EVENT_TYPES = EventType.values();
 
-	// written during parse, make copy for graphing as needs sort
-	private List<CodeCacheEvent> codeCacheTagList = new ArrayList<>();
+	// columns of stamp, event type and member read by the timeline without
+	// copying while the parse appends to them
+	private final EventStore<IMetaMember> jitEvents = new EventStore<>(false);
+
+	// the value column holds the free code cache in bytes
+	private final EventStore<Tag> codeCacheEvents = new EventStore<>(true);
 	
 	private Tag endOfLog;
 
@@ -77,7 +83,7 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		jitEvents.clear();
 
-		codeCacheTagList.clear();
+		codeCacheEvents.clear();
 	}
 
 	@Override
@@ -92,22 +98,35 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return stats;
 	}
 
-	// ugly but better than using COWAL with so many writes
 	public void addEvent(JITEvent event)
-	{		
-		synchronized (jitEvents)
-		{
-			jitEvents.add(event);
-		}
+	{
+		jitEvents.append(event.getStamp(), (byte) event.getEventType().ordinal(), event.getEventMember(), 0);
 	}
 
 	@Override
 	public List<JITEvent> getEventListCopy()
 	{
-		synchronized (jitEvents)
+		EventStore.View<IMetaMember> view = jitEvents.getView();
+
+		List<JITEvent> result = new ArrayList<>(view.size());
+
+		for (int i = 0; i < view.size(); i++)
 		{
-			return new ArrayList<>(jitEvents);
+			result.add(new JITEvent(view.getStamp(i), getEventType(view.getType(i)), view.getSubject(i)));
 		}
+
+		return result;
+	}
+
+	@Override
+	public EventStore.View<IMetaMember> getEventView()
+	{
+		return jitEvents.getView();
+	}
+
+	public static EventType getEventType(byte type)
+	{
+		return EVENT_TYPES[type];
 	}
 
 	public void addNativeBytes(long count)
@@ -197,16 +216,7 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		if (metaClass != null)
 		{
-			List<IMetaMember> metaList = metaClass.getMetaMembers();
-
-			for (IMetaMember member : metaList)
-			{
-				if (member.matchesSignature(msp, true))
-				{
-					result = member;
-					break;
-				}
-			}
+			result = metaClass.getMemberForSignature(msp);
 		}
 		else
 		{
@@ -219,48 +229,26 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return result;
 	}
 
+	// synchronized as member lookups from parallel tree walks can model
+	// missing classes, a class modelled since the caller looked is reused
 	@Override
-	public MetaClass buildAndGetMetaClass(Class<?> clazz)
-	{	
-		MetaClass resultMetaClass = null;
-
-		String fqClassName = clazz.getName();
-
-		String packageName;
-		String className;
-
-		int lastDotIndex = fqClassName.lastIndexOf(C_DOT);
-
-		if (lastDotIndex != -1)
-		{
-			packageName = fqClassName.substring(0, lastDotIndex);
-			className = fqClassName.substring(lastDotIndex + 1);
-		}
-		else
-		{
-			packageName = S_EMPTY;
-			className = fqClassName;
-		}
-
-		MetaPackage metaPackage = packageManager.getMetaPackage(packageName);
+	public synchronized MetaClass buildAndGetMetaClass(Class<?> clazz)
+	{
+		MetaClass resultMetaClass = packageManager.getMetaClass(clazz.getName());
 
-		if (metaPackage == null)
+		if (resultMetaClass == null)
 		{
-			metaPackage = packageManager.buildPackage(packageName);
+			resultMetaClass = buildMetaClass(clazz);
 		}
 
-		resultMetaClass = new MetaClass(metaPackage, className);
-
-		packageManager.addMetaClass(resultMetaClass);
-
-		metaPackage.addClass(resultMetaClass);
+		return resultMetaClass;
+	}
 
-		stats.incCountClass();
+	private MetaClass buildMetaClass(Class<?> clazz)
+	{	
+		String fqClassName = clazz.getName();
 
-		if (clazz.isInterface())
-		{
-			resultMetaClass.setInterface(true);
-		}
+		MetaClass resultMetaClass = createMetaClass(fqClassName, clazz.isInterface());
 
 		// Class.getDeclaredMethods() or Class.getDeclaredConstructors()
 		// can cause a NoClassDefFoundError / ClassNotFoundException
@@ -296,12 +284,107 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return resultMetaClass;
 	}
 
+	// Builds the class model from the classfile bytes alone so no class is
+	// defined and classfiles newer than the running JVM can be modelled
+	@Override
+	public synchronized MetaClass buildAndGetMetaClass(ClassFileReader classFile)
+	{
+		MetaClass resultMetaClass = packageManager.getMetaClass(classFile.getClassName());
+
+		if (resultMetaClass == null)
+		{
+			resultMetaClass = buildMetaClass(classFile);
+		}
+
+		return resultMetaClass;
+	}
+
+	private MetaClass buildMetaClass(ClassFileReader classFile)
+	{
+		MetaClass resultMetaClass = createMetaClass(classFile.getClassName(), classFile.isInterface());
+
+		for (ClassFileMethod method : classFile.getMethods())
+		{
+			if (method.isConstructor())
+			{
+				resultMetaClass.addMetaConstructor(new MetaConstructor(method, resultMetaClass));
+				stats.incCountConstructor();
+			}
+			else if (!method.isStaticInitialiser())
+			{
+				resultMetaClass.addMetaMethod(new MetaMethod(method, resultMetaClass));
+				stats.incCountMethod();
+			}
+		}
+
+		return resultMetaClass;
+	}
+
+	MetaClass createMetaClass(String fqClassName, boolean isInterface)
+	{
+		String packageName;
+		String className;
+
+		int lastDotIndex = fqClassName.lastIndexOf(C_DOT);
+
+		if (lastDotIndex != -1)
+		{
+			packageName = fqClassName.substring(0, lastDotIndex);
+			className = fqClassName.substring(lastDotIndex + 1);
+		}
+		else
+		{
+			packageName = S_EMPTY;
+			className = fqClassName;
+		}
+
+		MetaPackage metaPackage = packageManager.getMetaPackage(packageName);
+
+		if (metaPackage == null)
+		{
+			metaPackage = packageManager.buildPackage(packageName);
+		}
+
+		MetaClass resultMetaClass = new MetaClass(metaPackage, className);
+
+		packageManager.addMetaClass(resultMetaClass);
+
+		metaPackage.addClass(resultMetaClass);
+
+		stats.incCountClass();
+
+		if (isInterface)
+		{
+			resultMetaClass.setInterface(true);
+		}
+
+		return resultMetaClass;
+	}
+
 	public void addCodeCacheEvent(CodeCacheEvent event)
 	{
-		synchronized (codeCacheTagList)
+		codeCacheEvents.append(event.getStamp(), (byte) 0, event.getTag(), getFreeCodeCache(event.getTag()));
+	}
+
+	private long getFreeCodeCache(Tag tag)
+	{
+		long result = CodeCacheEvent.NO_FREE_CODE_CACHE;
+
+		String freeCodeCache = tag.getAttributes().get(ATTR_FREE_CODE_CACHE);
+
+		if (freeCodeCache != null)
 		{
-			codeCacheTagList.add(event);
+			try
+			{
+				result = Long.parseLong(freeCodeCache);
+			}
+			catch (NumberFormatException nfe)
+			{
+				logger.warn("Could not parse {} of {}", ATTR_FREE_CODE_CACHE, tag.getName());
+			}
 		}
+
+		return result;
 	}
 	
 	public void setEndOfLog(Tag tag)
@@ -318,9 +401,21 @@ public class JITDataModel implements IReadOnlyJITDataModel
 	@Override
 	public List<CodeCacheEvent> getCodeCacheEvents()
 	{
-		synchronized (codeCacheTagList)
+		EventStore.View<Tag> view = codeCacheEvents.getView();
+
+		List<CodeCacheEvent> result = new ArrayList<>(view.size());
+
+		for (int i = 0; i < view.size(); i++)
 		{
-			return new ArrayList<>(codeCacheTagList);
+			result.add(new CodeCacheEvent(view.getStamp(i), view.getSubject(i)));
 		}
+
+		return result;
+	}
+
+	@Override
+	public EventStore.View<Tag> getCodeCacheEventView()
+	{
+		return codeCacheEvents.getView();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,855 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CONSTRUCTOR_INIT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_POLYMORPHIC_SIGNATURE;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.AssemblyCache;
+import org.adoptopenjdk.jitwatch.loader.ClassFileMethod;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyBlock;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyLabels;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.LazyAssemblyMethod;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+
+// Binary image of a parsed JITDataModel so a log can be reopened without
+// splitting it, loading classes or rebuilding tags and assembly.
+//
+// Layout after the magic number and version is a single sequential stream of
+// varints. Strings and tags are written in full the first time they are seen
+// and as a back reference into the string or tag table after that so shared
+// attribute values, names and tags are stored once and tag identity survives
+// the round trip. The header records the length and modification time of the
+// log and the configured class locations so a stale snapshot is never used.
+public final class JITDataModelSnapshot
+{
+	public static final String SNAPSHOT_SUFFIX = ".jwsnap";
+
+	private static final int MAGIC = 0x4A574D53;
+
+	private static final int VERSION = 2;
+
+	private static final int CLASS_FLAG_INTERFACE = 1;
+	private static final int CLASS_FLAG_MISSING_DEF = 2;
+
+	private static final int MEMBER_FLAG_CONSTRUCTOR = 1;
+	private static final int MEMBER_FLAG_VARARGS = 2;
+	private static final int MEMBER_FLAG_POLYMORPHIC = 4;
+
+	private static final int ASSEMBLY_NONE = 0;
+	private static final int ASSEMBLY_PARSED = 1;
+	private static final int ASSEMBLY_LAZY = 2;
+
+	private static final String POLYMORPHIC_ANNOTATION_TYPE = "Ljava/lang/invoke/MethodHandle$" + S_POLYMORPHIC_SIGNATURE + ";";
+
+	private final JITDataModel model;
+
+	private long logLength;
+	private long logLastModified;
+	private List<String> classLocations = new ArrayList<>();
+
+	private String vmCommand;
+	private boolean tweakVMLog;
+	private boolean traceClassLoading;
+	private List<String> parsedClassLocations = new ArrayList<>();
+
+	// loads assembly that was only indexed by its offsets in the log
+	private AssemblyCache assemblyCache;
+
+	private boolean compactTasks;
+
+	public JITDataModelSnapshot(JITDataModel model)
+	{
+		this.model = model;
+	}
+
+	public static File getSnapshotFile(File logFile)
+	{
+		return new File(logFile.getPath() + SNAPSHOT_SUFFIX);
+	}
+
+	// true if the snapshot was written for this exact log and class locations
+	// by this version of the format
+	public static boolean isFresh(File snapshotFile, File logFile, List<String> classLocations)
+	{
+		boolean result = false;
+
+		if (snapshotFile.isFile() && logFile.isFile() && snapshotFile.lastModified() >= logFile.lastModified())
+		{
+			try (SnapshotInput input = new SnapshotInput(snapshotFile))
+			{
+				JITDataModelSnapshot header = new JITDataModelSnapshot(null);
+
+				header.readHeader(input);
+
+				result = header.logLength == logFile.length() && header.logLastModified == logFile.lastModified()
+						&& header.classLocations.equals(classLocations);
+			}
+			catch (IOException ioe)
+			{
+				result = false;
+			}
+		}
+
+		return result;
+	}
+
+	public JITDataModel getModel()
+	{
+		return model;
+	}
+
+	public void setAssemblyCache(AssemblyCache assemblyCache)
+	{
+		this.assemblyCache = assemblyCache;
+	}
+
+	public void setCompactTasks(boolean compactTasks)
+	{
+		this.compactTasks = compactTasks;
+	}
+
+	public void setLogFile(File logFile)
+	{
+		logLength = logFile.length();
+		logLastModified = logFile.lastModified();
+	}
+
+	public List<String> getClassLocations()
+	{
+		return classLocations;
+	}
+
+	public void setClassLocations(List<String> classLocations)
+	{
+		this.classLocations = new ArrayList<>(classLocations);
+	}
+
+	public String getVmCommand()
+	{
+		return vmCommand;
+	}
+
+	public void setVmCommand(String vmCommand)
+	{
+		this.vmCommand = vmCommand;
+	}
+
+	public boolean isTweakVMLog()
+	{
+		return tweakVMLog;
+	}
+
+	public void setTweakVMLog(boolean tweakVMLog)
+	{
+		this.tweakVMLog = tweakVMLog;
+	}
+
+	public boolean isTraceClassLoading()
+	{
+		return traceClassLoading;
+	}
+
+	public void setTraceClassLoading(boolean traceClassLoading)
+	{
+		this.traceClassLoading = traceClassLoading;
+	}
+
+	public List<String> getParsedClassLocations()
+	{
+		return parsedClassLocations;
+	}
+
+	public void setParsedClassLocations(List<String> parsedClassLocations)
+	{
+		this.parsedClassLocations = new ArrayList<>(parsedClassLocations);
+	}
+
+	// written to a temporary file and moved into place so a reader never
+	// sees a partial snapshot
+	public void write(File snapshotFile) throws IOException
+	{
+		File tempFile = new File(snapshotFile.getPath() + ".tmp");
+
+		try (SnapshotOutput output = new SnapshotOutput(tempFile))
+		{
+			writeHeader(output);
+
+			output.writeString(vmCommand);
+			output.writeBoolean(tweakVMLog);
+			output.writeBoolean(traceClassLoading);
+			output.writeStringList(parsedClassLocations);
+
+			output.writeString(model.getVmVersionRelease());
+			output.writeTag(model.getEndOfLogTag());
+
+			Map<IMetaMember, Integer> memberIndex = writeClasses(output);
+
+			EventStore.View<IMetaMember> events = model.getEventView();
+
+			output.writeVarInt(events.size());
+
+			for (int i = 0; i < events.size(); i++)
+			{
+				output.writeVarLong(events.getStamp(i));
+				output.writeVarInt(events.getType(i));
+				output.writeVarInt(memberIndex.get(events.getSubject(i)));
+			}
+
+			EventStore.View<Tag> codeCacheEvents = model.getCodeCacheEventView();
+
+			output.writeVarInt(codeCacheEvents.size());
+
+			for (int i = 0; i < codeCacheEvents.size(); i++)
+			{
+				output.writeVarLong(codeCacheEvents.getStamp(i));
+				output.writeTag(codeCacheEvents.getSubject(i));
+			}
+
+			long[] counters = model.getJITStats().getCounters();
+
+			output.writeVarInt(counters.length);
+
+			for (long counter : counters)
+			{
+				output.writeVarLong(counter);
+			}
+		}
+
+		Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// the model should be empty, members are rebuilt without loading classes
+	public void read(File snapshotFile) throws IOException
+	{
+		try (SnapshotInput input = new SnapshotInput(snapshotFile))
+		{
+			readHeader(input);
+
+			vmCommand = input.readString();
+			tweakVMLog = input.readBoolean();
+			traceClassLoading = input.readBoolean();
+			parsedClassLocations = input.readStringList();
+
+			model.setVmVersionRelease(input.readString());
+			model.setEndOfLog(input.readTag());
+
+			List<IMetaMember> members = readClasses(input);
+
+			EventType[] eventTypes = EventType.values();
+
+			int eventCount = input.readVarInt();
+
+			for (int i = 0; i < eventCount; i++)
+			{
+				long stamp = input.readVarLong();
+				EventType eventType = eventTypes[input.readVarInt()];
+				IMetaMember member = members.get(input.readVarInt());
+
+				model.addEvent(new JITEvent(stamp, eventType, member));
+			}
+
+			int codeCacheEventCount = input.readVarInt();
+
+			for (int i = 0; i < codeCacheEventCount; i++)
+			{
+				long stamp = input.readVarLong();
+
+				model.addCodeCacheEvent(new CodeCacheEvent(stamp, input.readTag()));
+			}
+
+			long[] counters = new long[input.readVarInt()];
+
+			for (int i = 0; i < counters.length; i++)
+			{
+				counters[i] = input.readVarLong();
+			}
+
+			model.getJITStats().setCounters(counters);
+		}
+	}
+
+	private void writeHeader(SnapshotOutput output) throws IOException
+	{
+		output.writeInt(MAGIC);
+		output.writeVarInt(VERSION);
+		output.writeVarLong(logLength);
+		output.writeVarLong(logLastModified);
+		output.writeStringList(classLocations);
+	}
+
+	private void readHeader(SnapshotInput input) throws IOException
+	{
+		if (input.readInt() != MAGIC)
+		{
+			throw new IOException("Not a JITWatch model snapshot");
+		}
+
+		int version = input.readVarInt();
+
+		if (version != VERSION)
+		{
+			throw new IOException("Unsupported snapshot version " + version);
+		}
+
+		logLength = input.readVarLong();
+		logLastModified = input.readVarLong();
+		classLocations = input.readStringList();
+	}
+
+	private Map<IMetaMember, Integer> writeClasses(SnapshotOutput output) throws IOException
+	{
+		List<MetaClass> metaClasses = new ArrayList<>();
+
+		// package tree order so the packages are rebuilt in the same order
+		for (MetaPackage rootPackage : model.getPackageManager().getRootPackages())
+		{
+			collectClasses(rootPackage, metaClasses);
+		}
+
+		Map<IMetaMember, Integer> memberIndex = new IdentityHashMap<>();
+
+		output.writeVarInt(metaClasses.size());
+
+		for (MetaClass metaClass : metaClasses)
+		{
+			int flags = 0;
+
+			if (metaClass.isInterface())
+			{
+				flags |= CLASS_FLAG_INTERFACE;
+			}
+
+			if (metaClass.isMissingDef())
+			{
+				flags |= CLASS_FLAG_MISSING_DEF;
+			}
+
+			output.writeString(metaClass.getFullyQualifiedName());
+			output.writeVarInt(flags);
+			output.writeVarInt(metaClass.getCompiledMethodCount());
+
+			List<IMetaMember> members = metaClass.getMetaMembers();
+
+			output.writeVarInt(members.size());
+
+			for (IMetaMember member : members)
+			{
+				memberIndex.put(member, memberIndex.size());
+
+				writeMember(output, (AbstractMetaMember) member);
+			}
+		}
+
+		return memberIndex;
+	}
+
+	private void collectClasses(MetaPackage metaPackage, List<MetaClass> metaClasses)
+	{
+		metaClasses.addAll(metaPackage.getPackageClasses());
+
+		for (MetaPackage childPackage : metaPackage.getChildPackages())
+		{
+			collectClasses(childPackage, metaClasses);
+		}
+	}
+
+	private List<IMetaMember> readClasses(SnapshotInput input) throws IOException
+	{
+		List<IMetaMember> members = new ArrayList<>();
+
+		int classCount = input.readVarInt();
+
+		for (int i = 0; i < classCount; i++)
+		{
+			String fqClassName = input.readString();
+			int flags = input.readVarInt();
+			int compiledMethodCount = input.readVarInt();
+
+			MetaClass metaClass = model.createMetaClass(fqClassName, (flags & CLASS_FLAG_INTERFACE) != 0);
+
+			metaClass.setMissingDef((flags & CLASS_FLAG_MISSING_DEF) != 0);
+
+			for (int j = 0; j < compiledMethodCount; j++)
+			{
+				metaClass.incCompiledMethodCount();
+			}
+
+			int memberCount = input.readVarInt();
+
+			for (int j = 0; j < memberCount; j++)
+			{
+				members.add(readMember(input, metaClass));
+			}
+		}
+
+		return members;
+	}
+
+	private void writeMember(SnapshotOutput output, AbstractMetaMember member) throws IOException
+	{
+		int flags = 0;
+
+		if (member.isConstructor())
+		{
+			flags |= MEMBER_FLAG_CONSTRUCTOR;
+		}
+
+		if (member.isVarArgs)
+		{
+			flags |= MEMBER_FLAG_VARARGS;
+		}
+
+		if (member.isPolymorphicSignature)
+		{
+			flags |= MEMBER_FLAG_POLYMORPHIC;
+		}
+
+		output.writeVarInt(flags);
+		output.writeString(member.getMemberName());
+		output.writeVarInt(member.getModifier());
+		output.writeString(ParseUtil.getDescriptorForClassNames(member.returnTypeClassName, member.paramTypeClassNames));
+
+		List<Compilation> compilations = member.getCompilations();
+
+		output.writeVarInt(compilations.size());
+
+		for (Compilation compilation : compilations)
+		{
+			output.writeTag(compilation.getTagTaskQueued());
+			output.writeTag(compilation.getTagNMethod());
+			output.writeTag(compilation.getTagTask());
+			output.writeTag(compilation.getTagTaskDone());
+
+			writeAssembly(output, compilation.getAssembly());
+		}
+	}
+
+	// members are rebuilt through the same ClassFileMethod path as the
+	// classfile model and the compilations are replayed through the member
+	// in the order the parser built them
+	private IMetaMember readMember(SnapshotInput input, MetaClass metaClass) throws IOException
+	{
+		int flags = input.readVarInt();
+		String memberName = input.readString();
+		int accessFlags = input.readVarInt();
+		String descriptor = input.readString();
+
+		if ((flags & MEMBER_FLAG_VARARGS) != 0)
+		{
+			accessFlags |= ClassFileReader.ACC_VARARGS;
+		}
+
+		List<String> annotationTypes;
+
+		if ((flags & MEMBER_FLAG_POLYMORPHIC) != 0)
+		{
+			annotationTypes = Collections.singletonList(POLYMORPHIC_ANNOTATION_TYPE);
+		}
+		else
+		{
+			annotationTypes = Collections.emptyList();
+		}
+
+		IMetaMember member;
+
+		if ((flags & MEMBER_FLAG_CONSTRUCTOR) != 0)
+		{
+			ClassFileMethod method = new ClassFileMethod(accessFlags, S_CONSTRUCTOR_INIT, descriptor, annotationTypes,
+					Collections.<String, byte[]> emptyMap());
+
+			MetaConstructor constructor = new MetaConstructor(method, metaClass);
+
+			metaClass.addMetaConstructor(constructor);
+
+			member = constructor;
+		}
+		else
+		{
+			ClassFileMethod method = new ClassFileMethod(accessFlags, memberName, descriptor, annotationTypes,
+					Collections.<String, byte[]> emptyMap());
+
+			MetaMethod metaMethod = new MetaMethod(method, metaClass);
+
+			metaClass.addMetaMethod(metaMethod);
+
+			member = metaMethod;
+		}
+
+		int compilationCount = input.readVarInt();
+
+		for (int i = 0; i < compilationCount; i++)
+		{
+			Tag tagTaskQueued = input.readTag();
+			Tag tagNMethod = input.readTag();
+			Task tagTask = (Task) input.readTag();
+			Tag tagTaskDone = input.readTag();
+			AssemblyMethod assembly = readAssembly(input);
+
+			if (tagTaskQueued != null)
+			{
+				member.setTagTaskQueued(tagTaskQueued);
+			}
+
+			if (tagNMethod != null)
+			{
+				member.setTagNMethod(tagNMethod);
+			}
+
+			if (tagTask != null)
+			{
+				member.setTagTask(tagTask);
+			}
+
+			// task_done is a child of the task so its compile_id is the key,
+			// a compacted task no longer holds its task_done
+			if (tagTaskDone != null)
+			{
+				Tag parent = tagTaskDone.getParent() != null ? tagTaskDone.getParent() : tagTask;
+
+				if (parent != null)
+				{
+					member.setTagTaskDone(parent.getAttribute(ATTR_COMPILE_ID), tagTaskDone);
+				}
+			}
+
+			if (compactTasks && tagTask != null)
+			{
+				Compilation compilation = member.getCompilationByCompileID(tagTask.getAttribute(ATTR_COMPILE_ID));
+
+				if (compilation != null)
+				{
+					compilation.compactTagTask();
+				}
+			}
+
+			if (assembly != null)
+			{
+				member.addAssembly(assembly);
+			}
+		}
+
+		return member;
+	}
+
+	private void writeAssembly(SnapshotOutput output, AssemblyMethod assembly) throws IOException
+	{
+		if (assembly == null)
+		{
+			output.writeVarInt(ASSEMBLY_NONE);
+		}
+		else if (assembly instanceof LazyAssemblyMethod)
+		{
+			LazyAssemblyMethod lazyAssembly = (LazyAssemblyMethod) assembly;
+
+			output.writeVarInt(ASSEMBLY_LAZY);
+			output.writeString(lazyAssembly.getAssemblyMethodSignature());
+			output.writeString(lazyAssembly.getNativeAddress());
+			output.writeVarLong(lazyAssembly.getStartOffset());
+			output.writeVarLong(lazyAssembly.getEndOffset());
+		}
+		else
+		{
+			output.writeVarInt(ASSEMBLY_PARSED);
+
+			output.writeString(assembly.getAssemblyMethodSignature());
+			output.writeString(assembly.getHeader());
+			output.writeString(assembly.getNativeAddress());
+
+			List<AssemblyBlock> blocks = assembly.getBlocks();
+
+			output.writeVarInt(blocks.size());
+
+			for (AssemblyBlock block : blocks)
+			{
+				output.writeString(block.getTitle());
+
+				List<AssemblyInstruction> instructions = block.getInstructions();
+
+				output.writeVarInt(instructions.size());
+
+				for (AssemblyInstruction instruction : instructions)
+				{
+					output.writeString(instruction.getAnnotation());
+					output.writeVarLong(instruction.getAddress());
+					output.writeStringList(instruction.getPrefixes());
+					output.writeString(instruction.getMnemonic());
+					output.writeStringList(instruction.getOperands());
+					output.writeStringList(instruction.getCommentLines());
+				}
+			}
+		}
+	}
+
+	private AssemblyMethod readAssembly(SnapshotInput input) throws IOException
+	{
+		AssemblyMethod assembly = null;
+
+		int kind = input.readVarInt();
+
+		if (kind == ASSEMBLY_LAZY)
+		{
+			if (assemblyCache == null)
+			{
+				throw new IOException("No log to load indexed assembly from");
+			}
+
+			String signature = input.readString();
+			String nativeAddress = input.readString();
+			long startOffset = input.readVarLong();
+			long endOffset = input.readVarLong();
+
+			assembly = new LazyAssemblyMethod(signature, nativeAddress, assemblyCache, startOffset, endOffset);
+		}
+		else if (kind == ASSEMBLY_PARSED)
+		{
+			assembly = new AssemblyMethod(input.readString());
+			assembly.setHeader(input.readString());
+			assembly.setNativeAddress(input.readString());
+
+			AssemblyLabels labels = new AssemblyLabels();
+
+			int blockCount = input.readVarInt();
+
+			for (int i = 0; i < blockCount; i++)
+			{
+				AssemblyBlock block = new AssemblyBlock();
+
+				block.setTitle(input.readString());
+
+				int instructionCount = input.readVarInt();
+
+				for (int j = 0; j < instructionCount; j++)
+				{
+					String annotation = input.readString();
+					long address = input.readVarLong();
+					List<String> prefixes = input.readStringList();
+					String mnemonic = input.readString();
+					List<String> operands = input.readStringList();
+
+					AssemblyInstruction instruction = new AssemblyInstruction(annotation, address, prefixes, mnemonic, operands,
+							null, labels);
+
+					for (String commentLine : input.readStringList())
+					{
+						instruction.addCommentLine(commentLine);
+					}
+
+					labels.newInstruction(instruction);
+
+					block.addInstruction(instruction);
+				}
+
+				assembly.addBlock(block);
+			}
+
+			labels.buildLabels();
+		}
+
+		return assembly;
+	}
+
+	private static final class SnapshotOutput extends TagCodec.Writer implements AutoCloseable
+	{
+		private final DataOutputStream output;
+
+		private final Map<Tag, Integer> tagTable = new IdentityHashMap<>();
+
+		SnapshotOutput(File file) throws IOException
+		{
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+		}
+
+		@Override
+		protected void writeByte(int value) throws IOException
+		{
+			output.writeByte(value);
+		}
+
+		@Override
+		protected void writeBytes(byte[] bytes) throws IOException
+		{
+			output.write(bytes);
+		}
+
+		void writeInt(int value) throws IOException
+		{
+			output.writeInt(value);
+		}
+
+		void writeBoolean(boolean value) throws IOException
+		{
+			output.writeByte(value ? 1 : 0);
+		}
+
+		void writeStringList(List<String> values) throws IOException
+		{
+			if (values == null)
+			{
+				writeVarInt(0);
+			}
+			else
+			{
+				writeVarInt(values.size() + 1);
+
+				for (String value : values)
+				{
+					writeString(value);
+				}
+			}
+		}
+
+		// same scheme as writeString with the tag table
+		@Override
+		void writeTag(Tag tag) throws IOException
+		{
+			if (tag == null)
+			{
+				writeVarInt(0);
+			}
+			else
+			{
+				Integer index = tagTable.get(tag);
+
+				if (index != null)
+				{
+					writeVarInt(index + 1);
+				}
+				else
+				{
+					int nextIndex = tagTable.size();
+
+					tagTable.put(tag, nextIndex);
+
+					writeVarInt(nextIndex + 1);
+
+					super.writeTag(tag);
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			output.close();
+		}
+	}
+
+	private static final class SnapshotInput extends TagCodec.Reader implements AutoCloseable
+	{
+		private final DataInputStream input;
+
+		private final List<Tag> tagTable = new ArrayList<>();
+
+		private byte[] buffer = new byte[256];
+
+		SnapshotInput(File file) throws IOException
+		{
+			input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+		}
+
+		@Override
+		protected int readByte() throws IOException
+		{
+			return input.readUnsignedByte();
+		}
+
+		@Override
+		protected String readUTF8(int length) throws IOException
+		{
+			if (length > buffer.length)
+			{
+				buffer = new byte[Math.max(length, buffer.length * 2)];
+			}
+
+			input.readFully(buffer, 0, length);
+
+			return new String(buffer, 0, length, StandardCharsets.UTF_8);
+		}
+
+		// added before its children to match the writer's table order
+		@Override
+		protected void tagCreated(Tag tag)
+		{
+			tagTable.add(tag);
+		}
+
+		int readInt() throws IOException
+		{
+			return input.readInt();
+		}
+
+		boolean readBoolean() throws IOException
+		{
+			return input.readByte() != 0;
+		}
+
+		List<String> readStringList() throws IOException
+		{
+			List<String> result = null;
+
+			int sizePlusOne = readVarInt();
+
+			if (sizePlusOne > 0)
+			{
+				result = new ArrayList<>(sizePlusOne - 1);
+
+				for (int i = 1; i < sizePlusOne; i++)
+				{
+					result.add(readString());
+				}
+			}
+
+			return result;
+		}
+
+		@Override
+		Tag readTag() throws IOException
+		{
+			Tag result = null;
+
+			int reference = readVarInt();
+
+			if (reference > tagTable.size())
+			{
+				result = super.readTag();
+			}
+			else if (reference > 0)
+			{
+				result = tagTable.get(reference - 1);
+			}
+
+			return result;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			input.close();
+		}
+	}
+}
\ No newline at end of file
@@ -265,4 +265,39 @@ public class JITStats
 	{
 		return nativeBytes;
 	}
+
+	// every counter in declaration order for the model snapshot
+	long[] getCounters()
+	{
+		return new long[] { countPrivate, countProtected, countPublic, countStatic, countFinal, countSynchronized, countStrictfp,
+				countNative, countAbstract, countOSR, countC1, countC2, countC2N, totalCompileTime, nativeBytes,
+				countCompilerThreads, countClass, countMethod, countConstructor };
+	}
+
+	void setCounters(long[] counters)
+	{
+		int index = 0;
+
+		countPrivate = counters[index++];
+		countProtected = counters[index++];
+		countPublic = counters[index++];
+		countStatic = counters[index++];
+		countFinal = counters[index++];
+		countSynchronized = counters[index++];
+		countStrictfp = counters[index++];
+		countNative = counters[index++];
+		countAbstract = counters[index++];
+
+		countOSR = counters[index++];
+		countC1 = counters[index++];
+		countC2 = counters[index++];
+		countC2N = counters[index++];
+		totalCompileTime = counters[index++];
+		nativeBytes = counters[index++];
+		countCompilerThreads = counters[index++];
+
+		countClass = counters[index++];
+		countMethod = counters[index++];
+		countConstructor = counters[index++];
+	}
 }
\ No newline at end of file
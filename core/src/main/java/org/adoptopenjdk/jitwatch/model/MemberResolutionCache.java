@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Bounded LRU cache of signature to IMetaMember resolutions, including
+// signatures that did not resolve. Owned by the PackageManager so it is
+// discarded with the model it refers to.
+public class MemberResolutionCache
+{
+	public static final int DEFAULT_CAPACITY = 65536;
+
+	public static final char KEY_LOG_SIGNATURE = 'L';
+	public static final char KEY_ASSEMBLY_SIGNATURE = 'A';
+	public static final char KEY_PARSE_DICTIONARY = 'P';
+
+	// records a signature that did not resolve and the class it named
+	private static final class NotFound
+	{
+		private final String className;
+
+		private NotFound(String className)
+		{
+			this.className = className;
+		}
+	}
+
+	private final Map<String, Object> cache;
+
+	// keys cached as not found, by the class name they were looked up in
+	private final Map<String, Set<String>> missingKeysByClass = new HashMap<>();
+
+	public MemberResolutionCache()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MemberResolutionCache(final int capacity)
+	{
+		cache = new LinkedHashMap<String, Object>(1024, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+			{
+				boolean remove = size() > capacity;
+
+				if (remove)
+				{
+					forgetMissing(eldest.getKey(), eldest.getValue());
+				}
+
+				return remove;
+			}
+		};
+	}
+
+	public static String makeKey(char kind, String signature)
+	{
+		return kind + signature;
+	}
+
+	// null if the key is not cached or is cached as not found
+	public synchronized IMetaMember get(String key)
+	{
+		Object value = cache.get(key);
+
+		return value instanceof IMetaMember ? (IMetaMember) value : null;
+	}
+
+	public synchronized boolean isCachedAsMissing(String key)
+	{
+		return cache.get(key) instanceof NotFound;
+	}
+
+	// a null member records that the key did not resolve in the named class,
+	// a null class name means the key can never resolve
+	public synchronized void put(String key, String className, IMetaMember member)
+	{
+		Object value;
+
+		if (member == null)
+		{
+			value = new NotFound(className);
+
+			if (className != null)
+			{
+				Set<String> missingKeys = missingKeysByClass.get(className);
+
+				if (missingKeys == null)
+				{
+					missingKeys = new HashSet<>();
+					missingKeysByClass.put(className, missingKeys);
+				}
+
+				missingKeys.add(key);
+			}
+		}
+		else
+		{
+			value = member;
+		}
+
+		Object previous = cache.put(key, value);
+
+		if (member != null)
+		{
+			forgetMissing(key, previous);
+		}
+	}
+
+	// a newly added class may satisfy signatures that previously failed
+	public synchronized void clearMissing(String className)
+	{
+		Set<String> missingKeys = missingKeysByClass.remove(className);
+
+		if (missingKeys != null)
+		{
+			for (String key : missingKeys)
+			{
+				cache.remove(key);
+			}
+		}
+	}
+
+	private void forgetMissing(String key, Object value)
+	{
+		if (value instanceof NotFound)
+		{
+			String className = ((NotFound) value).className;
+
+			Set<String> missingKeys = missingKeysByClass.get(className);
+
+			if (missingKeys != null)
+			{
+				missingKeys.remove(key);
+
+				if (missingKeys.isEmpty())
+				{
+					missingKeysByClass.remove(className);
+				}
+			}
+		}
+	}
+
+	public synchronized void clear()
+	{
+		cache.clear();
+
+		missingKeysByClass.clear();
+	}
+
+	public synchronized int size()
+	{
+		return cache.size();
+	}
+}
\ No newline at end of file
@@ -15,12 +15,15 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 //import org.slf4j.Logger;
 //import org.slf4j.LoggerFactory;
-import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +42,30 @@ public class MetaClass implements Comparable<MetaClass>
 	private List<MetaMethod> classMethods = new CopyOnWriteArrayList<MetaMethod>();
 	private List<MetaConstructor> classConstructors = new CopyOnWriteArrayList<MetaConstructor>();
 
+	// rebuilt on first use after a member is added
+	private volatile MemberIndex memberIndex = null;
+
+	private static class MemberIndex
+	{
+		// constructors then methods, each in sorted order
+		private final List<IMetaMember> sortedMembers;
+
+		// same order as sortedMembers within each name
+		private final Map<String, List<AbstractMetaMember>> membersByName;
+
+		MemberIndex(List<IMetaMember> sortedMembers, Map<String, List<AbstractMetaMember>> membersByName)
+		{
+			this.sortedMembers = sortedMembers;
+			this.membersByName = membersByName;
+		}
+	}
+
 	private int compiledMethodCount = 0;
 
-	private ClassBC classBytecode = null;
+	// where the bytecode was last loaded from so it can be fetched again
+	// after being evicted from the BytecodeCache
+	private volatile List<String> bytecodeClassLocations = null;
+	private volatile Path bytecodeJavapPath = null;
 
 	private static final Logger logger = LoggerFactory.getLogger(MetaClass.class);
 
@@ -77,6 +101,11 @@ public class MetaClass implements Comparable<MetaClass>
 		compiledMethodCount++;
 	}
 
+	public int getCompiledMethodCount()
+	{
+		return compiledMethodCount;
+	}
+
 	public boolean hasCompiledMethods()
 	{
 		return compiledMethodCount > 0;
@@ -102,56 +131,38 @@ public class MetaClass implements Comparable<MetaClass>
 		return getClassBytecode(model, classLocations, null);
 	}
 
+	// inner classes are not fetched here, see SourceMapper
 	public ClassBC getClassBytecode(IReadOnlyJITDataModel model, List<String> classLocations, Path javapPath)
 	{
+		BytecodeCache cache = BytecodeCache.getSharedCache();
+
 		if (DEBUG_LOGGING_BYTECODE)
 		{
-			logger.debug("getClassBytecode for {} existing? {}", getName(), classBytecode != null);
+			logger.debug("getClassBytecode for {} existing? {}", getName(),
+					cache.getIfPresent(classLocations, getFullyQualifiedName()) != null);
 		}
 
-		if (classBytecode == null)
-		{
-			classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, getFullyQualifiedName(), javapPath, true);
-
-			if (classBytecode != null)
-			{
-				loadInnerClasses(classBytecode.getInnerClassNames(), model, classLocations);
-			}
-		}
+		bytecodeClassLocations = new ArrayList<>(classLocations);
+		bytecodeJavapPath = javapPath;
 
-		return classBytecode;
+		return cache.getClassBytecode(classLocations, getFullyQualifiedName(), javapPath);
 	}
-	
+
+	// null unless the bytecode has been loaded with getClassBytecode(model,
+	// classLocations), refetched from the same locations if it was evicted
 	public ClassBC getClassBytecode()
 	{
-		return classBytecode;
-	}
+		ClassBC result = null;
 
-	private void loadInnerClasses(List<String> innerClassNames, IReadOnlyJITDataModel model, List<String> classLocations)
-	{
-		if (DEBUG_LOGGING_BYTECODE)
-		{
-			logger.info("innerClasses to load {}", innerClassNames.size());
-		}
+		List<String> classLocations = bytecodeClassLocations;
 
-		for (String innerClassName : innerClassNames)
+		if (classLocations != null)
 		{
-			if (DEBUG_LOGGING_BYTECODE)
-			{
-				logger.info("innerClass {}", innerClassName);
-			}
-
-			MetaClass metaClassForInner = model.getPackageManager().getMetaClass(innerClassName);
-
-			if (metaClassForInner != null)
-			{
-				metaClassForInner.getClassBytecode(model, classLocations);
-			}
-			else
-			{
-				logger.warn("No MetaClass found for inner Class {}", innerClassName);
-			}
+			result = BytecodeCache.getSharedCache().getClassBytecode(classLocations, getFullyQualifiedName(),
+					bytecodeJavapPath);
 		}
+
+		return result;
 	}
 
 	public String toStringDetailed()
@@ -212,47 +223,102 @@ public class MetaClass implements Comparable<MetaClass>
 		return classPackage;
 	}
 
-	public void addMetaMethod(MetaMethod method)
+	public synchronized void addMetaMethod(MetaMethod method)
 	{
 		classMethods.add(method);
+
+		invalidateMemberIndex();
 	}
 
-	public void addMetaConstructor(MetaConstructor constructor)
+	public synchronized void addMetaConstructor(MetaConstructor constructor)
 	{
 		classConstructors.add(constructor);
+
+		invalidateMemberIndex();
 	}
 
-	public List<IMetaMember> getMetaMembers()
+	private void invalidateMemberIndex()
 	{
-		List<IMetaMember> result = new ArrayList<>();
+		memberIndex = null;
+	}
 
-		IMetaMember[] constructorsArray = classConstructors.toArray(new MetaConstructor[classConstructors.size()]);
-		Arrays.sort(constructorsArray);
+	// the returned list is a read-only view
+	public List<IMetaMember> getMetaMembers()
+	{
+		return getMemberIndex().sortedMembers;
+	}
 
-		IMetaMember[] methodsArray = classMethods.toArray(new MetaMethod[classMethods.size()]);
-		Arrays.sort(methodsArray);
+	private MemberIndex getMemberIndex()
+	{
+		MemberIndex result = memberIndex;
 
-		result.addAll(Arrays.asList(constructorsArray));
-		result.addAll(Arrays.asList(methodsArray));
+		if (result == null)
+		{
+			result = buildMemberIndex();
+		}
 
 		return result;
 	}
 
+	private synchronized MemberIndex buildMemberIndex()
+	{
+		if (memberIndex == null)
+		{
+			List<IMetaMember> members = new ArrayList<>(classConstructors.size() + classMethods.size());
+
+			IMetaMember[] constructorsArray = classConstructors.toArray(new MetaConstructor[classConstructors.size()]);
+			Arrays.sort(constructorsArray);
+
+			IMetaMember[] methodsArray = classMethods.toArray(new MetaMethod[classMethods.size()]);
+			Arrays.sort(methodsArray);
+
+			members.addAll(Arrays.asList(constructorsArray));
+			members.addAll(Arrays.asList(methodsArray));
+
+			Map<String, List<AbstractMetaMember>> byName = new HashMap<>();
+
+			for (IMetaMember member : members)
+			{
+				List<AbstractMetaMember> named = byName.get(member.getMemberName());
+
+				if (named == null)
+				{
+					named = new ArrayList<>(1);
+					byName.put(member.getMemberName(), named);
+				}
+
+				named.add((AbstractMetaMember) member);
+			}
+
+			memberIndex = new MemberIndex(Collections.unmodifiableList(members), byName);
+		}
+
+		return memberIndex;
+	}
+
 	public IMetaMember getMemberForSignature(MemberSignatureParts msp)
 	{
 		IMetaMember result = null;
 
+		List<AbstractMetaMember> candidates = getMemberIndex().membersByName.get(msp.getMemberName());
+
 		if (DEBUG_LOGGING_SIG_MATCH)
 		{
-			logger.debug("Comparing: {} members of {}", getMetaMembers().size(), this);
+			logger.debug("Comparing: {} members named {} of {}", candidates == null ? 0 : candidates.size(), msp.getMemberName(),
+					this);
 		}
 
-		for (IMetaMember member : getMetaMembers())
+		if (candidates != null)
 		{
-			if (member.matchesSignature(msp, true))
+			int paramCount = msp.getParamTypes().size();
+
+			for (AbstractMetaMember member : candidates)
 			{
-				result = member;
-				break;
+				if (member.couldMatchParamCount(paramCount) && member.matchesSignature(msp, true))
+				{
+					result = member;
+					break;
+				}
 			}
 		}
 
@@ -8,9 +8,11 @@ package org.adoptopenjdk.jitwatch.model;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_MEMBER_CREATION;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.loader.ClassFileMethod;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 
 public class MetaConstructor extends AbstractMetaMember
@@ -24,9 +26,7 @@ public class MetaConstructor extends AbstractMetaMember
 		this.constructorToString = constructor.toString();
 		this.metaClass = methodClass;
 
-		returnType = Void.TYPE;
-		
-		paramTypes = Arrays.asList(constructor.getParameterTypes());
+		setTypesFromClasses(Void.TYPE, Arrays.asList(constructor.getParameterTypes()));
 		modifier = constructor.getModifiers();
 
         if (DEBUG_MEMBER_CREATION)
@@ -35,6 +35,28 @@ public class MetaConstructor extends AbstractMetaMember
         }
 	}
 
+	// built from the <init> method_info in the classfile without loading any
+	// class
+	public MetaConstructor(ClassFileMethod constructor, MetaClass methodClass)
+	{
+		super(methodClass.getName());
+
+		this.metaClass = methodClass;
+
+		setTypesFromDescriptor(constructor.getDescriptor());
+
+		modifier = constructor.getAccessFlags() & Modifier.constructorModifiers();
+
+		isVarArgs = constructor.isVarArgs();
+
+		this.constructorToString = buildDeclarationString(methodClass.getFullyQualifiedName(), false, false);
+
+        if (DEBUG_MEMBER_CREATION)
+        {
+        	logger.debug("Created MetaConstructor: {}", toString());
+        }
+	}
+
 	@Override
 	public String toString()
 	{
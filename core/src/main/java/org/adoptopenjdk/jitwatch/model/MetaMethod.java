@@ -5,6 +5,7 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_MEMBER_CREATION;
 
 import java.lang.reflect.Method;
@@ -12,6 +13,8 @@ import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 
+import org.adoptopenjdk.jitwatch.loader.ClassFileMethod;
+
 public class MetaMethod extends AbstractMetaMember
 {
     private String methodToString;
@@ -23,8 +26,7 @@ public class MetaMethod extends AbstractMetaMember
         this.methodToString = method.toString();
         this.metaClass = methodClass;
 
-        returnType = method.getReturnType();
-        paramTypes = Arrays.asList(method.getParameterTypes());
+        setTypesFromClasses(method.getReturnType(), Arrays.asList(method.getParameterTypes()));
 
         // Can include non-method modifiers such as volatile so AND with
         // acceptable values
@@ -40,14 +42,42 @@ public class MetaMethod extends AbstractMetaMember
         }
     }
 
+    // built from the method_info in the classfile without loading any class
+    public MetaMethod(ClassFileMethod method, MetaClass methodClass)
+    {
+    	super(method.getName());
+
+        this.metaClass = methodClass;
+
+        setTypesFromDescriptor(method.getDescriptor());
+
+        modifier = method.getAccessFlags() & Modifier.methodModifiers();
+
+        isVarArgs = method.isVarArgs();
+
+        isPolymorphicSignature = method.isPolymorphicSignature();
+
+        // same rule as Method.isDefault()
+        boolean isDefault = methodClass.isInterface()
+        		&& (modifier & (Modifier.ABSTRACT | Modifier.PUBLIC | Modifier.STATIC)) == Modifier.PUBLIC;
+
+        this.methodToString = buildDeclarationString(methodClass.getFullyQualifiedName() + C_DOT + method.getName(), true,
+        		isDefault);
+
+        if (DEBUG_MEMBER_CREATION)
+        {
+        	logger.debug("Created MetaMethod: {}", toString());
+        }
+    }
+
     public void setParamTypes(List<Class<?>> types)
     {
-    	this.paramTypes = types;
+    	setParamTypesFromClasses(types);
     }
     
     public void setReturnType(Class<?> returnType)
     {
-    	this.returnType = returnType;
+    	setReturnTypeFromClass(returnType);
     }
 
     @Override
@@ -30,6 +30,8 @@ public class PackageManager
 
 	private List<MetaPackage> roots;
 
+	private final MemberResolutionCache memberResolutionCache = new MemberResolutionCache();
+
 	public PackageManager()
 	{
 		clear();
@@ -40,11 +42,22 @@ public class PackageManager
 		metaClasses = new ConcurrentHashMap<>();
 		metaPackages = new ConcurrentHashMap<>();
 		roots = new CopyOnWriteArrayList<>();
+
+		memberResolutionCache.clear();
 	}
 
 	public void addMetaClass(MetaClass metaClass)
 	{		
-		metaClasses.put(metaClass.getFullyQualifiedName(), metaClass);
+		String className = metaClass.getFullyQualifiedName();
+
+		metaClasses.put(className, metaClass);
+
+		memberResolutionCache.clearMissing(className);
+	}
+
+	public MemberResolutionCache getMemberResolutionCache()
+	{
+		return memberResolutionCache;
 	}
 
 	public MetaClass getMetaClass(String className)
@@ -17,12 +17,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.adoptopenjdk.jitwatch.util.StringUtil;
-
 public class Tag
 {
 	private String name;
-	private String attributeString;
+	private TagAttributes attributes;
 	private List<Tag> children = new ArrayList<>();
 	private Tag parent = null;
 	private boolean selfClosing = false;
@@ -34,7 +32,14 @@ public class Tag
 	public Tag(String name, String attributeString, boolean selfClosing)
 	{
 		this.name = name;
-		this.attributeString = attributeString;
+		this.attributes = TagAttributes.parse(attributeString);
+		this.selfClosing = selfClosing;
+	}
+
+	public Tag(String name, TagAttributes attributes, boolean selfClosing)
+	{
+		this.name = name;
+		this.attributes = attributes;
 		this.selfClosing = selfClosing;
 	}
 
@@ -116,9 +121,7 @@ public class Tag
 		{
 			if (child.getName().equals(tagName))
 			{
-				Map<String, String> attributes = child.getAttributes();
-				
-				if (attrValue != null && attrValue.equals(attributes.get(attrName)))
+				if (attrValue != null && attrValue.equals(child.getAttribute(attrName)))
 				{
 					result.add(child);
 				}
@@ -143,9 +146,15 @@ public class Tag
 		return name;
 	}
 
+	// read-only view, attributes are parsed once when the Tag is built
 	public Map<String, String> getAttributes()
 	{
-		return StringUtil.attributeStringToMap(attributeString);
+		return attributes;
+	}
+
+	public String getAttribute(String key)
+	{
+		return attributes.get(key);
 	}
 
 	private int getDepth(Tag tag)
@@ -179,15 +188,12 @@ public class Tag
 
 		builder.append(C_OPEN_ANGLE).append(name);
 		
-		Map<String,String> attrs = getAttributes();
+		int attrCount = attributes.size();
 
-		if (attrs.size() > 0)
+		for (int i = 0; i < attrCount; i++)
 		{
-			for (Map.Entry<String, String> entry : attrs.entrySet())
-			{
-				builder.append(C_SPACE).append(entry.getKey()).append(C_EQUALS).append(C_DOUBLE_QUOTE);
-				builder.append(entry.getValue()).append(C_DOUBLE_QUOTE);
-			}
+			builder.append(C_SPACE).append(attributes.getKey(i)).append(C_EQUALS).append(C_DOUBLE_QUOTE);
+			builder.append(attributes.getValue(i)).append(C_DOUBLE_QUOTE);
 		}
 
 		if (selfClosing)
@@ -249,7 +255,7 @@ public class Tag
 		{
 			return false;
 		}
-        if (attributeString != null ? !attributeString.equals(tag.attributeString) : tag.attributeString != null)
+        if (!attributes.equals(tag.attributes))
 		{
 			return false;
 		}
@@ -276,7 +282,7 @@ public class Tag
     @Override
     public int hashCode() {
         int result = name != null ? name.hashCode() : 0;
-        result = 31 * result + (attributeString != null ? attributeString.hashCode() : 0);
+        result = 31 * result + attributes.hashCode();
         result = 31 * result + (children != null ? children.hashCode() : 0);
         result = 31 * result + (parent != null ? parent.hashCode() : 0);
         result = 31 * result + (selfClosing ? 1 : 0);
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_EQUALS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.adoptopenjdk.jitwatch.core.SymbolTable;
+
+// Immutable attributes of a Tag held as parallel key and value arrays in
+// source order. Parsed once when the Tag is built, keys and repeated values
+// are taken from the SymbolTable and lookups scan the keys without
+// allocating. Also serves as the read-only Map view returned by
+// Tag.getAttributes().
+public final class TagAttributes extends AbstractMap<String, String>
+{
+	public static final TagAttributes EMPTY = new TagAttributes(new String[0], new String[0], 0);
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final String[] keys;
+	private final String[] values;
+	private final int size;
+
+	private TagAttributes(String[] keys, String[] values, int size)
+	{
+		this.keys = keys;
+		this.values = values;
+		this.size = size;
+	}
+
+	// same rules as StringUtil.attributeStringToMap, a repeated key keeps the
+	// last value
+	public static TagAttributes parse(String attributeString)
+	{
+		if (attributeString == null || attributeString.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		String[] keys = new String[INITIAL_CAPACITY];
+		String[] values = new String[INITIAL_CAPACITY];
+		int count = 0;
+
+		int len = attributeString.length();
+
+		int keyStart = 0;
+		int valueStart = -1;
+
+		for (int i = 0; i < len; i++)
+		{
+			char c = attributeString.charAt(i);
+
+			if (valueStart == -1)
+			{
+				if (c == C_SPACE)
+				{
+					keyStart = i + 1;
+				}
+				else if (c == C_QUOTE)
+				{
+					valueStart = i + 1;
+				}
+			}
+			else if (c == C_QUOTE)
+			{
+				String key = attributeString.substring(keyStart, valueStart - 1);
+
+				if (key.indexOf(C_EQUALS) != -1)
+				{
+					key = key.replace(String.valueOf(C_EQUALS), S_EMPTY);
+				}
+
+				key = SymbolTable.intern(key);
+
+				String value = SymbolTable.internValue(key, attributeString.substring(valueStart, i));
+
+				int existing = indexOf(keys, count, key);
+
+				if (existing != -1)
+				{
+					values[existing] = value;
+				}
+				else
+				{
+					if (count == keys.length)
+					{
+						keys = Arrays.copyOf(keys, count * 2);
+						values = Arrays.copyOf(values, count * 2);
+					}
+
+					keys[count] = key;
+					values[count] = value;
+					count++;
+				}
+
+				keyStart = i + 1;
+				valueStart = -1;
+			}
+		}
+
+		if (count == 0)
+		{
+			return EMPTY;
+		}
+
+		return new TagAttributes(Arrays.copyOf(keys, count), Arrays.copyOf(values, count), count);
+	}
+
+	// keys and values already in source order with no repeated key
+	public static TagAttributes of(String[] keys, String[] values)
+	{
+		if (keys.length == 0)
+		{
+			return EMPTY;
+		}
+
+		return new TagAttributes(keys, values, keys.length);
+	}
+
+	private static int indexOf(String[] keys, int count, Object key)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			String candidate = keys[i];
+
+			if (candidate == key || candidate.equals(key))
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	@Override
+	public String get(Object key)
+	{
+		int index = indexOf(keys, size, key);
+
+		return index == -1 ? null : values[index];
+	}
+
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return indexOf(keys, size, key) != -1;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	public String getKey(int index)
+	{
+		return keys[index];
+	}
+
+	public String getValue(int index)
+	{
+		return values[index];
+	}
+
+	@Override
+	public Set<Map.Entry<String, String>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<String, String>>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator()
+			{
+				return new Iterator<Map.Entry<String, String>>()
+				{
+					private int index = 0;
+
+					@Override
+					public boolean hasNext()
+					{
+						return index < size;
+					}
+
+					@Override
+					public Map.Entry<String, String> next()
+					{
+						if (index >= size)
+						{
+							throw new NoSuchElementException();
+						}
+
+						Map.Entry<String, String> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+
+						index++;
+
+						return entry;
+					}
+
+					@Override
+					public void remove()
+					{
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+}
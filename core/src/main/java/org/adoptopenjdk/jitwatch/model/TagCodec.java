@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.SymbolTable;
+
+// The varint, string table and tag encoding shared by JITDataModelSnapshot
+// and CompactTask. A tag is its flags, name, attributes, text content and
+// child count followed by its children. Subclasses supply the bytes.
+final class TagCodec
+{
+	static final int TAG_FLAG_TASK = 1;
+	static final int TAG_FLAG_SELF_CLOSING = 2;
+	static final int TAG_FLAG_FRAGMENT = 4;
+
+	private TagCodec()
+	{
+	}
+
+	abstract static class Writer
+	{
+		private final Map<String, Integer> stringTable = new HashMap<>();
+
+		protected abstract void writeByte(int value) throws IOException;
+
+		protected abstract void writeBytes(byte[] bytes) throws IOException;
+
+		void writeVarInt(int value) throws IOException
+		{
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+
+		// 7 bits per byte, low bits first
+		void writeVarLong(long value) throws IOException
+		{
+			long remaining = value;
+
+			while ((remaining & ~0x7FL) != 0)
+			{
+				writeByte((int) ((remaining & 0x7F) | 0x80));
+				remaining >>>= 7;
+			}
+
+			writeByte((int) remaining);
+		}
+
+		// 0 is null, a known string is its table index + 1 and a new string
+		// is the next index + 1 followed by its UTF-8 bytes
+		void writeString(String value) throws IOException
+		{
+			if (value == null)
+			{
+				writeVarInt(0);
+			}
+			else
+			{
+				Integer index = stringTable.get(value);
+
+				if (index != null)
+				{
+					writeVarInt(index + 1);
+				}
+				else
+				{
+					int nextIndex = stringTable.size();
+
+					stringTable.put(value, nextIndex);
+
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+					writeVarInt(nextIndex + 1);
+					writeVarInt(bytes.length);
+					writeBytes(bytes);
+				}
+			}
+		}
+
+		// children are written through writeTag so an override also applies
+		// to them
+		void writeTag(Tag tag) throws IOException
+		{
+			int flags = 0;
+
+			if (tag instanceof Task)
+			{
+				flags |= TAG_FLAG_TASK;
+			}
+
+			if (tag.isSelfClosing())
+			{
+				flags |= TAG_FLAG_SELF_CLOSING;
+			}
+
+			if (tag.isFragment())
+			{
+				flags |= TAG_FLAG_FRAGMENT;
+			}
+
+			writeVarInt(flags);
+			writeString(tag.getName());
+
+			Map<String, String> attributes = tag.getAttributes();
+
+			writeVarInt(attributes.size());
+
+			for (Map.Entry<String, String> entry : attributes.entrySet())
+			{
+				writeString(entry.getKey());
+				writeString(entry.getValue());
+			}
+
+			writeString(tag.getTextContent());
+
+			List<Tag> children = tag.getChildren();
+
+			writeVarInt(children.size());
+
+			for (Tag child : children)
+			{
+				writeTag(child);
+			}
+		}
+	}
+
+	abstract static class Reader
+	{
+		private final List<String> stringTable = new ArrayList<>();
+
+		// the next byte as 0-255
+		protected abstract int readByte() throws IOException;
+
+		protected abstract String readUTF8(int length) throws IOException;
+
+		// called before the children of a tag are read
+		protected void tagCreated(Tag tag)
+		{
+		}
+
+		int readVarInt() throws IOException
+		{
+			return (int) readVarLong();
+		}
+
+		long readVarLong() throws IOException
+		{
+			long result = 0;
+			int shift = 0;
+			int b;
+
+			do
+			{
+				b = readByte();
+				result |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while ((b & 0x80) != 0);
+
+			return result;
+		}
+
+		String readString() throws IOException
+		{
+			String result = null;
+
+			int reference = readVarInt();
+
+			if (reference > stringTable.size())
+			{
+				result = readUTF8(readVarInt());
+
+				stringTable.add(result);
+			}
+			else if (reference > 0)
+			{
+				result = stringTable.get(reference - 1);
+			}
+
+			return result;
+		}
+
+		// names, keys and repeated values are the same instances as in a
+		// freshly parsed tag
+		Tag readTag() throws IOException
+		{
+			int flags = readVarInt();
+			String name = SymbolTable.intern(readString());
+
+			int attributeCount = readVarInt();
+
+			String[] keys = new String[attributeCount];
+			String[] values = new String[attributeCount];
+
+			for (int i = 0; i < attributeCount; i++)
+			{
+				keys[i] = SymbolTable.intern(readString());
+				values[i] = SymbolTable.internValue(keys[i], readString());
+			}
+
+			TagAttributes attributes = TagAttributes.of(keys, values);
+
+			boolean selfClosing = (flags & TAG_FLAG_SELF_CLOSING) != 0;
+
+			Tag result;
+
+			if ((flags & TAG_FLAG_TASK) != 0)
+			{
+				result = new Task(name, attributes, selfClosing);
+			}
+			else
+			{
+				result = new Tag(name, attributes, selfClosing);
+			}
+
+			result.setFragment((flags & TAG_FLAG_FRAGMENT) != 0);
+
+			tagCreated(result);
+
+			String textContent = readString();
+
+			if (textContent != null)
+			{
+				result.addTextContent(textContent);
+			}
+
+			int childCount = readVarInt();
+
+			for (int i = 0; i < childCount; i++)
+			{
+				result.addChild(readTag());
+			}
+
+			if (result instanceof Task)
+			{
+				((Task) result).rebuildParseDictionary();
+			}
+
+			return result;
+		}
+	}
+}
\ No newline at end of file
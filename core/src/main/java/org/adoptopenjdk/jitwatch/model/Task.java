@@ -5,6 +5,7 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_PARSE_DICTIONARY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COMMA;
@@ -12,6 +13,9 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_PARENTHESES;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_KLASS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_METHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TYPE;
 
 import java.util.Map;
 
@@ -33,6 +37,13 @@ public class Task extends Tag
 		parseDictionary = new ParseDictionary();
 	}
 
+	public Task(String name, TagAttributes attributes, boolean selfClosing)
+	{
+		super(name, attributes, selfClosing);
+
+		parseDictionary = new ParseDictionary();
+	}
+
 	public IParseDictionary getParseDictionary()
 	{
 		return parseDictionary;
@@ -68,6 +79,40 @@ public class Task extends Tag
 		parseDictionary.putKlass(klass, tag);
 	}
 
+	// fills the dictionary from the subtree of a Task that was built from a
+	// snapshot or a CompactTask the same way TagProcessor fills it while the
+	// task is open
+	public void rebuildParseDictionary()
+	{
+		rebuildParseDictionary(this);
+	}
+
+	private void rebuildParseDictionary(Tag tag)
+	{
+		for (Tag child : tag.getChildren())
+		{
+			switch (child.getName())
+			{
+			case TAG_TYPE:
+				addDictionaryType(child.getAttribute(ATTR_ID), child);
+				break;
+
+			case TAG_METHOD:
+				addDictionaryMethod(child.getAttribute(ATTR_ID), child);
+				break;
+
+			case TAG_KLASS:
+				addDictionaryKlass(child.getAttribute(ATTR_ID), child);
+				break;
+
+			default:
+				break;
+			}
+
+			rebuildParseDictionary(child);
+		}
+	}
+
 	public String decodeParseMethod(String method)
 	{
 		StringBuilder builder = new StringBuilder();
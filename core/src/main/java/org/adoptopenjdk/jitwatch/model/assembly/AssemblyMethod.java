@@ -56,7 +56,7 @@ public class AssemblyMethod
 	{
 		int width = 0;
 
-		for (AssemblyBlock block : blocks)
+		for (AssemblyBlock block : getBlocks())
 		{
 			for (AssemblyInstruction instruction : block.getInstructions())
 			{
@@ -86,6 +86,8 @@ public class AssemblyMethod
 
 		int maxAnnoWidth = getMaxAnnotationWidth();
 
+		String header = getHeader();
+
 		if (header != null)
 		{
 			String[] headerLines = header.split(S_NEWLINE);
@@ -97,7 +99,7 @@ public class AssemblyMethod
 			}
 		}
 
-		for (AssemblyBlock block : blocks)
+		for (AssemblyBlock block : getBlocks())
 		{
 			builder.append(block.toString(maxAnnoWidth));
 		}
@@ -9,8 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
@@ -20,24 +20,20 @@ public final class AssemblyUtil
 	// http://www.delorie.com/djgpp/doc/brennan/brennan_att_inline_djgpp.html
 	private static final Logger logger = LoggerFactory.getLogger(AssemblyUtil.class);
 
-	private static final String PART_ADDRESS = "(" + S_HEX_PREFIX + "[a-f0-9]+):";
-	private static final String PART_INSTRUCTION = "([0-9a-zA-Z:_\\(\\)\\[\\]\\+\\*\\$,\\-%\\s]+)";
-	private static final String PART_COMMENT = "([;#].*)?";
-	
 	private static final Pattern ASSEMBLY_CONSTANT = Pattern.compile("^([\\$]?(" + S_HEX_PREFIX + ")?[a-f0-9]+[" + S_HEX_POSTFIX + "]?)$");
 
-	private static final Pattern PATTERN_ASSEMBLY_INSTRUCTION = Pattern
-			.compile("^" + PART_ADDRESS + "\\s+" + PART_INSTRUCTION + PART_COMMENT);
-
 	private AssemblyUtil()
 	{
 	}
 
 	public static AssemblyMethod parseAssembly(final String assemblyString)
 	{
-		final AssemblyLabels labels = new AssemblyLabels();
+		return parseAssembly(Arrays.asList(assemblyString.split(S_NEWLINE)));
+	}
 
-		String[] lines = assemblyString.split(S_NEWLINE);
+	public static AssemblyMethod parseAssembly(final List<String> lines)
+	{
+		final AssemblyLabels labels = new AssemblyLabels();
 
 		StringBuilder headerBuilder = new StringBuilder();
 
@@ -50,20 +46,21 @@ public final class AssemblyUtil
 
 		AssemblyMethod method = null;
 
-		for (int i = 0; i < lines.length; i++)
+		int lineCount = lines.size();
+
+		for (int i = 0; i < lineCount; i++)
 		{
 			if (DEBUG_LOGGING_ASSEMBLY)
 			{
-				logger.debug("line: '{}'", lines[i]);
+				logger.debug("line: '{}'", lines.get(i));
 			}
 
 			if (i == 0)
 			{
-				method = new AssemblyMethod(lines[i]);
+				method = new AssemblyMethod(lines.get(i));
 			}
 
-			String line = lines[i].replace(S_ENTITY_APOS, S_QUOTE);
-			line = line.replaceFirst("^ +", "");
+			String line = stripLeadingSpaces(replaceApos(lines.get(i)));
 
 			if (line.startsWith(S_HASH))
 			{
@@ -124,10 +121,10 @@ public final class AssemblyUtil
 				else
 				{
 					boolean replaceLast = false;
-					if (instr == null && i < lines.length - 1)
+					if (instr == null && i < lineCount - 1)
 					{
 						// try appending current and next lines together
-						String nextUntrimmedLine = lines[i + 1].replace(S_ENTITY_APOS, S_QUOTE);
+						String nextUntrimmedLine = replaceApos(lines.get(i + 1));
 
 						instr = createInstruction(labels, line + nextUntrimmedLine);
 						if (instr != null)
@@ -201,50 +198,174 @@ public final class AssemblyUtil
 			}
 		}
 
-		Matcher matcher = PATTERN_ASSEMBLY_INSTRUCTION.matcher(line);
+		// Scans <address>: <instruction> <comment> where the address is
+		// lower-case hex, the instruction is a run of operand characters and
+		// the optional comment starts with ; or #
+
+		int length = line.length();
+
+		int pos = S_HEX_PREFIX.length();
 
-		if (matcher.find())
+		long addressValue = 0;
+
+		if (line.startsWith(S_HEX_PREFIX))
 		{
-			if (DEBUG_LOGGING_ASSEMBLY)
+			int digit = hexDigitValue(pos < length ? line.charAt(pos) : 0);
+
+			while (digit != -1)
 			{
-				for (int i = 1; i <= matcher.groupCount(); i++)
-				{
-					logger.debug("parts : '{}'='{}'", i, matcher.group(i));
-				}
+				addressValue = (addressValue << 4) | digit;
+
+				pos++;
+
+				digit = hexDigitValue(pos < length ? line.charAt(pos) : 0);
 			}
+		}
 
-			if (matcher.groupCount() == 3)
+		boolean hasAddress = pos > S_HEX_PREFIX.length() && pos < length && line.charAt(pos) == C_COLON;
+
+		if (hasAddress)
+		{
+			pos++;
+
+			int whitespaceStart = pos;
+
+			while (pos < length && isWhitespace(line.charAt(pos)))
 			{
-				String address = matcher.group(1);
-				String instructionString = matcher.group(2);
-				String comment = matcher.group(3);
+				pos++;
+			}
+
+			int instructionStart = pos;
+
+			while (pos < length && isInstructionChar(line.charAt(pos)))
+			{
+				pos++;
+			}
+
+			int instructionEnd = pos;
+
+			// whitespace directly before a comment is the whole instruction
+			if (instructionStart == instructionEnd && instructionStart - whitespaceStart >= 2)
+			{
+				instructionStart--;
+			}
+
+			if (instructionStart > whitespaceStart && instructionEnd > instructionStart)
+			{
+				String instructionString = line.substring(instructionStart, instructionEnd);
+
+				String comment = null;
+
+				if (instructionEnd < length && (line.charAt(instructionEnd) == C_SEMICOLON || line.charAt(instructionEnd) == C_HASH))
+				{
+					comment = line.substring(instructionEnd);
+				}
 
 				if (DEBUG_LOGGING_ASSEMBLY)
 				{
 					logger.debug("Annotation : '{}'", annotation);
-					logger.debug("Address    : '{}'", address);
+					logger.debug("Address    : '{}'", Long.toHexString(addressValue));
 					logger.debug("Instruction: '{}'", instructionString);
 					logger.debug("Comment    : '{}'", comment);
 				}
 
-				long addressValue = getValueFromAddress(address);
-
-				if (instructionString != null)
-				{
-					instr = parseInstruction(instructionString, addressValue, comment, annotation, labels);
-					labels.newInstruction(instr);
-				}
+				instr = parseInstruction(instructionString, addressValue, comment, annotation, labels);
+				labels.newInstruction(instr);
 			}
 		}
+
 		return instr;
 	}
 
+	private static int hexDigitValue(char c)
+	{
+		int result = -1;
+
+		if (c >= '0' && c <= '9')
+		{
+			result = c - '0';
+		}
+		else if (c >= 'a' && c <= 'f')
+		{
+			result = c - 'a' + 10;
+		}
+
+		return result;
+	}
+
+	// the characters matched by \s in a regular expression
+	private static boolean isWhitespace(char c)
+	{
+		return c == C_SPACE || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+	}
+
+	private static boolean isInstructionChar(char c)
+	{
+		boolean result;
+
+		if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))
+		{
+			result = true;
+		}
+		else
+		{
+			switch (c)
+			{
+			case ':':
+			case '_':
+			case '(':
+			case ')':
+			case '[':
+			case ']':
+			case '+':
+			case '*':
+			case '$':
+			case ',':
+			case '-':
+			case '%':
+				result = true;
+				break;
+			default:
+				result = isWhitespace(c);
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	private static String replaceApos(String line)
+	{
+		return (line.indexOf(C_AMPERSAND) == -1) ? line : line.replace(S_ENTITY_APOS, S_QUOTE);
+	}
+
+	public static String stripLeadingSpaces(String line)
+	{
+		int start = 0;
+
+		while (start < line.length() && line.charAt(start) == C_SPACE)
+		{
+			start++;
+		}
+
+		return (start == 0) ? line : line.substring(start);
+	}
+
 	public static AssemblyInstruction parseInstruction(String input, long address, String comment, String annotation,
 			AssemblyLabels labels)
 	{
-		input = input.replaceAll("\\s+", S_SPACE).trim();
+		int start = 0;
+		int end = input.length();
 
-		int length = input.length();
+		while (start < end && input.charAt(start) <= C_SPACE)
+		{
+			start++;
+		}
+
+		while (end > start && input.charAt(end - 1) <= C_SPACE)
+		{
+			end--;
+		}
 
 		boolean inBrackets = false;
 
@@ -255,10 +376,21 @@ public final class AssemblyUtil
 
 		StringBuilder partBuilder = new StringBuilder();
 
-		for (int pos = 0; pos < length; pos++)
+		for (int pos = start; pos < end; pos++)
 		{
 			char c = input.charAt(pos);
 
+			// a run of whitespace counts as a single space
+			if (isWhitespace(c))
+			{
+				c = C_SPACE;
+
+				while (pos + 1 < end && isWhitespace(input.charAt(pos + 1)))
+				{
+					pos++;
+				}
+			}
+
 			if (c == C_OPEN_PARENTHESES || c == C_OPEN_SQUARE_BRACKET)
 			{
 				inBrackets = true;
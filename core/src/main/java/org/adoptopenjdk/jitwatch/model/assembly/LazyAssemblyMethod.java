@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model.assembly;
+
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.AssemblyCache;
+
+// An assembly method known only by the byte range it occupies in the log. Its
+// header and blocks are parsed through the AssemblyCache when first needed.
+public class LazyAssemblyMethod extends AssemblyMethod
+{
+	private final AssemblyCache cache;
+
+	private final long startOffset;
+
+	private final long endOffset;
+
+	public LazyAssemblyMethod(String assemblyMethodSignature, String nativeAddress, AssemblyCache cache, long startOffset,
+			long endOffset)
+	{
+		super(assemblyMethodSignature);
+
+		setNativeAddress(nativeAddress);
+
+		this.cache = cache;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
+	}
+
+	public long getStartOffset()
+	{
+		return startOffset;
+	}
+
+	public long getEndOffset()
+	{
+		return endOffset;
+	}
+
+	@Override
+	public String getHeader()
+	{
+		return cache.getAssembly(this).getHeader();
+	}
+
+	@Override
+	public List<AssemblyBlock> getBlocks()
+	{
+		return cache.getAssembly(this).getBlocks();
+	}
+}
\ No newline at end of file
@@ -74,6 +74,8 @@ public class BytecodeAnnotationBuilder extends AbstractCompilationVisitable
 
 	private IMetaMember member;
 
+	private BytecodeInstruction[] instructionsByOffset;
+
 	private IReadOnlyJITDataModel model;
 
 	private BytecodeAnnotations bcAnnotations = new BytecodeAnnotations();
@@ -111,6 +113,8 @@ public class BytecodeAnnotationBuilder extends AbstractCompilationVisitable
 
 			Compilation compilation = member.getSelectedCompilation();
 
+			instructionsByOffset = MemberBytecode.indexByOffset(member.getInstructions());
+
 			try
 			{
 				buildParseTagAnnotations(vmVersion, compilation);
@@ -689,17 +693,6 @@ public class BytecodeAnnotationBuilder extends AbstractCompilationVisitable
 
 	private BytecodeInstruction getInstructionAtIndex(int index)
 	{
-		BytecodeInstruction found = null;
-
-		for (BytecodeInstruction instruction : member.getInstructions())
-		{
-			if (instruction.getOffset() == index)
-			{
-				found = instruction;
-				break;
-			}
-		}
-
-		return found;
+		return MemberBytecode.getInstructionAtOffset(instructionsByOffset, index);
 	}
 }
\ No newline at end of file
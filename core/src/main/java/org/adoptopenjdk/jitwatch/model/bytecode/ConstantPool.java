@@ -1,11 +1,55 @@
 /*
- * Copyright (c) 2013-2015 Chris Newland.
+ * Copyright (c) 2013-2016 Chris Newland.
  * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
  * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
  */
 package org.adoptopenjdk.jitwatch.model.bytecode;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_HASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+
+// javap style text for each constant pool entry, null for the unused slots
 public class ConstantPool
 {
+	private final String[] tagNames;
+	private final String[] values;
+
+	public ConstantPool(String[] tagNames, String[] values)
+	{
+		this.tagNames = tagNames;
+		this.values = values;
+	}
+
+	public int size()
+	{
+		return values.length;
+	}
+
+	public String getTagName(int index)
+	{
+		return tagNames[index];
+	}
+
+	public String getValue(int index)
+	{
+		return values[index];
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (int i = 1; i < values.length; i++)
+		{
+			if (tagNames[i] != null)
+			{
+				builder.append(C_HASH).append(i).append(C_SPACE).append(tagNames[i]).append(C_SPACE).append(values[i])
+						.append(C_NEWLINE);
+			}
+		}
 
+		return builder.toString();
+	}
 }
\ No newline at end of file
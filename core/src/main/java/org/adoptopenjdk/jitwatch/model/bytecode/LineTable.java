@@ -9,6 +9,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_BYTECODE;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -18,8 +19,12 @@ import org.slf4j.LoggerFactory;
 
 public class LineTable
 {
+	// sorted by source line when the index is built
 	private List<LineTableEntry> lineTableEntries = new ArrayList<>();
 
+	// built on first lookup after an add
+	private volatile LineTableIndex index = null;
+
 	private static final Logger logger = LoggerFactory.getLogger(LineTable.class);
 
 	private MemberBytecode memberBytecode;
@@ -29,41 +34,112 @@ public class LineTable
 		this.memberBytecode = memberBytecode;
 	}
 
+	private static class LineTableIndex
+	{
+		// both ascending, entries with equal keys keep source line order
+		private final int[] sourceLines;
+		private final LineTableEntry[] entriesBySourceLine;
+
+		private final int[] bytecodeOffsets;
+		private final LineTableEntry[] entriesByBytecodeOffset;
+
+		LineTableIndex(List<LineTableEntry> sortedBySourceLine)
+		{
+			int size = sortedBySourceLine.size();
+
+			entriesBySourceLine = sortedBySourceLine.toArray(new LineTableEntry[size]);
+
+			entriesByBytecodeOffset = entriesBySourceLine.clone();
+
+			// stable so equal offsets stay in source line order
+			Arrays.sort(entriesByBytecodeOffset, new Comparator<LineTableEntry>()
+			{
+				@Override
+				public int compare(LineTableEntry o1, LineTableEntry o2)
+				{
+					return Integer.compare(o1.getBytecodeOffset(), o2.getBytecodeOffset());
+				}
+			});
+
+			sourceLines = new int[size];
+			bytecodeOffsets = new int[size];
+
+			for (int i = 0; i < size; i++)
+			{
+				sourceLines[i] = entriesBySourceLine[i].getSourceOffset();
+				bytecodeOffsets[i] = entriesByBytecodeOffset[i].getBytecodeOffset();
+			}
+		}
+	}
+
 	public MemberBytecode getMemberBytecode()
 	{
 		return memberBytecode;
 	}
 
-	public void add(LineTableEntry entry)
+	public synchronized void add(LineTableEntry entry)
 	{
 		lineTableEntries.add(entry);
-		sort();
+		index = null;
 	}
 
 	public void add(LineTable lineTable)
 	{
 		if (lineTable != null)
 		{
-			lineTableEntries.addAll(lineTable.lineTableEntries);
+			List<LineTableEntry> entries = lineTable.getEntries();
+
+			synchronized (this)
+			{
+				lineTableEntries.addAll(entries);
+				index = null;
+			}
+		}
+	}
+
+	private LineTableIndex getIndex()
+	{
+		LineTableIndex result = index;
+
+		if (result == null)
+		{
+			result = buildIndex();
+		}
+
+		return result;
+	}
+
+	private synchronized LineTableIndex buildIndex()
+	{
+		if (index == null)
+		{
 			sort();
+
+			index = new LineTableIndex(lineTableEntries);
 		}
+
+		return index;
 	}
 
 	public int getLastSourceLine()
 	{
-		return lineTableEntries.get(lineTableEntries.size() - 1).getSourceOffset();
+		LineTableIndex idx = getIndex();
+
+		return idx.sourceLines[idx.sourceLines.length - 1];
 	}
 
 	public boolean sourceLineInRange(int sourceLine)
 	{
 		boolean result = false;
 
-		if (lineTableEntries.size() > 0)
+		LineTableIndex idx = getIndex();
+
+		if (idx.sourceLines.length > 0)
 		{
-			int maxIndex = lineTableEntries.size() - 1;
+			int maxIndex = idx.sourceLines.length - 1;
 
-			int minSourceLine = lineTableEntries.get(0).getSourceOffset();
-			int maxSourceLine = lineTableEntries.get(maxIndex).getSourceOffset();
+			int minSourceLine = idx.sourceLines[0];
+			int maxSourceLine = idx.sourceLines[maxIndex];
 
 			result = (sourceLine >= minSourceLine) && (sourceLine <= maxSourceLine);
 
@@ -92,13 +168,13 @@ public class LineTable
 	{
 		LineTableEntry result = null;
 
-		for (LineTableEntry entry : lineTableEntries)
+		LineTableIndex idx = getIndex();
+
+		int pos = lowerBound(idx.sourceLines, sourceLine);
+
+		if (pos < idx.sourceLines.length && idx.sourceLines[pos] == sourceLine)
 		{
-			if (entry.getSourceOffset() == sourceLine)
-			{
-				result = entry;
-				break;
-			}
+			result = idx.entriesBySourceLine[pos];
 		}
 
 		return result;
@@ -106,41 +182,82 @@ public class LineTable
 
 	public List<LineTableEntry> getEntries()
 	{
-		return Collections.unmodifiableList(lineTableEntries);
+		LineTableIndex idx = getIndex();
+
+		return Collections.unmodifiableList(Arrays.asList(idx.entriesBySourceLine));
 	}
 
+	// the source line of the entry with the closest BCI at or before searchBCI
 	public int findSourceLineForBytecodeOffset(int searchBCI)
 	{
 		int sourceAtClosestBCI = -1;
-		int distanceToClosestBCI = Integer.MAX_VALUE;
 
-		for (LineTableEntry entry : lineTableEntries)
+		LineTableIndex idx = getIndex();
+
+		// first entry after searchBCI
+		int pos = upperBound(idx.bytecodeOffsets, searchBCI);
+
+		if (pos > 0)
 		{
-			int entryBCI = entry.getBytecodeOffset();
+			int closestBCI = idx.bytecodeOffsets[pos - 1];
+
+			pos = lowerBound(idx.bytecodeOffsets, closestBCI);
 
-			int distance = searchBCI - entryBCI;
+			sourceAtClosestBCI = idx.entriesByBytecodeOffset[pos].getSourceOffset();
+		}
 
-			if (distance >= 0)
+		return sourceAtClosestBCI;
+	}
+
+	// index of the first value not less than key
+	private static int lowerBound(int[] values, int key)
+	{
+		int low = 0;
+		int high = values.length;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (values[mid] < key)
 			{
-				if (distance == 0)
-				{
-					sourceAtClosestBCI = entry.getSourceOffset();
-					break;
-				}
-				else if (distance < distanceToClosestBCI)
-				{
-					distanceToClosestBCI = distance;
-					sourceAtClosestBCI = entry.getSourceOffset();
-				}
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
 			}
 		}
 
-		return sourceAtClosestBCI;
+		return low;
+	}
+
+	// index of the first value greater than key
+	private static int upperBound(int[] values, int key)
+	{
+		int low = 0;
+		int high = values.length;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (values[mid] <= key)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
 	}
 
 	public int size()
 	{
-		return lineTableEntries.size();
+		return getIndex().sourceLines.length;
 	}
 
 	@Override
@@ -148,7 +265,7 @@ public class LineTable
 	{
 		StringBuilder builder = new StringBuilder();
 
-		for (LineTableEntry entry : lineTableEntries)
+		for (LineTableEntry entry : getIndex().entriesBySourceLine)
 		{
 			builder.append(entry).append(C_NEWLINE);
 		}
@@ -161,7 +278,7 @@ public class LineTable
 	{
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((lineTableEntries == null) ? 0 : lineTableEntries.hashCode());
+		result = prime * result + getEntries().hashCode();
 		return result;
 	}
 
@@ -185,14 +302,7 @@ public class LineTable
 
 		LineTable other = (LineTable) obj;
 
-		if (lineTableEntries == null)
-		{
-			if (other.lineTableEntries != null)
-			{
-				return false;
-			}
-		}
-		else if (!lineTableEntries.equals(other.lineTableEntries))
+		if (!getEntries().equals(other.getEntries()))
 		{
 			return false;
 		}
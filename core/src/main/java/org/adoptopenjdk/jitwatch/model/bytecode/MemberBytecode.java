@@ -19,6 +19,9 @@ public class MemberBytecode
 {
 	private List<BytecodeInstruction> bytecodeInstructions = new ArrayList<>();
 
+	// built on first lookup, indexed by BCI
+	private volatile BytecodeInstruction[] instructionsByOffset = null;
+
 	private LineTable lineTable;
 	
 	private ExceptionTable exceptionTable;
@@ -57,6 +60,7 @@ public class MemberBytecode
 	public void setInstructions(List<BytecodeInstruction> bytecodeInstructions)
 	{
 		this.bytecodeInstructions = bytecodeInstructions;
+		this.instructionsByOffset = null;
 	}
 
 	public List<BytecodeInstruction> getInstructions()
@@ -71,26 +75,60 @@ public class MemberBytecode
 			logger.debug("getBytecodeAtOffset({})", bci);
 		}
 
-		BytecodeInstruction result = null;
+		BytecodeInstruction[] index = instructionsByOffset;
 
-		for (BytecodeInstruction instruction : bytecodeInstructions)
+		if (index == null)
 		{
-			if (DEBUG_LOGGING_BYTECODE)
-			{
-				logger.debug("checking: {}", instruction);
-			}
+			index = indexByOffset(bytecodeInstructions);
 
-			if (instruction.getOffset() == bci)
-			{
-				result = instruction;
-				break;
-			}
+			instructionsByOffset = index;
 		}
 
+		BytecodeInstruction result = getInstructionAtOffset(index, bci);
+
 		if (DEBUG_LOGGING_BYTECODE)
 		{
 			logger.debug("found: {}", result);
 		}
+
+		return result;
+	}
+
+	// a method body is at most 64KB so a dense array is small enough
+	static BytecodeInstruction[] indexByOffset(List<BytecodeInstruction> instructions)
+	{
+		int maxOffset = -1;
+
+		for (BytecodeInstruction instruction : instructions)
+		{
+			maxOffset = Math.max(maxOffset, instruction.getOffset());
+		}
+
+		BytecodeInstruction[] result = new BytecodeInstruction[maxOffset + 1];
+
+		for (BytecodeInstruction instruction : instructions)
+		{
+			int offset = instruction.getOffset();
+
+			// keep the first instruction at an offset as the linear scan did
+			if (offset >= 0 && result[offset] == null)
+			{
+				result[offset] = instruction;
+			}
+		}
+
+		return result;
+	}
+
+	static BytecodeInstruction getInstructionAtOffset(BytecodeInstruction[] index, int bci)
+	{
+		BytecodeInstruction result = null;
+
+		if (bci >= 0 && bci < index.length)
+		{
+			result = index[bci];
+		}
+
 		return result;
 	}
 
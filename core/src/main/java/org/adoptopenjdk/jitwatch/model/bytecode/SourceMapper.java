@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,9 +22,10 @@ public class SourceMapper
 {
 	private static final Logger logger = LoggerFactory.getLogger(SourceMapper.class);
 
+	// classes loaded through the BytecodeCache are removed again on eviction
 	private static Map<String, List<ClassBC>> sourceToClassMap = new HashMap<>();
 
-	public static void clear()
+	public static synchronized void clear()
 	{
 		sourceToClassMap.clear();
 	}
@@ -44,23 +46,53 @@ public class SourceMapper
 		return builder.toString();
 	}
 
-	public static void addSourceClassMapping(ClassBC classBytecode)
-	{	
-		String fqName = getFullyQualifiedSourceName(classBytecode);
-	
-		List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
-
-		if (classBytecodeList == null)
+	public static synchronized void addSourceClassMapping(ClassBC classBytecode)
+	{
+		if (classBytecode.getSourceFile() != null)
 		{
-			classBytecodeList = new ArrayList<>();
+			String fqName = getFullyQualifiedSourceName(classBytecode);
+
+			List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
+
+			if (classBytecodeList == null)
+			{
+				classBytecodeList = new ArrayList<>();
 
-			sourceToClassMap.put(fqName, classBytecodeList);
+				sourceToClassMap.put(fqName, classBytecodeList);
+			}
+
+			classBytecodeList.add(classBytecode);
 		}
+	}
+
+	public static synchronized void removeSourceClassMapping(ClassBC classBytecode)
+	{
+		if (classBytecode.getSourceFile() != null)
+		{
+			String fqName = getFullyQualifiedSourceName(classBytecode);
 
-		classBytecodeList.add(classBytecode);
+			List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
+
+			if (classBytecodeList != null)
+			{
+				for (int i = 0; i < classBytecodeList.size(); i++)
+				{
+					if (classBytecodeList.get(i) == classBytecode)
+					{
+						classBytecodeList.remove(i);
+						break;
+					}
+				}
+
+				if (classBytecodeList.isEmpty())
+				{
+					sourceToClassMap.remove(fqName);
+				}
+			}
+		}
 	}
 
-	public static List<ClassBC> getClassBytecodeList(ClassBC classBytecode)
+	public static synchronized List<ClassBC> getClassBytecodeList(ClassBC classBytecode)
 	{
 		String fqName = getFullyQualifiedSourceName(classBytecode);
 
@@ -70,23 +102,57 @@ public class SourceMapper
 		{
 			result = new ArrayList<>();
 		}
+		else
+		{
+			result = new ArrayList<>(result);
+		}
 
 		return Collections.unmodifiableList(result);
 	}
 
+	// inner classes are fetched into the BytecodeCache the first time a source
+	// line outside the already loaded classes of the source file is requested
+	public static MemberBytecode getMemberBytecodeForSourceLine(ClassBC classBytecode, int sourceLine,
+			List<String> classLocations)
+	{
+		MemberBytecode result = getMemberBytecodeForSourceLine(classBytecode, sourceLine);
+
+		if (result == null)
+		{
+			BytecodeCache cache = BytecodeCache.getSharedCache();
+
+			boolean loadedInnerClass = false;
+
+			for (String innerClassName : classBytecode.getInnerClassNames())
+			{
+				if (cache.getIfPresent(classLocations, innerClassName) == null
+						&& cache.getClassBytecode(classLocations, innerClassName, null) != null)
+				{
+					loadedInnerClass = true;
+				}
+			}
+
+			if (loadedInnerClass)
+			{
+				result = getMemberBytecodeForSourceLine(classBytecode, sourceLine);
+			}
+		}
+
+		return result;
+	}
+
 	public static MemberBytecode getMemberBytecodeForSourceLine(ClassBC classBytecode, int sourceLine)
 	{		
 		MemberBytecode result = null;
 
-		String fqName = getFullyQualifiedSourceName(classBytecode);
-
-		List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
+		List<ClassBC> classBytecodeList = getClassBytecodeList(classBytecode);
 
-		if (classBytecodeList != null)
+		if (!classBytecodeList.isEmpty())
 		{
 			if (DEBUG_LOGGING_TRIVIEW)
 			{
-				logger.debug("Found {} ClassBC for source {}", classBytecodeList.size(), fqName);
+				logger.debug("Found {} ClassBC for source {}", classBytecodeList.size(),
+						getFullyQualifiedSourceName(classBytecode));
 			}
 
 			outer: for (ClassBC classBC : classBytecodeList)
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.process.compiler;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COLON;
+
+import java.io.File;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+
+public class CompilerDiagnostic
+{
+	private final Diagnostic.Kind kind;
+
+	private final File sourceFile;
+
+	private final long line;
+
+	private final long column;
+
+	private final String message;
+
+	// sourceFile is null and line and column are Diagnostic.NOPOS for
+	// diagnostics not tied to a source position
+	public CompilerDiagnostic(Diagnostic.Kind kind, File sourceFile, long line, long column, String message)
+	{
+		this.kind = kind;
+		this.sourceFile = sourceFile;
+		this.line = line;
+		this.column = column;
+		this.message = message;
+	}
+
+	public Diagnostic.Kind getKind()
+	{
+		return kind;
+	}
+
+	public boolean isError()
+	{
+		return kind == Diagnostic.Kind.ERROR;
+	}
+
+	public File getSourceFile()
+	{
+		return sourceFile;
+	}
+
+	public long getLine()
+	{
+		return line;
+	}
+
+	public long getColumn()
+	{
+		return column;
+	}
+
+	public String getMessage()
+	{
+		return message;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		if (sourceFile != null)
+		{
+			builder.append(sourceFile.getPath()).append(S_COLON);
+
+			if (line != Diagnostic.NOPOS)
+			{
+				builder.append(line).append(S_COLON);
+			}
+
+			builder.append(' ');
+		}
+
+		builder.append(kind.name().toLowerCase(Locale.ENGLISH)).append(S_COLON).append(' ').append(message);
+
+		return builder.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.process.compiler;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT_CLASS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.adoptopenjdk.jitwatch.logger.ILogListener;
+
+// Compiles Java with the javac of the running JDK instead of launching a javac
+// process. Class files are collected in memory and only written to the output
+// directory if the whole compilation succeeds.
+public class CompilerJavaInProcess implements IDiagnosticCompiler
+{
+	private static final Object COMPILER_LOCK = new Object();
+
+	// kept warm across sandbox runs, the file manager caches the opened
+	// platform and classpath archives
+	private static JavaCompiler systemCompiler;
+
+	private static StandardJavaFileManager standardFileManager;
+
+	private List<CompilerDiagnostic> diagnostics = new ArrayList<>();
+
+	private String outputStream;
+
+	private String errorStream;
+
+	public static boolean isAvailable()
+	{
+		return ToolProvider.getSystemJavaCompiler() != null;
+	}
+
+	// in-process compilation is only equivalent to running the configured
+	// javac when the configured Java home is this JDK
+	public static boolean isRunningJDK(String languageHomeDir)
+	{
+		boolean result = false;
+
+		if (languageHomeDir != null && !languageHomeDir.isEmpty())
+		{
+			Path languageHome = Paths.get(languageHomeDir).toAbsolutePath().normalize();
+
+			Path javaHome = Paths.get(System.getProperty("java.home")).toAbsolutePath().normalize();
+
+			result = languageHome.equals(javaHome) || languageHome.equals(javaHome.getParent());
+		}
+
+		return result;
+	}
+
+	public CompilerJavaInProcess() throws FileNotFoundException
+	{
+		synchronized (COMPILER_LOCK)
+		{
+			if (systemCompiler == null)
+			{
+				systemCompiler = ToolProvider.getSystemJavaCompiler();
+
+				if (systemCompiler == null)
+				{
+					throw new FileNotFoundException("No system Java compiler available in this runtime");
+				}
+
+				standardFileManager = systemCompiler.getStandardFileManager(null, null, null);
+			}
+		}
+	}
+
+	@Override
+	public boolean compile(List<File> sourceFiles, List<String> classpathEntries, File outputDir, ILogListener logListener)
+			throws IOException
+	{
+		List<String> options = new ArrayList<>();
+
+		options.add("-g");
+
+		// set on the shared file manager rather than passed as -cp, which
+		// would leave it in place for the next run
+		List<File> classpath = new ArrayList<>();
+
+		for (String entry : classpathEntries)
+		{
+			classpath.add(new File(entry));
+		}
+
+		if (logListener != null)
+		{
+			logListener.handleLogEntry("Compiling in-process with options: " + options + " classpath: "
+					+ makeClassPath(classpathEntries));
+		}
+
+		DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+
+		StringWriter compilerOutput = new StringWriter();
+
+		boolean success;
+
+		InMemoryFileManager fileManager;
+
+		synchronized (COMPILER_LOCK)
+		{
+			standardFileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+
+			fileManager = new InMemoryFileManager(standardFileManager);
+
+			Iterable<? extends JavaFileObject> compilationUnits = standardFileManager.getJavaFileObjectsFromFiles(sourceFiles);
+
+			JavaCompiler.CompilationTask task = systemCompiler.getTask(compilerOutput, fileManager, collector, options, null,
+					compilationUnits);
+
+			success = task.call();
+		}
+
+		diagnostics = convertDiagnostics(collector.getDiagnostics());
+
+		outputStream = compilerOutput.toString();
+
+		StringBuilder errorBuilder = new StringBuilder();
+
+		for (CompilerDiagnostic diagnostic : diagnostics)
+		{
+			errorBuilder.append(diagnostic.toString()).append(S_NEWLINE);
+		}
+
+		errorStream = errorBuilder.toString();
+
+		if (success)
+		{
+			writeClassFiles(fileManager.getClassFiles(), outputDir);
+		}
+
+		return success;
+	}
+
+	private List<CompilerDiagnostic> convertDiagnostics(List<Diagnostic<? extends JavaFileObject>> javacDiagnostics)
+	{
+		List<CompilerDiagnostic> result = new ArrayList<>();
+
+		for (Diagnostic<? extends JavaFileObject> diagnostic : javacDiagnostics)
+		{
+			File sourceFile = null;
+
+			JavaFileObject source = diagnostic.getSource();
+
+			if (source != null)
+			{
+				URI uri = source.toUri();
+
+				sourceFile = "file".equals(uri.getScheme()) ? new File(uri) : new File(source.getName());
+			}
+
+			result.add(new CompilerDiagnostic(diagnostic.getKind(), sourceFile, diagnostic.getLineNumber(), diagnostic
+					.getColumnNumber(), diagnostic.getMessage(null)));
+		}
+
+		return result;
+	}
+
+	private void writeClassFiles(Map<String, InMemoryClassFile> classFiles, File outputDir) throws IOException
+	{
+		for (Map.Entry<String, InMemoryClassFile> entry : classFiles.entrySet())
+		{
+			Path classFile = Paths.get(outputDir.getAbsolutePath(), entry.getKey().replace(C_DOT, C_SLASH) + S_DOT_CLASS);
+
+			Files.createDirectories(classFile.getParent());
+
+			Files.write(classFile, entry.getValue().getBytes());
+		}
+	}
+
+	private String makeClassPath(List<String> classpathEntries)
+	{
+		StringBuilder cpBuilder = new StringBuilder();
+
+		for (String cp : classpathEntries)
+		{
+			cpBuilder.append(cp).append(File.pathSeparatorChar);
+		}
+
+		if (cpBuilder.length() > 0)
+		{
+			cpBuilder.deleteCharAt(cpBuilder.length() - 1);
+		}
+
+		return cpBuilder.toString();
+	}
+
+	@Override
+	public List<CompilerDiagnostic> getDiagnostics()
+	{
+		return Collections.unmodifiableList(diagnostics);
+	}
+
+	@Override
+	public String getOutputStream()
+	{
+		return outputStream;
+	}
+
+	@Override
+	public String getErrorStream()
+	{
+		return errorStream;
+	}
+
+	private static class InMemoryClassFile extends SimpleJavaFileObject
+	{
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		InMemoryClassFile(String className)
+		{
+			super(URI.create("mem:///" + className.replace(C_DOT, C_SLASH) + S_DOT_CLASS), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream()
+		{
+			return bytes;
+		}
+
+		byte[] getBytes()
+		{
+			return bytes.toByteArray();
+		}
+	}
+
+	private static class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager>
+	{
+		private final Map<String, InMemoryClassFile> classFiles = new LinkedHashMap<>();
+
+		InMemoryFileManager(StandardJavaFileManager fileManager)
+		{
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+				FileObject sibling) throws IOException
+		{
+			JavaFileObject result;
+
+			if (kind == JavaFileObject.Kind.CLASS)
+			{
+				InMemoryClassFile classFile = new InMemoryClassFile(className);
+
+				classFiles.put(className, classFile);
+
+				result = classFile;
+			}
+			else
+			{
+				result = super.getJavaFileForOutput(location, className, kind, sibling);
+			}
+
+			return result;
+		}
+
+		// the shared file manager stays open for the next compilation
+		@Override
+		public void close() throws IOException
+		{
+			flush();
+		}
+
+		Map<String, InMemoryClassFile> getClassFiles()
+		{
+			return classFiles;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.process.compiler;
+
+import java.util.List;
+
+public interface IDiagnosticCompiler extends ICompiler
+{
+	// the diagnostics reported by the last call to compile()
+	List<CompilerDiagnostic> getDiagnostics();
+}
\ No newline at end of file
@@ -12,10 +12,11 @@ import java.util.List;
 
 import org.adoptopenjdk.jitwatch.compilation.AbstractCompilationVisitable;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
-import org.adoptopenjdk.jitwatch.treevisitor.ITreeVisitable;
+import org.adoptopenjdk.jitwatch.treevisitor.IParallelTreeVisitable;
 import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
 
-public abstract class AbstractSuggestionVisitable extends AbstractCompilationVisitable implements ITreeVisitable
+public abstract class AbstractSuggestionVisitable extends AbstractCompilationVisitable implements
+		IParallelTreeVisitable<AbstractSuggestionVisitable>
 {
     protected IReadOnlyJITDataModel model;
     protected List<Suggestion> suggestionList;
@@ -28,7 +29,7 @@ public abstract class AbstractSuggestionVisitable extends AbstractCompilationVis
 
 	public List<Suggestion> getSuggestionList()
 	{
-		TreeVisitor.walkTree(model, this);
+		TreeVisitor.walkTreeParallel(model, this);
 		
 		findNonMemberSuggestions();
 
@@ -51,4 +52,16 @@ public abstract class AbstractSuggestionVisitable extends AbstractCompilationVis
 	{
 		suggestionList.clear();
 	}
+
+	@Override
+	public void merge(AbstractSuggestionVisitable worker)
+	{
+		for (Suggestion suggestion : worker.suggestionList)
+		{
+			if (!suggestionList.contains(suggestion))
+			{
+				suggestionList.add(suggestion);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -197,6 +197,12 @@ public class AttributeSuggestionWalker extends AbstractSuggestionVisitable
 		ignoreTags.add(TAG_ASSERT_NULL);
 	}
 
+	@Override
+	public AbstractSuggestionVisitable createWorker()
+	{
+		return new AttributeSuggestionWalker(model);
+	}
+
 	protected void findNonMemberSuggestions()
 	{
 		checkIfCodeCacheFull();
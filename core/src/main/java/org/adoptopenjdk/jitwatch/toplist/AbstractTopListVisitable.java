@@ -9,17 +9,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.compilation.AbstractCompilationVisitable;
 import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.treevisitor.IParallelTreeVisitable;
 import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class AbstractTopListVisitable extends AbstractCompilationVisitable implements ITopListVisitable
+public abstract class AbstractTopListVisitable extends AbstractCompilationVisitable implements ITopListVisitable,
+		IParallelTreeVisitable<AbstractTopListVisitable>
 {
     protected IReadOnlyJITDataModel model;
     protected List<ITopListScore> topList;
@@ -36,6 +39,31 @@ public abstract class AbstractTopListVisitable extends AbstractCompilationVisita
 	@Override
 	public void reset()
 	{
+		topList = new ArrayList<>();
+	}
+
+	// subclasses that aggregate in postProcess() also merge their own state
+	@Override
+	public void merge(AbstractTopListVisitable worker)
+	{
+		topList.addAll(worker.topList);
+	}
+
+	protected static <K> void mergeCounts(Map<K, Integer> counts, Map<K, Integer> workerCounts)
+	{
+		for (Map.Entry<K, Integer> entry : workerCounts.entrySet())
+		{
+			Integer count = counts.get(entry.getKey());
+
+			if (count == null)
+			{
+				counts.put(entry.getKey(), entry.getValue());
+			}
+			else
+			{
+				counts.put(entry.getKey(), count + entry.getValue());
+			}
+		}
 	}
 
 	//override if necessary
@@ -53,9 +81,7 @@ public abstract class AbstractTopListVisitable extends AbstractCompilationVisita
 	@Override
 	public List<ITopListScore> buildTopList()
 	{
-		topList = new ArrayList<>();
-
-		TreeVisitor.walkTree(model, this);
+		TreeVisitor.walkTreeParallel(model, this);
 
 		postProcess();
 
@@ -16,6 +16,12 @@ public class CompileTimeTopListVisitable extends AbstractTopListVisitable
 		super(model, sortHighToLow);
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new CompileTimeTopListVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember mm)
 	{
@@ -18,6 +18,12 @@ public class CompiledAttributeTopListVisitable extends AbstractTopListVisitable
 		this.attr = attr;
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new CompiledAttributeTopListVisitable(model, attr, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember mm)
 	{
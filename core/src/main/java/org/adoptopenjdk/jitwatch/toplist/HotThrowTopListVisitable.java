@@ -24,6 +24,12 @@ public class HotThrowTopListVisitable extends AbstractTopListVisitable
 		hotThrowMap = new HashMap<>();
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new HotThrowTopListVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{
@@ -58,4 +64,12 @@ public class HotThrowTopListVisitable extends AbstractTopListVisitable
 			topList.add(new StringTopListScore(entry.getKey(), entry.getValue().longValue()));
 		}
 	}
+
+	@Override
+	public void merge(AbstractTopListVisitable worker)
+	{
+		super.merge(worker);
+
+		mergeCounts(hotThrowMap, ((HotThrowTopListVisitable) worker).hotThrowMap);
+	}
 }
\ No newline at end of file
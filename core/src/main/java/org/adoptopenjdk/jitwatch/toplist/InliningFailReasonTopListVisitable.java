@@ -64,6 +64,12 @@ public class InliningFailReasonTopListVisitable extends AbstractTopListVisitable
 		ignoreTags.add(TAG_DEPENDENCY);	
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new InliningFailReasonTopListVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{		
@@ -148,6 +154,14 @@ public class InliningFailReasonTopListVisitable extends AbstractTopListVisitable
 		}
 	}
 
+	@Override
+	public void merge(AbstractTopListVisitable worker)
+	{
+		super.merge(worker);
+
+		mergeCounts(reasonCountMap, ((InliningFailReasonTopListVisitable) worker).reasonCountMap);
+	}
+
 	@Override
 	public void visitTag(Tag parseTag, IParseDictionary parseDictionary) throws LogParseException
 	{
@@ -22,6 +22,12 @@ public class MostUsedIntrinsicsTopListVisitable extends AbstractTopListVisitable
 		intrinsicCountMap = new HashMap<>();
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new MostUsedIntrinsicsTopListVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{
@@ -55,4 +61,12 @@ public class MostUsedIntrinsicsTopListVisitable extends AbstractTopListVisitable
 			topList.add(new StringTopListScore(entry.getKey(), entry.getValue().longValue()));
 		}
 	}
+
+	@Override
+	public void merge(AbstractTopListVisitable worker)
+	{
+		super.merge(worker);
+
+		mergeCounts(intrinsicCountMap, ((MostUsedIntrinsicsTopListVisitable) worker).intrinsicCountMap);
+	}
 }
\ No newline at end of file
@@ -47,6 +47,12 @@ public class NativeMethodSizeTopListVisitable extends AbstractTopListVisitable
 		ignoreTags.add(TAG_DEPENDENCY);	
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new NativeMethodSizeTopListVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{		
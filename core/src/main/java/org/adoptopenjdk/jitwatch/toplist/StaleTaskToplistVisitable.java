@@ -24,6 +24,12 @@ public class StaleTaskToplistVisitable extends AbstractTopListVisitable
 		staleCompilationCountMap = new HashMap<>();
 	}
 
+	@Override
+	public AbstractTopListVisitable createWorker()
+	{
+		return new StaleTaskToplistVisitable(model, sortHighToLow);
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{
@@ -58,4 +64,12 @@ public class StaleTaskToplistVisitable extends AbstractTopListVisitable
 			topList.add(new MemberScore(entry.getKey(), entry.getValue().longValue()));
 		}
 	}
+
+	@Override
+	public void merge(AbstractTopListVisitable worker)
+	{
+		super.merge(worker);
+
+		mergeCounts(staleCompilationCountMap, ((StaleTaskToplistVisitable) worker).staleCompilationCountMap);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.treevisitor;
+
+// A visitable that can be split across threads. Each worker visits part of
+// the tree and the workers are merged back in tree order.
+public interface IParallelTreeVisitable<T extends IParallelTreeVisitable<T>> extends ITreeVisitable
+{
+	// a visitable with the same settings as this one and its own results
+	T createWorker();
+
+	// adds the results of a worker that visited members after this one
+	void merge(T worker);
+}
\ No newline at end of file
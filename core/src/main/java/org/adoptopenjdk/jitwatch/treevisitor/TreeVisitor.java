@@ -5,15 +5,20 @@
  */
 package org.adoptopenjdk.jitwatch.treevisitor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RecursiveTask;
 
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.MetaPackage;
+import org.adoptopenjdk.jitwatch.util.ParallelUtil;
 
 public final class TreeVisitor
 {
+	public static final int DEFAULT_CLASSES_PER_TASK = 64;
+
 	private TreeVisitor()
 	{
 	}
@@ -30,6 +35,36 @@ public final class TreeVisitor
 		}
 	}
 
+	public static <T extends IParallelTreeVisitable<T>> void walkTreeParallel(IReadOnlyJITDataModel model, T visitable)
+	{
+		walkTreeParallel(model, visitable, DEFAULT_CLASSES_PER_TASK);
+	}
+
+	// Visits the classes in the same order as walkTree() but splits them
+	// into ranges of classesPerTask that are visited by workers on the
+	// shared ForkJoinPool. Workers are merged left to right so the results
+	// are the same as for a sequential walk.
+	public static <T extends IParallelTreeVisitable<T>> void walkTreeParallel(IReadOnlyJITDataModel model, T visitable,
+			int classesPerTask)
+	{
+		visitable.reset();
+
+		List<MetaClass> classes = new ArrayList<>();
+
+		List<MetaPackage> roots = model.getPackageManager().getRootPackages();
+
+		for (MetaPackage mp : roots)
+		{
+			collectClasses(mp, classes);
+		}
+
+		WalkTask<T> walkTask = new WalkTask<>(visitable, classes, 0, classes.size(), Math.max(1, classesPerTask));
+
+		T result = ParallelUtil.getSharedPool().invoke(walkTask);
+
+		visitable.merge(result);
+	}
+
 	private static void walkPackage(MetaPackage mp, ITreeVisitable visitable)
 	{
 		List<MetaPackage> childPackages = mp.getChildPackages();
@@ -43,10 +78,77 @@ public final class TreeVisitor
 
 		for (MetaClass mc : packageClasses)
 		{
-			for (IMetaMember mm : mc.getMetaMembers())
+			walkClass(mc, visitable);
+		}
+	}
+
+	private static void collectClasses(MetaPackage mp, List<MetaClass> classes)
+	{
+		for (MetaPackage childPackage : mp.getChildPackages())
+		{
+			collectClasses(childPackage, classes);
+		}
+
+		classes.addAll(mp.getPackageClasses());
+	}
+
+	private static void walkClass(MetaClass mc, ITreeVisitable visitable)
+	{
+		for (IMetaMember mm : mc.getMetaMembers())
+		{
+			visitable.visit(mm);
+		}
+	}
+
+	private static class WalkTask<T extends IParallelTreeVisitable<T>> extends RecursiveTask<T>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final T prototype;
+		private final List<MetaClass> classes;
+		private final int from;
+		private final int to;
+		private final int classesPerTask;
+
+		WalkTask(T prototype, List<MetaClass> classes, int from, int to, int classesPerTask)
+		{
+			this.prototype = prototype;
+			this.classes = classes;
+			this.from = from;
+			this.to = to;
+			this.classesPerTask = classesPerTask;
+		}
+
+		@Override
+		protected T compute()
+		{
+			T result;
+
+			if (to - from <= classesPerTask)
+			{
+				result = prototype.createWorker();
+
+				result.reset();
+
+				for (int i = from; i < to; i++)
+				{
+					walkClass(classes.get(i), result);
+				}
+			}
+			else
 			{
-				visitable.visit(mm);
+				int mid = (from + to) >>> 1;
+
+				WalkTask<T> right = new WalkTask<>(prototype, classes, mid, to, classesPerTask);
+
+				right.fork();
+
+				result = new WalkTask<>(prototype, classes, from, mid, classesPerTask).compute();
+
+				result.merge(right.join());
 			}
+
+			return result;
 		}
 	}
 }
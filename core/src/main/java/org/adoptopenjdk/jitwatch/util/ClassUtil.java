@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,6 +56,30 @@ public final class ClassUtil
 		return Class.forName(fqClassName, false, classLoader);
 	}
 
+	// Reads the classfile bytes as a resource so the class is never defined.
+	// Covers the configured and parsed class locations as well as the JDK
+	// classes (rt.jar or the jrt image) through the parent loader.
+	public static byte[] getClassBytes(String fqClassName) throws IOException
+	{
+		if (DEBUG_LOGGING_CLASSPATH)
+		{
+			logger.debug("getClassBytes '{}'", fqClassName);
+		}
+
+		String resourceName = fqClassName.replace(C_DOT, C_SLASH) + S_DOT_CLASS;
+
+		byte[] result = null;
+
+		InputStream inputStream = disposableClassLoader.getResourceAsStream(resourceName);
+
+		if (inputStream != null)
+		{
+			result = FileUtil.readFully(inputStream);
+		}
+
+		return result;
+	}
+
 	public static List<String> getCurrentClasspathElements()
 	{
 		String classPath = System.getProperty("java.class.path");
@@ -10,9 +10,11 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BACKSLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -180,4 +182,28 @@ public final class FileUtil
 
 		return result;
 	}
+
+	// reads the stream to its end and closes it
+	public static byte[] readFully(InputStream inputStream) throws IOException
+	{
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		try
+		{
+			byte[] buffer = new byte[8192];
+
+			int read;
+
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				outputStream.write(buffer, 0, read);
+			}
+		}
+		finally
+		{
+			inputStream.close();
+		}
+
+		return outputStream.toByteArray();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+public final class ParallelUtil
+{
+	// shared by model-wide work such as parallel tag parsing and tree walks,
+	// its worker threads are daemons so it is never shut down
+	private static ForkJoinPool sharedPool;
+
+	private ParallelUtil()
+	{
+	}
+
+	public static synchronized ForkJoinPool getSharedPool()
+	{
+		if (sharedPool == null)
+		{
+			sharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+
+		return sharedPool;
+	}
+}
\ No newline at end of file
@@ -12,11 +12,13 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_RETURN;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP_COMPLETED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_PARENTHESES;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COLON;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COMMA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OBJECT_REF;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_PARENTHESES;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
@@ -66,9 +68,9 @@ import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.MemberResolutionCache;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
-import org.adoptopenjdk.jitwatch.model.PackageManager;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.slf4j.Logger;
@@ -283,9 +285,20 @@ public final class ParseUtil
 
 		if (logSignature != null)
 		{
-			MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature(logSignature);
+			MemberResolutionCache cache = model.getPackageManager().getMemberResolutionCache();
 
-			metaMember = model.findMetaMember(msp);
+			String key = MemberResolutionCache.makeKey(MemberResolutionCache.KEY_LOG_SIGNATURE, logSignature);
+
+			metaMember = cache.get(key);
+
+			if (metaMember == null && !cache.isCachedAsMissing(key))
+			{
+				MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature(logSignature);
+
+				metaMember = model.findMetaMember(msp);
+
+				cache.put(key, msp.getFullyQualifiedClassName(), metaMember);
+			}
 
 			if (metaMember == null)
 			{
@@ -319,11 +332,30 @@ public final class ParseUtil
 			logger.debug("findClassForLogCompilationParameter:{}", param);
 		}		
 		
+		if (isPrimitive(param))
+		{
+			return classForPrimitive(param);
+		}
+		else
+		{
+			return ClassUtil.loadClassWithoutInitialising(getClassNameForLogCompilationParameter(param));
+		}
+	}
+
+	/*
+	 * Converts a LogCompilation parameter to the Class.getName() format
+	 * without loading the class
+	 * 
+	 * int => int
+	 * java.lang.String[] => [Ljava.lang.String;
+	 */
+	public static String getClassNameForLogCompilationParameter(String param)
+	{
 		StringBuilder builder = new StringBuilder();
 
 		if (isPrimitive(param))
 		{
-			return classForPrimitive(param);
+			builder.append(param);
 		}
 		else
 		{
@@ -383,11 +415,118 @@ public final class ParseUtil
 					builder.append(C_SEMICOLON);
 				}
 			}
+		}
+
+		return builder.toString();
+	}
+
+	/*
+	 * Class.getName() format for each parameter of a method descriptor
+	 * 
+	 * (I[Ljava/lang/String;)V => [int, [Ljava.lang.String;]
+	 */
+	public static List<String> getParamClassNamesForDescriptor(String descriptor)
+	{
+		List<String> result = new ArrayList<>();
+
+		int pos = descriptor.indexOf(C_OPEN_PARENTHESES) + 1;
+		int end = descriptor.indexOf(C_CLOSE_PARENTHESES);
+
+		while (pos < end)
+		{
+			int typeEnd = getDescriptorTypeEnd(descriptor, pos);
+
+			result.add(getClassNameForDescriptorType(descriptor.substring(pos, typeEnd)));
+
+			pos = typeEnd;
+		}
 
-			return ClassUtil.loadClassWithoutInitialising(builder.toString());
+		return result;
+	}
+
+	public static String getReturnClassNameForDescriptor(String descriptor)
+	{
+		return getClassNameForDescriptorType(descriptor.substring(descriptor.indexOf(C_CLOSE_PARENTHESES) + 1));
+	}
+
+	/*
+	 * Method descriptor for Class.getName() format type names
+	 *
+	 * void, [int, [Ljava.lang.String;] => (I[Ljava/lang/String;)V
+	 */
+	public static String getDescriptorForClassNames(String returnClassName, List<String> paramClassNames)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append(C_OPEN_PARENTHESES);
+
+		for (String paramClassName : paramClassNames)
+		{
+			appendDescriptorType(builder, paramClassName);
+		}
+
+		builder.append(C_CLOSE_PARENTHESES);
+
+		appendDescriptorType(builder, returnClassName);
+
+		return builder.toString();
+	}
+
+	private static void appendDescriptorType(StringBuilder builder, String className)
+	{
+		if (className.charAt(0) == C_OPEN_SQUARE_BRACKET)
+		{
+			builder.append(className.replace(C_DOT, C_SLASH));
+		}
+		else if (isPrimitive(className))
+		{
+			builder.append(getClassTypeCharForPrimitiveTypeString(className));
+		}
+		else
+		{
+			builder.append(C_OBJECT_REF).append(className.replace(C_DOT, C_SLASH)).append(C_SEMICOLON);
 		}
 	}
 
+	private static int getDescriptorTypeEnd(String descriptor, int start)
+	{
+		int pos = start;
+
+		while (descriptor.charAt(pos) == C_OPEN_SQUARE_BRACKET)
+		{
+			pos++;
+		}
+
+		if (descriptor.charAt(pos) == C_OBJECT_REF)
+		{
+			pos = descriptor.indexOf(C_SEMICOLON, pos);
+		}
+
+		return pos + 1;
+	}
+
+	private static String getClassNameForDescriptorType(String type)
+	{
+		String result;
+
+		char first = type.charAt(0);
+
+		if (first == C_OPEN_SQUARE_BRACKET)
+		{
+			result = type.replace(C_SLASH, C_DOT);
+		}
+		else if (first == C_OBJECT_REF)
+		{
+			result = type.substring(1, type.length() - 1).replace(C_SLASH, C_DOT);
+		}
+		else
+		{
+			result = getPrimitiveClass(first).getName();
+		}
+
+		return result;
+	}
+
 	public static String stripGenerics(String param)
 	{
 		String result = param;
@@ -511,6 +650,13 @@ public final class ParseUtil
 		return result;
 	}
 
+	// members built from classfile bytes have no Class objects for their
+	// types so only an exact match on the type names is possible
+	public static boolean paramClassNamesMatch(List<String> memberParamClassNames, List<String> signatureParamClassNames)
+	{
+		return memberParamClassNames.equals(signatureParamClassNames);
+	}
+
 	public static boolean typeIsVarArgs(String type)
 	{
 		return type != null && type.endsWith(S_VARARGS_DOTS);
@@ -947,57 +1093,87 @@ public final class ParseUtil
 
 			List<String> argumentTypes = getMethodTagArguments(methodTag, parseDictionary);
 
-			PackageManager pm = model.getPackageManager();
+			// parse dictionary IDs are only unique within a task so the key
+			// is built from the resolved names
+			StringBuilder keyBuilder = new StringBuilder();
 
-			MetaClass metaClass = pm.getMetaClass(metaClassName);
+			keyBuilder.append(metaClassName).append(C_SPACE).append(methodName).append(C_SPACE).append(returnType);
 
-			if (metaClass == null)
+			for (String argumentType : argumentTypes)
 			{
-				if (DEBUG_LOGGING)
-				{
-					logger.debug("metaClass not found: {}. Attempting classload", metaClassName);
-				}
+				keyBuilder.append(C_SPACE).append(argumentType);
+			}
 
-				// Possible that TraceClassLoading did not log this class
-				// try to classload and add to model
+			MemberResolutionCache cache = model.getPackageManager().getMemberResolutionCache();
 
-				Class<?> clazz = null;
+			String key = MemberResolutionCache.makeKey(MemberResolutionCache.KEY_PARSE_DICTIONARY, keyBuilder.toString());
 
-				try
-				{
-					clazz = ClassUtil.loadClassWithoutInitialising(metaClassName);
+			result = cache.get(key);
 
-					if (clazz != null)
-					{
-						metaClass = model.buildAndGetMetaClass(clazz);
-					}
-				}
-				catch (ClassNotFoundException cnf)
-				{
-					if (!possibleLambdaMethod(metaClassName))
-					{
-						logger.error("ClassNotFoundException: '" + metaClassName + C_QUOTE);
-					}
-				}
-				catch (NoClassDefFoundError ncdf)
-				{
-					logger.error("NoClassDefFoundError: '" + metaClassName + C_SPACE + ncdf.getMessage() + C_QUOTE);
-				}
+			if (result == null && !cache.isCachedAsMissing(key))
+			{
+				result = resolveMember(model, metaClassName, methodName, returnType, argumentTypes);
+
+				cache.put(key, metaClassName, result);
+			}
+		}
+
+		return result;
+	}
+
+	private static IMetaMember resolveMember(IReadOnlyJITDataModel model, String metaClassName, String methodName,
+			String returnType, List<String> argumentTypes)
+	{
+		IMetaMember result = null;
+
+		MetaClass metaClass = model.getPackageManager().getMetaClass(metaClassName);
+
+		if (metaClass == null)
+		{
+			if (DEBUG_LOGGING)
+			{
+				logger.debug("metaClass not found: {}. Attempting classload", metaClassName);
 			}
 
-			if (metaClass != null)
+			// Possible that TraceClassLoading did not log this class
+			// try to classload and add to model
+
+			Class<?> clazz = null;
+
+			try
 			{
-				MemberSignatureParts msp = MemberSignatureParts.fromParts(metaClass.getFullyQualifiedName(), methodName, returnType,
-						argumentTypes);
+				clazz = ClassUtil.loadClassWithoutInitialising(metaClassName);
 
-				result = metaClass.getMemberForSignature(msp);
+				if (clazz != null)
+				{
+					metaClass = model.buildAndGetMetaClass(clazz);
+				}
+			}
+			catch (ClassNotFoundException cnf)
+			{
+				if (!possibleLambdaMethod(metaClassName))
+				{
+					logger.error("ClassNotFoundException: '" + metaClassName + C_QUOTE);
+				}
 			}
-			else if (!possibleLambdaMethod(metaClassName))
+			catch (NoClassDefFoundError ncdf)
 			{
-				logger.error("metaClass not found: {}", metaClassName);
+				logger.error("NoClassDefFoundError: '" + metaClassName + C_SPACE + ncdf.getMessage() + C_QUOTE);
 			}
 		}
 
+		if (metaClass != null)
+		{
+			MemberSignatureParts msp = MemberSignatureParts.fromParts(metaClass.getFullyQualifiedName(), methodName, returnType,
+					argumentTypes);
+
+			result = metaClass.getMemberForSignature(msp);
+		}
+		else if (!possibleLambdaMethod(metaClassName))
+		{
+			logger.error("metaClass not found: {}", metaClassName);
+		}
+
 		return result;
 	}
 
@@ -5,6 +5,7 @@
  */
 package org.adoptopenjdk.jitwatch.util;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_AMPERSAND;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOUBLE_QUOTE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_EQUALS;
@@ -85,7 +86,11 @@ public final class StringUtil
 	{
 		String result = null;
 
-		if (input != null)
+		if (input != null && input.indexOf(C_AMPERSAND) == -1)
+		{
+			result = input;
+		}
+		else if (input != null)
 		{
 			result = input.replace(S_ENTITY_LT, S_OPEN_ANGLE).replace(S_ENTITY_GT, S_CLOSE_ANGLE).replace(S_ENTITY_APOS,
 					S_APOSTROPHE);
@@ -27,8 +27,7 @@ public class HelperMetaMethod extends AbstractMetaMember
     	
         this.metaClass = metaClass;
 
-        this.returnType = returnType;
-        this.paramTypes = Arrays.asList(params);
+        setTypesFromClasses(returnType, Arrays.asList(params));
         
         // Can include non-method modifiers such as volatile so AND with
         // acceptable values
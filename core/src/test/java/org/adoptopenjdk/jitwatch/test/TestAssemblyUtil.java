@@ -600,4 +600,30 @@ public class TestAssemblyUtil
 		assertEquals("rax", AssemblyUtil.extractRegisterName("[rax+rax*1+0x0]"));
 		assertEquals("rdx", AssemblyUtil.extractRegisterName("(%rdx,%rbx,1)"));
 	}
+
+	@Test
+	public void testInstructionParseTabsAndHashComment()
+	{
+		String line = "0x00007f4475904140:\tmov\t\t0x8(%rsi),%r10d   # comment";
+
+		AssemblyInstruction instr = AssemblyUtil.createInstruction(new AssemblyLabels(), line);
+
+		assertNotNull(instr);
+
+		assertEquals(Long.parseLong("7f4475904140", 16), instr.getAddress());
+		assertEquals("mov", instr.getMnemonic());
+		assertEquals(2, instr.getOperands().size());
+		assertEquals("0x8(%rsi)", instr.getOperands().get(0));
+		assertEquals("%r10d", instr.getOperands().get(1));
+		assertEquals("# comment", instr.getComment());
+	}
+
+	@Test
+	public void testInstructionParseRejectsMalformedAddress()
+	{
+		assertNull(AssemblyUtil.createInstruction(new AssemblyLabels(), "0x: mov %rax,%rbx"));
+		assertNull(AssemblyUtil.createInstruction(new AssemblyLabels(), "0x00007F4475904140: mov %rax,%rbx"));
+		assertNull(AssemblyUtil.createInstruction(new AssemblyLabels(), "0x00007f4475904140 mov %rax,%rbx"));
+		assertNull(AssemblyUtil.createInstruction(new AssemblyLabels(), "0x00007f4475904140:mov %rax,%rbx"));
+	}
 }
\ No newline at end of file
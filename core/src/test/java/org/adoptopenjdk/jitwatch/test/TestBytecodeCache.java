@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBytecodeCache
+{
+	private static final String OUTER_CLASS = TestBytecodeCache.class.getName();
+
+	private static final String INNER_CLASS = InnerForCache.class.getName();
+
+	private List<String> classLocations = new ArrayList<>();
+
+	public static class InnerForCache
+	{
+		public int sum(int a, int b)
+		{
+			return a + b;
+		}
+	}
+
+	@Before
+	public void setUp()
+	{
+		BytecodeCache.getSharedCache().clear();
+		SourceMapper.clear();
+	}
+
+	@After
+	public void tearDown()
+	{
+		BytecodeCache.getSharedCache().clear();
+		SourceMapper.clear();
+	}
+
+	@Test
+	public void testConcurrentRequestsFetchOnce() throws Exception
+	{
+		final BytecodeCache cache = new BytecodeCache(4);
+
+		final String className = MakeHotSpotLog.class.getName();
+
+		final int threads = 8;
+
+		final CountDownLatch startLatch = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		List<Future<ClassBC>> futures = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++)
+		{
+			futures.add(executor.submit(new Callable<ClassBC>()
+			{
+				@Override
+				public ClassBC call() throws Exception
+				{
+					startLatch.await();
+
+					return cache.getClassBytecode(classLocations, className, null);
+				}
+			}));
+		}
+
+		startLatch.countDown();
+
+		ClassBC first = futures.get(0).get();
+
+		assertNotNull(first);
+
+		for (Future<ClassBC> future : futures)
+		{
+			assertSame(first, future.get());
+		}
+
+		executor.shutdown();
+
+		assertEquals(1, cache.getFetchCount());
+		assertSame(first, cache.getIfPresent(classLocations, className));
+	}
+
+	@Test
+	public void testEvictionRemovesSourceMapping()
+	{
+		BytecodeCache cache = new BytecodeCache(1);
+
+		ClassBC first = cache.getClassBytecode(classLocations, MakeHotSpotLog.class.getName(), null);
+
+		assertNotNull(first);
+		assertTrue(SourceMapper.getClassBytecodeList(first).contains(first));
+
+		// a hit does not fetch again
+		assertSame(first, cache.getClassBytecode(classLocations, MakeHotSpotLog.class.getName(), null));
+		assertEquals(1, cache.getFetchCount());
+
+		ClassBC second = cache.getClassBytecode(classLocations, JITWatchConfig.class.getName(), null);
+
+		assertNotNull(second);
+		assertEquals(1, cache.size());
+		assertNull(cache.getIfPresent(classLocations, MakeHotSpotLog.class.getName()));
+		assertTrue(SourceMapper.getClassBytecodeList(first).isEmpty());
+		assertTrue(SourceMapper.getClassBytecodeList(second).contains(second));
+	}
+
+	@Test
+	public void testEntriesKeyedByClassLocations()
+	{
+		BytecodeCache cache = new BytecodeCache(4);
+
+		String className = MakeHotSpotLog.class.getName();
+
+		ClassBC first = cache.getClassBytecode(classLocations, className, null);
+
+		List<String> otherLocations = new ArrayList<>();
+		otherLocations.add(System.getProperty("java.io.tmpdir"));
+
+		assertNull(cache.getIfPresent(otherLocations, className));
+
+		ClassBC second = cache.getClassBytecode(otherLocations, className, null);
+
+		assertNotNull(second);
+		assertNotSame(first, second);
+		assertEquals(2, cache.getFetchCount());
+		assertSame(first, cache.getIfPresent(classLocations, className));
+	}
+
+	@Test
+	public void testMemberBytecodeRefetchedAfterClear() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		MetaClass metaClass = UnitTestUtil.createMetaClassFor(model, MakeHotSpotLog.class.getName());
+
+		IMetaMember member = metaClass.getMetaMembers().get(0);
+
+		assertNull(member.getMemberBytecode());
+
+		assertNotNull(metaClass.getClassBytecode(model, classLocations));
+
+		BytecodeCache.getSharedCache().clear();
+
+		assertNotNull(member.getMemberBytecode());
+	}
+
+	@Test
+	public void testInnerClassesLoadedOnDemand()
+	{
+		BytecodeCache cache = BytecodeCache.getSharedCache();
+
+		ClassBC outer = cache.getClassBytecode(classLocations, OUTER_CLASS, null);
+
+		assertNotNull(outer);
+		assertTrue(outer.getInnerClassNames().contains(INNER_CLASS));
+		assertNull(cache.getIfPresent(classLocations, INNER_CLASS));
+
+		// not registered with the SourceMapper
+		ClassBC inner = BytecodeLoader.fetchBytecodeForClass(classLocations, INNER_CLASS, false);
+
+		int sourceLine = -1;
+
+		for (MemberBytecode memberBytecode : inner.getMemberBytecodeList())
+		{
+			if ("sum".equals(memberBytecode.getMemberSignatureParts().getMemberName()))
+			{
+				sourceLine = memberBytecode.getLineTable().getLastSourceLine();
+			}
+		}
+
+		assertTrue(sourceLine > 0);
+
+		assertNull(SourceMapper.getMemberBytecodeForSourceLine(outer, sourceLine));
+
+		MemberBytecode found = SourceMapper.getMemberBytecodeForSourceLine(outer, sourceLine, classLocations);
+
+		assertNotNull(found);
+		assertEquals("sum", found.getMemberSignatureParts().getMemberName());
+		assertNotNull(cache.getIfPresent(classLocations, INNER_CLASS));
+	}
+}
\ No newline at end of file
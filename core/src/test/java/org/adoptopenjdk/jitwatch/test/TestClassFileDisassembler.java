@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileDisassembler;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamConstant;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamSwitch;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.ConstantPool;
+import org.adoptopenjdk.jitwatch.model.bytecode.ExceptionTableEntry;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
+import org.junit.Test;
+
+public class TestClassFileDisassembler
+{
+	private static final String THIS_CLASS = TestClassFileDisassembler.class.getName();
+
+	public static int sampleSwitch(int value)
+	{
+		int result;
+
+		switch (value)
+		{
+		case 0:
+			result = 10;
+			break;
+		case 1:
+			result = 20;
+			break;
+		case 2:
+			result = 30;
+			break;
+		default:
+			result = -1;
+			break;
+		}
+
+		return result;
+	}
+
+	public static int sampleTryCatch(String value)
+	{
+		int result;
+
+		try
+		{
+			result = Integer.parseInt(value);
+		}
+		catch (NumberFormatException nfe)
+		{
+			result = 0;
+		}
+
+		return result;
+	}
+
+	private ClassBC disassemble(String fqClassName) throws IOException
+	{
+		byte[] classBytes = BytecodeLoader.readClassBytes(new ArrayList<String>(), fqClassName);
+
+		assertNotNull(classBytes);
+
+		return ClassFileDisassembler.disassemble(fqClassName, classBytes, false);
+	}
+
+	private MemberBytecode getSampleBytecode(String methodName, Class<?> paramType) throws IOException
+	{
+		IMetaMember member = UnitTestUtil.createTestMetaMember(THIS_CLASS, methodName, new Class<?>[] { paramType }, int.class);
+
+		MemberBytecode memberBytecode = disassemble(THIS_CLASS).getMemberBytecode(member);
+
+		assertNotNull(memberBytecode);
+
+		return memberBytecode;
+	}
+
+	@Test
+	public void testTableSwitch() throws IOException
+	{
+		List<BytecodeInstruction> instructions = getSampleBytecode("sampleSwitch", int.class).getInstructions();
+
+		BytecodeInstruction i0 = instructions.get(0);
+		assertEquals(0, i0.getOffset());
+		assertEquals(Opcode.ILOAD_0, i0.getOpcode());
+
+		BytecodeInstruction i1 = instructions.get(1);
+		assertEquals(1, i1.getOffset());
+		assertEquals(Opcode.TABLESWITCH, i1.getOpcode());
+		assertEquals("// 0 to 2", i1.getComment());
+		assertEquals(1, i1.getParameters().size());
+
+		BCParamSwitch table = (BCParamSwitch) i1.getParameters().get(0);
+
+		// 3 cases and the default
+		assertEquals(4, table.getSize());
+		assertTrue(table.getValue().containsKey("default"));
+
+		// the instruction after the padded table
+		assertEquals(28, instructions.get(2).getOffset());
+		assertEquals(Opcode.BIPUSH, instructions.get(2).getOpcode());
+	}
+
+	@Test
+	public void testBytecodeAtOffset() throws IOException
+	{
+		MemberBytecode memberBytecode = getSampleBytecode("sampleSwitch", int.class);
+
+		for (BytecodeInstruction instruction : memberBytecode.getInstructions())
+		{
+			assertEquals(instruction, memberBytecode.getBytecodeAtOffset(instruction.getOffset()));
+		}
+
+		// inside the tableswitch padding
+		assertNull(memberBytecode.getBytecodeAtOffset(2));
+		assertNull(memberBytecode.getBytecodeAtOffset(-1));
+		assertNull(memberBytecode.getBytecodeAtOffset(65535));
+	}
+
+	@Test
+	public void testConstantsExceptionTableAndLineTable() throws IOException
+	{
+		MemberBytecode memberBytecode = getSampleBytecode("sampleTryCatch", String.class);
+
+		BytecodeInstruction invoke = memberBytecode.getInstructions().get(1);
+
+		assertEquals(Opcode.INVOKESTATIC, invoke.getOpcode());
+		assertEquals("// Method java/lang/Integer.parseInt:(Ljava/lang/String;)I", invoke.getComment());
+
+		int constantIndex = ((BCParamConstant) invoke.getParameters().get(0)).getValue();
+
+		ConstantPool constantPool = memberBytecode.getClassBytecode().getConstantPool();
+
+		assertEquals("Method", constantPool.getTagName(constantIndex));
+		assertEquals("java/lang/Integer.parseInt:(Ljava/lang/String;)I", constantPool.getValue(constantIndex));
+
+		assertEquals(1, memberBytecode.getExceptionTable().size());
+
+		ExceptionTableEntry entry = memberBytecode.getExceptionTable().getEntries().get(0);
+
+		assertEquals(0, entry.getFrom());
+		assertEquals("java/lang/NumberFormatException", entry.getType());
+
+		assertFalse(memberBytecode.getLineTable().getEntries().isEmpty());
+	}
+
+	@Test
+	public void testClassAttributes() throws IOException
+	{
+		ClassBC classBytecode = disassemble("java.util.HashMap");
+
+		assertEquals("HashMap.java", classBytecode.getSourceFile());
+		assertTrue(classBytecode.getMajorVersion() >= 51);
+		assertTrue(classBytecode.getInnerClassNames().contains("java.util.HashMap$Node"));
+		assertEquals("java.lang.Object", classBytecode.getGenericsMap().get("K"));
+	}
+
+	@Test
+	public void testEveryConcreteMemberHasBytecode() throws IOException
+	{
+		MetaClass metaClass = new JITDataModel().buildAndGetMetaClass(java.util.ArrayList.class);
+
+		ClassBC classBytecode = disassemble("java.util.ArrayList");
+
+		for (IMetaMember member : metaClass.getMetaMembers())
+		{
+			if (!Modifier.isAbstract(member.getModifier()) && !Modifier.isNative(member.getModifier()))
+			{
+				assertNotNull(member.toString(), classBytecode.getMemberBytecode(member));
+			}
+		}
+	}
+
+	@Test
+	public void testMissingClassHasNoBytes()
+	{
+		assertNull(BytecodeLoader.readClassBytes(new ArrayList<String>(), "org.adoptopenjdk.jitwatch.NoSuchClass"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.adoptopenjdk.jitwatch.loader.ClassFileMethod;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.MetaMethod;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClassFileModel
+{
+	@Before
+	public void setUp()
+	{
+		ClassUtil.initialise(new ArrayList<URL>());
+	}
+
+	private ClassFileReader readClass(String fqClassName) throws IOException
+	{
+		byte[] classBytes = ClassUtil.getClassBytes(fqClassName);
+
+		assertNotNull(classBytes);
+
+		return new ClassFileReader(classBytes);
+	}
+
+	private Set<String> getMemberStrings(MetaClass metaClass)
+	{
+		Set<String> result = new HashSet<>();
+
+		for (IMetaMember member : metaClass.getMetaMembers())
+		{
+			result.add(member.toString());
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testDescriptorClassNames()
+	{
+		String descriptor = "(I[[JLjava/lang/String;[Ljava/util/Map$Entry;)[Ljava/lang/Object;";
+
+		List<String> expected = Arrays.asList("int", "[[J", "java.lang.String", "[Ljava.util.Map$Entry;");
+
+		assertEquals(expected, ParseUtil.getParamClassNamesForDescriptor(descriptor));
+		assertEquals("[Ljava.lang.Object;", ParseUtil.getReturnClassNameForDescriptor(descriptor));
+		assertEquals("void", ParseUtil.getReturnClassNameForDescriptor("()V"));
+	}
+
+	@Test
+	public void testClassFileModelMatchesReflectionModel() throws IOException
+	{
+		Class<?>[] classes = new Class<?>[] { java.util.ArrayList.class, java.lang.StringBuilder.class, java.util.Map.class };
+
+		for (Class<?> clazz : classes)
+		{
+			MetaClass fromReflection = new JITDataModel().buildAndGetMetaClass(clazz);
+
+			MetaClass fromClassFile = new JITDataModel().buildAndGetMetaClass(readClass(clazz.getName()));
+
+			assertEquals(fromReflection.getFullyQualifiedName(), fromClassFile.getFullyQualifiedName());
+			assertEquals(fromReflection.isInterface(), fromClassFile.isInterface());
+			assertEquals(getMemberStrings(fromReflection), getMemberStrings(fromClassFile));
+		}
+	}
+
+	@Test
+	public void testClassFileMembersMatchLogSignatures() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		model.buildAndGetMetaClass(readClass("java.lang.String"));
+
+		IMetaMember length = ParseUtil.findMemberWithSignature(model, "java.lang.String length ()I");
+		assertEquals("length", length.getMemberName());
+
+		IMetaMember format = ParseUtil.findMemberWithSignature(model,
+				"java.lang.String format (Ljava.lang.String;[Ljava.lang.Object;)Ljava.lang.String;");
+		assertEquals("public static java.lang.String java.lang.String.format(java.lang.String,java.lang.Object[])",
+				format.toString());
+
+		MetaClass metaClass = model.getPackageManager().getMetaClass("java.lang.String");
+
+		MemberSignatureParts msp = MemberSignatureParts.fromParts("java.lang.String", "String", null,
+				Arrays.asList(new String[] { "char[]" }));
+
+		IMetaMember constructor = metaClass.getMemberForSignature(msp);
+
+		assertNotNull(constructor);
+		assertTrue(constructor.isConstructor());
+		assertEquals("public java.lang.String(char[])", constructor.toString());
+
+		msp = MemberSignatureParts.fromParts("java.lang.String", "length", "long", new ArrayList<String>());
+
+		assertNull(metaClass.getMemberForSignature(msp));
+	}
+
+	@Test
+	public void testSetTypesOnClassFileMember() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		model.buildAndGetMetaClass(readClass("java.lang.String"));
+
+		MetaMethod length = (MetaMethod) ParseUtil.findMemberWithSignature(model, "java.lang.String length ()I");
+
+		// no return Class is known for a member built from the classfile
+		length.setParamTypes(new ArrayList<Class<?>>());
+
+		assertEquals("int", length.getReturnTypeName());
+		assertEquals(0, length.getParamTypeNames().length);
+
+		length.setReturnType(long.class);
+
+		assertEquals("long", length.getReturnTypeName());
+	}
+
+	@Test
+	public void testPolymorphicSignatureFromAnnotation() throws IOException
+	{
+		ClassFileReader reader = readClass("java.lang.invoke.MethodHandle");
+
+		boolean foundInvokeExact = false;
+
+		for (ClassFileMethod method : reader.getMethods())
+		{
+			if ("invokeExact".equals(method.getName()))
+			{
+				foundInvokeExact = true;
+				assertTrue(method.isPolymorphicSignature());
+				assertTrue(method.isVarArgs());
+			}
+			else if ("bindTo".equals(method.getName()))
+			{
+				assertFalse(method.isPolymorphicSignature());
+			}
+		}
+
+		assertTrue(foundInvokeExact);
+	}
+
+	@Test
+	public void testNewerClassFileVersionIsRead() throws IOException
+	{
+		byte[] classBytes = ClassUtil.getClassBytes("java.util.ArrayList");
+
+		// major version is the u2 after magic and minor version
+		int futureMajor = 99;
+
+		classBytes[6] = (byte) (futureMajor >> 8);
+		classBytes[7] = (byte) futureMajor;
+
+		ClassFileReader reader = new ClassFileReader(classBytes);
+
+		assertEquals(futureMajor, reader.getMajorVersion());
+		assertEquals("java.util.ArrayList", reader.getClassName());
+		assertEquals("java.util.AbstractList", reader.getSuperClassName());
+
+		MetaClass metaClass = new JITDataModel().buildAndGetMetaClass(reader);
+
+		assertFalse(metaClass.getMetaMembers().isEmpty());
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsNonClassFile() throws IOException
+	{
+		new ClassFileReader(new byte[] { 1, 2, 3, 4, 0, 0, 0, 50 });
+	}
+}
\ No newline at end of file
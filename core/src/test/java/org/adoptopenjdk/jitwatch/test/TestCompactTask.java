@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.model.CompactTask;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestCompactTask
+{
+	private static final String[] LOG_LINES = new String[] {
+			"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+			"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='55' count='520' backedge_count='5000' iicount='520' stamp='0.083' comment='count' hot_count='520'/>",
+			"<nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.100'/>",
+			"<task compile_id='1' method='java/lang/String length ()I' bytes='55' count='521' backedge_count='5000' iicount='521' stamp='0.083'>",
+			"<type id='721' name='int'/>",
+			"<klass id='729' name='java/lang/String' flags='17'/>",
+			"<method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>",
+			"<parse method='730' uses='521' stamp='0.084'>",
+			"<bc code='182' bci='1'/>",
+			"</parse>",
+			"<code_cache total_blobs='262' nmethods='1' adapters='150' free_code_cache='49820224'/>",
+			"<task_done success='1' nmsize='376' count='546' backedge_count='5389' stamp='0.105'/>",
+			"</task>" };
+
+	private File logFile;
+
+	@After
+	public void tearDown()
+	{
+		if (logFile != null)
+		{
+			logFile.delete();
+		}
+	}
+
+	private File writeLog() throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : LOG_LINES)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		Path path = Files.createTempFile("testcompacttask", ".log");
+
+		Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+
+		return path.toFile();
+	}
+
+	private Compilation parse(boolean compactTasks)
+	{
+		JITWatchConfig config = new JITWatchConfig();
+		config.setCompactTasks(compactTasks);
+
+		HotSpotLogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		parser.setConfig(config);
+		parser.processLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+
+		MetaClass metaClass = parser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromParts("java.lang.String", "length",
+				"int", new ArrayList<String>()));
+
+		assertNotNull(member);
+
+		return member.getCompilations().get(0);
+	}
+
+	@Test
+	public void testCompactedTaskMatchesParsedTask() throws IOException
+	{
+		logFile = writeLog();
+
+		Compilation parsed = parse(false);
+		Compilation compacted = parse(true);
+
+		assertFalse(parsed.isTagTaskCompact());
+		assertTrue(compacted.isTagTaskCompact());
+
+		Task parsedTask = parsed.getTagTask();
+		Task rehydratedTask = compacted.getTagTask();
+
+		assertEquals(parsedTask.toString(true), rehydratedTask.toString(true));
+		assertEquals(parsedTask.decodeParseMethod("730"), rehydratedTask.decodeParseMethod("730"));
+		assertEquals("java/lang/String", rehydratedTask.getParseDictionary().getKlass("729").getAttribute("name"));
+
+		// task_done no longer holds on to the encoded tree
+		assertNull(compacted.getTagTaskDone().getParent());
+		assertEquals(376, compacted.getNativeSize());
+		assertEquals(parsed.toString(), compacted.toString());
+	}
+
+	@Test
+	public void testEncodeDecodeRoundTrip()
+	{
+		Task task = new Task("task", "compile_id='7' method='a/B c ()V'", false);
+
+		Tag type = new Tag("type", "id='1' name='void'", true);
+		Tag parse = new Tag("parse", "method='2'", false);
+		Tag fragment = new Tag("fragment", "reason='\u00e9t\u00e9'", false);
+
+		fragment.setFragment(true);
+		fragment.addTextContent("text");
+
+		parse.addChild(new Tag("bc", "code='182' bci='1'", true));
+		parse.addChild(fragment);
+
+		task.addChild(type);
+		task.addChild(parse);
+
+		CompactTask compactTask = CompactTask.encode(task);
+
+		Task decoded = compactTask.decode();
+
+		assertEquals(task.toString(true), decoded.toString(true));
+
+		Tag decodedFragment = decoded.getFirstNamedChild("parse").getFirstNamedChild("fragment");
+
+		assertTrue(decodedFragment.isFragment());
+		assertEquals("text", decodedFragment.getTextContent());
+		assertEquals("\u00e9t\u00e9", decodedFragment.getAttribute("reason"));
+		assertEquals("void", decoded.getParseDictionary().getType("1").getAttribute("name"));
+		assertTrue(compactTask.size() < task.toString(true).length());
+	}
+}
\ No newline at end of file
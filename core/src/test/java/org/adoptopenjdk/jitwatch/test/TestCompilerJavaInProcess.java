@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerDiagnostic;
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerJavaInProcess;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCompilerJavaInProcess
+{
+	private Path sourceDir;
+
+	private Path outputDir;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		assumeTrue(CompilerJavaInProcess.isAvailable());
+
+		sourceDir = Files.createTempDirectory("sources");
+		outputDir = Files.createTempDirectory("classes");
+	}
+
+	private File writeSource(String fileName, String source) throws IOException
+	{
+		Path sourceFile = sourceDir.resolve(fileName);
+
+		Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+
+		return sourceFile.toFile();
+	}
+
+	@Test
+	public void testCompileWritesClassFiles() throws IOException
+	{
+		List<File> sources = new ArrayList<>();
+
+		sources.add(writeSource("Hello.java", "package demo;\npublic class Hello\n{\n\tstatic class Inner {}\n}"));
+
+		CompilerJavaInProcess compiler = new CompilerJavaInProcess();
+
+		assertTrue(compiler.compile(sources, new ArrayList<String>(), outputDir.toFile(), null));
+
+		assertTrue(compiler.getDiagnostics().isEmpty());
+		assertTrue(Files.exists(outputDir.resolve("demo/Hello.class")));
+		assertTrue(Files.exists(outputDir.resolve("demo/Hello$Inner.class")));
+
+		// the warm compiler is reused for the next run
+		sources.add(writeSource("User.java", "package demo;\npublic class User\n{\n\tHello hello;\n}"));
+
+		assertTrue(new CompilerJavaInProcess().compile(sources, new ArrayList<String>(), outputDir.toFile(), null));
+		assertTrue(Files.exists(outputDir.resolve("demo/User.class")));
+	}
+
+	@Test
+	public void testErrorsReportedAsDiagnostics() throws IOException
+	{
+		List<File> sources = new ArrayList<>();
+
+		File good = writeSource("Good.java", "public class Good\n{\n}");
+
+		File broken = writeSource("Broken.java", "public class Broken\n{\n\tint x = \"text\";\n}");
+
+		sources.add(good);
+		sources.add(broken);
+
+		CompilerJavaInProcess compiler = new CompilerJavaInProcess();
+
+		assertFalse(compiler.compile(sources, new ArrayList<String>(), outputDir.toFile(), null));
+
+		List<CompilerDiagnostic> diagnostics = compiler.getDiagnostics();
+
+		assertEquals(1, diagnostics.size());
+
+		CompilerDiagnostic diagnostic = diagnostics.get(0);
+
+		assertTrue(diagnostic.isError());
+		assertEquals(broken.getAbsoluteFile(), diagnostic.getSourceFile().getAbsoluteFile());
+		assertEquals(3, diagnostic.getLine());
+		assertTrue(compiler.getErrorStream().contains("Broken.java:3:"));
+
+		// nothing is written unless the whole compilation succeeds
+		assertFalse(Files.exists(outputDir.resolve("Good.class")));
+	}
+
+	@Test
+	public void testClasspathNotKeptBetweenRuns() throws IOException
+	{
+		Path libDir = Files.createTempDirectory("lib");
+
+		List<File> libSources = new ArrayList<>();
+
+		libSources.add(writeSource("Lib.java", "package lib;\npublic class Lib\n{\n}"));
+
+		assertTrue(new CompilerJavaInProcess().compile(libSources, new ArrayList<String>(), libDir.toFile(), null));
+
+		Files.delete(sourceDir.resolve("Lib.java"));
+
+		List<File> sources = new ArrayList<>();
+
+		sources.add(writeSource("NeedsLib.java", "public class NeedsLib\n{\n\tlib.Lib lib;\n}"));
+
+		List<String> classpath = new ArrayList<>();
+
+		classpath.add(libDir.toString());
+
+		assertTrue(new CompilerJavaInProcess().compile(sources, classpath, outputDir.toFile(), null));
+
+		// a run without classpath entries must not see the previous run's classpath
+		assertFalse(new CompilerJavaInProcess().compile(sources, new ArrayList<String>(), outputDir.toFile(), null));
+	}
+}
\ No newline at end of file
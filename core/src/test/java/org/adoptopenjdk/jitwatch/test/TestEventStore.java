@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_FREE_CODE_CACHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE_FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.EventStore;
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.junit.Test;
+
+public class TestEventStore
+{
+	@Test
+	public void testViewIsAnUnchangingPrefix()
+	{
+		EventStore<String> store = new EventStore<>(true);
+
+		int count = 100000;
+
+		for (int i = 0; i < count / 2; i++)
+		{
+			store.append(i * 10, (byte) (i % 3), "subject" + (i % 7), i);
+		}
+
+		EventStore.View<String> view = store.getView();
+
+		for (int i = count / 2; i < count; i++)
+		{
+			store.append(i * 10, (byte) (i % 3), "subject" + (i % 7), i);
+		}
+
+		assertEquals(count / 2, view.size());
+		assertEquals(count, store.size());
+
+		EventStore.View<String> fullView = store.getView();
+
+		for (int i = 0; i < count; i++)
+		{
+			assertEquals(i * 10, fullView.getStamp(i));
+			assertEquals(i % 3, fullView.getType(i));
+			assertEquals("subject" + (i % 7), fullView.getSubject(i));
+			assertEquals(i, fullView.getValue(i));
+		}
+
+		assertEquals(view.getStamp(view.size() - 1), fullView.getStamp(view.size() - 1));
+
+		store.clear();
+
+		assertEquals(0, store.size());
+		assertTrue(store.getView().isEmpty());
+		assertEquals(count, fullView.size());
+	}
+
+	@Test
+	public void testSubjectsAreStoredOnce()
+	{
+		EventStore<String> store = new EventStore<>(false);
+
+		String subject = "member";
+
+		store.append(1, (byte) 0, subject, 99);
+		store.append(2, (byte) 1, subject, 99);
+
+		EventStore.View<String> view = store.getView();
+
+		assertSame(subject, view.getSubject(0));
+		assertSame(subject, view.getSubject(1));
+
+		// no value column
+		assertEquals(0, view.getValue(1));
+	}
+
+	@Test
+	public void testTimeWindowQueries()
+	{
+		EventStore<String> store = new EventStore<>(false);
+
+		long[] stamps = new long[] { 10, 20, 20, 30, 40 };
+
+		for (long stamp : stamps)
+		{
+			store.append(stamp, (byte) 0, "s", 0);
+		}
+
+		EventStore.View<String> view = store.getView();
+
+		assertTrue(view.isSorted());
+		assertEquals(1, view.firstIndexAtOrAfter(20));
+		assertEquals(3, view.firstIndexAfter(20));
+		assertEquals(0, view.firstIndexAtOrAfter(0));
+		assertEquals(5, view.firstIndexAfter(40));
+		assertEquals(3, view.countInWindow(15, 30));
+		assertEquals(0, view.countInWindow(41, 50));
+
+		assertSame(view, view.sortedByStamp());
+	}
+
+	@Test
+	public void testUnsortedEventsAreSortedOnRequest()
+	{
+		EventStore<String> store = new EventStore<>(true);
+
+		store.append(30, (byte) 0, "c", 3);
+		store.append(10, (byte) 1, "a", 1);
+		store.append(20, (byte) 2, "b", 2);
+		store.append(10, (byte) 3, "a2", 4);
+
+		EventStore.View<String> view = store.getView();
+
+		assertFalse(view.isSorted());
+
+		// first in append order
+		assertEquals(0, view.firstIndexAtOrAfter(15));
+		assertEquals(4, view.firstIndexAfter(30));
+		assertEquals(3, view.countInWindow(10, 20));
+
+		EventStore.View<String> sorted = view.sortedByStamp();
+
+		assertTrue(sorted.isSorted());
+		assertEquals(4, sorted.size());
+
+		// stable for equal stamps
+		assertEquals("a", sorted.getSubject(0));
+		assertEquals("a2", sorted.getSubject(1));
+		assertEquals(4, sorted.getValue(1));
+		assertEquals(2, sorted.getType(2));
+		assertEquals(30, sorted.getStamp(3));
+
+		// reused until the event count changes
+		assertSame(sorted, store.getView().sortedByStamp());
+
+		store.append(5, (byte) 0, "z", 5);
+
+		EventStore.View<String> resorted = store.getView().sortedByStamp();
+
+		assertNotSame(sorted, resorted);
+		assertEquals(5, resorted.size());
+		assertEquals("z", resorted.getSubject(0));
+		assertEquals(4, view.sortedByStamp().size());
+	}
+
+	@Test
+	public void testReaderSeesConsistentPrefixWhileAppending() throws InterruptedException
+	{
+		final EventStore<Integer> store = new EventStore<>(true);
+
+		final int count = 200000;
+
+		Thread writer = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				for (int i = 0; i < count; i++)
+				{
+					store.append(i, (byte) 0, i % 1000, i);
+				}
+			}
+		});
+
+		writer.start();
+
+		int lastSize = 0;
+
+		while (lastSize < count)
+		{
+			EventStore.View<Integer> view = store.getView();
+
+			int size = view.size();
+
+			assertTrue(size >= lastSize);
+
+			if (size > 0)
+			{
+				int last = size - 1;
+
+				assertEquals(last, view.getStamp(last));
+				assertEquals(last, view.getValue(last));
+				assertEquals(Integer.valueOf(last % 1000), view.getSubject(last));
+			}
+
+			lastSize = size;
+		}
+
+		writer.join();
+	}
+
+	@Test
+	public void testModelEventListMatchesView()
+	{
+		JITDataModel model = new JITDataModel();
+
+		model.addEvent(new JITEvent(5, EventType.QUEUE, null));
+		model.addEvent(new JITEvent(7, EventType.NMETHOD_C2, null));
+
+		List<JITEvent> events = model.getEventListCopy();
+
+		assertEquals(2, events.size());
+		assertEquals(EventType.NMETHOD_C2, events.get(1).getEventType());
+		assertEquals(7, model.getEventView().getStamp(1));
+		assertEquals(EventType.QUEUE, JITDataModel.getEventType(model.getEventView().getType(0)));
+	}
+
+	@Test
+	public void testCodeCacheEventWithoutFreeCodeCache()
+	{
+		JITDataModel model = new JITDataModel();
+
+		model.addCodeCacheEvent(new CodeCacheEvent(10, new Tag(TAG_CODE_CACHE, ATTR_FREE_CODE_CACHE + "='1024'", true)));
+		model.addCodeCacheEvent(new CodeCacheEvent(20, new Tag(TAG_CODE_CACHE_FULL, "", true)));
+		model.addCodeCacheEvent(new CodeCacheEvent(30, new Tag(TAG_CODE_CACHE, ATTR_FREE_CODE_CACHE + "='bad'", true)));
+
+		EventStore.View<Tag> view = model.getCodeCacheEventView();
+
+		assertEquals(3, view.size());
+		assertEquals(1024, view.getValue(0));
+		assertEquals(CodeCacheEvent.NO_FREE_CODE_CACHE, view.getValue(1));
+		assertEquals(CodeCacheEvent.NO_FREE_CODE_CACHE, view.getValue(2));
+	}
+}
\ No newline at end of file
@@ -7,6 +7,9 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.*;
 
+import java.util.List;
+import java.util.Map;
+
 import org.adoptopenjdk.jitwatch.histo.*;
 import org.junit.Test;
 
@@ -37,4 +40,88 @@ public class TestHisto
 		assertEquals(50, h.getPercentile(100), epsilon);	
 
 	}
+
+	@Test
+	public void testLargeValuePercentilesWithinOnePercent()
+	{
+		Histo h = new Histo();
+
+		for (long value = 1; value <= 1_000_000; value++)
+		{
+			h.addValue(value);
+		}
+
+		assertEquals(1_000_000, h.getCount());
+		assertEquals(1_000_000, h.getPercentile(100));
+
+		for (double percentile : new double[] { 50, 99, 99.9 })
+		{
+			long expected = (long) (percentile * 10_000);
+
+			long actual = h.getPercentile(percentile);
+
+			assertTrue(percentile + " was " + actual, Math.abs(actual - expected) <= expected / 100);
+		}
+	}
+
+	@Test
+	public void testMergeMatchesSingleHisto()
+	{
+		Histo all = new Histo();
+		Histo odd = new Histo();
+		Histo even = new Histo();
+
+		for (long value = 0; value < 10_000; value += 7)
+		{
+			all.addValue(value);
+
+			if (value % 2 == 0)
+			{
+				even.addValue(value);
+			}
+			else
+			{
+				odd.addValue(value);
+			}
+		}
+
+		even.merge(odd);
+
+		assertEquals(all.getCount(), even.getCount());
+		assertEquals(all.getLastTime(), even.getLastTime());
+		assertEquals(all.getMaxCount(), even.getMaxCount());
+		assertEquals(all.getSortedData(), even.getSortedData());
+
+		for (double percentile : new double[] { 1, 50, 90, 99, 99.9, 100 })
+		{
+			assertEquals(all.getPercentile(percentile), even.getPercentile(percentile));
+		}
+	}
+
+	@Test
+	public void testResolutionGroupsBuckets()
+	{
+		Histo h = new Histo(10);
+
+		h.addValue(11);
+		h.addValue(12);
+		h.addValue(19);
+		h.addValue(25);
+
+		List<Map.Entry<Long, Integer>> data = h.getSortedData();
+
+		assertEquals(2, data.size());
+		assertEquals(Long.valueOf(20), data.get(0).getKey());
+		assertEquals(Integer.valueOf(1), data.get(0).getValue());
+		assertEquals(Long.valueOf(10), data.get(1).getKey());
+		assertEquals(Integer.valueOf(3), data.get(1).getValue());
+
+		assertEquals(3, h.getMaxCount());
+		assertEquals(20, h.getLastTime());
+
+		h.clear();
+
+		assertEquals(0, h.getCount());
+		assertEquals(-1, h.nextBucket(0));
+	}
 }
\ No newline at end of file
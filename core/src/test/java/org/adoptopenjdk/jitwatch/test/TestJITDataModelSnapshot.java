@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITDataModelSnapshot;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestJITDataModelSnapshot
+{
+	private static final String[] LOG_LINES = new String[] {
+			"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='55' count='520' backedge_count='5000' iicount='520' stamp='0.083' comment='count' hot_count='520'/>",
+			"<nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.100'/>",
+			"<task compile_id='1' method='java/lang/String length ()I' bytes='55' count='521' backedge_count='5000' iicount='521' stamp='0.083'>",
+			"<type id='721' name='int'/>",
+			"<klass id='729' name='java/lang/String' flags='17'/>",
+			"<method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>",
+			"<parse method='730' uses='521' stamp='0.084'>",
+			"<bc code='182' bci='1'/>",
+			"</parse>",
+			"<code_cache total_blobs='262' nmethods='1' adapters='150' free_code_cache='49820224'/>",
+			"<task_done success='1' nmsize='376' count='546' backedge_count='5389' stamp='0.105'/>",
+			"</task>",
+			"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+			"Decoding compiled method 0x00007fb5ad0fe290:",
+			"Code:",
+			"[Disassembling for mach=&apos;i386:x86-64&apos;]",
+			"[Entry Point]",
+			"[Verified Entry Point]",
+			"[Constants]",
+			"  # {method} &apos;length&apos; &apos;()I&apos; in &apos;java/lang/String&apos;",
+			"  0x00007fb5ad0fe2e0: callq  0x00007f7d77e276f0  ;   {runtime_call}",
+			"  0x00007fb5ad0fe2e5: jmpq   0x00007fb5ad0fe2e0",
+			"0x00007fb5ad0fe2ea: hlt",
+			"<writer thread='140418643298048'/>" };
+
+	private List<File> tempFiles = new ArrayList<>();
+
+	@After
+	public void tearDown()
+	{
+		for (File file : tempFiles)
+		{
+			file.delete();
+			JITDataModelSnapshot.getSnapshotFile(file).delete();
+		}
+	}
+
+	private File writeLog(String[] lines) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : lines)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		Path path = Files.createTempFile("testsnapshot", ".log");
+
+		Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+
+		File file = path.toFile();
+
+		tempFiles.add(file);
+
+		return file;
+	}
+
+	private HotSpotLogParser parse(File logFile, final List<String> logEntries, final List<JITEvent> events)
+	{
+		JITWatchConfig config = new JITWatchConfig();
+		config.setWriteModelSnapshot(true);
+
+		HotSpotLogParser parser = new HotSpotLogParser(new IJITListener()
+		{
+			@Override
+			public void handleLogEntry(String entry)
+			{
+				logEntries.add(entry);
+			}
+
+			@Override
+			public void handleErrorEntry(String entry)
+			{
+			}
+
+			@Override
+			public void handleReadStart()
+			{
+			}
+
+			@Override
+			public void handleReadComplete()
+			{
+			}
+
+			@Override
+			public void handleJITEvent(JITEvent event)
+			{
+				events.add(event);
+			}
+		});
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	private IMetaMember getStringLength(JITDataModel model)
+	{
+		MetaClass metaClass = model.getPackageManager().getMetaClass("java.lang.String");
+
+		assertNotNull(metaClass);
+
+		IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromParts("java.lang.String", "length",
+				"int", new ArrayList<String>()));
+
+		assertNotNull(member);
+
+		return member;
+	}
+
+	private boolean containsEntryStartingWith(List<String> entries, String prefix)
+	{
+		boolean result = false;
+
+		for (String entry : entries)
+		{
+			if (entry.startsWith(prefix))
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testNoSnapshotForTruncatedLog() throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : LOG_LINES)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+		try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed))
+		{
+			gzipStream.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		byte[] bytes = compressed.toByteArray();
+
+		Path path = Files.createTempFile("testsnapshot", ".log.gz");
+
+		Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+		File logFile = path.toFile();
+
+		tempFiles.add(logFile);
+
+		parse(logFile, new ArrayList<String>(), new ArrayList<JITEvent>());
+
+		assertFalse(JITDataModelSnapshot.getSnapshotFile(logFile).exists());
+	}
+
+	@Test
+	public void testSnapshotRoundTrip() throws IOException
+	{
+		File logFile = writeLog(LOG_LINES);
+
+		List<String> parsedEntries = new ArrayList<>();
+		List<JITEvent> parsedEvents = new ArrayList<>();
+
+		JITDataModel parsed = parse(logFile, parsedEntries, parsedEvents).getModel();
+
+		assertTrue(JITDataModelSnapshot.getSnapshotFile(logFile).isFile());
+		assertTrue(containsEntryStartingWith(parsedEntries, "Wrote model snapshot"));
+
+		List<String> loadedEntries = new ArrayList<>();
+		List<JITEvent> loadedEvents = new ArrayList<>();
+
+		HotSpotLogParser loadingParser = parse(logFile, loadedEntries, loadedEvents);
+
+		JITDataModel loaded = loadingParser.getModel();
+
+		assertTrue(containsEntryStartingWith(loadedEntries, "Loaded model snapshot"));
+
+		// the log was not split
+		assertEquals(0, loadingParser.getSplitLog().getLogCompilationLines().size());
+
+		IMetaMember parsedMember = getStringLength(parsed);
+		IMetaMember loadedMember = getStringLength(loaded);
+
+		assertEquals(parsedMember.toString(), loadedMember.toString());
+		assertTrue(loadedMember.isCompiled());
+		assertEquals(parsed.getPackageManager().getMetaClass("java.lang.String").getMetaMembers().size(), loaded
+				.getPackageManager().getMetaClass("java.lang.String").getMetaMembers().size());
+
+		assertEquals(1, loadedMember.getCompilations().size());
+
+		Compilation parsedCompilation = parsedMember.getCompilations().get(0);
+		Compilation loadedCompilation = loadedMember.getCompilations().get(0);
+
+		assertEquals("1", loadedCompilation.getCompileID());
+		assertEquals(parsedCompilation.getCompileTime(), loadedCompilation.getCompileTime());
+		assertEquals(parsedCompilation.getNativeAddress(), loadedCompilation.getNativeAddress());
+		assertEquals(376, loadedCompilation.getNativeSize());
+		assertEquals(parsedCompilation.getTagTask().toString(true), loadedCompilation.getTagTask().toString(true));
+
+		// task_done keeps its place in the task tree
+		assertSame(loadedCompilation.getTagTask(), loadedCompilation.getTagTaskDone().getParent());
+
+		Task loadedTask = loadedCompilation.getTagTask();
+
+		assertEquals("length", loadedTask.getParseDictionary().getMethod("730").getAttribute("name"));
+		assertEquals("java/lang/String", loadedTask.getParseDictionary().getKlass("729").getAttribute("name"));
+		assertEquals("int", loadedTask.getParseDictionary().getType("721").getAttribute("name"));
+
+		assertNotNull(parsedCompilation.getAssembly());
+		assertNotNull(loadedCompilation.getAssembly());
+		assertEquals(parsedCompilation.getAssembly().toString(), loadedCompilation.getAssembly().toString());
+
+		assertEquals(parsed.getEventListCopy().size(), loaded.getEventListCopy().size());
+		assertEquals(parsedEvents.size(), loadedEvents.size());
+		assertSame(loadedMember, loaded.getEventListCopy().get(0).getEventMember());
+
+		assertEquals(1, loaded.getCodeCacheEvents().size());
+		assertEquals(parsed.getCodeCacheEvents().get(0).getStamp(), loaded.getCodeCacheEvents().get(0).getStamp());
+
+		assertEquals(parsed.getJITStats().getCountC1(), loaded.getJITStats().getCountC1());
+		assertEquals(parsed.getJITStats().getCountClass(), loaded.getJITStats().getCountClass());
+		assertEquals(parsed.getJITStats().getNativeBytes(), loaded.getJITStats().getNativeBytes());
+	}
+
+	@Test
+	public void testStaleSnapshotIsIgnored() throws IOException
+	{
+		File logFile = writeLog(LOG_LINES);
+
+		parse(logFile, new ArrayList<String>(), new ArrayList<JITEvent>());
+
+		File snapshotFile = JITDataModelSnapshot.getSnapshotFile(logFile);
+
+		List<String> classLocations = new JITWatchConfig().getConfiguredClassLocations();
+
+		assertTrue(JITDataModelSnapshot.isFresh(snapshotFile, logFile, classLocations));
+
+		List<String> otherLocations = new ArrayList<>(classLocations);
+		otherLocations.add("/tmp/classes");
+
+		assertFalse(JITDataModelSnapshot.isFresh(snapshotFile, logFile, otherLocations));
+
+		Files.write(logFile.toPath(), "<writer thread='1'/>\n".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		assertFalse(JITDataModelSnapshot.isFresh(snapshotFile, logFile, classLocations));
+
+		List<String> entries = new ArrayList<>();
+
+		parse(logFile, entries, new ArrayList<JITEvent>());
+
+		assertFalse(containsEntryStartingWith(entries, "Loaded model snapshot"));
+	}
+}
\ No newline at end of file
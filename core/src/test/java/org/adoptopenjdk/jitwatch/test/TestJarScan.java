@@ -7,13 +7,20 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.adoptopenjdk.jitwatch.jarscan.IJarScanOperation;
+import org.adoptopenjdk.jitwatch.jarscan.instructioncount.InstructionCountOperation;
+import org.adoptopenjdk.jitwatch.jarscan.methodsizehisto.MethodSizeHistoOperation;
+import org.adoptopenjdk.jitwatch.jarscan.nextinstruction.NextInstructionOperation;
 import org.adoptopenjdk.jitwatch.jarscan.sequencecount.InstructionSequence;
 import org.adoptopenjdk.jitwatch.jarscan.sequencecount.SequenceCountOperation;
+import org.adoptopenjdk.jitwatch.jarscan.sequencesearch.SequenceSearchOperation;
 import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
@@ -46,6 +53,17 @@ public class TestJarScan
 		return mbc;
 	}
 
+	private MemberBytecode createMemberBytecode(String memberName, String[] lines)
+	{
+		MemberSignatureParts msp = MemberSignatureParts.fromParts("Foo", memberName, "void", new ArrayList<String>());
+
+		MemberBytecode mbc = new MemberBytecode(null, msp);
+
+		mbc.setInstructions(getInstructions(lines));
+
+		return mbc;
+	}
+
 	@Test
 	public void testLongBytecodeChain1()
 	{
@@ -478,4 +496,44 @@ public class TestJarScan
 		checkSequence(result, 3, Opcode.DUP, Opcode.ALOAD_0, Opcode.INVOKESPECIAL);
 		checkSequence(result, 3, Opcode.ALOAD_0, Opcode.INVOKESPECIAL, Opcode.ATHROW);
 	}
+
+	@Test
+	public void testMergedOperationsMatchSingleOperation()
+	{
+		String[] lines1 = new String[] {
+				"0: goto          2",
+				"1: goto          3",
+				"2: goto          1",
+				"3: return        "
+		};
+
+		String[] lines2 = new String[] {
+				"0: iconst_0        ",
+				"1: istore_1        ",
+				"2: goto          0",
+				"5: return        "
+		};
+
+		IJarScanOperation[] operations = new IJarScanOperation[] { new SequenceCountOperation(2), new InstructionCountOperation(0),
+				new NextInstructionOperation(0), new MethodSizeHistoOperation(), new SequenceSearchOperation("goto,return") };
+
+		for (IJarScanOperation single : operations)
+		{
+			single.processInstructions("Foo", createMemberBytecode("a", lines1));
+			single.processInstructions("Foo", createMemberBytecode("b", lines2));
+
+			IJarScanOperation worker1 = single.createEmptyCopy();
+			IJarScanOperation worker2 = single.createEmptyCopy();
+
+			worker1.processInstructions("Foo", createMemberBytecode("a", lines1));
+			worker2.processInstructions("Foo", createMemberBytecode("b", lines2));
+
+			IJarScanOperation merged = single.createEmptyCopy();
+
+			merged.merge(worker1);
+			merged.merge(worker2);
+
+			assertEquals(single.getReport(), merged.getReport());
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.adoptopenjdk.jitwatch.core.AssemblyCache;
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.LazyAssemblyMethod;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestLazyAssembly
+{
+	private static final String[] LOG_LINES = new String[] {
+			"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='520' iicount='520' stamp='0.083' comment='count' hot_count='520'/>",
+			"<nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.100'/>",
+			"<task_queued compile_id='2' method='java/lang/String hashCode ()I' bytes='55' count='520' iicount='520' stamp='0.084' comment='count' hot_count='520'/>",
+			"<nmethod compile_id='2' compiler='C1' level='3' entry='0x00007fb5ad0ff420' size='2504' address='0x00007fb5ad0ff290' relocation_offset='288' method='java/lang/String hashCode ()I' stamp='0.101'/>",
+			"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+			"Decoding compiled method 0x00007fb5ad0fe290:",
+			"Code:",
+			"[Disassembling for mach=&apos;i386:x86-64&apos;]",
+			"[Entry Point]",
+			"[Verified Entry Point]",
+			"[Constants]",
+			"  # {method} &apos;length&apos; &apos;()I&apos; in &apos;java/lang/String&apos;",
+			"  0x00007fb5ad0fe2e0: mov    0x8(%rsi),%r10d  ;   {runtime_call}",
+			"<writer thread='140418643298048'/>",
+			"  0x00007fb5ad0fe2e5: jmpq   0x00007fb5ad0fe2e0",
+			"0x00007fb5ad0fe2ea: hlt",
+			"Decoding compiled method 0x00007fb5ad0ff290:",
+			"Code:",
+			"[Entry Point]",
+			"[Constants]",
+			"  # {method} &apos;hashCode&apos; &apos;()I&apos; in &apos;java/lang/String&apos;",
+			"  0x00007fb5ad0ff2e0: push   %rbp",
+			"  0x00007fb5ad0ff2e1: hlt    <nmethod compile_id='3' compiler='C1' level='3' entry='0x00007fb5ad100420' size='2504' address='0x00007fb5ad100290' method='java/lang/String length ()I' stamp='0.102'/>",
+			"<writer thread='140418643298048'/>" };
+
+	private File logFile;
+
+	@After
+	public void tearDown()
+	{
+		if (logFile != null)
+		{
+			logFile.delete();
+		}
+	}
+
+	private File writeLog() throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : LOG_LINES)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		Path path = Files.createTempFile("testlazyasm", ".log");
+
+		Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+
+		return path.toFile();
+	}
+
+	private HotSpotLogParser parse(boolean lazyAssembly, boolean streaming)
+	{
+		JITWatchConfig config = new JITWatchConfig();
+		config.setLazyAssembly(lazyAssembly);
+		config.setStreamingParse(streaming);
+
+		HotSpotLogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		parser.setConfig(config);
+		parser.processLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	private AssemblyMethod getAssembly(HotSpotLogParser parser, String name)
+	{
+		MetaClass metaClass = parser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromParts("java.lang.String", name, "int",
+				new ArrayList<String>()));
+
+		assertNotNull(member);
+
+		AssemblyMethod assembly = member.getCompilations().get(0).getAssembly();
+
+		assertNotNull(assembly);
+
+		return assembly;
+	}
+
+	@Test
+	public void testLazyAssemblyMatchesParsedAssembly() throws IOException
+	{
+		logFile = writeLog();
+
+		HotSpotLogParser eagerParser = parse(false, false);
+
+		for (boolean streaming : new boolean[] { false, true })
+		{
+			HotSpotLogParser lazyParser = parse(true, streaming);
+
+			for (String name : new String[] { "length", "hashCode" })
+			{
+				AssemblyMethod eager = getAssembly(eagerParser, name);
+				AssemblyMethod lazy = getAssembly(lazyParser, name);
+
+				assertFalse(eager instanceof LazyAssemblyMethod);
+				assertTrue(lazy instanceof LazyAssemblyMethod);
+
+				assertEquals(eager.getAssemblyMethodSignature(), lazy.getAssemblyMethodSignature());
+				assertEquals(eager.getNativeAddress(), lazy.getNativeAddress());
+				assertEquals(eager.toString(), lazy.toString());
+			}
+		}
+
+		assertEquals(3, getAssembly(eagerParser, "length").getBlocks().get(0).getInstructions().size());
+	}
+
+	@Test
+	public void testCacheKeepsMostRecentlyUsed() throws IOException
+	{
+		logFile = writeLog();
+
+		HotSpotLogParser lazyParser = parse(true, false);
+
+		LazyAssemblyMethod length = (LazyAssemblyMethod) getAssembly(lazyParser, "length");
+		LazyAssemblyMethod hashCode = (LazyAssemblyMethod) getAssembly(lazyParser, "hashCode");
+
+		AssemblyCache cache = new AssemblyCache(logFile, 1);
+
+		LazyAssemblyMethod lengthCached = new LazyAssemblyMethod(length.getAssemblyMethodSignature(), length.getNativeAddress(),
+				cache, length.getStartOffset(), length.getEndOffset());
+
+		LazyAssemblyMethod hashCodeCached = new LazyAssemblyMethod(hashCode.getAssemblyMethodSignature(),
+				hashCode.getNativeAddress(), cache, hashCode.getStartOffset(), hashCode.getEndOffset());
+
+		AssemblyMethod parsed = cache.getAssembly(lengthCached);
+
+		assertSame(parsed, cache.getAssembly(lengthCached));
+
+		cache.getAssembly(hashCodeCached);
+
+		assertEquals(1, cache.size());
+
+		// evicted so parsed again
+		AssemblyMethod reparsed = cache.getAssembly(lengthCached);
+
+		assertFalse(parsed == reparsed);
+		assertEquals(parsed.toString(), reparsed.toString());
+	}
+
+	@Test
+	public void testConcurrentRequestsShareOneParse() throws Exception
+	{
+		logFile = writeLog();
+
+		HotSpotLogParser lazyParser = parse(true, false);
+
+		LazyAssemblyMethod length = (LazyAssemblyMethod) getAssembly(lazyParser, "length");
+
+		final AssemblyCache cache = new AssemblyCache(logFile, 4);
+
+		final LazyAssemblyMethod lengthCached = new LazyAssemblyMethod(length.getAssemblyMethodSignature(),
+				length.getNativeAddress(), cache, length.getStartOffset(), length.getEndOffset());
+
+		int threads = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		final CountDownLatch startLatch = new CountDownLatch(1);
+
+		List<Future<AssemblyMethod>> futures = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++)
+		{
+			futures.add(executor.submit(new Callable<AssemblyMethod>()
+			{
+				@Override
+				public AssemblyMethod call() throws Exception
+				{
+					startLatch.await();
+
+					return cache.getAssembly(lengthCached);
+				}
+			}));
+		}
+
+		startLatch.countDown();
+
+		AssemblyMethod first = futures.get(0).get();
+
+		for (Future<AssemblyMethod> future : futures)
+		{
+			assertSame(first, future.get());
+		}
+
+		executor.shutdown();
+
+		assertEquals(1, cache.getParseCount());
+		assertEquals(length.toString(), first.toString());
+	}
+}
\ No newline at end of file
@@ -7,6 +7,8 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.adoptopenjdk.jitwatch.model.bytecode.LineTable;
@@ -121,4 +123,43 @@ public class TestLineTable
 		assertEquals(46, table.findSourceLineForBytecodeOffset(82));
 		assertEquals(48, table.findSourceLineForBytecodeOffset(5000));
 	}
+
+	@Test
+	public void testLookupsWithRepeatedLinesAndOffsets()
+	{
+		LineTable table = new LineTable(null);
+
+		LineTableEntry loopStart = new LineTableEntry(12, 8);
+		LineTableEntry loopTest = new LineTableEntry(12, 30);
+		LineTableEntry sameOffset = new LineTableEntry(14, 8);
+
+		table.add(new LineTableEntry(10, 0));
+		table.add(loopTest);
+		table.add(loopStart);
+		table.add(sameOffset);
+		table.add(new LineTableEntry(16, 20));
+
+		assertEquals(5, table.size());
+		assertEquals(16, table.getLastSourceLine());
+
+		// first added entry for a repeated source line
+		assertSame(loopTest, table.getEntryForSourceLine(12));
+		assertNull(table.getEntryForSourceLine(11));
+		assertNull(table.getEntryForSourceLine(99));
+
+		assertEquals(-1, table.findSourceLineForBytecodeOffset(-1));
+		assertEquals(10, table.findSourceLineForBytecodeOffset(7));
+
+		// lowest source line for a repeated offset
+		assertEquals(12, table.findSourceLineForBytecodeOffset(8));
+		assertEquals(12, table.findSourceLineForBytecodeOffset(19));
+		assertEquals(16, table.findSourceLineForBytecodeOffset(29));
+		assertEquals(12, table.findSourceLineForBytecodeOffset(31));
+
+		// adding after a lookup rebuilds the index
+		table.add(new LineTableEntry(18, 40));
+
+		assertEquals(18, table.findSourceLineForBytecodeOffset(41));
+		assertEquals(18, table.getLastSourceLine());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.ILogLineHandler;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.core.LogLineType;
+import org.adoptopenjdk.jitwatch.core.MappedLogReader;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLogFollowing
+{
+	private static final long WAIT_MILLIS = 10000;
+
+	private static final String[] QUEUED_LINES = new String[] {
+			"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+			"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='55' count='520' backedge_count='5000' iicount='520' stamp='0.083' comment='count' hot_count='520'/>",
+			"<nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.100'/>" };
+
+	private static final String PARTIAL_LINE = "<task compile_id='1' method='java/lang/String length ()I' ";
+
+	private static final String[] TASK_LINES = new String[] {
+			"bytes='55' count='521' backedge_count='5000' iicount='521' stamp='0.083'>",
+			"<type id='721' name='int'/>",
+			"<klass id='729' name='java/lang/String' flags='17'/>",
+			"<method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>",
+			"<parse method='730' uses='521' stamp='0.084'>",
+			"</parse>",
+			"<task_done success='1' nmsize='376' count='546' backedge_count='5389' stamp='0.105'/>",
+			"</task>",
+			"Decoding compiled method 0x00007fb5ad0fe290:",
+			"Code:",
+			"[Disassembling for mach=&apos;i386:x86-64&apos;]",
+			"[Entry Point]",
+			"[Verified Entry Point]",
+			"[Constants]",
+			"  # {method} &apos;length&apos; &apos;()I&apos; in &apos;java/lang/String&apos;",
+			"  0x00007fb5ad0fe2e0: callq  0x00007f7d77e276f0  ;   {runtime_call}",
+			"0x00007fb5ad0fe2ea: hlt",
+			"<writer thread='140418643298048'/>" };
+
+	private File logFile;
+
+	private List<JITEvent> events = new CopyOnWriteArrayList<>();
+
+	private volatile boolean readComplete = false;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		logFile = Files.createTempFile("testfollow", ".log").toFile();
+	}
+
+	@After
+	public void tearDown()
+	{
+		logFile.delete();
+	}
+
+	private void append(String text) throws IOException
+	{
+		Files.write(logFile.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+
+	private void appendLines(String[] lines) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : lines)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		append(builder.toString());
+	}
+
+	private HotSpotLogParser createParser()
+	{
+		HotSpotLogParser parser = new HotSpotLogParser(new IJITListener()
+		{
+			@Override
+			public void handleLogEntry(String entry)
+			{
+			}
+
+			@Override
+			public void handleErrorEntry(String entry)
+			{
+			}
+
+			@Override
+			public void handleReadStart()
+			{
+			}
+
+			@Override
+			public void handleReadComplete()
+			{
+				readComplete = true;
+			}
+
+			@Override
+			public void handleJITEvent(JITEvent event)
+			{
+				events.add(event);
+			}
+		});
+
+		parser.setConfig(new JITWatchConfig());
+
+		return parser;
+	}
+
+	private Thread follow(final HotSpotLogParser parser)
+	{
+		Thread thread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					parser.followLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+				}
+				catch (IOException ioe)
+				{
+					throw new RuntimeException(ioe);
+				}
+			}
+		});
+
+		thread.start();
+
+		return thread;
+	}
+
+	private void waitForEvents(int count) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+
+		while (events.size() < count && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+
+		assertTrue("Expected " + count + " events but got " + events.size(), events.size() >= count);
+	}
+
+	// the offset is only advanced once the appended lines have been handled
+	private void waitForFollowOffset(HotSpotLogParser parser, long offset) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+
+		while (parser.getFollowOffset() < offset && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+
+		assertEquals(offset, parser.getFollowOffset());
+	}
+
+	private IMetaMember getStringLength(HotSpotLogParser parser)
+	{
+		MetaClass metaClass = parser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		assertNotNull(metaClass);
+
+		IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromParts("java.lang.String", "length",
+				"int", new ArrayList<String>()));
+
+		assertNotNull(member);
+
+		return member;
+	}
+
+	@Test
+	public void testFollowGrowingLog() throws IOException, InterruptedException
+	{
+		appendLines(QUEUED_LINES);
+		append(PARTIAL_LINE);
+
+		HotSpotLogParser parser = createParser();
+
+		Thread thread = follow(parser);
+
+		waitForEvents(2);
+
+		long completeLength = logFile.length() - PARTIAL_LINE.length();
+
+		// the unterminated line is left for the next read
+		waitForFollowOffset(parser, completeLength);
+
+		IMetaMember member = getStringLength(parser);
+
+		assertTrue(member.isCompiled());
+		assertNull(member.getCompilations().get(0).getTagTask());
+
+		appendLines(TASK_LINES);
+		appendLines(new String[] { "<hotspot_log_done stamp='0.200'/>" });
+
+		// the JVM has closed the log so following ends without stopParsing()
+		thread.join(WAIT_MILLIS);
+
+		assertFalse(thread.isAlive());
+		assertTrue(readComplete);
+		assertEquals(logFile.length(), parser.getFollowOffset());
+
+		Compilation compilation = member.getCompilations().get(0);
+
+		assertNotNull(compilation.getTagTask());
+		assertEquals(376, compilation.getNativeSize());
+		assertNotNull(compilation.getAssembly());
+	}
+
+	@Test
+	public void testStopFollowing() throws IOException, InterruptedException
+	{
+		appendLines(QUEUED_LINES);
+
+		HotSpotLogParser parser = createParser();
+
+		Thread thread = follow(parser);
+
+		waitForEvents(2);
+
+		parser.stopParsing();
+
+		thread.join(WAIT_MILLIS);
+
+		assertFalse(thread.isAlive());
+		assertTrue(readComplete);
+		assertEquals(logFile.length(), parser.getFollowOffset());
+	}
+
+	@Test
+	public void testReadAppendedLinesStopsAtLastNewline() throws IOException
+	{
+		appendLines(QUEUED_LINES);
+		append(PARTIAL_LINE);
+
+		final List<String> lines = new ArrayList<>();
+
+		MappedLogReader reader = new MappedLogReader(new ILogLineHandler()
+		{
+			@Override
+			public boolean isLineTypeWanted(LogLineType type)
+			{
+				return true;
+			}
+
+			@Override
+			public void handleLine(LogLineType type, long lineNumber, String line)
+			{
+				lines.add(line);
+			}
+		});
+
+		reader.startReading();
+
+		long offset = reader.readAppendedLines(logFile, 0);
+
+		assertEquals(3, lines.size());
+		assertEquals(logFile.length() - PARTIAL_LINE.length(), offset);
+
+		append("bytes='55'>" + JITWatchConstants.S_NEWLINE);
+
+		long nextOffset = reader.readAppendedLines(logFile, offset);
+
+		assertEquals(4, lines.size());
+		assertEquals(PARTIAL_LINE + "bytes='55'>", lines.get(3));
+		assertEquals(logFile.length(), nextOffset);
+	}
+}
\ No newline at end of file
@@ -6,15 +6,29 @@
 package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.ILogLineHandler;
 import org.adoptopenjdk.jitwatch.core.ILogParser;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.core.LogLineType;
+import org.adoptopenjdk.jitwatch.core.MappedLogReader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.SplitLog;
 import org.junit.Test;
 
@@ -234,4 +248,251 @@ public class TestLogSplitting
 		assertEquals(10, log.getAssemblyLines().size());
 		assertEquals(5, log.getLogCompilationLines().size());
 	}
+
+	@Test
+	public void testStreamingParseMatchesSplitParse() throws Exception
+	{
+		String[] lines = new String[] {
+				"<tty>",
+				"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.083' comment='count' hot_count='5000'/>",
+				"<nmethod compile_id='1' compiler='C2' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.105'/>",
+				"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+				"</tty>",
+				"<compilation_log thread='1234'>",
+				"<task compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.084'>",
+				"<task_done success='1' nmsize='376' count='5000' stamp='0.105'/>",
+				"</task>",
+				"</compilation_log>" };
+
+		Path path = writeLinesToTempFileAndReturnPath(lines);
+
+		ILogParser splitParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		splitParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		JITWatchConfig config = new JITWatchConfig(Files.createTempFile("teststream", ".properties").toFile());
+		config.setStreamingParse(true);
+
+		ILogParser streamParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		streamParser.setConfig(config);
+		streamParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		SplitLog streamedLog = streamParser.getSplitLog();
+
+		assertEquals(0, streamedLog.getHeaderLines().size());
+		assertEquals(0, streamedLog.getClassLoaderLines().size());
+		assertEquals(0, streamedLog.getLogCompilationLines().size());
+		assertEquals(0, streamedLog.getAssemblyLines().size());
+
+		assertEquals(splitParser.getModel().getEventListCopy().size(), streamParser.getModel().getEventListCopy().size());
+
+		MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature("java.lang.String length ()I");
+
+		MetaClass metaClass = streamParser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		assertNotNull(metaClass);
+
+		IMetaMember member = metaClass.getMemberForSignature(msp);
+
+		assertNotNull(member);
+		assertTrue(member.isCompiled());
+		assertEquals(1, member.getCompilations().size());
+		assertNotNull(member.getCompilationByCompileID("1").getTagTask());
+		assertNotNull(member.getCompilationByCompileID("1").getTagTaskDone());
+	}
+
+	@Test
+	public void testMappedReaderLinesStraddleWindows() throws Exception
+	{
+		String[] lines = new String[] {
+				"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' stamp='0.083'/>",
+				"   [Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+				"",
+				"  0x00007fb5ad0fe96f: hlt <nmethod compile_id='1' compiler='C2' method='java/lang/String length ()I'/>",
+				"@ 1   java.lang.String::length (6 bytes)",
+				"<writer thread='140418643298048'/>" };
+
+		Path path = writeLinesToTempFileAndReturnPath(lines);
+
+		final List<LogLineType> types = new ArrayList<>();
+		final List<String> decoded = new ArrayList<>();
+
+		ILogLineHandler handler = new ILogLineHandler()
+		{
+			@Override
+			public boolean isLineTypeWanted(LogLineType type)
+			{
+				return type != LogLineType.CLASS_LOADER;
+			}
+
+			@Override
+			public void handleLine(LogLineType type, long lineNumber, String line)
+			{
+				types.add(type);
+				decoded.add(line);
+			}
+		};
+
+		// window smaller than most lines forces remapping mid-line
+		new MappedLogReader(handler, 16).readFile(path.toFile());
+
+		assertEquals(4, types.size());
+		assertEquals(LogLineType.LOG_COMPILATION, types.get(0));
+		assertEquals(lines[0], decoded.get(0));
+		assertEquals(LogLineType.ASSEMBLY, types.get(1));
+		assertEquals("  0x00007fb5ad0fe96f: hlt ", decoded.get(1));
+		assertEquals(LogLineType.LOG_COMPILATION, types.get(2));
+		assertEquals("<nmethod compile_id='1' compiler='C2' method='java/lang/String length ()I'/>", decoded.get(2));
+		assertEquals(lines[5], decoded.get(3));
+	}
+
+	@Test
+	public void testParallelParseMatchesSequentialParse() throws Exception
+	{
+		String[] lines = new String[] {
+				"<tty>",
+				"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.083' comment='count' hot_count='5000'/>",
+				"<task_queued compile_id='2' method='java/lang/String hashCode ()I' bytes='55' count='5000' iicount='5000' stamp='0.084' comment='count' hot_count='5000'/>",
+				"<nmethod compile_id='1' compiler='C2' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.105'/>",
+				"<nmethod compile_id='2' compiler='C2' entry='0x00007fb5ad0ff420' size='2504' address='0x00007fb5ad0ff290' relocation_offset='288' method='java/lang/String hashCode ()I' stamp='0.106'/>",
+				"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+				"</tty>",
+				"<compilation_log thread='1234'>",
+				"<task compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.084'>",
+				"<task_done success='1' nmsize='376' count='5000' stamp='0.105'/>",
+				"</task>",
+				"<task compile_id='2' method='java/lang/String hashCode ()I' bytes='55' count='5000' iicount='5000' stamp='0.085'>",
+				"<task_done success='1' nmsize='376' count='5000' stamp='0.106'/>",
+				"</task>",
+				"</compilation_log>" };
+
+		Path path = writeLinesToTempFileAndReturnPath(lines);
+
+		ILogParser sequentialParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		sequentialParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		JITWatchConfig config = new JITWatchConfig(Files.createTempFile("testparallel", ".properties").toFile());
+		config.setParallelParse(true);
+
+		ILogParser parallelParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		parallelParser.setConfig(config);
+		parallelParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		assertEquals(sequentialParser.getModel().getEventListCopy().size(), parallelParser.getModel().getEventListCopy().size());
+
+		MetaClass metaClass = parallelParser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		for (String signature : new String[] { "java.lang.String length ()I", "java.lang.String hashCode ()I" })
+		{
+			IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromLogCompilationSignature(signature));
+
+			assertNotNull(member);
+			assertEquals(1, member.getCompilations().size());
+			assertNotNull(member.getCompilations().get(0).getTagTask());
+			assertNotNull(member.getCompilations().get(0).getTagTaskDone());
+		}
+	}
+
+	private File writeGzipPart(String text) throws IOException
+	{
+		Path path = Files.createTempFile("testsplit", ".log.gz");
+
+		try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(path)))
+		{
+			output.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+
+		return path.toFile();
+	}
+
+	@Test
+	public void testCompressedPartsMatchPlainLog() throws Exception
+	{
+		String[] lines = new String[] {
+				"<tty>",
+				"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.083' comment='count' hot_count='5000'/>",
+				"<nmethod compile_id='1' compiler='C2' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' stamp='0.105'/>",
+				"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+				"</tty>",
+				"<compilation_log thread='1234'>",
+				"<task compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' iicount='5000' stamp='0.084'>",
+				"<task_done success='1' nmsize='376' count='5000' stamp='0.105'/>",
+				"</task>",
+				"</compilation_log>" };
+
+		Path path = writeLinesToTempFileAndReturnPath(lines);
+
+		String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+
+		// the second part starts in the middle of the <task> line
+		int split = text.indexOf("<task compile_id") + 10;
+
+		List<File> parts = new ArrayList<>();
+		parts.add(writeGzipPart(text.substring(0, split)));
+		parts.add(writeGzipPart(text.substring(split)));
+
+		ILogParser plainParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		plainParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		ILogParser partsParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+		partsParser.processLogFiles(parts, UnitTestUtil.getNoOpParseErrorListener());
+
+		assertEquals(plainParser.getSplitLog().getLogCompilationLines().size(), partsParser.getSplitLog().getLogCompilationLines().size());
+		assertEquals(plainParser.getModel().getEventListCopy().size(), partsParser.getModel().getEventListCopy().size());
+
+		MetaClass metaClass = partsParser.getModel().getPackageManager().getMetaClass("java.lang.String");
+
+		IMetaMember member = metaClass.getMemberForSignature(MemberSignatureParts.fromLogCompilationSignature("java.lang.String length ()I"));
+
+		assertNotNull(member);
+		assertNotNull(member.getCompilationByCompileID("1").getTagTask());
+		assertNotNull(member.getCompilationByCompileID("1").getTagTaskDone());
+
+		for (File part : parts)
+		{
+			part.delete();
+		}
+	}
+
+	@Test
+	public void testLineNumbersRunOnAcrossParts() throws Exception
+	{
+		File firstPart = writeLinesToTempFileAndReturnPath(new String[] { "<task_queued compile_id='1'/>", "<task_queued compile_id='2'/>" }).toFile();
+		File secondPart = writeGzipPart("<task_queued compile_id='3'/>\n<task_queued compile_id='4'/>\n");
+
+		final List<Long> lineNumbers = new ArrayList<>();
+		final List<String> decoded = new ArrayList<>();
+
+		ILogLineHandler handler = new ILogLineHandler()
+		{
+			@Override
+			public boolean isLineTypeWanted(LogLineType type)
+			{
+				return true;
+			}
+
+			@Override
+			public void handleLine(LogLineType type, long lineNumber, String line)
+			{
+				lineNumbers.add(lineNumber);
+				decoded.add(line);
+			}
+		};
+
+		List<File> parts = new ArrayList<>();
+		parts.add(firstPart);
+		parts.add(secondPart);
+
+		// buffer smaller than a line forces it to grow
+		MappedLogReader reader = new MappedLogReader(handler, 16);
+		reader.readFiles(parts);
+
+		assertEquals(4, decoded.size());
+		assertEquals("<task_queued compile_id='4'/>", decoded.get(3));
+		assertEquals(Long.valueOf(3), lineNumbers.get(3));
+		assertEquals("1 (" + firstPart.getName() + " line 1)", reader.describeLine(1));
+		assertEquals("3 (" + secondPart.getName() + " line 1)", reader.describeLine(3));
+
+		firstPart.delete();
+		secondPart.delete();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
+import org.adoptopenjdk.jitwatch.loader.IMemberLoadListener;
+import org.adoptopenjdk.jitwatch.loader.MemberLoader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestMemberLoader
+{
+	private JITDataModel model;
+
+	private IMetaMember member;
+
+	private MemberLoader loader;
+
+	private List<String> classLocations = new ArrayList<>();
+
+	private List<String> sourceLocations = new ArrayList<>();
+
+	private static class RecordingListener implements IMemberLoadListener
+	{
+		private final CountDownLatch latch = new CountDownLatch(3);
+
+		private volatile String source;
+
+		private volatile ClassBC classBytecode;
+
+		private volatile boolean assemblyLoaded = false;
+
+		private volatile Thread callbackThread;
+
+		@Override
+		public void handleSourceLoaded(IMetaMember member, String source)
+		{
+			this.source = source;
+			callbackThread = Thread.currentThread();
+			latch.countDown();
+		}
+
+		@Override
+		public void handleBytecodeLoaded(IMetaMember member, ClassBC classBytecode, BytecodeAnnotations annotations,
+				boolean offsetMismatch)
+		{
+			this.classBytecode = classBytecode;
+			callbackThread = Thread.currentThread();
+			latch.countDown();
+		}
+
+		@Override
+		public void handleAssemblyLoaded(IMetaMember member, AssemblyMethod assembly)
+		{
+			assemblyLoaded = true;
+			callbackThread = Thread.currentThread();
+			latch.countDown();
+		}
+	}
+
+	@Before
+	public void setUp() throws ClassNotFoundException
+	{
+		BytecodeCache.getSharedCache().clear();
+		SourceMapper.clear();
+
+		model = new JITDataModel();
+
+		MetaClass metaClass = UnitTestUtil.createMetaClassFor(model, MakeHotSpotLog.class.getName());
+
+		member = metaClass.getMetaMembers().get(0);
+
+		sourceLocations.add("src/main/java");
+
+		loader = new MemberLoader();
+	}
+
+	@After
+	public void tearDown()
+	{
+		loader.shutdown();
+
+		BytecodeCache.getSharedCache().clear();
+		SourceMapper.clear();
+	}
+
+	@Test
+	public void testLoadNowDeliversOnCallingThread()
+	{
+		RecordingListener listener = new RecordingListener();
+
+		loader.loadNow(model, member, classLocations, sourceLocations, true, listener);
+
+		assertEquals(0, listener.latch.getCount());
+		assertEquals(Thread.currentThread(), listener.callbackThread);
+		assertNotNull(listener.classBytecode);
+		assertNotNull(listener.source);
+		assertTrue(listener.source.contains("class MakeHotSpotLog"));
+		assertTrue(listener.assemblyLoaded);
+	}
+
+	@Test
+	public void testLoadInBackground() throws InterruptedException
+	{
+		RecordingListener listener = new RecordingListener();
+
+		loader.load(model, member, classLocations, sourceLocations, true, listener);
+
+		assertTrue(listener.latch.await(30, TimeUnit.SECONDS));
+		assertFalse(Thread.currentThread().equals(listener.callbackThread));
+		assertNotNull(listener.classBytecode);
+		assertNotNull(listener.source);
+	}
+
+	@Test
+	public void testNewLoadCancelsPrevious() throws InterruptedException
+	{
+		RecordingListener first = new RecordingListener();
+
+		MemberLoader.Request firstRequest = loader.load(model, member, classLocations, sourceLocations, false, first);
+
+		RecordingListener second = new RecordingListener();
+
+		MemberLoader.Request secondRequest = loader.loadNow(model, member, classLocations, sourceLocations, false, second);
+
+		assertTrue(firstRequest.isCancelled());
+		assertFalse(secondRequest.isCancelled());
+
+		// no source requested
+		assertEquals(1, second.latch.getCount());
+		assertNull(second.source);
+		assertNotNull(second.classBytecode);
+	}
+}
\ No newline at end of file
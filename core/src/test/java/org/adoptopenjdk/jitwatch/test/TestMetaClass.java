@@ -7,6 +7,8 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -73,6 +75,14 @@ public class TestMetaClass<K extends java.lang.Object>
 		return null;
 	}
 
+	public void overloaded(int foo)
+	{
+	}
+
+	public void overloaded(int foo, int bar)
+	{
+	}
+
 	// test constructor
 	public TestMetaClass()
 	{
@@ -357,4 +367,42 @@ public class TestMetaClass<K extends java.lang.Object>
 		assertNotNull(result);
 		assertEquals(testMethod.toString(), result.toString());
 	}
+
+	@Test
+	public void testMemberIndexUpdatedWhenMembersAdded() throws NoSuchMethodException, SecurityException
+	{
+		String thisClassName = getClass().getName();
+
+		MetaPackage metaPackage = new MetaPackage(StringUtil.getPackageName(thisClassName));
+
+		MetaClass metaClass = new MetaClass(metaPackage, StringUtil.getUnqualifiedClassName(thisClassName));
+
+		MetaMethod oneParam = new MetaMethod(getClass().getDeclaredMethod("overloaded", new Class[] { int.class }), metaClass);
+
+		metaClass.addMetaMethod(oneParam);
+
+		List<String> twoParams = new ArrayList<>();
+		twoParams.add("int");
+		twoParams.add("int");
+
+		MemberSignatureParts mspTwoParams = MemberSignatureParts.fromParts(metaClass.getFullyQualifiedName(), "overloaded",
+				S_TYPE_NAME_VOID, twoParams);
+
+		assertEquals(1, metaClass.getMetaMembers().size());
+		assertNull(metaClass.getMemberForSignature(mspTwoParams));
+
+		MetaMethod twoParam = new MetaMethod(getClass().getDeclaredMethod("overloaded", new Class[] { int.class, int.class }),
+				metaClass);
+
+		metaClass.addMetaMethod(twoParam);
+
+		assertEquals(2, metaClass.getMetaMembers().size());
+		assertSame(twoParam, metaClass.getMemberForSignature(mspTwoParams));
+
+		List<String> oneParamList = new ArrayList<>();
+		oneParamList.add("int");
+
+		assertSame(oneParam, metaClass.getMemberForSignature(MemberSignatureParts.fromParts(metaClass.getFullyQualifiedName(),
+				"overloaded", S_TYPE_NAME_VOID, oneParamList)));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.ITagHandler;
+import org.adoptopenjdk.jitwatch.core.ParallelTagParser;
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.junit.Test;
+
+public class TestParallelTagParser
+{
+	private static final String[] LINES = new String[] {
+			"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' stamp='0.083'/>",
+			"<task compile_id='1' method='java/lang/String length ()I' bytes='6' count='5000' stamp='0.084'>",
+			"<type id='680' name='int'/>",
+			"<klass id='729' name='java/lang/String' flags='17'/>",
+			"<method id='730' holder='729' name='length' return='680' flags='1' bytes='6' iicount='5000'/>",
+			"<parse method='730' uses='5000' stamp='0.084'>",
+			"<bc code='190' bci='4'/>",
+			"</parse>",
+			"<task_done success='1' nmsize='376' count='5000' stamp='0.105'/>",
+			"</task>",
+			"<nmethod compile_id='1' compiler='C2' method='java/lang/String length ()I' stamp='0.105'/>",
+			"<writer thread='140418643298048'/>",
+			"<print_text>",
+			"some text",
+			"more text</print_text>",
+			"<fragment>",
+			"<z attr0='zzz'/>",
+			"<a attr1='aaa'>",
+			"<b attr2='bbb'/>",
+			"</fragment>",
+			"<task compile_id='2' method='java/lang/String charAt (I)C' bytes='29' count='5000' stamp='0.2'>",
+			"<phase name='idealLoop' nodes='1119' stamp='0.21'>",
+			"<loop_tree>",
+			"<loop idx='1124' >",
+			"</loop>",
+			"</loop_tree>",
+			"</phase>",
+			"<task_done success='1' nmsize='120' count='5000' stamp='0.22'/>",
+			"</task>",
+			"<task compile_id='3' method='java/lang/String hashCode ()I' bytes='55' count='5000' stamp='0.3'>" };
+
+	private List<String> parseSequential()
+	{
+		List<String> result = new ArrayList<>();
+
+		TagProcessor tagProcessor = new TagProcessor();
+
+		for (int i = 0; i < LINES.length; i++)
+		{
+			Tag tag = tagProcessor.processLine(LINES[i]);
+
+			if (tag != null)
+			{
+				result.add(i + ":" + tag.toString());
+			}
+		}
+
+		return result;
+	}
+
+	private List<Tag> parseParallel(int chunkLines, final List<String> described)
+	{
+		final List<Tag> tags = new ArrayList<>();
+
+		ParallelTagParser parser = new ParallelTagParser(new ITagHandler()
+		{
+			@Override
+			public void handleTag(Tag tag, long lineNumber)
+			{
+				tags.add(tag);
+				described.add(lineNumber + ":" + tag.toString());
+			}
+		}, 4, chunkLines);
+
+		for (int i = 0; i < LINES.length; i++)
+		{
+			parser.addLine(new NumberedLine(i, LINES[i]));
+		}
+
+		parser.flush();
+		parser.shutdown();
+
+		return tags;
+	}
+
+	@Test
+	public void testParallelMatchesSequential()
+	{
+		List<String> expected = parseSequential();
+
+		assertEquals(7, expected.size());
+
+		for (int chunkLines = 1; chunkLines <= LINES.length; chunkLines++)
+		{
+			List<String> described = new ArrayList<>();
+
+			parseParallel(chunkLines, described);
+
+			assertEquals("chunkLines " + chunkLines, expected, described);
+		}
+	}
+
+	@Test
+	public void testTaskParseDictionaryBuiltInChunk()
+	{
+		List<Tag> tags = parseParallel(1, new ArrayList<String>());
+
+		Tag taskTag = tags.get(1);
+
+		assertTrue(taskTag instanceof Task);
+
+		Task task = (Task) taskTag;
+
+		assertNotNull(task.getParseDictionary().getMethod("730"));
+		assertNotNull(task.getParseDictionary().getKlass("729"));
+		assertNotNull(task.getParseDictionary().getType("680"));
+	}
+}
@@ -9,6 +9,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_TYPE_NAME_VOID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,6 +26,7 @@ import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.MemberResolutionCache;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.MetaConstructor;
@@ -950,4 +952,46 @@ public class TestParseUtil
 		assertEquals("int", msp.getParamTypes().get(3));
 		assertEquals("int", msp.getParamTypes().get(4));
 	}
+
+	@Test
+	public void testSignatureResolutionIsCached() throws Exception
+	{
+		String sig = "java.lang.String length ()I";
+
+		JITDataModel model = new JITDataModel();
+
+		MemberResolutionCache cache = model.getPackageManager().getMemberResolutionCache();
+
+		try
+		{
+			ParseUtil.findMemberWithSignature(model, sig);
+			fail();
+		}
+		catch (LogParseException lpe)
+		{
+		}
+
+		String key = MemberResolutionCache.makeKey(MemberResolutionCache.KEY_LOG_SIGNATURE, sig);
+
+		assertTrue(cache.isCachedAsMissing(key));
+
+		// only adding the class named by the signature discards the negative result
+		model.buildAndGetMetaClass(Integer.class);
+
+		assertTrue(cache.isCachedAsMissing(key));
+
+		model.buildAndGetMetaClass(String.class);
+
+		assertFalse(cache.isCachedAsMissing(key));
+
+		IMetaMember member = ParseUtil.findMemberWithSignature(model, sig);
+
+		assertNotNull(member);
+		assertSame(member, cache.get(key));
+		assertSame(member, ParseUtil.findMemberWithSignature(model, sig));
+
+		model.reset();
+
+		assertEquals(0, cache.size());
+	}
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -25,6 +26,8 @@ import java.util.jar.Manifest;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
 
 import org.adoptopenjdk.jitwatch.loader.ResourceLoader;
+import org.adoptopenjdk.jitwatch.loader.SourceIndex;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -48,6 +51,103 @@ public class TestResourceLoader
 		assertTrue(mySource.contains("1234567896465487946542165467987654646879764684"));
 	}
 
+	@Test
+	public void testSourceIndexReusedForSameLocations()
+	{
+		List<String> sourceLocations = new ArrayList<>();
+		sourceLocations.add(tempJarPath.toString());
+
+		SourceIndex index = SourceIndex.getIndex(sourceLocations);
+
+		assertTrue(index.size() > 0);
+		assertSame(index, SourceIndex.getIndex(new ArrayList<>(sourceLocations)));
+
+		String fileName = getClass().getName().replace(S_DOT, S_SLASH) + ".java";
+
+		assertNotNull(index.getSource(fileName));
+		assertNull(index.getSource("no/such/File.java"));
+
+		sourceLocations.add(0, Paths.get(System.getProperty("user.dir"), "src", "main", "java").toString());
+
+		assertNotSame(index, SourceIndex.getIndex(sourceLocations));
+	}
+
+	@Test
+	public void testEarlierDirectoryWinsOverArchive() throws IOException
+	{
+		String fileName = getClass().getName().replace(S_DOT, S_SLASH) + ".java";
+
+		Path tempDir = Files.createTempDirectory("source");
+
+		Path shadowFile = tempDir.resolve(fileName);
+
+		Files.createDirectories(shadowFile.getParent());
+		Files.write(shadowFile, "shadowed".getBytes(StandardCharsets.UTF_8));
+
+		List<String> sourceLocations = new ArrayList<>();
+		sourceLocations.add(tempJarPath.toString());
+		sourceLocations.add(tempDir.toString());
+
+		assertTrue(ResourceLoader.getSourceForFilename(fileName, sourceLocations).contains("a really unique comment"));
+
+		sourceLocations.add(0, tempDir.toString());
+
+		assertEquals("shadowed", ResourceLoader.getSourceForFilename(fileName, sourceLocations));
+	}
+
+	@Test
+	public void testSourceIndexRebuiltWhenArchiveAppears() throws IOException
+	{
+		Path missingJarPath = Files.createTempFile("missing", ".jar");
+
+		Files.delete(missingJarPath);
+
+		List<String> sourceLocations = new ArrayList<>();
+		sourceLocations.add(missingJarPath.toString());
+
+		String fileName = getClass().getName().replace(S_DOT, S_SLASH) + ".java";
+
+		SourceIndex index = SourceIndex.getIndex(sourceLocations);
+
+		assertFalse(index.isStale());
+		assertNull(ResourceLoader.getSourceForFilename(fileName, sourceLocations));
+
+		Files.copy(tempJarPath, missingJarPath);
+
+		assertTrue(index.isStale());
+
+		SourceIndex.setValidateIntervalMillis(0);
+
+		assertNotNull(ResourceLoader.getSourceForFilename(fileName, sourceLocations));
+		assertNotSame(index, SourceIndex.getIndex(sourceLocations));
+
+		SourceIndex.clear();
+
+		Files.delete(missingJarPath);
+	}
+
+	@Test
+	public void testReplacedSourceIndexStillReadable()
+	{
+		List<String> sourceLocations = new ArrayList<>();
+		sourceLocations.add(tempJarPath.toString());
+
+		String fileName = getClass().getName().replace(S_DOT, S_SLASH) + ".java";
+
+		SourceIndex index = SourceIndex.getIndex(sourceLocations);
+
+		SourceIndex.clear();
+
+		assertNotNull(index.getSource(fileName));
+	}
+
+	@After
+	public void tearDown()
+	{
+		SourceIndex.setValidateIntervalMillis(SourceIndex.DEFAULT_VALIDATE_INTERVAL_MILLIS);
+		SourceIndex.clear();
+	}
+
 	@Before
 	public void run() throws IOException
 	{
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+
+import org.adoptopenjdk.jitwatch.core.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.junit.Test;
+
+public class TestSyntheticHotSpotLog
+{
+	private static final long TARGET_BYTES = 64 * 1024;
+
+	@Test
+	public void testSameSeedWritesSameLog() throws IOException
+	{
+		StringWriter first = new StringWriter();
+		StringWriter second = new StringWriter();
+		StringWriter other = new StringWriter();
+
+		long written = SyntheticHotSpotLog.write(first, TARGET_BYTES, SyntheticHotSpotLog.DEFAULT_SEED);
+
+		SyntheticHotSpotLog.write(second, TARGET_BYTES, SyntheticHotSpotLog.DEFAULT_SEED);
+		SyntheticHotSpotLog.write(other, TARGET_BYTES, SyntheticHotSpotLog.DEFAULT_SEED + 1);
+
+		assertTrue(written >= TARGET_BYTES);
+		assertEquals(written, first.toString().length());
+		assertEquals(first.toString(), second.toString());
+		assertFalse(first.toString().equals(other.toString()));
+	}
+
+	@Test
+	public void testLogParses() throws IOException
+	{
+		File logFile = Files.createTempFile("testsynthetic", ".log").toFile();
+
+		try
+		{
+			SyntheticHotSpotLog.write(logFile, TARGET_BYTES, SyntheticHotSpotLog.DEFAULT_SEED);
+
+			HotSpotLogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+			parser.setConfig(new JITWatchConfig());
+			parser.processLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+
+			assertFalse(parser.hasParseError());
+
+			MetaClass metaClass = parser.getModel().getPackageManager()
+					.getMetaClass("org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog");
+
+			assertNotNull(metaClass);
+
+			int compiledCount = 0;
+
+			for (IMetaMember member : metaClass.getMetaMembers())
+			{
+				for (Compilation compilation : member.getCompilations())
+				{
+					assertNotNull(compilation.getTagTask());
+					assertNotNull(compilation.getAssembly());
+
+					compiledCount++;
+				}
+			}
+
+			assertTrue(compiledCount > 10);
+		}
+		finally
+		{
+			logFile.delete();
+		}
+	}
+}
\ No newline at end of file
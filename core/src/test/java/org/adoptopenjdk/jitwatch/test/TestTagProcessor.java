@@ -13,15 +13,19 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.core.SymbolTable;
 import org.adoptopenjdk.jitwatch.core.TagProcessor;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.junit.Test;
 
 public class TestTagProcessor
@@ -518,4 +522,96 @@ public class TestTagProcessor
 
 		assertTrue(tp.wasFragmentSeen());
 	}
+
+	@Test
+	public void testAttributesMatchStringUtilParsing()
+	{
+		String[] attributeStrings = new String[] {
+				" compile_id='21' method='java/util/Properties loadConvert ([CII[C)Ljava/lang/String;' bytes='505' stamp='6.801'>",
+				" reason='already compiled into a big method' x=y='1' empty='' dup='1' dup='2'/>",
+				" noattrs",
+				"" };
+
+		for (String attributeString : attributeStrings)
+		{
+			Tag tag = new Tag("test", attributeString, false);
+
+			Map<String, String> expected = StringUtil.attributeStringToMap(attributeString);
+
+			assertEquals(expected, tag.getAttributes());
+
+			for (Map.Entry<String, String> entry : expected.entrySet())
+			{
+				assertEquals(entry.getValue(), tag.getAttribute(entry.getKey()));
+			}
+		}
+
+		Tag tag = new Tag("test", " dup='1' dup='2'", true);
+
+		assertEquals(1, tag.getAttributes().size());
+		assertEquals("2", tag.getAttribute("dup"));
+		assertNull(tag.getAttribute("missing"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAttributesAreReadOnly()
+	{
+		Tag tag = new Tag("test", " compile_id='1'", true);
+
+		tag.getAttributes().put("compile_id", "2");
+	}
+
+	@Test
+	public void testTagNamesAndAttributesUseSymbols()
+	{
+		TagProcessor tp = new TagProcessor();
+
+		Tag tag = tp.processLine("<nmethod compile_id='1' compiler='C2' compile_kind='osr' stamp='0.105'/>");
+
+		assertSame(JITWatchConstants.TAG_NMETHOD, tag.getName());
+
+		Map<String, String> attrs = tag.getAttributes();
+
+		for (Map.Entry<String, String> entry : attrs.entrySet())
+		{
+			String key = entry.getKey();
+
+			if (JITWatchConstants.ATTR_COMPILE_ID.equals(key))
+			{
+				assertSame(JITWatchConstants.ATTR_COMPILE_ID, key);
+			}
+			else if (JITWatchConstants.ATTR_COMPILER.equals(key))
+			{
+				assertSame(JITWatchConstants.C2, entry.getValue());
+			}
+			else if (JITWatchConstants.ATTR_COMPILE_KIND.equals(key))
+			{
+				assertSame(JITWatchConstants.OSR, entry.getValue());
+			}
+		}
+
+		Tag other = tp.processLine("<inline_fail reason='hot method too big'/>");
+		Tag another = tp.processLine("<inline_fail reason='hot method too big'/>");
+
+		assertSame(other.getName(), another.getName());
+		assertEquals(other.getAttribute(JITWatchConstants.ATTR_REASON), another.getAttribute(JITWatchConstants.ATTR_REASON));
+	}
+
+	@Test
+	public void testSymbolTableClearKeepsConstants()
+	{
+		SymbolTable.clear();
+
+		int seededSize = SymbolTable.size();
+
+		SymbolTable.intern("not_a_hotspot_tag_name");
+
+		assertEquals(seededSize + 1, SymbolTable.size());
+
+		SymbolTable.clear();
+
+		assertEquals(seededSize, SymbolTable.size());
+		assertSame(JITWatchConstants.TAG_NMETHOD, SymbolTable.intern(new String(JITWatchConstants.TAG_NMETHOD)));
+		assertSame(JITWatchConstants.C2, SymbolTable.internValue(JITWatchConstants.ATTR_COMPILER, new String(JITWatchConstants.C2)));
+	}
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2016 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.suggestion.AttributeSuggestionWalker;
+import org.adoptopenjdk.jitwatch.suggestion.Suggestion;
+import org.adoptopenjdk.jitwatch.toplist.AbstractTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.ITopListScore;
+import org.adoptopenjdk.jitwatch.toplist.StringTopListScore;
+import org.adoptopenjdk.jitwatch.treevisitor.IParallelTreeVisitable;
+import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
+import org.junit.Test;
+
+public class TestTreeVisitor
+{
+	private static final Class<?>[] CLASSES = new Class<?>[] { String.class, Integer.class, Long.class, Math.class,
+			StringBuilder.class, java.util.ArrayList.class, java.util.HashMap.class, java.util.LinkedList.class,
+			java.util.TreeMap.class, java.util.concurrent.ConcurrentHashMap.class, java.util.concurrent.ForkJoinPool.class,
+			java.io.File.class, java.io.PrintStream.class, java.nio.ByteBuffer.class };
+
+	private static class RecordingVisitable implements IParallelTreeVisitable<RecordingVisitable>
+	{
+		private final List<String> visited = new ArrayList<>();
+
+		@Override
+		public void visit(IMetaMember mm)
+		{
+			visited.add(mm.toString());
+		}
+
+		@Override
+		public void reset()
+		{
+			visited.clear();
+		}
+
+		@Override
+		public RecordingVisitable createWorker()
+		{
+			return new RecordingVisitable();
+		}
+
+		@Override
+		public void merge(RecordingVisitable worker)
+		{
+			visited.addAll(worker.visited);
+		}
+	}
+
+	private static class MemberNameTopListVisitable extends AbstractTopListVisitable
+	{
+		private final Map<String, Integer> nameCountMap = new HashMap<>();
+
+		public MemberNameTopListVisitable(IReadOnlyJITDataModel model)
+		{
+			super(model, true);
+		}
+
+		@Override
+		public AbstractTopListVisitable createWorker()
+		{
+			return new MemberNameTopListVisitable(model);
+		}
+
+		@Override
+		public void visit(IMetaMember mm)
+		{
+			Integer count = nameCountMap.get(mm.getMemberName());
+
+			nameCountMap.put(mm.getMemberName(), count == null ? 1 : count + 1);
+		}
+
+		@Override
+		public void postProcess()
+		{
+			for (Map.Entry<String, Integer> entry : nameCountMap.entrySet())
+			{
+				topList.add(new StringTopListScore(entry.getKey(), entry.getValue().longValue()));
+			}
+		}
+
+		@Override
+		public void merge(AbstractTopListVisitable worker)
+		{
+			super.merge(worker);
+
+			mergeCounts(nameCountMap, ((MemberNameTopListVisitable) worker).nameCountMap);
+		}
+	}
+
+	private static class WalkingSuggestionWalker extends AttributeSuggestionWalker
+	{
+		public WalkingSuggestionWalker(IReadOnlyJITDataModel model)
+		{
+			super(model);
+		}
+
+		public List<Suggestion> walkSequential()
+		{
+			TreeVisitor.walkTree(model, this);
+
+			return new ArrayList<>(suggestionList);
+		}
+
+		public List<Suggestion> walkParallel(int classesPerTask)
+		{
+			TreeVisitor.walkTreeParallel(model, this, classesPerTask);
+
+			return new ArrayList<>(suggestionList);
+		}
+	}
+
+	private JITDataModel buildModel()
+	{
+		JITDataModel model = new JITDataModel();
+
+		for (Class<?> clazz : CLASSES)
+		{
+			model.buildAndGetMetaClass(clazz);
+		}
+
+		return model;
+	}
+
+	@Test
+	public void testParallelWalkVisitsInTreeOrder()
+	{
+		JITDataModel model = buildModel();
+
+		RecordingVisitable sequential = new RecordingVisitable();
+
+		TreeVisitor.walkTree(model, sequential);
+
+		assertTrue(sequential.visited.size() > 100);
+
+		for (int classesPerTask : new int[] { 1, 3, TreeVisitor.DEFAULT_CLASSES_PER_TASK })
+		{
+			RecordingVisitable parallel = new RecordingVisitable();
+
+			TreeVisitor.walkTreeParallel(model, parallel, classesPerTask);
+
+			assertEquals(sequential.visited, parallel.visited);
+		}
+	}
+
+	@Test
+	public void testTopListMergesWorkerCounts()
+	{
+		JITDataModel model = buildModel();
+
+		Map<String, Integer> expected = new HashMap<>();
+
+		for (Class<?> clazz : CLASSES)
+		{
+			MetaClass metaClass = model.getPackageManager().getMetaClass(clazz.getName());
+
+			for (IMetaMember member : metaClass.getMetaMembers())
+			{
+				Integer count = expected.get(member.getMemberName());
+
+				expected.put(member.getMemberName(), count == null ? 1 : count + 1);
+			}
+		}
+
+		List<ITopListScore> topList = new MemberNameTopListVisitable(model).buildTopList();
+
+		assertEquals(expected.size(), topList.size());
+
+		for (ITopListScore score : topList)
+		{
+			assertEquals(expected.get(score.getKey()).longValue(), score.getScore());
+		}
+
+		assertTrue(topList.get(0).getScore() >= topList.get(topList.size() - 1).getScore());
+	}
+
+	@Test
+	public void testBuildingExistingClassReturnsModelledClass()
+	{
+		JITDataModel model = buildModel();
+
+		MetaClass metaClass = model.getPackageManager().getMetaClass(String.class.getName());
+
+		assertSame(metaClass, model.buildAndGetMetaClass(String.class));
+		assertEquals(CLASSES.length, model.getJITStats().getCountClass());
+	}
+
+	// both compilations inline Math.abs(int) and fail to inline the same
+	// call inside it so each class walked reports the same suggestion
+	private String[] getSharedInliningLines(String klassName, String methodName, String returnType)
+	{
+		return new String[] {
+				"<task compile_id='1' method='" + klassName + " " + methodName + " (Ljava/lang/String;)" + returnType
+						+ "' bytes='7' count='10000' iicount='10000' stamp='1.000'>",
+				"<phase name='parse' nodes='3' live='3' stamp='1.000'>",
+				"<type id='700' name='int'/>",
+				"<type id='701' name='long'/>",
+				"<klass id='702' name='java/lang/String' flags='17'/>",
+				"<klass id='703' name='" + klassName + "' flags='17'/>",
+				"<method id='704' holder='703' name='" + methodName + "' return='" + ("I".equals(returnType) ? "700" : "701")
+						+ "' arguments='702' flags='9' bytes='7' iicount='10000'/>",
+				"<parse method='704' uses='10000' stamp='1.000'>",
+				"<bc code='184' bci='3'/>",
+				"<klass id='705' name='java/lang/Math' flags='17'/>",
+				"<method id='706' holder='705' name='abs' return='700' arguments='700' flags='9' bytes='11' iicount='10000'/>",
+				"<call method='706' count='10000' prof_factor='1' inline='1'/>",
+				"<inline_success reason='inline (hot)'/>",
+				"<parse method='706' uses='10000' stamp='1.000'>",
+				"<bc code='184' bci='5'/>",
+				"<method id='707' holder='705' name='max' return='700' arguments='700 700' flags='9' bytes='11' iicount='10000'/>",
+				"<call method='707' count='10000' prof_factor='1' inline='1'/>",
+				"<inline_fail reason='hot method too big'/>",
+				"<parse_done nodes='20' live='20' memory='4096' stamp='1.000'/>",
+				"</parse>",
+				"<parse_done nodes='30' live='30' memory='8192' stamp='1.000'/>",
+				"</parse>",
+				"<phase_done name='parse' nodes='30' live='30' stamp='1.000'/>",
+				"</phase>",
+				"<task_done success='1' nmsize='100' count='10000' stamp='1.100'/>",
+				"</task>" };
+	}
+
+	@Test
+	public void testParallelSuggestionsMatchSequential() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		IMetaMember parseInt = UnitTestUtil.setUpTestMember(model, "java.lang.Integer", "parseInt", int.class,
+				new Class<?>[] { String.class }, "0x1");
+
+		UnitTestUtil.processLogLines(parseInt, getSharedInliningLines("java/lang/Integer", "parseInt", "I"));
+
+		IMetaMember parseLong = UnitTestUtil.setUpTestMember(model, "java.lang.Long", "parseLong", long.class,
+				new Class<?>[] { String.class }, "0x2");
+
+		UnitTestUtil.processLogLines(parseLong, getSharedInliningLines("java/lang/Long", "parseLong", "J"));
+
+		List<Suggestion> sequential = new WalkingSuggestionWalker(model).walkSequential();
+
+		assertEquals(1, sequential.size());
+
+		assertEquals(sequential, new WalkingSuggestionWalker(model).walkParallel(1));
+	}
+}
\ No newline at end of file
@@ -24,12 +24,15 @@ import org.adoptopenjdk.jitwatch.core.JITWatchConfig.OnStackReplacement;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig.TieredCompilation;
 import org.adoptopenjdk.jitwatch.jvmlang.LanguageManager;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.loader.BytecodeCache;
 import org.adoptopenjdk.jitwatch.logger.ILogListener;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.process.IExternalProcess;
 import org.adoptopenjdk.jitwatch.process.compiler.ICompiler;
+import org.adoptopenjdk.jitwatch.process.compiler.IDiagnosticCompiler;
 import org.adoptopenjdk.jitwatch.process.runtime.IRuntime;
 import org.adoptopenjdk.jitwatch.ui.sandbox.ISandboxStage;
 import org.adoptopenjdk.jitwatch.util.FileUtil;
@@ -159,8 +162,17 @@ public class Sandbox
 
 		logListener.handleLogEntry("Compilation success: " + compiledOK);
 
+		if (compiler instanceof IDiagnosticCompiler)
+		{
+			sandboxStage.showCompilerDiagnostics(((IDiagnosticCompiler) compiler).getDiagnostics());
+		}
+
 		if (compiledOK)
 		{
+			// the sandbox classes have been rewritten under the same names
+			BytecodeCache.getSharedCache().clear();
+			SourceMapper.clear();
+
 			String fqClassNameToRun = runtime.getClassToExecute(fileToRun);
 
 			lastProcess = runtime;
@@ -70,6 +70,8 @@ public class ClassMemberList extends VBox
 			public void changed(ObservableValue<? extends IMetaMember> arg0, IMetaMember oldVal, IMetaMember newVal)
 			{
 				parent.setSelectedMetaMember(newVal);
+
+				prefetchNeighbours(parent);
 			}
 		});
 
@@ -103,6 +105,26 @@ public class ClassMemberList extends VBox
 		memberList.prefHeightProperty().bind(heightProperty());
 	}
 
+	private void prefetchNeighbours(JITWatchUI parent)
+	{
+		int index = memberList.getSelectionModel().getSelectedIndex();
+
+		if (index != -1)
+		{
+			List<IMetaMember> items = memberList.getItems();
+
+			if (index + 1 < items.size())
+			{
+				parent.prefetchMember(items.get(index + 1));
+			}
+
+			if (index > 0)
+			{
+				parent.prefetchMember(items.get(index - 1));
+			}
+		}
+	}
+
 	private EventHandler<MouseEvent> getEventHandlerContextMenu(final ContextMenu contextMenuCompiled,
 			final ContextMenu contextMenuNotCompiled)
 	{
@@ -29,6 +29,7 @@ import org.adoptopenjdk.jitwatch.core.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.core.ILogParser;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.loader.MemberLoader;
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
@@ -159,6 +160,7 @@ public class JITWatchUI extends Application implements IJITListener, ILogParseEr
 	private TopListStage topListStage;
 	private CodeCacheStage codeCacheStage;
 	private TriView triViewStage;
+	private MemberLoader memberLoader = new MemberLoader();
 	private BrowserStage browserStage;
 	private SuggestStage suggestStage;
 	private OptimizedVirtualCallStage ovcStage;
@@ -777,6 +779,20 @@ public class JITWatchUI extends Application implements IJITListener, ILogParseEr
 		return logParser.getModel();
 	}
 
+	public MemberLoader getMemberLoader()
+	{
+		return memberLoader;
+	}
+
+	// warms the caches for a member the TriView is likely to show next
+	void prefetchMember(IMetaMember member)
+	{
+		if (triViewStage != null && member != null)
+		{
+			memberLoader.prefetch(getJITDataModel(), member, getConfig().getAllClassLocations());
+		}
+	}
+
 	private void updateButtons()
 	{
 		btnStart.setDisable(hsLogFile == null || isReadingLogFile);
@@ -948,7 +964,7 @@ public class JITWatchUI extends Application implements IJITListener, ILogParseEr
 		// don't use ExtensionFilter on OSX due to JavaFX2 missing combo bug
 		if (osNameProperty != null && !osNameProperty.toLowerCase().contains("mac"))
 		{
-			fc.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Log Files", "*.log"),
+			fc.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Log Files", "*.log", "*.log.gz"),
 					new FileChooser.ExtensionFilter("All Files", "*.*"));
 		}
 
@@ -5,17 +5,12 @@
  */
 package org.adoptopenjdk.jitwatch.ui.graphing;
 
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_FREE_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE_FULL;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_SWEEPER;
 
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
-
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.EventStore;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.ui.JITWatchUI;
 import org.adoptopenjdk.jitwatch.util.UserInterfaceUtil;
@@ -59,21 +54,11 @@ public class CodeCacheStage extends AbstractGraphStage
 
 		labelLeft = true;
 
-		List<CodeCacheEvent> codeCacheEvents = mainUI.getJITDataModel().getCodeCacheEvents();
-
-		Collections.sort(codeCacheEvents, new Comparator<CodeCacheEvent>()
-		{
-			@Override
-			public int compare(CodeCacheEvent e1, CodeCacheEvent e2)
-			{
-				return Long.compare(e1.getStamp(), e2.getStamp());
-			}
-		});
+		EventStore.View<Tag> codeCacheEvents = mainUI.getJITDataModel().getCodeCacheEventView().sortedByStamp();
 
-		if (codeCacheEvents.size() > 0)
+		if (!codeCacheEvents.isEmpty())
 		{
-			CodeCacheEvent firstEvent = codeCacheEvents.get(0);
-			minX = firstEvent.getStamp();
+			minX = codeCacheEvents.getStamp(0);
 
 			Tag endOfLogTag = mainUI.getJITDataModel().getEndOfLogTag();
 
@@ -84,51 +69,73 @@ public class CodeCacheStage extends AbstractGraphStage
 			}
 			else
 			{
-				CodeCacheEvent lastEvent = codeCacheEvents.get(codeCacheEvents.size() - 1);
-				maxX = lastEvent.getStamp();
+				maxX = codeCacheEvents.getStamp(codeCacheEvents.size() - 1);
 			}
 
-			minY = getFreeCodeCacheFromEvent(firstEvent);
-			maxY = getFreeCodeCacheFromEvent(firstEvent);
+			// events without a free_code_cache value are only labelled
+			boolean foundValue = false;
+
+			long firstValue = 0;
 
-			// find ranges
-			for (CodeCacheEvent event : codeCacheEvents)
+			for (int i = 0; i < codeCacheEvents.size(); i++)
 			{
-				long freeCodeCache = getFreeCodeCacheFromEvent(event);
+				long freeCodeCache = codeCacheEvents.getValue(i);
 
-				if (freeCodeCache > maxY)
-				{
-					maxY = freeCodeCache;
-				}
-				else if (freeCodeCache < minY)
+				if (freeCodeCache != CodeCacheEvent.NO_FREE_CODE_CACHE)
 				{
-					minY = freeCodeCache;
+					if (!foundValue)
+					{
+						foundValue = true;
+						firstValue = freeCodeCache;
+						minY = freeCodeCache;
+						maxY = freeCodeCache;
+					}
+					else if (freeCodeCache > maxY)
+					{
+						maxY = freeCodeCache;
+					}
+					else if (freeCodeCache < minY)
+					{
+						minY = freeCodeCache;
+					}
 				}
 			}
 
+			if (!foundValue)
+			{
+				minY = 0;
+				maxY = 0;
+			}
+
 			drawAxes();
 
 			double lastCX = graphGapLeft + normaliseX(minX);
-			double lastCY = graphGapTop + normaliseY(getFreeCodeCacheFromEvent(firstEvent));
+			double lastCY = graphGapTop + normaliseY(firstValue);
 
 			Color colourLine = Color.BLUE;
 			double lineWidth = 2.0;
 
-			for (CodeCacheEvent event : codeCacheEvents)
+			for (int i = 0; i < codeCacheEvents.size(); i++)
 			{
-				long stamp = event.getStamp();
+				long stamp = codeCacheEvents.getStamp(i);
 
 				double x = graphGapLeft + normaliseX(stamp);
 				double y = lastCY;
 
-				switch (event.getTag().getName())
+				switch (codeCacheEvents.getSubject(i).getName())
 				{
 				case TAG_CODE_CACHE:
-					y = addToGraph(lastCX, lastCY, colourLine, lineWidth, event, x);
+					if (codeCacheEvents.getValue(i) != CodeCacheEvent.NO_FREE_CODE_CACHE)
+					{
+						y = addToGraph(lastCX, lastCY, colourLine, lineWidth, codeCacheEvents.getValue(i), x);
+					}
 					break;
 
 				case TAG_SWEEPER:
-					y = addToGraph(lastCX, lastCY, colourLine, lineWidth, event, x);
+					if (codeCacheEvents.getValue(i) != CodeCacheEvent.NO_FREE_CODE_CACHE)
+					{
+						y = addToGraph(lastCX, lastCY, colourLine, lineWidth, codeCacheEvents.getValue(i), x);
+					}
 					showLabel("Sweep", Color.WHITE, x, y);
 					break;
 
@@ -149,10 +156,8 @@ public class CodeCacheStage extends AbstractGraphStage
 		}
 	}
 
-	private double addToGraph(double lastCX, double lastCY, Color colourLine, double lineWidth, CodeCacheEvent event, double x)
+	private double addToGraph(double lastCX, double lastCY, Color colourLine, double lineWidth, long freeCodeCache, double x)
 	{
-		long freeCodeCache = getFreeCodeCacheFromEvent(event);
-
 		double y = graphGapTop + normaliseY(freeCodeCache);
 
 		gc.setFill(colourLine);
@@ -184,10 +189,4 @@ public class CodeCacheStage extends AbstractGraphStage
 
 		labelLeft = !labelLeft;
 	}
-
-	private long getFreeCodeCacheFromEvent(CodeCacheEvent event)
-	{
-		Map<String, String> attrs = event.getTag().getAttributes();
-		return Long.parseLong(attrs.get(ATTR_FREE_CODE_CACHE));
-	}
 }
\ No newline at end of file
@@ -18,14 +18,12 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
 
 import static org.adoptopenjdk.jitwatch.util.UserInterfaceUtil.fix;
 
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.EventStore;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
-import org.adoptopenjdk.jitwatch.model.JITEvent;
 import org.adoptopenjdk.jitwatch.model.JITStats;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.ui.JITWatchUI;
@@ -83,39 +81,29 @@ public class TimeLineStage extends AbstractGraphStage
 			selectedMember = mainUI.getSelectedMember();
 		}
 
-		List<JITEvent> events = mainUI.getJITDataModel().getEventListCopy();
+		EventStore.View<IMetaMember> events = mainUI.getJITDataModel().getEventView().sortedByStamp();
 
 		compilationIndex = 0;
 
-		if (events.size() > 0)
+		if (!events.isEmpty())
 		{
-			Collections.sort(events, new Comparator<JITEvent>()
-			{
-				@Override
-				public int compare(JITEvent e1, JITEvent e2)
-				{
-					return Long.compare(e1.getStamp(), e2.getStamp());
-				}
-			});
-
-			JITEvent firstEvent = events.get(0);
-			minX = firstEvent.getStamp();
+			minX = events.getStamp(0);
 
 			Tag endOfLogTag = mainUI.getJITDataModel().getEndOfLogTag();
 
-			JITEvent lastEvent = events.get(events.size() - 1);
+			long lastEventStamp = events.getStamp(events.size() - 1);
 			
 			if (endOfLogTag != null)
 			{
 				maxX = getStampFromTag(endOfLogTag);
 				
-				long lastEventPlusPadding = (long)(lastEvent.getStamp() * 1.1);
+				long lastEventPlusPadding = (long)(lastEventStamp * 1.1);
 				
 				maxX = Math.min(maxX, lastEventPlusPadding);
 			}
 			else
 			{
-				maxX = lastEvent.getStamp();
+				maxX = lastEventStamp;
 			}
 
 			minY = 0;
@@ -134,7 +122,7 @@ public class TimeLineStage extends AbstractGraphStage
 		}
 	}
 
-	private void calculateMaxCompiles(List<JITEvent> events)
+	private void calculateMaxCompiles(EventStore.View<IMetaMember> events)
 	{
 		maxY = events.size();
 	}
@@ -313,7 +301,7 @@ public class TimeLineStage extends AbstractGraphStage
 		return selectedItemBuilder.toString();
 	}
 
-	private void drawEvents(List<JITEvent> events)
+	private void drawEvents(EventStore.View<IMetaMember> events)
 	{
 		Color colourMarker = Color.BLUE;
 		double lineWidth = 2.0;
@@ -323,9 +311,9 @@ public class TimeLineStage extends AbstractGraphStage
 		double lastCX = graphGapLeft + normaliseX(minX);
 		double lastCY = graphGapTop + normaliseY(0);
 
-		for (JITEvent event : events)
+		for (int i = 0; i < events.size(); i++)
 		{
-			long stamp = event.getStamp();
+			long stamp = events.getStamp(i);
 
 			cumC++;
 
@@ -12,6 +12,7 @@ import static org.adoptopenjdk.jitwatch.util.UserInterfaceUtil.FONT_MONOSPACE_SI
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
@@ -21,6 +22,7 @@ import javafx.geometry.Orientation;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.Tooltip;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
@@ -29,6 +31,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import org.adoptopenjdk.jitwatch.loader.ResourceLoader;
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerDiagnostic;
 import org.adoptopenjdk.jitwatch.sandbox.Sandbox;
 import org.adoptopenjdk.jitwatch.ui.Dialogs;
 import org.adoptopenjdk.jitwatch.ui.Dialogs.Response;
@@ -67,6 +70,9 @@ public class EditorPane extends VBox
 			@Override
 			public void changed(final ObservableValue<? extends String> observable, final String oldValue, final String newValue)
 			{
+				// diagnostics are stale once the source is edited
+				taSource.setTooltip(null);
+
 				setModified(true);
 			}
 		});
@@ -211,6 +217,88 @@ public class EditorPane extends VBox
 		return result;
 	}
 
+	public void showDiagnostics(List<CompilerDiagnostic> diagnostics)
+	{
+		Tooltip tooltip = null;
+
+		CompilerDiagnostic firstError = null;
+
+		if (!diagnostics.isEmpty())
+		{
+			StringBuilder builder = new StringBuilder();
+
+			for (CompilerDiagnostic diagnostic : diagnostics)
+			{
+				if (diagnostic.getLine() > 0)
+				{
+					builder.append("Line ").append(diagnostic.getLine()).append(": ");
+				}
+
+				builder.append(diagnostic.getMessage()).append(C_NEWLINE);
+
+				if (firstError == null && diagnostic.isError())
+				{
+					firstError = diagnostic;
+				}
+			}
+
+			tooltip = new Tooltip(builder.toString().trim());
+		}
+
+		taSource.setTooltip(tooltip);
+
+		if (firstError != null && firstError.getLine() > 0)
+		{
+			selectLine(firstError.getLine());
+		}
+	}
+
+	private void selectLine(long line)
+	{
+		String text = taSource.getText();
+
+		// diagnostics refer to the saved file which has leading blank lines trimmed
+		long editorLine = line + countChar(text.substring(0, getLeadingWhitespaceLength(text)), C_NEWLINE);
+
+		int lineStart = 0;
+
+		for (long currentLine = 1; currentLine < editorLine && lineStart != -1; currentLine++)
+		{
+			lineStart = text.indexOf(C_NEWLINE, lineStart);
+
+			if (lineStart != -1)
+			{
+				lineStart++;
+			}
+		}
+
+		if (lineStart != -1)
+		{
+			int lineEnd = text.indexOf(C_NEWLINE, lineStart);
+
+			if (lineEnd == -1)
+			{
+				lineEnd = text.length();
+			}
+
+			taSource.requestFocus();
+			taSource.selectRange(lineStart, lineEnd);
+		}
+	}
+
+	private int getLeadingWhitespaceLength(String text)
+	{
+		int result = 0;
+
+		// same definition of whitespace as String.trim()
+		while (result < text.length() && text.charAt(result) <= ' ')
+		{
+			result++;
+		}
+
+		return result;
+	}
+
 	public String getSource()
 	{
 		return taSource.getText().trim();
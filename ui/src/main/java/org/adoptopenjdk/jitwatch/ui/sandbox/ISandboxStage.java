@@ -6,11 +6,13 @@
 package org.adoptopenjdk.jitwatch.ui.sandbox;
 
 import java.io.File;
+import java.util.List;
 
 import javafx.stage.Stage;
 
 import org.adoptopenjdk.jitwatch.core.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerDiagnostic;
 
 public interface ISandboxStage extends ILogParseErrorListener
 {
@@ -20,6 +22,8 @@ public interface ISandboxStage extends ILogParseErrorListener
 
 	void showError(String error);
 
+	void showCompilerDiagnostics(List<CompilerDiagnostic> diagnostics);
+
 	void runFile(EditorPane editor);
 
 	void addSourceFolder(File dir);
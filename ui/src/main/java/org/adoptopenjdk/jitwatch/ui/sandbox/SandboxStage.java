@@ -58,6 +58,7 @@ import org.adoptopenjdk.jitwatch.jvmlang.LanguageManager;
 import org.adoptopenjdk.jitwatch.logger.ILogListener;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.process.IExternalProcess;
+import org.adoptopenjdk.jitwatch.process.compiler.CompilerDiagnostic;
 import org.adoptopenjdk.jitwatch.sandbox.Sandbox;
 import org.adoptopenjdk.jitwatch.ui.Dialogs;
 import org.adoptopenjdk.jitwatch.ui.Dialogs.Response;
@@ -648,6 +649,40 @@ public class SandboxStage extends Stage implements ISandboxStage, IStageCloseLis
 		});
 	}
 
+	@Override
+	public void showCompilerDiagnostics(final List<CompilerDiagnostic> diagnostics)
+	{
+		Platform.runLater(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				for (Tab tab : tabPane.getTabs())
+				{
+					EditorPane pane = (EditorPane) tab.getContent();
+
+					File sourceFile = pane.getSourceFile();
+
+					List<CompilerDiagnostic> paneDiagnostics = new ArrayList<>();
+
+					if (sourceFile != null)
+					{
+						for (CompilerDiagnostic diagnostic : diagnostics)
+						{
+							if (diagnostic.getSourceFile() != null
+									&& sourceFile.getAbsoluteFile().equals(diagnostic.getSourceFile().getAbsoluteFile()))
+							{
+								paneDiagnostics.add(diagnostic);
+							}
+						}
+					}
+
+					pane.showDiagnostics(paneDiagnostics);
+				}
+			}
+		});
+	}
+
 	@Override
 	public void handleStageClosed(Stage stage)
 	{
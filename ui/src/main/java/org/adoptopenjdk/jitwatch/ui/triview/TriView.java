@@ -16,13 +16,15 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_STATIC_INIT;
 import java.util.List;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
-import org.adoptopenjdk.jitwatch.loader.ResourceLoader;
+import org.adoptopenjdk.jitwatch.loader.IMemberLoadListener;
+import org.adoptopenjdk.jitwatch.loader.MemberLoader;
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.LineTable;
@@ -110,6 +112,10 @@ public class TriView extends Stage implements ITriView, ILineListener
 
 	private boolean classBytecodeMismatch = false;
 
+	// as delivered by the MemberLoader, kept so the member bytecode is still
+	// available if the class is evicted from the BytecodeCache
+	private ClassBC currentClassBytecode;
+
 	private static final Logger logger = LoggerFactory.getLogger(TriView.class);
 
 	private LineType focussedViewer = LineType.SOURCE;
@@ -118,10 +124,16 @@ public class TriView extends Stage implements ITriView, ILineListener
 
 	private IReadOnlyJITDataModel model;
 
+	private MemberLoader memberLoader;
+
+	// identifies the latest load, only changed on the FX thread
+	private long loadGeneration = 0;
+
 	public TriView(final JITWatchUI parent, final JITWatchConfig config)
 	{
 		this.config = config;
 		this.model = parent.getJITDataModel();
+		this.memberLoader = parent.getMemberLoader();
 
 		setTitle("TriView - Source, Bytecode, Assembly Viewer - JITWatch");
 
@@ -180,9 +192,11 @@ public class TriView extends Stage implements ITriView, ILineListener
 			@Override
 			public void handle(ActionEvent e)
 			{
-				if (currentMember != null)
+				MemberBytecode memberBytecode = getCurrentMemberBytecode();
+
+				if (memberBytecode != null)
 				{
-					String lineNumberTable = currentMember.getMemberBytecode().getLineTable().toString();
+					String lineNumberTable = memberBytecode.getLineTable().toString();
 
 					parent.openTextViewer("LineNumberTable for " + currentMember.toString(), lineNumberTable, false, false);
 				}
@@ -289,6 +303,8 @@ public class TriView extends Stage implements ITriView, ILineListener
 			@Override
 			public void handle(WindowEvent arg0)
 			{
+				memberLoader.cancel();
+
 				parent.handleStageClosed(TriView.this);
 			}
 		});
@@ -382,7 +398,7 @@ public class TriView extends Stage implements ITriView, ILineListener
 
 				if (currentMember != null)
 				{
-					updateBytecodeAndAssembly(false);
+					loadMember(false, false, -1, 0);
 				}
 			}
 		});
@@ -403,7 +419,7 @@ public class TriView extends Stage implements ITriView, ILineListener
 				{
 					currentMember.setSelectedCompilation(index);
 
-					updateBytecodeAndAssembly(false);
+					loadMember(false, false, -1, 0);
 				}
 			}
 		});
@@ -544,6 +560,13 @@ public class TriView extends Stage implements ITriView, ILineListener
 	}
 
 	public void setMember(IMetaMember member, boolean force, boolean jumpToSource)
+	{
+		setMember(member, force, jumpToSource, -1, 0);
+	}
+
+	// a source line index other than -1 is highlighted with the update mask
+	// once the member has loaded
+	private void setMember(IMetaMember member, boolean force, boolean jumpToSource, int sourceIndex, int updateMask)
 	{
 		boolean sameClass = false;
 
@@ -561,46 +584,6 @@ public class TriView extends Stage implements ITriView, ILineListener
 		comboMember.setValue(currentMember);
 		ignoreComboChanged = false;
 
-		List<String> allClassLocations = config.getAllClassLocations();
-
-		ClassBC classBytecode = currentMember.getMetaClass().getClassBytecode(model, allClassLocations);
-
-		if (!sameClass)
-		{
-			String source = ResourceLoader.getSourceForClassName(memberClass.getFullyQualifiedName(), config.getSourceLocations());
-
-			if (source == null)
-			{
-				String sourceFileName = classBytecode.getSourceFile();
-
-				logger.debug("Could not find source for {}. Trying to locate via bytecode source file attribute {}", memberClass,
-						sourceFileName);
-
-				if (sourceFileName != null)
-				{
-					source = ResourceLoader.getSourceForFilename(sourceFileName, config.getSourceLocations());
-				}
-			}
-			
-			boolean lineNumbers = true;
-			boolean canHighlight = true;
-			
-			if (source == null)
-			{
-				source = "Source of " + member.getMetaClass().getName() + " not found\nin the configured source locations.";
-				lineNumbers = false;
-				canHighlight = false;
-			}
-			
-			viewerSource.setContent(source, lineNumbers, canHighlight);
-		}
-
-		StringBuilder statusBarBuilder = new StringBuilder();
-
-		updateStatusBarWithClassInformation(classBytecode, statusBarBuilder);
-		updateStatusBarIfCompiled(statusBarBuilder);
-		applyActionsIfOffsetMismatchDetected(statusBarBuilder);
-
 		comboSelectedCompilation.getSelectionModel().clearSelection();
 		comboCompilationList.clear();
 
@@ -623,77 +606,181 @@ public class TriView extends Stage implements ITriView, ILineListener
 
 		comboSelectedCompilation.setVisible(compilationCount > 0);
 
-		updateBytecodeAndAssembly(jumpToSource);
+		if (!sameClass)
+		{
+			viewerSource.setContent("Loading source of " + memberClass.getName(), false, false);
+		}
 
-		lblMemberInfo.setText(statusBarBuilder.toString());
+		loadMember(!sameClass, jumpToSource, sourceIndex, updateMask);
 	}
 
-	private void applyActionsIfOffsetMismatchDetected(StringBuilder statusBarBuilder)
+	// each pane is filled as its data arrives, results for a member that is
+	// no longer selected are dropped
+	private void loadMember(boolean loadSource, boolean jumpToSource, int sourceIndex, int updateMask)
 	{
-		if (viewerBytecode.isOffsetMismatchDetected())
+		compilationInfo.setCompilation(currentMember.getSelectedCompilation());
+
+		MemberLoadListener listener = new MemberLoadListener(++loadGeneration, loadSource, jumpToSource, sourceIndex,
+				updateMask);
+
+		lblMemberInfo.setText("Loading " + currentMember.toStringUnqualifiedMethodName(false));
+
+		currentClassBytecode = null;
+
+		viewerBytecode.setLoading("Loading bytecode");
+		viewerAssembly.setContent("Loading assembly", false, false);
+
+		memberLoader.load(model, currentMember, config.getAllClassLocations(), config.getSourceLocations(), loadSource,
+				listener);
+	}
+
+	private class MemberLoadListener implements IMemberLoadListener
+	{
+		private final long generation;
+
+		private final boolean jumpToSource;
+
+		private final int sourceIndex;
+
+		private final int updateMask;
+
+		// only touched on the FX thread
+		private boolean sourceShown;
+		private boolean bytecodeShown;
+		private boolean assemblyShown;
+
+		MemberLoadListener(long generation, boolean loadSource, boolean jumpToSource, int sourceIndex, int updateMask)
 		{
-			statusBarBuilder.append(C_SPACE).append("WARNING Class bytecode offsets do not match HotSpot log");
+			this.generation = generation;
+			this.jumpToSource = jumpToSource;
+			this.sourceIndex = sourceIndex;
+			this.updateMask = updateMask;
+			this.sourceShown = !loadSource;
+		}
 
-			if (!classBytecodeMismatch)
+		private void runIfCurrent(final Runnable update)
+		{
+			if (Platform.isFxApplicationThread())
+			{
+				if (generation == loadGeneration)
+				{
+					update.run();
+				}
+			}
+			else
 			{
-				classBytecodeMismatch = true;
-
 				Platform.runLater(new Runnable()
 				{
 					@Override
 					public void run()
 					{
-						Dialogs.showOKDialog(TriView.this, "Wrong classes mounted for log file?",
-								"Warning! The bytecode for this class does not match the bytecode offsets in your HotSpot log."
-										+ S_NEWLINE
-										+ "Are the mounted classes the same ones used at runtime when the log was created?");
+						if (generation == loadGeneration)
+						{
+							update.run();
+						}
 					}
 				});
 			}
 		}
-	}
-
-	private void updateBytecodeAndAssembly(boolean selectSourceLine)
-	{
-		Compilation compilation = currentMember.getSelectedCompilation();
-
-		compilationInfo.setCompilation(compilation);
 
-		viewerBytecode.setContent(currentMember);
-		
-		if (selectSourceLine)
+		private void updateWhenShown()
 		{
-			MemberBytecode memberBytecode = currentMember.getMemberBytecode();
-
-			int memberSourceStartLine = -1;
-			
-			if (memberBytecode != null)
+			if (jumpToSource && sourceShown && bytecodeShown)
 			{
-				LineTable lineTable = memberBytecode.getLineTable();
-
-				memberSourceStartLine = lineTable.findSourceLineForBytecodeOffset(0);				
+				selectSourceLine();
 			}
-			
-			if (memberSourceStartLine != -1)
+
+			if (sourceIndex != -1 && sourceShown && bytecodeShown && assemblyShown)
 			{
-				viewerSource.highlightLine(memberSourceStartLine - 1);
+				viewerSource.highlightLine(sourceIndex);
+				highlightFromSource(sourceIndex, updateMask);
 			}
-			else
+		}
+
+		@Override
+		public void handleSourceLoaded(final IMetaMember member, final String source)
+		{
+			runIfCurrent(new Runnable()
 			{
-				viewerSource.jumpTo(currentMember);
-				viewerSource.setScrollBar();
-			}
+				@Override
+				public void run()
+				{
+					showSource(member, source);
+
+					sourceShown = true;
+					updateWhenShown();
+				}
+			});
 		}
 
-		if (currentMember.isCompiled())
+		@Override
+		public void handleBytecodeLoaded(final IMetaMember member, final ClassBC classBytecode,
+				final BytecodeAnnotations annotations, final boolean offsetMismatch)
 		{
-			AssemblyMethod asmMethod = null;
+			runIfCurrent(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					showBytecode(member, classBytecode, annotations, offsetMismatch);
 
-			if (compilation != null)
+					bytecodeShown = true;
+					updateWhenShown();
+				}
+			});
+		}
+
+		@Override
+		public void handleAssemblyLoaded(final IMetaMember member, final AssemblyMethod assembly)
+		{
+			runIfCurrent(new Runnable()
 			{
-				asmMethod = compilation.getAssembly();
-			}
+				@Override
+				public void run()
+				{
+					showAssembly(member, assembly);
+
+					assemblyShown = true;
+					updateWhenShown();
+				}
+			});
+		}
+	}
+
+	private void showSource(IMetaMember member, String source)
+	{
+		boolean lineNumbers = true;
+		boolean canHighlight = true;
+
+		if (source == null)
+		{
+			source = "Source of " + member.getMetaClass().getName() + " not found\nin the configured source locations.";
+			lineNumbers = false;
+			canHighlight = false;
+		}
+
+		viewerSource.setContent(source, lineNumbers, canHighlight);
+	}
+
+	private void showBytecode(IMetaMember member, ClassBC classBytecode, BytecodeAnnotations annotations,
+			boolean offsetMismatch)
+	{
+		currentClassBytecode = classBytecode;
+		viewerBytecode.setContent(member, classBytecode, annotations, offsetMismatch);
 
+		StringBuilder statusBarBuilder = new StringBuilder();
+
+		updateStatusBarWithClassInformation(classBytecode, statusBarBuilder);
+		updateStatusBarIfCompiled(statusBarBuilder);
+		applyActionsIfOffsetMismatchDetected(statusBarBuilder);
+
+		lblMemberInfo.setText(statusBarBuilder.toString());
+	}
+
+	private void showAssembly(IMetaMember member, AssemblyMethod asmMethod)
+	{
+		if (member.isCompiled())
+		{
 			if (asmMethod == null)
 			{
 				// TODO check if -XX:+PrintAssembly was used
@@ -709,8 +796,67 @@ public class TriView extends Stage implements ITriView, ILineListener
 		{
 			String msg = "Not JIT-compiled";
 			viewerAssembly.setContent(msg, false, false);
+		}
+	}
+
+	private MemberBytecode getCurrentMemberBytecode()
+	{
+		MemberBytecode result = null;
+
+		if (currentMember != null && currentClassBytecode != null)
+		{
+			result = currentClassBytecode.getMemberBytecode(currentMember);
+		}
+
+		return result;
+	}
 
-			lblMemberInfo.setText(S_EMPTY);
+	private void selectSourceLine()
+	{
+		MemberBytecode memberBytecode = getCurrentMemberBytecode();
+
+		int memberSourceStartLine = -1;
+		
+		if (memberBytecode != null)
+		{
+			LineTable lineTable = memberBytecode.getLineTable();
+
+			memberSourceStartLine = lineTable.findSourceLineForBytecodeOffset(0);				
+		}
+		
+		if (memberSourceStartLine != -1)
+		{
+			viewerSource.highlightLine(memberSourceStartLine - 1);
+		}
+		else
+		{
+			viewerSource.jumpTo(currentMember);
+			viewerSource.setScrollBar();
+		}
+	}
+
+	private void applyActionsIfOffsetMismatchDetected(StringBuilder statusBarBuilder)
+	{
+		if (viewerBytecode.isOffsetMismatchDetected())
+		{
+			statusBarBuilder.append(C_SPACE).append("WARNING Class bytecode offsets do not match HotSpot log");
+
+			if (!classBytecodeMismatch)
+			{
+				classBytecodeMismatch = true;
+
+				Platform.runLater(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						Dialogs.showOKDialog(TriView.this, "Wrong classes mounted for log file?",
+								"Warning! The bytecode for this class does not match the bytecode offsets in your HotSpot log."
+										+ S_NEWLINE
+										+ "Are the mounted classes the same ones used at runtime when the log was created?");
+					}
+				});
+			}
 		}
 	}
 
@@ -798,6 +944,8 @@ public class TriView extends Stage implements ITriView, ILineListener
 		int sourceLine = index + 1;
 		int bytecodeHighlight = -1;
 
+		boolean memberLoading = false;
+
 		MetaClass metaClass = null;
 
 		if (currentMember != null)
@@ -813,8 +961,10 @@ public class TriView extends Stage implements ITriView, ILineListener
 
 		if (metaClass != null)
 		{
+			List<String> classLocations = config.getAllClassLocations();
+
 			MemberBytecode memberBytecode = SourceMapper.getMemberBytecodeForSourceLine(
-					metaClass.getClassBytecode(model, config.getConfiguredClassLocations()), sourceLine);
+					metaClass.getClassBytecode(model, classLocations), sourceLine, classLocations);
 
 			if (memberBytecode != null)
 			{
@@ -851,10 +1001,12 @@ public class TriView extends Stage implements ITriView, ILineListener
 				{
 					if (!nextMember.equals(currentMember))
 					{
-						setMember(nextMember, false, false);
-					}
+						// highlighted from the load listener when the member arrives
+						setMember(nextMember, false, false, index, updateMask);
 
-					if ((updateMask & MASK_UPDATE_BYTECODE) == MASK_UPDATE_BYTECODE)
+						memberLoading = true;
+					}
+					else if ((updateMask & MASK_UPDATE_BYTECODE) == MASK_UPDATE_BYTECODE)
 					{
 						LineTable lineTable = memberBytecode.getLineTable();
 
@@ -879,7 +1031,7 @@ public class TriView extends Stage implements ITriView, ILineListener
 				}
 			}
 
-			if ((updateMask & MASK_UPDATE_ASSEMBLY) == MASK_UPDATE_ASSEMBLY)
+			if (!memberLoading && (updateMask & MASK_UPDATE_ASSEMBLY) == MASK_UPDATE_ASSEMBLY)
 			{
 				int assemblyHighlight = -1;
 				assemblyHighlight = viewerAssembly.getIndexForSourceLine(metaClass.getFullyQualifiedName(), sourceLine);
@@ -887,7 +1039,10 @@ public class TriView extends Stage implements ITriView, ILineListener
 			}
 		}
 
-		viewerBytecode.highlightLine(bytecodeHighlight);
+		if (!memberLoading)
+		{
+			viewerBytecode.highlightLine(bytecodeHighlight);
+		}
 	}
 
 	private void highlightFromBytecode(int index)
@@ -912,7 +1067,7 @@ public class TriView extends Stage implements ITriView, ILineListener
 				int sourceHighlight = -1;
 				int assemblyHighlight = viewerAssembly.getIndexForBytecodeOffset(metaClass.getFullyQualifiedName(), instruction);
 
-				ClassBC classBytecode = metaClass.getClassBytecode(model, config.getConfiguredClassLocations());
+				ClassBC classBytecode = metaClass.getClassBytecode(model, config.getAllClassLocations());
 
 				if (classBytecode != null)
 				{
@@ -11,14 +11,13 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.adoptopenjdk.jitwatch.model.AnnotationException;
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.bytecode.BCAnnotationType;
-import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationBuilder;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.LineAnnotation;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
@@ -111,20 +110,34 @@ public class ViewerBytecode extends Viewer
 		highlightLine(index);
 	}
 
-	public void setContent(final IMetaMember member)
+	// shown while the bytecode is loaded in the background
+	public void setLoading(String message)
 	{
 		offsetMismatchDetected = false;
 		instructions.clear();
 
-		MemberBytecode memberBytecode = member.getMemberBytecode();
+		setContent(message, false, false);
+	}
+
+	// the annotations are built by the MemberLoader off the FX thread
+	public void setContent(final IMetaMember member, ClassBC classBytecode, BytecodeAnnotations bcAnnotations,
+			boolean offsetMismatch)
+	{
+		offsetMismatchDetected = offsetMismatch;
+		instructions.clear();
+
+		MemberBytecode memberBytecode = null;
+
+		if (classBytecode != null)
+		{
+			memberBytecode = classBytecode.getMemberBytecode(member);
+		}
 
 		if (memberBytecode != null)
 		{
 			instructions.addAll(memberBytecode.getInstructions());
 		}
 
-		BytecodeAnnotations bcAnnotations = null;
-
 		lineAnnotations.clear();
 		lastScrollIndex = -1;
 
@@ -132,17 +145,6 @@ public class ViewerBytecode extends Viewer
 
 		if (instructions != null && instructions.size() > 0)
 		{
-			try
-			{
-				bcAnnotations = new BytecodeAnnotationBuilder().buildBytecodeAnnotations(member, model);
-			}
-			catch (AnnotationException annoEx)
-			{
-				logger.error("class bytecode mismatch: {}", annoEx.getMessage());
-				logger.error("Member was {}", member);
-				offsetMismatchDetected = true;
-			}
-
 			int maxOffset = instructions.get(instructions.size() - 1).getOffset();
 
 			int lineIndex = 0;